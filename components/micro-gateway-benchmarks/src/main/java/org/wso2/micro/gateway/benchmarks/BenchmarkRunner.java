@@ -0,0 +1,50 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the gateway benchmarks and writes the results in JMH JSON format, so that they can be compared across
+ * builds. Accepts the standard JMH command line options.
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULT_FILE_PROPERTY = "benchmark.result";
+    private static final String DEFAULT_RESULT_FILE = "jmh-results.json";
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        OptionsBuilder optionsBuilder = new OptionsBuilder();
+        optionsBuilder.parent(commandLineOptions)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty(RESULT_FILE_PROPERTY, DEFAULT_RESULT_FILE));
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            // the end to end benchmark needs a running gateway, hence only run when selected explicitly
+            optionsBuilder.exclude(GatewayBenchmark.class.getSimpleName());
+        }
+        Options options = optionsBuilder.build();
+        new Runner(options).run();
+    }
+}
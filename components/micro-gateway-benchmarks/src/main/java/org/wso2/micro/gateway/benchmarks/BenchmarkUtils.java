@@ -0,0 +1,40 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.benchmarks;
+
+import java.util.UUID;
+
+/**
+ * Test data shared by the benchmarks.
+ */
+final class BenchmarkUtils {
+
+    private BenchmarkUtils() {
+    }
+
+    /**
+     * Returns a deterministic access token shaped like the UUID tokens issued by the key manager.
+     */
+    static String accessToken(int index) {
+        return new UUID(0x5f3a1c2b4d6e7f80L, index).toString();
+    }
+
+    static String subscriptionKey(int index) {
+        return index + ":/pizzashack:1.0.0";
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.micro.gateway.tests.common.MockHttpServer;
+import org.wso2.micro.gateway.tests.context.Utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * End to end throughput and latency of a running gateway, covering the whole filter chain along with the
+ * backend call. The {@link MockHttpServer} of the integration tests is started as the key manager and the backend
+ * of the gateway for the duration of the benchmark, so only the gateway under test needs to be running.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GatewayBenchmark {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final long MOCK_SERVER_START_TIMEOUT = 30000;
+
+    @Param("https://localhost:9595/pizzashack/1.0.0/menu")
+    public String url;
+
+    @Param("")
+    public String authorization;
+
+    @Param("9443")
+    public int mockServerPort;
+
+    private URL gatewayUrl;
+    private MockHttpServer mockHttpServer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, GeneralSecurityException {
+        if (Utils.isPortOpen(mockServerPort)) {
+            throw new IllegalStateException("Port " + mockServerPort + " of the mock server is already in use");
+        }
+        mockHttpServer = new MockHttpServer(mockServerPort);
+        mockHttpServer.start();
+        Utils.waitForPort(mockServerPort, MOCK_SERVER_START_TIMEOUT, false, "localhost");
+        gatewayUrl = new URL(url);
+        // the gateway is started with the self signed certificates shipped in the distribution
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[]{new TrustAllManager()}, new SecureRandom());
+        HttpsURLConnection.setDefaultSSLSocketFactory(sslContext.getSocketFactory());
+        HttpsURLConnection.setDefaultHostnameVerifier((hostname, session) -> true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mockHttpServer.stopIt();
+    }
+
+    @Benchmark
+    public int invokeApi() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) gatewayUrl.openConnection();
+        if (!authorization.isEmpty()) {
+            connection.setRequestProperty("Authorization", authorization);
+        }
+        int statusCode = connection.getResponseCode();
+        InputStream body = statusCode < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream() :
+                connection.getErrorStream();
+        if (body != null) {
+            // drain the response so that the keep-alive connection is reused
+            try (InputStream responseBody = body) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while (responseBody.read(buffer) != -1) {
+                    // discard
+                }
+            }
+        }
+        return statusCode;
+    }
+
+    /**
+     * Accepts any server certificate.
+     */
+    private static class TrustAllManager implements X509TrustManager {
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.micro.gateway.core.cache.TokenCache;
+import org.wso2.micro.gateway.core.jwt.JwkSet;
+import org.wso2.micro.gateway.core.jwt.JwtVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Native steps of the JWT auth provider for every request. A token found in the JWT claims cache costs hashing the
+ * token and a cache lookup, while a token missing from the cache is verified against the JWKS keys. Parsing the claims
+ * of a verified token is done in Ballerina and is not covered here; inserts into the cache are covered by
+ * {@link TokenCacheBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final int TOKEN_COUNT = 1000;
+    private static final long EXPIRY_TIME = TimeUnit.MINUTES.toMillis(15);
+    private static final String KEY_ID = "benchmark-key";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private TokenCache jwtClaimsCache;
+    private String[] cachedTokens;
+    private String[] uncachedTokens;
+
+    @Setup(Level.Trial)
+    public void setup() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        JwkSet jwkSet = new JwkSet();
+        jwkSet.add(KEY_ID, encoder.encodeToString(publicKey.getModulus().toByteArray()),
+                encoder.encodeToString(publicKey.getPublicExponent().toByteArray()));
+        JwtVerifier.setJwks(jwkSet);
+
+        jwtClaimsCache = new TokenCache(TOKEN_COUNT, EXPIRY_TIME);
+        cachedTokens = new String[TOKEN_COUNT];
+        uncachedTokens = new String[TOKEN_COUNT];
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            cachedTokens[i] = sign(signature, keyPair, i);
+            uncachedTokens[i] = sign(signature, keyPair, TOKEN_COUNT + i);
+            jwtClaimsCache.put(hash(cachedTokens[i]), JwtVerifier.verify(cachedTokens[i]));
+        }
+    }
+
+    @Benchmark
+    public Object warmCache() throws GeneralSecurityException {
+        return authenticate(cachedTokens[ThreadLocalRandom.current().nextInt(TOKEN_COUNT)]);
+    }
+
+    @Benchmark
+    public Object coldCache() throws GeneralSecurityException {
+        return authenticate(uncachedTokens[ThreadLocalRandom.current().nextInt(TOKEN_COUNT)]);
+    }
+
+    private Object authenticate(String token) throws GeneralSecurityException {
+        Object claims = jwtClaimsCache.get(hash(token));
+        return claims != null ? claims : JwtVerifier.verify(token);
+    }
+
+    /**
+     * Hashes the token the same way the JWT claims cache is keyed.
+     */
+    private static String hash(String token) throws GeneralSecurityException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    private static String sign(Signature signature, KeyPair keyPair, int index) throws GeneralSecurityException {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"" + KEY_ID + "\"}";
+        String payload = "{\"sub\":\"admin\",\"iss\":\"https://localhost:9443/oauth2/token\",\"jti\":\""
+                + BenchmarkUtils.accessToken(index) + "\",\"scope\":\"am_application_scope default\"}";
+        String content = encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        signature.initSign(keyPair.getPrivate());
+        signature.update(content.getBytes(StandardCharsets.US_ASCII));
+        return content + "." + encoder.encodeToString(signature.sign());
+    }
+}
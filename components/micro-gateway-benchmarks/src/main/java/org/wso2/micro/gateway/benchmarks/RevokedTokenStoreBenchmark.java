@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.micro.gateway.core.revocation.RevokedTokenStore;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked token lookups done by the JWT auth provider for every request carrying a jti claim.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RevokedTokenStoreBenchmark {
+
+    private static final int REVOKED_TOKEN_COUNT = 10000;
+
+    private String[] revokedJtis;
+    private String[] validJtis;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        revokedJtis = new String[REVOKED_TOKEN_COUNT];
+        validJtis = new String[REVOKED_TOKEN_COUNT];
+        long expiryTime = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        for (int i = 0; i < REVOKED_TOKEN_COUNT; i++) {
+            revokedJtis[i] = "revoked-" + BenchmarkUtils.accessToken(i);
+            validJtis[i] = "valid-" + BenchmarkUtils.accessToken(i);
+            RevokedTokenStore.addRevokedToken(revokedJtis[i], expiryTime);
+        }
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        return RevokedTokenStore.isRevoked(validJtis[ThreadLocalRandom.current().nextInt(REVOKED_TOKEN_COUNT)]);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return RevokedTokenStore.isRevoked(revokedJtis[ThreadLocalRandom.current().nextInt(REVOKED_TOKEN_COUNT)]);
+    }
+}
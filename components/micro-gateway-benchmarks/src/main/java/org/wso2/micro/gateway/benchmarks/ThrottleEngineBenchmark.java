@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.micro.gateway.core.throttle.ThrottleEngine;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttle decisions and counter updates of the local throttle engine, as done by the throttle filter for the
+ * resource, subscription and application policies of every request, and the release of the count of a request
+ * rejected by a later policy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThrottleEngineBenchmark {
+
+    private static final String TIER_TYPE = "subscriptionTier";
+    private static final String POLICY = "benchmarkPolicy";
+    private static final String UNKNOWN_POLICY = "unknownPolicy";
+    private static final int KEY_COUNT = 10000;
+
+    private String[] throttleKeys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ThrottleEngine.addPolicy(TIER_TYPE, POLICY, Long.MAX_VALUE, TimeUnit.MINUTES.toMillis(1), true);
+        throttleKeys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            throttleKeys[i] = BenchmarkUtils.subscriptionKey(i);
+            ThrottleEngine.acquire(TIER_TYPE, POLICY, throttleKeys[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean acquire() {
+        return ThrottleEngine.acquire(TIER_TYPE, POLICY, nextKey());
+    }
+
+    @Benchmark
+    public boolean acquireUnknownPolicy() {
+        return ThrottleEngine.acquire(TIER_TYPE, UNKNOWN_POLICY, nextKey());
+    }
+
+    @Benchmark
+    public boolean acquireAndRelease() {
+        String throttleKey = nextKey();
+        boolean throttled = ThrottleEngine.acquire(TIER_TYPE, POLICY, throttleKey);
+        ThrottleEngine.release(TIER_TYPE, POLICY, throttleKey);
+        return throttled;
+    }
+
+    private String nextKey() {
+        return throttleKeys[ThreadLocalRandom.current().nextInt(KEY_COUNT)];
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.micro.gateway.core.cache.TokenCache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Key validation cache lookups as done by the OAuth2 key validation provider for every request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenCacheBenchmark {
+
+    private static final int CACHE_SIZE = 10000;
+    private static final long EXPIRY_TIME = TimeUnit.MINUTES.toMillis(15);
+
+    private TokenCache tokenCache;
+    private String[] cachedKeys;
+    private String[] uncachedKeys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        tokenCache = new TokenCache(CACHE_SIZE, EXPIRY_TIME);
+        cachedKeys = new String[CACHE_SIZE];
+        uncachedKeys = new String[CACHE_SIZE];
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            cachedKeys[i] = BenchmarkUtils.accessToken(i) + ":/pizzashack/1.0.0/menu:GET";
+            uncachedKeys[i] = BenchmarkUtils.accessToken(CACHE_SIZE + i) + ":/pizzashack/1.0.0/menu:GET";
+            tokenCache.put(cachedKeys[i], Boolean.TRUE);
+        }
+    }
+
+    @Benchmark
+    public Object cacheHit() {
+        return tokenCache.get(cachedKeys[ThreadLocalRandom.current().nextInt(CACHE_SIZE)]);
+    }
+
+    @Benchmark
+    public Object cacheMiss() {
+        return tokenCache.get(uncachedKeys[ThreadLocalRandom.current().nextInt(CACHE_SIZE)]);
+    }
+
+    @Benchmark
+    public void putWithEviction() {
+        int index = ThreadLocalRandom.current().nextInt(CACHE_SIZE);
+        tokenCache.put(uncachedKeys[index], Boolean.TRUE);
+    }
+}
@@ -24,6 +24,7 @@ import com.beust.jcommander.Parameters;
 import org.ballerinalang.packerina.cmd.CommandUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.apimgt.gateway.cli.codegen.BuildCache;
 import org.wso2.apimgt.gateway.cli.codegen.CodeGenerationContext;
 import org.wso2.apimgt.gateway.cli.codegen.CodeGenerator;
 import org.wso2.apimgt.gateway.cli.codegen.ThrottlePolicyGenerator;
@@ -95,6 +96,9 @@ public class BuildCmd implements LauncherCmd {
             throw new CLIRuntimeException("Nothing to build. API definitions does not exist.");
         }
 
+        BuildCache buildCache = new BuildCache(projectName);
+        // the target directory holding the executable of the previous build is cleaned during initialization
+        buildCache.storePreviousBuild();
         try {
             String toolkitConfigPath = CmdUtils.getMainConfigLocation();
             init(projectName, toolkitConfigPath, deploymentConfigPath);
@@ -116,6 +120,10 @@ public class BuildCmd implements LauncherCmd {
                     CmdUtils.getProjectTargetModulePath(projectName) + File.separator
                             + CliConstants.PROJECT_SERVICES_DIR);
             new CodeGenerator().generate(projectName, true);
+            if (buildCache.restore()) {
+                outStream.println("Generated sources are not changed since a previous build. "
+                        + "Using the cached executable.");
+            }
         } catch (IOException e) {
             throw new CLIInternalException(
                     "Error occurred while generating source code for the open API definitions.", e);
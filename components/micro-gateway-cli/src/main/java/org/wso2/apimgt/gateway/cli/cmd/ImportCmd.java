@@ -38,6 +38,7 @@ import org.wso2.apimgt.gateway.cli.model.config.TokenBuilder;
 import org.wso2.apimgt.gateway.cli.model.rest.ext.ExtendedAPI;
 import org.wso2.apimgt.gateway.cli.oauth.OAuthService;
 import org.wso2.apimgt.gateway.cli.oauth.OAuthServiceImpl;
+import org.wso2.apimgt.gateway.cli.rest.APIDefinitionCache;
 import org.wso2.apimgt.gateway.cli.rest.RESTAPIService;
 import org.wso2.apimgt.gateway.cli.rest.RESTAPIServiceImpl;
 import org.wso2.apimgt.gateway.cli.utils.CmdUtils;
@@ -256,7 +257,10 @@ public class ImportCmd implements LauncherCmd {
                         isInsecure);
 
         List<ExtendedAPI> apis = new ArrayList<>();
-        RESTAPIService service = new RESTAPIServiceImpl(publisherEndpoint, adminEndpoint, restVersion, isInsecure);
+        APIDefinitionCache definitionCache = new APIDefinitionCache(
+                Paths.get(CmdUtils.getProjectDefinitionCacheDirectoryPath(projectName)));
+        RESTAPIService service = new RESTAPIServiceImpl(publisherEndpoint, adminEndpoint, restVersion, isInsecure,
+                definitionCache);
         if (label != null) {
             apis = service.getAPIs(label, accessToken);
         } else {
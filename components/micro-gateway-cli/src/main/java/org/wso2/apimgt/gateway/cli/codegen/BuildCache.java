@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.apimgt.gateway.cli.codegen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.apimgt.gateway.cli.constants.CliConstants;
+import org.wso2.apimgt.gateway.cli.hashing.HashUtils;
+import org.wso2.apimgt.gateway.cli.utils.CmdUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores the executables compiled from the generated Ballerina project in the CLI temp folder of the project, keyed
+ * by the hash of the generated sources and of the toolkit. When a build generates the same sources as one of the
+ * cached builds, the cached executable is restored to the target directory and the micro-gw script skips the
+ * compilation.
+ * <p>
+ * The executable is compiled by the script after the build command has finished, hence it is moved into the cache
+ * by the next build, using the hash recorded when its sources were generated.
+ * </p>
+ */
+public class BuildCache {
+    private static final Logger logger = LoggerFactory.getLogger(BuildCache.class);
+    private static final String LAST_BUILD_FILE_NAME = "last-build";
+    private static final int MAX_CACHED_BUILDS = 3;
+
+    private final String projectName;
+    private final Path cacheDirectory;
+    private final Path executablePath;
+
+    public BuildCache(String projectName) {
+        this.projectName = projectName;
+        this.cacheDirectory = Paths.get(CmdUtils.getProjectBuildCacheDirectoryPath(projectName));
+        this.executablePath = Paths.get(CmdUtils.getProjectDirectoryPath(projectName), CliConstants.PROJECT_TARGET_DIR,
+                projectName + CliConstants.EXTENSION_JAR);
+    }
+
+    /**
+     * Moves the executable of the previous build into the cache. Should be called before the target directory is
+     * cleaned.
+     */
+    public void storePreviousBuild() {
+        Path lastBuildPath = cacheDirectory.resolve(LAST_BUILD_FILE_NAME);
+        try {
+            if (Files.notExists(lastBuildPath)) {
+                return;
+            }
+            String hash = new String(Files.readAllBytes(lastBuildPath), StandardCharsets.UTF_8).trim();
+            Files.delete(lastBuildPath);
+            Path entryPath = getEntryPath(hash);
+            if (Files.exists(executablePath) && Files.notExists(entryPath)) {
+                Files.copy(executablePath, entryPath, StandardCopyOption.REPLACE_EXISTING);
+                removeOldEntries();
+            }
+        } catch (IOException e) {
+            // the build does not depend on the cache, the project is compiled again if the sources are not changed
+            logger.debug("Failed to store the previous build of {} in the build cache", projectName, e);
+        }
+    }
+
+    /**
+     * Restores the executable compiled from the sources generated in the target directory, if it is cached. If it
+     * is not, the hash of the sources is recorded so that the executable compiled from them is cached by the next
+     * build.
+     *
+     * @return true if the executable is restored and the compilation can be skipped
+     * @throws IOException if the generated sources can not be read
+     */
+    public boolean restore() throws IOException {
+        String hash = getSourceHash();
+        Path entryPath = getEntryPath(hash);
+        Files.createDirectories(cacheDirectory);
+        if (Files.exists(entryPath)) {
+            try {
+                Files.copy(entryPath, executablePath, StandardCopyOption.REPLACE_EXISTING);
+                // mark the entry as recently used
+                Files.setLastModifiedTime(entryPath, Files.getLastModifiedTime(executablePath));
+                return true;
+            } catch (IOException e) {
+                logger.debug("Failed to restore the build {} from the build cache", entryPath, e);
+                Files.deleteIfExists(executablePath);
+            }
+        }
+        Files.write(cacheDirectory.resolve(LAST_BUILD_FILE_NAME), hash.getBytes(StandardCharsets.UTF_8));
+        return false;
+    }
+
+    /**
+     * Hash of the inputs of the Ballerina compilation: the generated module, which includes the interceptors and
+     * extensions copied from the project, the Ballerina project file and the toolkit which ships the platform.
+     */
+    private String getSourceHash() throws IOException {
+        List<byte[]> inputs = new ArrayList<>();
+        inputs.add(GeneratedSourceCache.getToolkitVersion().getBytes(StandardCharsets.UTF_8));
+        Path genPath = Paths.get(CmdUtils.getProjectTargetGenDirectoryPath(projectName));
+        inputs.add(Files.readAllBytes(genPath.resolve(CliConstants.BALLERINA_TOML_FILE)));
+        GeneratedSourceCache.addDirectoryContent(inputs, genPath.resolve(CliConstants.GEN_SRC_DIR), "");
+        return HashUtils.generateContentHash(inputs.toArray(new byte[0][]));
+    }
+
+    private Path getEntryPath(String hash) {
+        return cacheDirectory.resolve(hash + CliConstants.EXTENSION_JAR);
+    }
+
+    private void removeOldEntries() throws IOException {
+        List<File> entries;
+        try (Stream<Path> paths = Files.list(cacheDirectory)) {
+            entries = paths.filter(path -> path.toString().endsWith(CliConstants.EXTENSION_JAR)).map(Path::toFile)
+                    .sorted(Comparator.comparingLong(File::lastModified).reversed()).collect(Collectors.toList());
+        }
+        for (int i = MAX_CACHED_BUILDS; i < entries.size(); i++) {
+            Files.deleteIfExists(entries.get(i).toPath());
+        }
+    }
+}
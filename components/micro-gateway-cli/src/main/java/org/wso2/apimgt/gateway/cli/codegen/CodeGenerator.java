@@ -35,6 +35,7 @@ import org.wso2.apimgt.gateway.cli.model.rest.ext.ExtendedAPI;
 import org.wso2.apimgt.gateway.cli.model.template.GenSrcFile;
 import org.wso2.apimgt.gateway.cli.model.template.service.BallerinaService;
 import org.wso2.apimgt.gateway.cli.model.template.service.ListenerEndpoint;
+import org.wso2.apimgt.gateway.cli.model.template.service.ServiceSummary;
 import org.wso2.apimgt.gateway.cli.utils.CmdUtils;
 import org.wso2.apimgt.gateway.cli.utils.CodegenUtils;
 import org.wso2.apimgt.gateway.cli.utils.OpenAPICodegenUtils;
@@ -50,6 +51,8 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This class generates Ballerina Services/Clients for a provided OAS definition.
@@ -73,7 +76,7 @@ public class CodeGenerator {
         BallerinaService definitionContext;
 
         List<GenSrcFile> genFiles = new ArrayList<>();
-        List<BallerinaService> serviceList = new ArrayList<>();
+        List<ServiceSummary> serviceList = new ArrayList<>();
         for (ExtendedAPI api : apis) {
             outStream.println("ID for API " + api.getName() + " : " + api.getId());
             String apiHashId = HashUtils.generateAPIId(api.getName(), api.getVersion());
@@ -93,7 +96,7 @@ public class CodeGenerator {
                 OpenAPICodegenUtils.setAdditionalConfig(api);
                 definitionContext.setQualifiedServiceName(CodegenUtils.trim(api.getName() + "_" + api.getVersion()));
             }
-            serviceList.add(definitionContext);
+            serviceList.add(new ServiceSummary(definitionContext));
             genFiles.add(generateService(definitionContext));
             genFiles.add(generateSwagger(definitionContext));
 
@@ -117,6 +120,12 @@ public class CodeGenerator {
      * Generates ballerina source for provided Open APIDetailedDTO Definition in {@code definitionPath}.
      * Generated source will be written to a ballerina package at {@code outPath}
      * <p>Method can be used for generating Ballerina mock services and clients</p>
+     * <p>
+     * Sources generated for a definition are cached in the project temp folder against the hash of the definition,
+     * so only the definitions changed since the previous build are parsed and rendered again. Definitions are read
+     * and rendered in parallel, while validation and context building run in order since they share the state
+     * kept in {@link OpenAPICodegenUtils}.
+     * </p>
      *
      * @throws IOException when file operations fail
      */
@@ -124,7 +133,7 @@ public class CodeGenerator {
             throws IOException {
         String projectSrcPath = CmdUtils.getProjectTargetModulePath((projectName));
         List<GenSrcFile> genFiles = new ArrayList<>();
-        List<BallerinaService> serviceList = new ArrayList<>();
+        List<ServiceSummary> serviceList = new ArrayList<>();
         List<String> openAPIDirectoryLocations = new ArrayList<>();
         String projectAPIDefGenLocation = CmdUtils.getProjectGenAPIDefinitionPath(projectName);
         openAPIDirectoryLocations.add(CmdUtils.getProjectDirectoryPath(projectName) + File.separator
@@ -134,37 +143,56 @@ public class CodeGenerator {
             openAPIDirectoryLocations.add(projectAPIDefGenLocation);
         }
 
-        //to store the available interceptors for validation purposes
-        OpenAPICodegenUtils.setInterceptors(projectName);
-        openAPIDirectoryLocations.forEach(openApiPath -> {
-            try {
-                Files.walk(Paths.get(openApiPath)).filter(path -> {
+        List<Path> definitionPaths = new ArrayList<>();
+        for (String openApiPath : openAPIDirectoryLocations) {
+            try (Stream<Path> paths = Files.walk(Paths.get(openApiPath))) {
+                paths.filter(path -> {
                     Path fileName = path.getFileName();
                     return fileName != null &&
                             (fileName.toString().endsWith(".json") || fileName.toString().endsWith(".yaml"));
-                }).forEach(path -> {
-                    try {
-                        OpenAPI openAPI = new OpenAPIV3Parser().read(path.toString());
-                        OpenAPICodegenUtils.validateOpenAPIDefinition(openAPI, path.toString());
-                        ExtendedAPI api = OpenAPICodegenUtils.generateAPIFromOpenAPIDef(openAPI, path);
-                        BallerinaService definitionContext;
-                        OpenAPICodegenUtils.setAdditionalConfigsDevFirst(api, openAPI, path.toString());
-
-                        definitionContext = new BallerinaService().buildContext(openAPI, api);
-                        genFiles.add(generateService(definitionContext));
-
-                        serviceList.add(definitionContext);
-                    } catch (BallerinaServiceGenException e) {
-                        throw new CLIRuntimeException("Swagger definition cannot be parsed to ballerina code", e);
-                    } catch (IOException e) {
-                        throw new CLIInternalException("File write operations failed during ballerina code "
-                                + "generation", e);
-                    }
-                });
-            } catch (IOException e) {
-                throw new CLIInternalException("File write operations failed during ballerina code generation", e);
+                }).sorted().forEach(definitionPaths::add);
+            }
+        }
+
+        //to store the available interceptors for validation purposes
+        OpenAPICodegenUtils.setInterceptors(projectName);
+        GeneratedSourceCache sourceCache = new GeneratedSourceCache(projectName);
+
+        // read and parse the definitions which are not in the cache
+        List<DefinitionContext> definitions = definitionPaths.parallelStream()
+                .map(path -> loadDefinition(path, sourceCache))
+                .collect(Collectors.toList());
+
+        // validations and context building depend on the definitions processed earlier, hence run in order
+        for (DefinitionContext definition : definitions) {
+            String path = definition.path.toString();
+            if (definition.cachedEntry != null) {
+                GeneratedSourceCache.Entry entry = definition.cachedEntry;
+                OpenAPICodegenUtils.registerAPINameAndVersion(entry.getApiName(), entry.getApiVersion(), path);
+                OpenAPICodegenUtils.registerBasepath(entry.getBasePath(), path);
+                continue;
             }
-        });
+            try {
+                OpenAPI openAPI = definition.openAPI;
+                OpenAPICodegenUtils.validateOpenAPIDefinition(openAPI, path);
+                ExtendedAPI api = OpenAPICodegenUtils.generateAPIFromOpenAPIDef(openAPI, definition.path);
+                OpenAPICodegenUtils.setAdditionalConfigsDevFirst(api, openAPI, path);
+                definition.service = new BallerinaService().buildContext(openAPI, api);
+            } catch (BallerinaServiceGenException e) {
+                throw new CLIRuntimeException("Swagger definition cannot be parsed to ballerina code", e);
+            }
+        }
+
+        // render the services of the changed definitions
+        definitions.parallelStream().filter(definition -> definition.cachedEntry == null)
+                .forEach(definition -> renderDefinition(definition, sourceCache));
+
+        for (DefinitionContext definition : definitions) {
+            definition.cachedEntry.getSources().forEach((fileName, content) ->
+                    genFiles.add(new GenSrcFile(GenSrcFile.GenFileType.GEN_SRC, fileName, content)));
+            serviceList.addAll(definition.cachedEntry.getServices());
+        }
+        sourceCache.removeUnusedEntries();
 
         genFiles.add(generateMainBal(serviceList));
         genFiles.add(generateOpenAPIJsonConstantsBal(serviceList));
@@ -181,6 +209,54 @@ public class CodeGenerator {
                 projectSrcPath + File.separator + CliConstants.GW_DIST_START_UP_EXTENSION);
     }
 
+    /**
+     * Reads an open API definition and looks up the sources generated for it in a previous build. The definition is
+     * parsed only if it is not found in the cache.
+     *
+     * @param path        path to the open API definition
+     * @param sourceCache cache of the sources generated in previous builds
+     * @return definition details to be used for code generation
+     */
+    private DefinitionContext loadDefinition(Path path, GeneratedSourceCache sourceCache) {
+        DefinitionContext definition = new DefinitionContext(path);
+        try {
+            definition.hash = sourceCache.getHash(Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new CLIInternalException("File read operations failed during ballerina code generation", e);
+        }
+        definition.cachedEntry = sourceCache.get(definition.hash);
+        if (definition.cachedEntry == null) {
+            definition.openAPI = new OpenAPIV3Parser().read(path.toString());
+        } else {
+            logger.debug("Using the sources generated in a previous build for {}", path);
+        }
+        return definition;
+    }
+
+    /**
+     * Generates the service of a definition and stores the generated sources in the cache.
+     *
+     * @param definition  definition with the service context built
+     * @param sourceCache cache of the sources generated in previous builds
+     */
+    private void renderDefinition(DefinitionContext definition, GeneratedSourceCache sourceCache) {
+        BallerinaService service = definition.service;
+        GeneratedSourceCache.Entry entry = new GeneratedSourceCache.Entry();
+        entry.setDefinitionPath(definition.path.toString());
+        entry.setApiName(definition.openAPI.getInfo().getTitle());
+        entry.setApiVersion(definition.openAPI.getInfo().getVersion());
+        entry.setBasePath(service.getApi().getSpecificBasepath());
+        try {
+            GenSrcFile serviceFile = generateService(service);
+            entry.getSources().put(serviceFile.getFileName(), serviceFile.getContent());
+        } catch (IOException e) {
+            throw new CLIInternalException("File write operations failed during ballerina code generation", e);
+        }
+        entry.getServices().add(new ServiceSummary(service));
+        sourceCache.put(definition.hash, entry);
+        definition.cachedEntry = entry;
+    }
+
     /**
      * Generate code for rest ballerina rest.
      *
@@ -203,7 +279,7 @@ public class CodeGenerator {
      * @return generated source files as a list of {@link GenSrcFile}
      * @throws IOException when code generation with specified templates fails
      */
-    private GenSrcFile generateMainBal(List<BallerinaService> services) throws IOException {
+    private GenSrcFile generateMainBal(List<ServiceSummary> services) throws IOException {
         String srcFile = GeneratorConstants.MAIN_TEMPLATE_NAME + GeneratorConstants.BALLERINA_EXTENSION;
         String mainContent = getContent(services, GeneratorConstants.MAIN_TEMPLATE_NAME);
         return new GenSrcFile(GenSrcFile.GenFileType.GEN_SRC, srcFile, mainContent);
@@ -216,7 +292,7 @@ public class CodeGenerator {
      * @return generated source files as a list of {@link GenSrcFile}
      * @throws IOException when code generation with specified templates fails
      */
-    private GenSrcFile generateOpenAPIJsonConstantsBal(List<BallerinaService> services) throws IOException {
+    private GenSrcFile generateOpenAPIJsonConstantsBal(List<ServiceSummary> services) throws IOException {
         String srcFile = GeneratorConstants.OPEN_API_JSON_CONSTANTS + GeneratorConstants.JSON_EXTENSION;
         String mainContent = getContent(services, GeneratorConstants.OPEN_API_JSON_CONSTANTS);
         return new GenSrcFile(GenSrcFile.GenFileType.GEN_SRC, srcFile, mainContent);
@@ -318,4 +394,19 @@ public class CodeGenerator {
         String mainContent = getContent(context, GeneratorConstants.GENERATESWAGGER_TEMPLATE_NAME);
         return new GenSrcFile(GenSrcFile.GenFileType.GEN_SRC, srcFile, mainContent);
     }
+
+    /**
+     * State of a single dev-first open API definition while its sources are being generated.
+     */
+    private static class DefinitionContext {
+        private final Path path;
+        private String hash;
+        private OpenAPI openAPI;
+        private BallerinaService service;
+        private GeneratedSourceCache.Entry cachedEntry;
+
+        DefinitionContext(Path path) {
+            this.path = path;
+        }
+    }
 }
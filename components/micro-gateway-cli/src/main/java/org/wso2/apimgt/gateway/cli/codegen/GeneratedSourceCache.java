@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.apimgt.gateway.cli.codegen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.apimgt.gateway.cli.constants.CliConstants;
+import org.wso2.apimgt.gateway.cli.constants.GeneratorConstants;
+import org.wso2.apimgt.gateway.cli.hashing.HashUtils;
+import org.wso2.apimgt.gateway.cli.model.template.service.ServiceSummary;
+import org.wso2.apimgt.gateway.cli.utils.CmdUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores the sources generated for each dev-first API definition in the CLI temp folder of the project, keyed by the
+ * hash of the definition content and of the inputs shared by all the APIs (toolkit and deployment configurations,
+ * interceptors, templates and the toolkit itself). A definition whose hash is found in the cache is not parsed or
+ * rendered again in the next build.
+ */
+public class GeneratedSourceCache {
+    private static final Logger logger = LoggerFactory.getLogger(GeneratedSourceCache.class);
+    private static final String CACHE_ENTRY_EXTENSION = ".json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path cacheDirectory;
+    private final byte[] buildFingerprint;
+    private final Set<String> usedEntries = ConcurrentHashMap.newKeySet();
+
+    public GeneratedSourceCache(String projectName) throws IOException {
+        this.cacheDirectory = Paths.get(CmdUtils.getProjectCodegenCacheDirectoryPath(projectName));
+        this.buildFingerprint = getBuildFingerprint(projectName);
+        Files.createDirectories(cacheDirectory);
+    }
+
+    /**
+     * Calculates the hash under which the sources generated for an API definition are cached.
+     *
+     * @param definitionContent content of the API definition file
+     * @return hash of the definition together with the shared build inputs
+     */
+    public String getHash(byte[] definitionContent) {
+        return HashUtils.generateContentHash(buildFingerprint, definitionContent);
+    }
+
+    /**
+     * Returns the cached sources for the given hash and marks the entry as used by the current build.
+     *
+     * @param hash hash returned by {@link #getHash(byte[])}
+     * @return cached entry, or null if there is no usable entry
+     */
+    public Entry get(String hash) {
+        Path entryPath = cacheDirectory.resolve(hash + CACHE_ENTRY_EXTENSION);
+        if (Files.notExists(entryPath)) {
+            return null;
+        }
+        try {
+            Entry entry = objectMapper.readValue(entryPath.toFile(), Entry.class);
+            usedEntries.add(hash);
+            return entry;
+        } catch (IOException e) {
+            logger.debug("Ignoring unreadable generated source cache entry {}", entryPath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the sources generated for an API definition.
+     *
+     * @param hash  hash returned by {@link #getHash(byte[])}
+     * @param entry generated sources and service details
+     */
+    public void put(String hash, Entry entry) {
+        try {
+            objectMapper.writeValue(cacheDirectory.resolve(hash + CACHE_ENTRY_EXTENSION).toFile(), entry);
+            usedEntries.add(hash);
+        } catch (IOException e) {
+            // the build does not depend on the cache, the definition is generated again in the next build
+            logger.debug("Failed to store generated source cache entry for {}", entry.getDefinitionPath(), e);
+        }
+    }
+
+    /**
+     * Removes the entries which were not used by the current build, i.e. of definitions which were changed or
+     * removed.
+     */
+    public void removeUnusedEntries() {
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            for (Path entryPath : entries.collect(Collectors.toList())) {
+                String fileName = entryPath.getFileName().toString();
+                if (!fileName.endsWith(CACHE_ENTRY_EXTENSION)) {
+                    continue;
+                }
+                String hash = fileName.substring(0, fileName.length() - CACHE_ENTRY_EXTENSION.length());
+                if (!usedEntries.contains(hash)) {
+                    Files.deleteIfExists(entryPath);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to clean the generated source cache {}", cacheDirectory, e);
+        }
+    }
+
+    /**
+     * Hash of the inputs which affect the sources generated for every API definition.
+     */
+    private static byte[] getBuildFingerprint(String projectName) throws IOException {
+        List<byte[]> inputs = new ArrayList<>();
+        inputs.add(projectName.getBytes(StandardCharsets.UTF_8));
+        inputs.add(getToolkitVersion().getBytes(StandardCharsets.UTF_8));
+        addFileContent(inputs, Paths.get(CmdUtils.getMainConfigLocation()));
+        addFileContent(inputs, Paths.get(CmdUtils.getDeploymentConfigLocation(projectName)));
+        addDirectoryContent(inputs, Paths.get(CmdUtils.getProjectInterceptorsPath(projectName)),
+                CliConstants.EXTENSION_BAL);
+        // templates loaded from a custom directory can change without any change in the toolkit
+        String templatesDirPath = System.getProperty(GeneratorConstants.TEMPLATES_DIR_PATH_KEY);
+        if (templatesDirPath != null) {
+            addDirectoryContent(inputs, Paths.get(templatesDirPath), GeneratorConstants.TEMPLATES_SUFFIX);
+        }
+        return HashUtils.generateContentHash(inputs.toArray(new byte[0][])).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void addFileContent(List<byte[]> inputs, Path path) throws IOException {
+        inputs.add(Files.exists(path) ? Files.readAllBytes(path) : new byte[0]);
+    }
+
+    /**
+     * Adds the relative path and the content of each file with the given extension in the directory, in a stable
+     * order.
+     */
+    static void addDirectoryContent(List<byte[]> inputs, Path directory, String extension) throws IOException {
+        if (Files.notExists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> files = paths.filter(path -> Files.isRegularFile(path) && path.toString().endsWith(extension))
+                    .sorted().collect(Collectors.toList());
+            for (Path file : files) {
+                inputs.add(directory.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                addFileContent(inputs, file);
+            }
+        }
+    }
+
+    /**
+     * Identifies the toolkit build which generates the sources, so that the cache is not used across toolkit
+     * upgrades which may ship different templates.
+     */
+    static String getToolkitVersion() {
+        CodeSource codeSource = GeneratedSourceCache.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return "";
+        }
+        try {
+            File toolkitJar = new File(codeSource.getLocation().toURI());
+            return toolkitJar.getName() + ":" + toolkitJar.length() + ":" + toolkitJar.lastModified();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return codeSource.getLocation().toString();
+        }
+    }
+
+    /**
+     * Sources generated for a single API definition.
+     */
+    public static class Entry {
+        private String definitionPath;
+        private String apiName;
+        private String apiVersion;
+        private String basePath;
+        private Map<String, String> sources = new LinkedHashMap<>();
+        private List<ServiceSummary> services = new ArrayList<>();
+
+        public String getDefinitionPath() {
+            return definitionPath;
+        }
+
+        public void setDefinitionPath(String definitionPath) {
+            this.definitionPath = definitionPath;
+        }
+
+        public String getApiName() {
+            return apiName;
+        }
+
+        public void setApiName(String apiName) {
+            this.apiName = apiName;
+        }
+
+        public String getApiVersion() {
+            return apiVersion;
+        }
+
+        public void setApiVersion(String apiVersion) {
+            this.apiVersion = apiVersion;
+        }
+
+        public String getBasePath() {
+            return basePath;
+        }
+
+        public void setBasePath(String basePath) {
+            this.basePath = basePath;
+        }
+
+        public Map<String, String> getSources() {
+            return sources;
+        }
+
+        public void setSources(Map<String, String> sources) {
+            this.sources = sources;
+        }
+
+        public List<ServiceSummary> getServices() {
+            return services;
+        }
+
+        public void setServices(List<ServiceSummary> services) {
+            this.services = services;
+        }
+    }
+}
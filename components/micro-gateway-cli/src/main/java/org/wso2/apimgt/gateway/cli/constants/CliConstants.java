@@ -42,6 +42,9 @@ public class CliConstants {
     public static final String DEPLOYMENT_CONFIG_FILE_NAME = "deployment-config.toml";
     public static final String TEMP_DIR_NAME = "temp";
     public static final String RESOURCE_HASH_HOLDER_FILE_NAME = "hashes.json";
+    public static final String CODEGEN_CACHE_DIR = "codegen";
+    public static final String DEFINITION_CACHE_DIR = "definitions";
+    public static final String BUILD_CACHE_DIR = "build";
     public static final String DEFAULT_DEPLOYMENT_CONFIG_FILE_NAME = "default-deployment-config.toml";
     public static final String CLI_HOME = "cli.home";
     public static final String CLI_LIB = "lib";
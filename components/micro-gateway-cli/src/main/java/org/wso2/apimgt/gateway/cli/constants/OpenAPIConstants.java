@@ -15,4 +15,7 @@ public class OpenAPIConstants {
     public static final String THROTTLING_TIER = "x-wso2-throttling-tier";
     public static final String DISABLE_SECURITY = "x-wso2-disable-security";
     public static final String AUTHORIZATION_HEADER = "x-wso2-auth-header";
+    public static final String STREAMING = "x-wso2-streaming";
+    public static final String RESPONSE_CACHE = "x-wso2-response-cache";
+    public static final String PRIORITY = "x-wso2-priority";
 }
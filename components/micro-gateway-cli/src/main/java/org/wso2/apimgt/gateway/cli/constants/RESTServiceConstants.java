@@ -32,10 +32,19 @@ public class RESTServiceConstants {
     public static final String PRODUCTION_FAILOVERS = "production_failovers";
     public static final String SANDBOX_FAILOVERS = "sandbox_failovers";
     public static final String LOAD_BALANCE = "load_balance";
+    public static final String ALGORITHM = "algorithm";
+    public static final String HEALTH_CHECK = "healthCheck";
+    public static final String CONCURRENCY_LIMIT = "concurrencyLimit";
     public static final String UNLIMITED = "Unlimited";
     public static final String AUTHORIZATION = "Authorization";
     public static final String BEARER = "Bearer";
     public static final String GET = "GET";
+    public static final String ETAG = "ETag";
+    public static final String LAST_MODIFIED = "Last-Modified";
+    public static final String IF_NONE_MATCH = "If-None-Match";
+    public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    public static final String HTTP_MAX_CONNECTIONS = "http.maxConnections";
+    public static final int DEFAULT_HTTP_MAX_CONNECTIONS = 5;
     public static final String APIS_GET_URI =
             "apis?query=label:" + CliConstants.LABEL_PLACEHOLDER + "%20status:PUBLISHED&expand="
                     + CliConstants.EXPAND_PLACEHOLDER + "&limit=500";
@@ -244,6 +244,27 @@ public class HashUtils {
         return sb.toString();
     }
 
+    /**
+     * Calculates a hash over the given contents in the given order. Used to detect whether an input of the code
+     * generation has changed since the previous build.
+     *
+     * @param contents contents to be hashed
+     * @return calculated hash value
+     */
+    public static String generateContentHash(byte[]... contents) {
+        try {
+            MessageDigest md = MessageDigest.getInstance(HashingConstants.HASH_ALGORITHM);
+            byte[] separator = HashingConstants.HASH_SEPARATOR.getBytes(StandardCharsets.UTF_8);
+            for (byte[] content : contents) {
+                md.update(content);
+                md.update(separator);
+            }
+            return convertByteToHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new CLIInternalException("Error while generating hash for the content");
+        }
+    }
+
     /**
      * Get the MD5 hash for an API.
      *
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.apimgt.gateway.cli.model.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gateway response cache configuration of an API or a resource, given with the
+ * 'x-wso2-response-cache' OpenAPI extension.
+ */
+public class ResponseCacheConfig {
+
+    public static final String SCOPE_CALLER = "caller";
+    public static final String SCOPE_APPLICATION = "application";
+    public static final String SCOPE_SHARED = "shared";
+    private static final int DEFAULT_MAX_AGE = 300;
+
+    private boolean enabled = true;
+    private int maxAgeInSeconds = DEFAULT_MAX_AGE;
+    private String scope = SCOPE_CALLER;
+    private List<String> queryParams = new ArrayList<>();
+    private List<String> headers = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxAgeInSeconds() {
+        return maxAgeInSeconds;
+    }
+
+    public void setMaxAgeInSeconds(int maxAgeInSeconds) {
+        this.maxAgeInSeconds = maxAgeInSeconds;
+    }
+
+    /**
+     * Callers a cached response is served to: only the caller it was fetched for ({@code caller}), any user of the
+     * same application ({@code application}) or any caller of the resource ({@code shared}). Responses marked
+     * {@code Cache-Control: private} are only cached for the {@code caller} scope, and responses to secured requests
+     * are only cached for the {@code shared} scope when marked {@code public}.
+     *
+     * @return scope of the cached responses
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Query parameters which are part of the cache key. The whole query string is part of the key when no query
+     * parameter is given.
+     *
+     * @return names of the query parameters
+     */
+    public List<String> getQueryParams() {
+        return queryParams;
+    }
+
+    public void setQueryParams(List<String> queryParams) {
+        this.queryParams = queryParams;
+    }
+
+    /**
+     * Request headers which are part of the cache key.
+     *
+     * @return names of the headers
+     */
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    public void setHeaders(List<String> headers) {
+        this.headers = headers;
+    }
+}
@@ -3,6 +3,8 @@ package org.wso2.apimgt.gateway.cli.model.mgwcodegen;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.wso2.apimgt.gateway.cli.model.rest.APIEndpointSecurityDTO;
 import org.wso2.apimgt.gateway.cli.model.rest.EndpointUrlTypeEnum;
+import org.wso2.apimgt.gateway.cli.model.route.EndpointConcurrencyLimitDTO;
+import org.wso2.apimgt.gateway.cli.model.route.EndpointHealthCheckDTO;
 import org.wso2.apimgt.gateway.cli.model.route.EndpointType;
 
 import java.util.List;
@@ -32,6 +34,13 @@ public class MgwEndpointListDTO {
 
     @SuppressFBWarnings(value = "URF_UNREAD_FIELD")
     private boolean endpointListEtcdEnabled = false;
+    //to disable response caching on the generated client when payloads are streamed
+    private boolean streaming = false;
+    //target selection strategy of the gateway balanced client, null when the ballerina clients are used
+    private String balancingStrategy = null;
+    private EndpointHealthCheckDTO healthCheck = null;
+    //adaptive concurrency limit of the generated client, null when the requests are not limited
+    private EndpointConcurrencyLimitDTO concurrencyLimit = null;
 
     public APIEndpointSecurityDTO getSecurityConfig() {
         return securityConfig;
@@ -76,4 +85,46 @@ public class MgwEndpointListDTO {
     public void setEndpointListEtcdEnabled(boolean endpointListEtcdEnabled) {
         this.endpointListEtcdEnabled = endpointListEtcdEnabled;
     }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Whether the targets are selected by the gateway, according to their latency, load and health, instead of
+     * the round robin load balance client or the ordered failover client.
+     *
+     * @return true if a gateway balanced client is generated
+     */
+    public boolean isAdaptiveClientEnabled() {
+        return balancingStrategy != null;
+    }
+
+    public String getBalancingStrategy() {
+        return balancingStrategy;
+    }
+
+    public void setBalancingStrategy(String balancingStrategy) {
+        this.balancingStrategy = balancingStrategy;
+    }
+
+    public EndpointHealthCheckDTO getHealthCheck() {
+        return healthCheck;
+    }
+
+    public void setHealthCheck(EndpointHealthCheckDTO healthCheck) {
+        this.healthCheck = healthCheck;
+    }
+
+    public EndpointConcurrencyLimitDTO getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(EndpointConcurrencyLimitDTO concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
 }
@@ -30,6 +30,8 @@ public class ExtendedAPI extends APIDetailedDTO {
     private String mgwApiSecurity = null;
     //Scopes
     private String mgwApiScope = null;
+    //Priority of the API when requests are shed under overload
+    private String mgwApiPriority = null;
 
     public MgwEndpointConfigDTO getEndpointConfigRepresentation() {
         return endpointConfigRepresentation;
@@ -62,4 +64,12 @@ public class ExtendedAPI extends APIDetailedDTO {
     public String getMgwApiScope() {
         return mgwApiScope;
     }
+
+    public String getMgwApiPriority() {
+        return mgwApiPriority;
+    }
+
+    public void setMgwApiPriority(String mgwApiPriority) {
+        this.mgwApiPriority = mgwApiPriority;
+    }
 }
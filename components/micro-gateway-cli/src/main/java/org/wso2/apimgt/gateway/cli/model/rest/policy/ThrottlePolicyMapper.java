@@ -30,8 +30,10 @@ import javax.validation.constraints.NotNull;
 public class ThrottlePolicyMapper {
     @NotNull
     private String name = null;
-    @NotNull
+    //either a request count or a data amount is defined by a policy
     private Long count = null;
+    private Long dataAmount = null;
+    private String dataUnit = null;
     @NotNull
     private String timeUnit = null;
     @NotNull
@@ -55,6 +57,22 @@ public class ThrottlePolicyMapper {
         this.count = count;
     }
 
+    public Long getDataAmount() {
+        return dataAmount;
+    }
+
+    public void setDataAmount(Long dataAmount) {
+        this.dataAmount = dataAmount;
+    }
+
+    public String getDataUnit() {
+        return dataUnit;
+    }
+
+    public void setDataUnit(String dataUnit) {
+        this.dataUnit = dataUnit;
+    }
+
     public String getTimeUnit() {
         return timeUnit;
     }
@@ -82,7 +100,12 @@ public class ThrottlePolicyMapper {
     @JsonAnySetter
     public void setValues(String key, LinkedHashMap<String, String> value) {
         this.name = key;
-        this.count = Long.parseLong(value.get("count"));
+        if (value.get("dataAmount") != null) {
+            this.dataAmount = Long.parseLong(value.get("dataAmount"));
+            this.dataUnit = value.get("dataUnit");
+        } else {
+            this.count = Long.parseLong(value.get("count"));
+        }
         this.timeUnit = value.get("timeUnit");
         this.unitTime = Integer.parseInt(value.get("unitTime"));
         if (value.get("stopOnQuota") != null) {
@@ -0,0 +1,73 @@
+package org.wso2.apimgt.gateway.cli.model.route;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Adaptive concurrency limit of an endpoint. Requests exceeding the limit are rejected by the gateway with
+ * 503 Service Unavailable instead of waiting on a slow endpoint.
+ * <p>
+ *     Ex:
+ *        concurrencyLimit:
+ *          initialLimit: 20
+ *          maxLimit: 100
+ * </p>
+ * Defaults match the ones of the gateway.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EndpointConcurrencyLimitDTO {
+
+    private int initialLimit = 20;
+    private int minLimit = 5;
+    private int maxLimit = 200;
+    private double smoothing = 0.2;
+    private double rttTolerance = 1.5;
+    private long windowInMillis = 1000;
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public long getWindowInMillis() {
+        return windowInMillis;
+    }
+
+    public void setWindowInMillis(long windowInMillis) {
+        this.windowInMillis = windowInMillis;
+    }
+}
@@ -0,0 +1,81 @@
+package org.wso2.apimgt.gateway.cli.model.route;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Health check and outlier ejection settings of a load balanced or failover endpoint.
+ * <p>
+ *     Ex:
+ *        healthCheck:
+ *          path: /health
+ *          intervalInMillis: 5000
+ * </p>
+ * Defaults match the ones of the gateway.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EndpointHealthCheckDTO {
+
+    private String path = "";
+    private long intervalInMillis = 10000;
+    private int unhealthyThreshold = 3;
+    private int healthyThreshold = 2;
+    private int consecutiveErrors = 5;
+    private long baseEjectionTimeInMillis = 30000;
+    private long slowStartWindowInMillis = 30000;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public long getIntervalInMillis() {
+        return intervalInMillis;
+    }
+
+    public void setIntervalInMillis(long intervalInMillis) {
+        this.intervalInMillis = intervalInMillis;
+    }
+
+    public int getUnhealthyThreshold() {
+        return unhealthyThreshold;
+    }
+
+    public void setUnhealthyThreshold(int unhealthyThreshold) {
+        this.unhealthyThreshold = unhealthyThreshold;
+    }
+
+    public int getHealthyThreshold() {
+        return healthyThreshold;
+    }
+
+    public void setHealthyThreshold(int healthyThreshold) {
+        this.healthyThreshold = healthyThreshold;
+    }
+
+    public int getConsecutiveErrors() {
+        return consecutiveErrors;
+    }
+
+    public void setConsecutiveErrors(int consecutiveErrors) {
+        this.consecutiveErrors = consecutiveErrors;
+    }
+
+    public long getBaseEjectionTimeInMillis() {
+        return baseEjectionTimeInMillis;
+    }
+
+    public void setBaseEjectionTimeInMillis(long baseEjectionTimeInMillis) {
+        this.baseEjectionTimeInMillis = baseEjectionTimeInMillis;
+    }
+
+    public long getSlowStartWindowInMillis() {
+        return slowStartWindowInMillis;
+    }
+
+    public void setSlowStartWindowInMillis(long slowStartWindowInMillis) {
+        this.slowStartWindowInMillis = slowStartWindowInMillis;
+    }
+}
@@ -19,6 +19,9 @@ public class EndpointListRouteDTO {
     private EndpointType type = null;
     private List<String> endpoints = null;
     private String name;
+    private LoadBalanceAlgorithm algorithm = null;
+    private EndpointHealthCheckDTO healthCheck = null;
+    private EndpointConcurrencyLimitDTO concurrencyLimit = null;
 
     @JsonProperty("securityConfig")
     public APIEndpointSecurityDTO getSecurityConfig() {
@@ -61,6 +64,33 @@ public class EndpointListRouteDTO {
         this.name = name;
     }
 
+    @JsonProperty("algorithm")
+    public LoadBalanceAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(LoadBalanceAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    @JsonProperty("healthCheck")
+    public EndpointHealthCheckDTO getHealthCheck() {
+        return healthCheck;
+    }
+
+    public void setHealthCheck(EndpointHealthCheckDTO healthCheck) {
+        this.healthCheck = healthCheck;
+    }
+
+    @JsonProperty("concurrencyLimit")
+    public EndpointConcurrencyLimitDTO getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(EndpointConcurrencyLimitDTO concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
     public void addEndpoint(String endpoint) {
         if (endpoints == null) {
             endpoints = new ArrayList<>();
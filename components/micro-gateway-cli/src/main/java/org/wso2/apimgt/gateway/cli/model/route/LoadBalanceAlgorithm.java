@@ -0,0 +1,9 @@
+package org.wso2.apimgt.gateway.cli.model.route;
+
+/**
+ * Enum defining the target selection algorithms supported for load balanced endpoints.
+ */
+public enum LoadBalanceAlgorithm {
+    round_robin,
+    adaptive
+}
@@ -19,6 +19,7 @@ package org.wso2.apimgt.gateway.cli.model.template.policy;
 
 import org.wso2.apimgt.gateway.cli.constants.GeneratorConstants;
 import org.wso2.apimgt.gateway.cli.model.rest.policy.ApplicationThrottlePolicyDTO;
+import org.wso2.apimgt.gateway.cli.model.rest.policy.BandwidthLimitDTO;
 import org.wso2.apimgt.gateway.cli.model.rest.policy.RequestCountLimitDTO;
 import org.wso2.apimgt.gateway.cli.model.rest.policy.SubscriptionThrottlePolicyDTO;
 import org.wso2.apimgt.gateway.cli.model.rest.policy.ThrottleLimitDTO;
@@ -40,7 +41,9 @@ public class ThrottlePolicy {
     private String srcPackage;
     private String modelPackage;
     private String funcName;
+    //number of requests, or number of bytes for bandwidth policies
     private long count;
+    private boolean bandwidth;
     private String tierType;
     private boolean stopOnQuotaReach;
 
@@ -108,6 +111,14 @@ public class ThrottlePolicy {
         this.policyKey = policyKey;
     }
 
+    public boolean isBandwidth() {
+        return bandwidth;
+    }
+
+    public void setBandwidth(boolean bandwidth) {
+        this.bandwidth = bandwidth;
+    }
+
     public String getTierType() {
         return tierType;
     }
@@ -126,7 +137,12 @@ public class ThrottlePolicy {
 
     public ThrottlePolicy buildContext(ThrottlePolicyMapper policy, GeneratorConstants.PolicyType type) {
         this.name = CodegenUtils.trim(policy.getName());
-        this.count = policy.getCount();
+        if (policy.getDataAmount() != null) {
+            this.bandwidth = true;
+            this.count = getDataAmountInBytes(policy.getDataAmount(), policy.getDataUnit());
+        } else {
+            this.count = policy.getCount();
+        }
         this.unitTime = getTimeInMilliSeconds(policy.getUnitTime(), policy.getTimeUnit());
         this.stopOnQuotaReach = true;
         switch (type) {
@@ -160,16 +176,9 @@ public class ThrottlePolicy {
     public ThrottlePolicy buildContext(ApplicationThrottlePolicyDTO applicationPolicy) {
         this.policyType = GeneratorConstants.APPLICATION_POLICY_TYPE;
         this.name = CodegenUtils.trim(applicationPolicy.getPolicyName());
-        ThrottleLimitDTO limit = applicationPolicy.getDefaultLimit();
-
-        if (!(limit instanceof RequestCountLimitDTO)) {
-            // returning null for the moment. since we don't use other type policies.
+        if (!setLimit(applicationPolicy.getDefaultLimit())) {
             return null;
         }
-
-        RequestCountLimitDTO requestCountLimitDTO = (RequestCountLimitDTO) limit;
-        this.count = requestCountLimitDTO.getRequestCount();
-        this.unitTime = getTimeInMilliSeconds(requestCountLimitDTO.getUnitTime(), requestCountLimitDTO.getTimeUnit());
         this.funcName =
                 GeneratorConstants.APPLICATION_INIT_FUNC_PREFIX + this.name + GeneratorConstants.INIT_FUNC_SUFFIX;
         this.policyKey = GeneratorConstants.APPLICATION_KEY;
@@ -181,16 +190,9 @@ public class ThrottlePolicy {
     public ThrottlePolicy buildContext(SubscriptionThrottlePolicyDTO applicationPolicy) {
         this.policyType = GeneratorConstants.SUBSCRIPTION_POLICY_TYPE;
         this.name = CodegenUtils.trim(applicationPolicy.getPolicyName());
-        ThrottleLimitDTO limit = applicationPolicy.getDefaultLimit();
-
-        if (!(limit instanceof RequestCountLimitDTO)) {
-            // returning null for the moment. since we don't use other type policies.
+        if (!setLimit(applicationPolicy.getDefaultLimit())) {
             return null;
         }
-
-        RequestCountLimitDTO requestCountLimitDTO = (RequestCountLimitDTO) limit;
-        this.count = requestCountLimitDTO.getRequestCount();
-        this.unitTime = getTimeInMilliSeconds(requestCountLimitDTO.getUnitTime(), requestCountLimitDTO.getTimeUnit());
         this.funcName =
                 GeneratorConstants.SUBSCRIPTION_INIT_FUNC_PREFIX + this.name + GeneratorConstants.INIT_FUNC_SUFFIX;
         this.policyKey = GeneratorConstants.SUBSCRIPTION_KEY;
@@ -213,6 +215,40 @@ public class ThrottlePolicy {
         return this;
     }
 
+    /**
+     * Sets the count and unit time of the policy from a request count or bandwidth limit of the Publisher.
+     *
+     * @param limit default limit of the policy
+     * @return false if the limit type is not supported
+     */
+    private boolean setLimit(ThrottleLimitDTO limit) {
+        if (limit instanceof RequestCountLimitDTO) {
+            this.count = ((RequestCountLimitDTO) limit).getRequestCount();
+        } else if (limit instanceof BandwidthLimitDTO) {
+            BandwidthLimitDTO bandwidthLimitDTO = (BandwidthLimitDTO) limit;
+            this.bandwidth = true;
+            this.count = getDataAmountInBytes(bandwidthLimitDTO.getDataAmount(), bandwidthLimitDTO.getDataUnit());
+        } else {
+            return false;
+        }
+        this.unitTime = getTimeInMilliSeconds(limit.getUnitTime(), limit.getTimeUnit());
+        return true;
+    }
+
+    private long getDataAmountInBytes(long dataAmount, String dataUnit) {
+        long bytes;
+        if ("KB".equalsIgnoreCase(dataUnit)) {
+            bytes = dataAmount * 1024;
+        } else if ("MB".equalsIgnoreCase(dataUnit)) {
+            bytes = dataAmount * 1024 * 1024;
+        } else if ("GB".equalsIgnoreCase(dataUnit)) {
+            bytes = dataAmount * 1024 * 1024 * 1024;
+        } else {
+            throw new RuntimeException("Unsupported data unit provided");
+        }
+        return bytes;
+    }
+
     private long getTimeInMilliSeconds(int unitTime, String timeUnit) {
         long milliSeconds;
         if ("min".equalsIgnoreCase(timeUnit)) {
@@ -16,16 +16,20 @@
 
 package org.wso2.apimgt.gateway.cli.model.template.service;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.models.ExternalDocumentation;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.parameters.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.wso2.apimgt.gateway.cli.constants.OpenAPIConstants;
 import org.wso2.apimgt.gateway.cli.exception.BallerinaServiceGenException;
 import org.wso2.apimgt.gateway.cli.exception.CLIRuntimeException;
 import org.wso2.apimgt.gateway.cli.model.config.BasicAuth;
+import org.wso2.apimgt.gateway.cli.model.config.ResponseCacheConfig;
 import org.wso2.apimgt.gateway.cli.model.mgwcodegen.MgwEndpointConfigDTO;
+import org.wso2.apimgt.gateway.cli.model.mgwcodegen.MgwEndpointListDTO;
 import org.wso2.apimgt.gateway.cli.model.rest.ext.ExtendedAPI;
+import org.wso2.apimgt.gateway.cli.utils.CodegenUtils;
 import org.wso2.apimgt.gateway.cli.utils.OpenAPICodegenUtils;
 
 import java.util.ArrayList;
@@ -33,13 +37,14 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 /**
  * Wraps the {@link Operation} from swagger models to provide iterable child models.
  */
 public class BallerinaOperation implements BallerinaOpenAPIObject<BallerinaOperation, Operation> {
 
+    private static final Logger logger = LoggerFactory.getLogger(BallerinaOperation.class);
+
     public static final String X_THROTTLING_TIER = "x-throttling-tier";
     public static final String X_SCOPE = "x-scope";
     public static final String X_AUTH_TYPE = "x-auth-type";
@@ -55,6 +60,10 @@ public class BallerinaOperation implements BallerinaOpenAPIObject<BallerinaOpera
     private boolean isSecured = true;
     //to identify if the isSecured flag is set from the operation
     private boolean isSecuredAssignedFromOperation = false;
+    private boolean streaming = false;
+    //to identify if the streaming flag is set from the operation
+    private boolean isStreamingAssignedFromOperation = false;
+    private ResponseCacheConfig responseCache;
     private MgwEndpointConfigDTO epConfig;
     private String requestInterceptor;
     private String responseInterceptor;
@@ -62,9 +71,7 @@ public class BallerinaOperation implements BallerinaOpenAPIObject<BallerinaOpera
     private String apiResponseInterceptor;
     private BasicAuth basicAuth;
 
-    @SuppressFBWarnings(value = "URF_UNREAD_FIELD")
     private boolean hasProdEpConfig = false;
-    @SuppressFBWarnings(value = "URF_UNREAD_FIELD")
     private boolean hasSandEpConfig = false;
 
     // Not static since handlebars can't see static variables
@@ -77,9 +84,9 @@ public class BallerinaOperation implements BallerinaOpenAPIObject<BallerinaOpera
             return getDefaultValue();
         }
 
-        // OperationId with spaces with special characters will cause errors in ballerina code.
-        // Replacing it with uuid so that we can identify there was a ' ' when doing bal -> swagger
-        operation.setOperationId(UUID.randomUUID().toString().replaceAll("-", "_"));
+        // OperationId with spaces with special characters will cause errors in ballerina code. The final id is derived
+        // from the API, path and method when the paths of the service are set.
+        operation.setOperationId(CodegenUtils.trim(operation.getOperationId()));
         this.operationId = operation.getOperationId();
         this.tags = operation.getTags();
         this.summary = operation.getSummary();
@@ -127,6 +134,19 @@ public class BallerinaOperation implements BallerinaOpenAPIObject<BallerinaOpera
                             "' should be a boolean value. But provided '" + value.toString() + "'.");
                 }
             });
+            //set resource level payload streaming
+            Optional<Object> streaming = Optional.ofNullable(extensions.get(OpenAPIConstants.STREAMING));
+            streaming.ifPresent(value -> {
+                try {
+                    this.streaming = (Boolean) value;
+                    this.isStreamingAssignedFromOperation = true;
+                } catch (ClassCastException e) {
+                    throw new CLIRuntimeException("The property '" + OpenAPIConstants.STREAMING +
+                            "' should be a boolean value. But provided '" + value.toString() + "'.");
+                }
+            });
+            //set resource level gateway response cache
+            this.responseCache = OpenAPICodegenUtils.getResponseCacheConfig(extensions);
         }
 
         if (operation.getParameters() != null) {
@@ -213,6 +233,81 @@ public class BallerinaOperation implements BallerinaOpenAPIObject<BallerinaOpera
         isSecured = secured;
     }
 
+    /**
+     * Whether the request and response payloads of this resource are passed through to the backend without being
+     * read at the gateway. Interceptors work on the payload, hence streaming is turned off when any of them is set.
+     *
+     * @return true if the payloads are streamed
+     */
+    public boolean isStreaming() {
+        return streaming && requestInterceptor == null && responseInterceptor == null
+                && apiRequestInterceptor == null && apiResponseInterceptor == null;
+    }
+
+    public void setStreaming(boolean streaming) {
+        if (isStreamingAssignedFromOperation) {
+            return;
+        }
+        this.streaming = streaming;
+    }
+
+    /**
+     * Propagates the streaming mode to the resource level endpoints so that their clients are generated without a
+     * response cache. Should be called once the API level extensions are applied to this operation.
+     */
+    public void resolveStreaming() {
+        if (streaming && !isStreaming()) {
+            logger.warn("'" + OpenAPIConstants.STREAMING + "' is ignored for the resource '" + operationId
+                    + "' since interceptors need to access the payload.");
+        }
+        if (epConfig == null) {
+            return;
+        }
+        for (MgwEndpointListDTO endpointList : Arrays.asList(epConfig.getProdEndpointList(),
+                epConfig.getSandboxEndpointList())) {
+            if (endpointList != null) {
+                endpointList.setStreaming(isStreaming());
+            }
+        }
+    }
+
+    /**
+     * Gateway response cache configuration of this resource.
+     *
+     * @return response cache configuration, or null if responses of this resource are not cached
+     */
+    public ResponseCacheConfig getResponseCache() {
+        return responseCache;
+    }
+
+    public void setResponseCache(ResponseCacheConfig responseCache) {
+        if (this.responseCache == null) {
+            this.responseCache = responseCache;
+        }
+    }
+
+    /**
+     * Drops the response cache configuration if the responses of this resource can not be cached at the gateway,
+     * i.e. for methods other than GET and HEAD, and for streamed payloads which are not read at the gateway.
+     * Should be called once the API level extensions and the streaming mode are applied to this operation.
+     *
+     * @param method HTTP method of the resource
+     */
+    public void resolveResponseCache(String method) {
+        if (responseCache == null) {
+            return;
+        }
+        if (!responseCache.isEnabled()) {
+            responseCache = null;
+        } else if (!"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method)) {
+            responseCache = null;
+        } else if (isStreaming()) {
+            logger.warn("'" + OpenAPIConstants.RESPONSE_CACHE + "' is ignored for the resource '" + operationId
+                    + "' since the payload is streamed.");
+            responseCache = null;
+        }
+    }
+
     public MgwEndpointConfigDTO getEpConfigDTO() {
         return epConfig;
     }
@@ -228,6 +323,24 @@ public class BallerinaOperation implements BallerinaOpenAPIObject<BallerinaOpera
         }
     }
 
+    /**
+     * Whether this resource has production endpoints of its own, rather than using the API level endpoints.
+     *
+     * @return true if the resource level production endpoints are used
+     */
+    public boolean hasProdEpConfig() {
+        return hasProdEpConfig;
+    }
+
+    /**
+     * Whether this resource has sandbox endpoints of its own, rather than using the API level endpoints.
+     *
+     * @return true if the resource level sandbox endpoints are used
+     */
+    public boolean hasSandEpConfig() {
+        return hasSandEpConfig;
+    }
+
     public String getRequestInterceptor() {
         return requestInterceptor;
     }
@@ -25,8 +25,10 @@ import io.swagger.v3.oas.models.tags.Tag;
 import org.wso2.apimgt.gateway.cli.constants.OpenAPIConstants;
 import org.wso2.apimgt.gateway.cli.exception.BallerinaServiceGenException;
 import org.wso2.apimgt.gateway.cli.exception.CLIRuntimeException;
+import org.wso2.apimgt.gateway.cli.hashing.HashUtils;
 import org.wso2.apimgt.gateway.cli.model.config.Config;
 import org.wso2.apimgt.gateway.cli.model.config.ContainerConfig;
+import org.wso2.apimgt.gateway.cli.model.config.ResponseCacheConfig;
 import org.wso2.apimgt.gateway.cli.model.mgwcodegen.MgwEndpointConfigDTO;
 import org.wso2.apimgt.gateway.cli.model.rest.ext.ExtendedAPI;
 import org.wso2.apimgt.gateway.cli.utils.CmdUtils;
@@ -39,13 +41,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
 
 /**
  * Wrapper for {@link OpenAPI}.
  * <p>This class can be used to push additional context variables for handlebars</p>
  */
 public class BallerinaService implements BallerinaOpenAPIObject<BallerinaService, OpenAPI> {
+    private static final String RESPONSE_CACHING_ENABLED = "Enabled";
     private String name;
     private ContainerConfig containerConfig;
     private Config config;
@@ -90,6 +92,7 @@ public class BallerinaService implements BallerinaOpenAPIObject<BallerinaService
         this.setBasepath(api.getSpecificBasepath());
         setSecuritySchemas(api.getMgwApiSecurity());
         setPaths(definition);
+        setEndpointStreaming();
 
         return buildContext(definition);
     }
@@ -151,8 +154,10 @@ public class BallerinaService implements BallerinaOpenAPIObject<BallerinaService
         for (Map.Entry<String, PathItem> path : pathList.entrySet()) {
             BallerinaPath balPath = new BallerinaPath().buildContext(path.getValue(), this.api);
             balPath.getOperations().forEach(operation -> {
-                // set the ballerina function name as {http_method}{UUID} ex : get_2345_sdfd_4324_dfds
-                String operationId = operation.getKey() + "_" + UUID.randomUUID().toString().replaceAll("-", "_");
+                // set the ballerina function name as {http_method}_{resource id} ex : get_5a8f3e0c1d..., the id is
+                // stable across builds so that unchanged APIs generate identical sources
+                String operationId = operation.getKey() + "_" + HashUtils.generateResourceId(this.api.getName(),
+                        this.api.getVersion(), path.getKey(), operation.getKey());
                 operation.getValue().setOperationId(operationId);
                 //to set BasicAuth property corresponding to the security schema in API-level
                 operation.getValue().setBasicAuth(OpenAPICodegenUtils
@@ -192,12 +197,70 @@ public class BallerinaService implements BallerinaOpenAPIObject<BallerinaService
                     });
                     //to set scope property of API
                     operation.getValue().setScope(api.getMgwApiScope());
+                    //to set API-level payload streaming
+                    Optional<Object> streaming = Optional.ofNullable(openAPI.getExtensions()
+                            .get(OpenAPIConstants.STREAMING));
+                    streaming.ifPresent(value -> {
+                        try {
+                            operation.getValue().setStreaming((Boolean) value);
+                        } catch (ClassCastException e) {
+                            throw new CLIRuntimeException("The property '" + OpenAPIConstants.STREAMING +
+                                    "' should be a boolean value. But provided '" + value.toString() + "'.");
+                        }
+                    });
+                    //to set API-level gateway response cache
+                    operation.getValue().setResponseCache(OpenAPICodegenUtils
+                            .getResponseCacheConfig(openAPI.getExtensions()));
+                } else if (RESPONSE_CACHING_ENABLED.equalsIgnoreCase(api.getResponseCaching())) {
+                    //response caching enabled for the API in API Manager
+                    ResponseCacheConfig responseCache = new ResponseCacheConfig();
+                    if (api.getCacheTimeout() != null) {
+                        responseCache.setMaxAgeInSeconds(api.getCacheTimeout());
+                    }
+                    operation.getValue().setResponseCache(responseCache);
                 }
+                operation.getValue().resolveStreaming();
+                operation.getValue().resolveResponseCache(operation.getKey());
             });
             paths.add(new AbstractMap.SimpleEntry<>(path.getKey(), balPath));
         }
     }
 
+    /**
+     * Generates the API level endpoint clients without a response cache if the payloads of every resource using them
+     * are streamed. The clients are shared by the resources without endpoints of their own, hence a single resource
+     * which reads the payload, e.g. since streaming is turned off for it or it has interceptors, keeps the response
+     * cache of the shared clients. Should be called once the streaming mode of the resources is resolved.
+     */
+    private void setEndpointStreaming() {
+        if (endpointConfig == null) {
+            return;
+        }
+        boolean prodStreaming = endpointConfig.getProdEndpointList() != null;
+        boolean sandboxStreaming = endpointConfig.getSandboxEndpointList() != null;
+        boolean prodUsed = false;
+        boolean sandboxUsed = false;
+        for (Map.Entry<String, BallerinaPath> path : paths) {
+            for (Map.Entry<String, BallerinaOperation> operation : path.getValue().getOperations()) {
+                BallerinaOperation ballerinaOperation = operation.getValue();
+                if (!ballerinaOperation.hasProdEpConfig()) {
+                    prodUsed = true;
+                    prodStreaming &= ballerinaOperation.isStreaming();
+                }
+                if (!ballerinaOperation.hasSandEpConfig()) {
+                    sandboxUsed = true;
+                    sandboxStreaming &= ballerinaOperation.isStreaming();
+                }
+            }
+        }
+        if (prodUsed && prodStreaming) {
+            endpointConfig.getProdEndpointList().setStreaming(true);
+        }
+        if (sandboxUsed && sandboxStreaming) {
+            endpointConfig.getSandboxEndpointList().setStreaming(true);
+        }
+    }
+
     private String replaceAllNonAlphaNumeric(String value) {
         return value.replaceAll("[^a-zA-Z0-9]+", "_");
     }
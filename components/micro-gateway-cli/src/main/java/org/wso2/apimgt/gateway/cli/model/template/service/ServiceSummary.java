@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.apimgt.gateway.cli.model.template.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Details of a generated {@link BallerinaService} which are required by the project level templates such as the
+ * main function. Unlike the service context, a summary can be stored with the generated sources and reused when the
+ * API definition does not change between builds.
+ */
+public class ServiceSummary {
+    private String qualifiedServiceName;
+    private List<String> operationIds = new ArrayList<>();
+    private String apiDefinition;
+
+    public ServiceSummary() {
+    }
+
+    public ServiceSummary(BallerinaService service) {
+        this.qualifiedServiceName = service.getQualifiedServiceName();
+        if (service.getPaths() != null) {
+            service.getPaths().forEach(path -> path.getValue().getOperations()
+                    .forEach(operation -> operationIds.add(operation.getValue().getOperationId())));
+        }
+        if (service.getApi() != null) {
+            this.apiDefinition = service.getApi().getApiDefinition();
+        }
+    }
+
+    public String getQualifiedServiceName() {
+        return qualifiedServiceName;
+    }
+
+    public void setQualifiedServiceName(String qualifiedServiceName) {
+        this.qualifiedServiceName = qualifiedServiceName;
+    }
+
+    public List<String> getOperationIds() {
+        return operationIds;
+    }
+
+    public void setOperationIds(List<String> operationIds) {
+        this.operationIds = operationIds;
+    }
+
+    public String getApiDefinition() {
+        return apiDefinition;
+    }
+
+    public void setApiDefinition(String apiDefinition) {
+        this.apiDefinition = apiDefinition;
+    }
+}
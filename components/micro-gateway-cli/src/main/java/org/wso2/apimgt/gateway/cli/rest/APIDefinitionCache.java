@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.apimgt.gateway.cli.rest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.apimgt.gateway.cli.hashing.HashUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores the open API definitions imported from the API Publisher in the CLI temp folder of the project. Definition
+ * contents are stored under their content hash, and an index maps each API id to the hash together with the
+ * validators (ETag and Last-Modified) returned by the Publisher, so that the next import can request the definition
+ * conditionally and reuse the stored content when the Publisher responds with 304 Not Modified.
+ */
+public class APIDefinitionCache {
+    private static final Logger logger = LoggerFactory.getLogger(APIDefinitionCache.class);
+    private static final String INDEX_FILE_NAME = "index.json";
+    private static final String CONTENT_FILE_EXTENSION = ".definition";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path cacheDirectory;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+
+    public APIDefinitionCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        Path indexPath = cacheDirectory.resolve(INDEX_FILE_NAME);
+        if (Files.exists(indexPath)) {
+            try {
+                index.putAll(objectMapper.readValue(indexPath.toFile(), new TypeReference<Map<String, Entry>>() {
+                }));
+            } catch (IOException e) {
+                // every definition is downloaded again, which rebuilds the index
+                logger.debug("Ignoring unreadable API definition cache index {}", indexPath, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached entry of an API if its content is still available.
+     *
+     * @param apiId id of the API in the Publisher
+     * @return cached entry, or null if the definition is not cached
+     */
+    public Entry get(String apiId) {
+        Entry entry = index.get(apiId);
+        if (entry == null || Files.notExists(getContentPath(entry.getContentHash()))) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Reads the definition content of a cached entry.
+     *
+     * @param entry entry returned by {@link #get(String)}
+     * @return definition content, or null if it can not be read
+     */
+    public String getContent(Entry entry) {
+        try {
+            return new String(Files.readAllBytes(getContentPath(entry.getContentHash())), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.debug("Failed to read cached API definition {}", entry.getContentHash(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a definition downloaded from the Publisher.
+     *
+     * @param apiId        id of the API in the Publisher
+     * @param content      definition content
+     * @param etag         ETag response header, or null
+     * @param lastModified Last-Modified response header, or null
+     */
+    public void put(String apiId, String content, String etag, String lastModified) {
+        byte[] contentBytes = content.getBytes(StandardCharsets.UTF_8);
+        String contentHash = HashUtils.generateContentHash(contentBytes);
+        try {
+            Files.createDirectories(cacheDirectory);
+            Path contentPath = getContentPath(contentHash);
+            if (Files.notExists(contentPath)) {
+                Files.write(contentPath, contentBytes);
+            }
+        } catch (IOException e) {
+            // the import does not depend on the cache, the definition is downloaded again in the next import
+            logger.debug("Failed to store API definition of {} in the cache", apiId, e);
+            return;
+        }
+        Entry entry = new Entry();
+        entry.setContentHash(contentHash);
+        entry.setEtag(etag);
+        entry.setLastModified(lastModified);
+        index.put(apiId, entry);
+    }
+
+    /**
+     * Writes the index and removes definition contents which are no longer referenced by it.
+     */
+    public void persist() {
+        if (index.isEmpty() && Files.notExists(cacheDirectory)) {
+            return;
+        }
+        try {
+            Files.createDirectories(cacheDirectory);
+            objectMapper.writeValue(cacheDirectory.resolve(INDEX_FILE_NAME).toFile(), index);
+            Set<String> referencedFiles = new HashSet<>();
+            for (Entry entry : index.values()) {
+                referencedFiles.add(entry.getContentHash() + CONTENT_FILE_EXTENSION);
+            }
+            try (Stream<Path> files = Files.list(cacheDirectory)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    String fileName = file.getFileName().toString();
+                    if (fileName.endsWith(CONTENT_FILE_EXTENSION) && !referencedFiles.contains(fileName)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to persist the API definition cache {}", cacheDirectory, e);
+        }
+    }
+
+    private Path getContentPath(String contentHash) {
+        return cacheDirectory.resolve(contentHash + CONTENT_FILE_EXTENSION);
+    }
+
+    /**
+     * Cached definition of a single API.
+     */
+    public static class Entry {
+        private String contentHash;
+        private String etag;
+        private String lastModified;
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public void setContentHash(String contentHash) {
+            this.contentHash = contentHash;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public void setEtag(String etag) {
+            this.etag = etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public void setLastModified(String lastModified) {
+            this.lastModified = lastModified;
+        }
+    }
+}
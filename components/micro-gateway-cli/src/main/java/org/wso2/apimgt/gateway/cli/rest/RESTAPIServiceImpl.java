@@ -38,10 +38,15 @@ import org.wso2.apimgt.gateway.cli.utils.CmdUtils;
 import org.wso2.apimgt.gateway.cli.utils.RESTAPIUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.net.ssl.HttpsURLConnection;
 
@@ -56,6 +61,7 @@ public class RESTAPIServiceImpl implements RESTAPIService {
     private String adminEp;
     private boolean inSecure;
     private String restVersion;
+    private APIDefinitionCache definitionCache;
 
     public RESTAPIServiceImpl(String publisherEp, String adminEp, String restVersion, boolean inSecure) {
         this.publisherEp = publisherEp;
@@ -64,6 +70,12 @@ public class RESTAPIServiceImpl implements RESTAPIService {
         this.restVersion = restVersion;
     }
 
+    public RESTAPIServiceImpl(String publisherEp, String adminEp, String restVersion, boolean inSecure,
+            APIDefinitionCache definitionCache) {
+        this(publisherEp, adminEp, restVersion, inSecure);
+        this.definitionCache = definitionCache;
+    }
+
     /**
      * @see RESTAPIService#getAPIs(String, String)
      */
@@ -105,10 +117,10 @@ public class RESTAPIServiceImpl implements RESTAPIService {
                 apiListDTO = mapper.readValue(responseStr, APIListDTO.class);
                 for (ExtendedAPI api : apiListDTO.getList()) {
                     setAdditionalConfigs(api);
-                    // if using APIM v3, then open API should be fetched separately and set to the API object.
-                    if (!isExpand) {
-                        api.setApiDefinition(getOpenAPIFromAPIId(api.getId(), accessToken));
-                    }
+                }
+                // if using APIM v3, then open API should be fetched separately and set to the API object.
+                if (!isExpand) {
+                    setOpenAPIDefinitions(apiListDTO.getList(), accessToken);
                 }
             } else if (responseCode == 401) {
                 throw new CLIRuntimeException(
@@ -185,6 +197,7 @@ public class RESTAPIServiceImpl implements RESTAPIService {
                     // if using APIM v3, then open API should be fetched separately and set to the API object.
                     if (!isExpand) {
                         matchedAPI.setApiDefinition(getOpenAPIFromAPIId(matchedAPI.getId(), accessToken));
+                        persistDefinitionCache();
                     }
                 } else {
                     throw new CLIInternalException("No proper response received for get API request.");
@@ -207,45 +220,112 @@ public class RESTAPIServiceImpl implements RESTAPIService {
         return matchedAPI;
     }
 
+    /**
+     * Fetches the open API definitions of the given APIs in parallel. The number of concurrent requests is bounded by
+     * the number of idle connections the JDK keeps alive per destination (http.maxConnections), so that every
+     * worker reuses a pooled connection instead of doing a new TLS handshake per API.
+     */
+    private void setOpenAPIDefinitions(List<ExtendedAPI> apis, String accessToken) throws IOException {
+        if (apis.isEmpty()) {
+            return;
+        }
+        int parallelism = Math.min(apis.size(),
+                Math.max(1, Integer.getInteger(RESTServiceConstants.HTTP_MAX_CONNECTIONS,
+                        RESTServiceConstants.DEFAULT_HTTP_MAX_CONNECTIONS)));
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<String>> definitions = new ArrayList<>(apis.size());
+            for (ExtendedAPI api : apis) {
+                definitions.add(executor.submit(() -> getOpenAPIFromAPIId(api.getId(), accessToken)));
+            }
+            for (int i = 0; i < apis.size(); i++) {
+                apis.get(i).setApiDefinition(definitions.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CLIInternalException("Interrupted while getting the open API definitions", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CLIInternalException("Error while getting the open API definitions", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        persistDefinitionCache();
+    }
+
     private String getOpenAPIFromAPIId(String apiId, String accessToken) throws IOException {
         URL url;
-        HttpsURLConnection urlConn = null;
+        HttpsURLConnection urlConn;
         String openAPIContent;
-        publisherEp = publisherEp.endsWith("/") ? publisherEp : publisherEp + "/";
-        try {
-            String urlStr = publisherEp + RESTServiceConstants.API_OPEN_API_GET_URI
-                    .replace(CliConstants.API_ID_PLACEHOLDER, URLEncoder.encode(apiId, CliConstants.CHARSET_UTF8));
-            logger.debug("GET OPEN API URL: {}", urlStr);
-            url = new URL(urlStr);
-            urlConn = (HttpsURLConnection) url.openConnection();
-            if (inSecure) {
-                urlConn.setHostnameVerifier((s, sslSession) -> true);
+        APIDefinitionCache.Entry cachedEntry = definitionCache != null ? definitionCache.get(apiId) : null;
+        String urlStr = publisherEp + RESTServiceConstants.API_OPEN_API_GET_URI
+                .replace(CliConstants.API_ID_PLACEHOLDER, URLEncoder.encode(apiId, CliConstants.CHARSET_UTF8));
+        logger.debug("GET OPEN API URL: {}", urlStr);
+        url = new URL(urlStr);
+        urlConn = (HttpsURLConnection) url.openConnection();
+        if (inSecure) {
+            urlConn.setHostnameVerifier((s, sslSession) -> true);
+        }
+        urlConn.setRequestMethod(RESTServiceConstants.GET);
+        urlConn.setRequestProperty(RESTServiceConstants.AUTHORIZATION,
+                RESTServiceConstants.BEARER + " " + accessToken);
+        if (cachedEntry != null) {
+            if (cachedEntry.getEtag() != null) {
+                urlConn.setRequestProperty(RESTServiceConstants.IF_NONE_MATCH, cachedEntry.getEtag());
             }
-            urlConn.setDoOutput(true);
-            urlConn.setRequestMethod(RESTServiceConstants.GET);
-            urlConn.setRequestProperty(RESTServiceConstants.AUTHORIZATION,
-                    RESTServiceConstants.BEARER + " " + accessToken);
-            int responseCode = urlConn.getResponseCode();
-            logger.debug("Response code: {}", responseCode);
-            if (responseCode == 200) {
-                openAPIContent = RESTAPIUtils.getResponseString(urlConn.getInputStream());
-                logger.trace("Response body: {}", openAPIContent);
-                //convert json string to object
-
-            } else if (responseCode == 401) {
-                throw new CLIRuntimeException(
-                        "Invalid user credentials or the user does not have required permissions");
-            } else {
-                throw new CLIInternalException(
-                        "Error occurred while getting the open API definition of API with ID: " + apiId
-                                + ". Status code: " + responseCode);
+            if (cachedEntry.getLastModified() != null) {
+                urlConn.setRequestProperty(RESTServiceConstants.IF_MODIFIED_SINCE, cachedEntry.getLastModified());
             }
-        } finally {
-            if (urlConn != null) {
-                urlConn.disconnect();
+        }
+        // the connection is not disconnected, so that it is returned to the keep-alive pool once the response
+        // stream is fully read and closed
+        int responseCode = urlConn.getResponseCode();
+        logger.debug("Response code: {}", responseCode);
+        if (responseCode == 200) {
+            openAPIContent = RESTAPIUtils.getResponseString(urlConn.getInputStream());
+            logger.trace("Response body: {}", openAPIContent);
+            if (definitionCache != null) {
+                definitionCache.put(apiId, openAPIContent, urlConn.getHeaderField(RESTServiceConstants.ETAG),
+                        urlConn.getHeaderField(RESTServiceConstants.LAST_MODIFIED));
             }
+            return openAPIContent;
+        }
+        discardErrorStream(urlConn);
+        if (responseCode == 304 && cachedEntry != null) {
+            openAPIContent = definitionCache.getContent(cachedEntry);
+            if (openAPIContent != null) {
+                logger.debug("Open API definition of API with ID: {} is not modified", apiId);
+                return openAPIContent;
+            }
+            throw new CLIInternalException(
+                    "Cached open API definition of API with ID: " + apiId + " could not be read");
+        } else if (responseCode == 401) {
+            throw new CLIRuntimeException(
+                    "Invalid user credentials or the user does not have required permissions");
+        } else {
+            throw new CLIInternalException(
+                    "Error occurred while getting the open API definition of API with ID: " + apiId
+                            + ". Status code: " + responseCode);
+        }
+    }
+
+    private static void discardErrorStream(HttpsURLConnection urlConn) throws IOException {
+        try (InputStream errorStream = urlConn.getErrorStream()) {
+            if (errorStream != null) {
+                RESTAPIUtils.getResponseString(errorStream);
+            }
+        }
+    }
+
+    private void persistDefinitionCache() {
+        if (definitionCache != null) {
+            definitionCache.persist();
         }
-        return openAPIContent;
     }
 
     private void setAdditionalConfigs(ExtendedAPI api) {
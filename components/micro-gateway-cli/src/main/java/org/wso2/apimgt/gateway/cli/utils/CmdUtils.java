@@ -50,6 +50,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -350,7 +351,14 @@ public final class CmdUtils {
                 Files.createDirectory(genPath);
                 Files.createDirectory(apiDefPath);
             }
-            writeContent(apiDefinition, new File(getProjectGenSwaggerPath(projectName, apiId, extension)));
+            File apiDefFile = new File(getProjectGenSwaggerPath(projectName, apiId, extension));
+            // leave the definitions of unchanged APIs untouched, so that their sources are not regenerated
+            if (apiDefFile.exists() && Arrays.equals(Files.readAllBytes(apiDefFile.toPath()),
+                    apiDefinition.getBytes(StandardCharsets.UTF_8))) {
+                logger.debug("API definition {} is not changed", apiDefFile);
+                return;
+            }
+            writeContent(apiDefinition, apiDefFile);
         } catch (IOException e) {
             throw new CLIInternalException("Error while copying the swagger to the project directory");
         }
@@ -432,6 +440,37 @@ public final class CmdUtils {
                 + CliConstants.RESOURCE_HASH_HOLDER_FILE_NAME;
     }
 
+    /**
+     * Returns path to the directory in the CLI temp folder which holds the sources generated in previous builds
+     *
+     * @param projectName name of the project
+     * @return path to the generated source cache directory
+     */
+    public static String getProjectCodegenCacheDirectoryPath(String projectName) {
+        return getProjectTempFolderLocation(projectName) + File.separator + CliConstants.CODEGEN_CACHE_DIR;
+    }
+
+    /**
+     * Returns path to the directory in the CLI temp folder which holds the executables compiled in previous builds
+     *
+     * @param projectName name of the project
+     * @return path to the build cache directory
+     */
+    public static String getProjectBuildCacheDirectoryPath(String projectName) {
+        return getProjectTempFolderLocation(projectName) + File.separator + CliConstants.BUILD_CACHE_DIR;
+    }
+
+    /**
+     * Returns path to the directory in the CLI temp folder which holds the API definitions imported from the API
+     * Publisher
+     *
+     * @param projectName name of the project
+     * @return path to the imported API definition cache directory
+     */
+    public static String getProjectDefinitionCacheDirectoryPath(String projectName) {
+        return getProjectTempFolderLocation(projectName) + File.separator + CliConstants.DEFINITION_CACHE_DIR;
+    }
+
     /**
      * Returns location of the main configuration file of given project root
      *
@@ -17,6 +17,7 @@ package org.wso2.apimgt.gateway.cli.utils;
 
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
 import com.github.jknack.handlebars.helper.StringHelpers;
 import com.github.jknack.handlebars.io.ClassPathTemplateLoader;
 import com.github.jknack.handlebars.io.FileTemplateLoader;
@@ -30,7 +31,8 @@ import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utilities used by ballerina code generator.
@@ -38,6 +40,7 @@ import java.util.UUID;
 public final class CodegenUtils {
     private static final Logger logger = LoggerFactory.getLogger(CodegenUtils.class);
     public static final String ENV = "$env{";
+    private static final Map<String, Handlebars> handlebarsCache = new ConcurrentHashMap<>();
 
     private CodegenUtils() {
 
@@ -63,7 +66,8 @@ public final class CodegenUtils {
     }
 
     /**
-     * Compile given template
+     * Compile given template. Compiled templates, including the partials they refer to, are cached per template
+     * directory so that a template is parsed only once even when it is applied for many APIs.
      *
      * @param defaultTemplateDir template directory
      * @param templateName template name
@@ -72,12 +76,18 @@ public final class CodegenUtils {
      */
     public static Template compileTemplate(String defaultTemplateDir, String templateName) throws IOException {
         String templatesDirPath = System.getProperty(GeneratorConstants.TEMPLATES_DIR_PATH_KEY, defaultTemplateDir);
+        Handlebars handlebars = handlebarsCache.computeIfAbsent(templatesDirPath, CodegenUtils::createHandlebars);
+        return handlebars.compile(templateName);
+    }
+
+    private static Handlebars createHandlebars(String templatesDirPath) {
         ClassPathTemplateLoader cpTemplateLoader = new ClassPathTemplateLoader((templatesDirPath));
         FileTemplateLoader fileTemplateLoader = new FileTemplateLoader(templatesDirPath);
         cpTemplateLoader.setSuffix(GeneratorConstants.TEMPLATES_SUFFIX);
         fileTemplateLoader.setSuffix(GeneratorConstants.TEMPLATES_SUFFIX);
 
-        Handlebars handlebars = new Handlebars().with(cpTemplateLoader, fileTemplateLoader);
+        Handlebars handlebars = new Handlebars().with(cpTemplateLoader, fileTemplateLoader)
+                .with(new ConcurrentMapTemplateCache());
         handlebars.registerHelpers(StringHelpers.class);
         handlebars.registerHelper("equals", (object, options) -> {
             CharSequence result;
@@ -98,8 +108,7 @@ public final class CodegenUtils {
 
             return result;
         });
-
-        return handlebars.compile(templateName);
+        return handlebars;
     }
 
     /**
@@ -130,11 +139,7 @@ public final class CodegenUtils {
         if (key == null) {
             return null;
         }
-        key = key.replaceAll("(\\.)|(-)|(\\{)|(})|(\\s)|(/)", "_");
-        if (key.contains("*")) {
-            key = key.replaceAll("\\*", UUID.randomUUID().toString().replaceAll("-", "_"));
-        }
-        return key;
+        return key.replaceAll("(\\.)|(-)|(\\{)|(})|(\\s)|(/)|(\\*)", "_");
     }
 
     /**
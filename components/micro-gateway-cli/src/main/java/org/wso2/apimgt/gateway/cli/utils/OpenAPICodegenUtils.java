@@ -38,6 +38,7 @@ import org.wso2.apimgt.gateway.cli.constants.OpenAPIConstants;
 import org.wso2.apimgt.gateway.cli.exception.CLIRuntimeException;
 import org.wso2.apimgt.gateway.cli.hashing.HashUtils;
 import org.wso2.apimgt.gateway.cli.model.config.BasicAuth;
+import org.wso2.apimgt.gateway.cli.model.config.ResponseCacheConfig;
 import org.wso2.apimgt.gateway.cli.model.mgwcodegen.MgwEndpointConfigDTO;
 import org.wso2.apimgt.gateway.cli.model.rest.APICorsConfigurationDTO;
 import org.wso2.apimgt.gateway.cli.model.rest.ext.ExtendedAPI;
@@ -70,6 +71,7 @@ public class OpenAPICodegenUtils {
 
     private static final String openAPISpec2 = "2";
     private static final String openAPISpec3 = "3";
+    private static final List<String> API_PRIORITIES = Arrays.asList("high", "normal", "low");
     private static final Map<String, String> basePathMap = new HashMap<>();
     private static Map<String, String> requestInterceptorMap = new HashMap<>();
     private static Map<String, String> responseInterceptorMap = new HashMap<>();
@@ -286,6 +288,15 @@ public class OpenAPICodegenUtils {
             throw new CLIRuntimeException("'" + OpenAPIConstants.CORS + "' property is not properly set for the " +
                     "openAPI definition file. \n" + openAPIFilePath);
         }
+        // set the priority of the API under overload from the open API extension
+        Object priority = openAPI.getExtensions().get(OpenAPIConstants.PRIORITY);
+        if (priority != null) {
+            if (!API_PRIORITIES.contains(priority.toString())) {
+                throw new CLIRuntimeException("The property '" + OpenAPIConstants.PRIORITY + "' should be one of "
+                        + API_PRIORITIES + ". But provided '" + priority + "'.");
+            }
+            api.setMgwApiPriority(priority.toString());
+        }
     }
 
     /**
@@ -361,6 +372,16 @@ public class OpenAPICodegenUtils {
             throw new CLIRuntimeException("'" + OpenAPIConstants.BASEPATH + "' property is not included in openAPI " +
                     "definition '" + openApiFilePath + "'.");
         }
+        registerBasepath(basePath, openApiFilePath);
+    }
+
+    /**
+     * Registers the base path of an openAPI definition, failing if another definition uses the same base path.
+     *
+     * @param basePath        value of the base path extension
+     * @param openApiFilePath file path to openAPI definition
+     */
+    public static void registerBasepath(String basePath, String openApiFilePath) {
         basePath = basePath.startsWith("/") ? basePath : "/" + basePath;
         if (basePathMap.containsKey(basePath)) {
             throw new CLIRuntimeException("The value for '" + OpenAPIConstants.BASEPATH + "' " + basePath +
@@ -661,6 +682,37 @@ public class OpenAPICodegenUtils {
         return new String[]{securitySchemas, scopes};
     }
 
+    /**
+     * Reads the gateway response cache configuration given with the 'x-wso2-response-cache' extension.
+     *
+     * @param extensions extensions of the API or the resource
+     * @return response cache configuration, or null if the extension is not given
+     */
+    public static ResponseCacheConfig getResponseCacheConfig(Map<String, Object> extensions) {
+        if (extensions == null || !extensions.containsKey(OpenAPIConstants.RESPONSE_CACHE)) {
+            return null;
+        }
+        Object value = extensions.get(OpenAPIConstants.RESPONSE_CACHE);
+        try {
+            if (value instanceof Boolean) {
+                ResponseCacheConfig responseCacheConfig = new ResponseCacheConfig();
+                responseCacheConfig.setEnabled((Boolean) value);
+                return responseCacheConfig;
+            }
+            ResponseCacheConfig responseCacheConfig = objectMapper.convertValue(value, ResponseCacheConfig.class);
+            String scope = responseCacheConfig.getScope();
+            if (!ResponseCacheConfig.SCOPE_CALLER.equals(scope) && !ResponseCacheConfig.SCOPE_APPLICATION.equals(scope)
+                    && !ResponseCacheConfig.SCOPE_SHARED.equals(scope)) {
+                throw new CLIRuntimeException("The scope of '" + OpenAPIConstants.RESPONSE_CACHE + "' should be one "
+                        + "of caller, application or shared. Provided '" + scope + "'.");
+            }
+            return responseCacheConfig;
+        } catch (IllegalArgumentException e) {
+            throw new CLIRuntimeException("The property '" + OpenAPIConstants.RESPONSE_CACHE
+                    + "' is not in the expected format. Provided '" + value + "'.", e);
+        }
+    }
+
     public static BasicAuth getMgwResourceBasicAuth(Operation operation) {
         String securitySchemas = generateMgwSecuritySchemasAndScopes(operation.getSecurity())[0];
         if (StringUtils.isEmpty(securitySchemas)) {
@@ -718,10 +770,22 @@ public class OpenAPICodegenUtils {
      * @param openAPIFilePath file path to openAPI definition
      */
     private static void validateAPINameAndVersion(OpenAPI openAPI, String openAPIFilePath) {
-        String apiNameVersion = openAPI.getInfo().getTitle() + ":" + openAPI.getInfo().getVersion();
+        registerAPINameAndVersion(openAPI.getInfo().getTitle(), openAPI.getInfo().getVersion(), openAPIFilePath);
+    }
+
+    /**
+     * Registers the name and version of an openAPI definition, failing if another definition has the same name and
+     * version.
+     *
+     * @param apiName         name of the API
+     * @param apiVersion      version of the API
+     * @param openAPIFilePath file path to openAPI definition
+     */
+    public static void registerAPINameAndVersion(String apiName, String apiVersion, String openAPIFilePath) {
+        String apiNameVersion = apiName + ":" + apiVersion;
         if (apiNameVersionMap.containsKey(apiNameVersion)) {
-            throw new CLIRuntimeException("The API '" + openAPI.getInfo().getTitle() + "' version '" +
-                    openAPI.getInfo().getVersion() + "' is duplicated across multiple openAPI definitions. \n" +
+            throw new CLIRuntimeException("The API '" + apiName + "' version '" +
+                    apiVersion + "' is duplicated across multiple openAPI definitions. \n" +
                     apiNameVersionMap.get(apiNameVersion) + "\n" + openAPIFilePath);
         }
         apiNameVersionMap.put(apiNameVersion, openAPIFilePath);
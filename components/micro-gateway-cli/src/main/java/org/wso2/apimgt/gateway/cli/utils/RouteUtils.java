@@ -26,8 +26,11 @@ import org.wso2.apimgt.gateway.cli.model.mgwcodegen.MgwEndpointDTO;
 import org.wso2.apimgt.gateway.cli.model.mgwcodegen.MgwEndpointListDTO;
 import org.wso2.apimgt.gateway.cli.model.rest.APIEndpointSecurityDTO;
 import org.wso2.apimgt.gateway.cli.model.rest.EndpointUrlTypeEnum;
+import org.wso2.apimgt.gateway.cli.model.route.EndpointConcurrencyLimitDTO;
+import org.wso2.apimgt.gateway.cli.model.route.EndpointHealthCheckDTO;
 import org.wso2.apimgt.gateway.cli.model.route.EndpointListRouteDTO;
 import org.wso2.apimgt.gateway.cli.model.route.EndpointType;
+import org.wso2.apimgt.gateway.cli.model.route.LoadBalanceAlgorithm;
 import org.wso2.apimgt.gateway.cli.model.route.RouteEndpointConfig;
 
 import java.io.IOException;
@@ -125,6 +128,9 @@ public final class RouteUtils {
             }
         }
 
+        setBalancingConfig(rootNode, prodEndpointConfig);
+        setBalancingConfig(rootNode, sandEndpointConfig);
+
         if (prodEndpointConfig.getEndpoints() != null && prodEndpointConfig.getEndpoints().size() > 0) {
             endpointConfig.setProdEndpointList(prodEndpointConfig);
         }
@@ -136,6 +142,35 @@ public final class RouteUtils {
         return endpointConfig;
     }
 
+    /**
+     * Set the optional load balance algorithm, health check and concurrency limit settings of the endpoint
+     * configuration. They apply to both environments like the endpoint type.
+     *
+     * @param rootNode           endpoint configuration json
+     * @param endpointListConfig {@link EndpointListRouteDTO} object of an environment
+     */
+    private static void setBalancingConfig(JsonNode rootNode, EndpointListRouteDTO endpointListConfig) {
+        JsonNode algorithmNode = rootNode.get(RESTServiceConstants.ALGORITHM);
+        JsonNode healthCheckNode = rootNode.get(RESTServiceConstants.HEALTH_CHECK);
+        JsonNode concurrencyLimitNode = rootNode.get(RESTServiceConstants.CONCURRENCY_LIMIT);
+        try {
+            if (algorithmNode != null) {
+                endpointListConfig.setAlgorithm(LoadBalanceAlgorithm.valueOf(algorithmNode.asText()));
+            }
+            if (healthCheckNode != null) {
+                endpointListConfig.setHealthCheck(OBJECT_MAPPER_JSON.treeToValue(healthCheckNode,
+                        EndpointHealthCheckDTO.class));
+            }
+            if (concurrencyLimitNode != null) {
+                endpointListConfig.setConcurrencyLimit(OBJECT_MAPPER_JSON.treeToValue(concurrencyLimitNode,
+                        EndpointConcurrencyLimitDTO.class));
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            throw new CLIRuntimeException("Error while parsing the load balance configuration of the endpoint: "
+                    + e.getMessage());
+        }
+    }
+
     /**
      * Convert the RouteEndpointConfig object to MgwEndpointConfigDTO for the ease of source code generation
      *
@@ -156,6 +191,8 @@ public final class RouteUtils {
             setEndpointUrls(prodEpListDTO, prod);
             prod.setSecurityConfig(prodEpListDTO.getSecurityConfig());
             prod.setName(prodEpListDTO.getName());
+            setBalancingStrategy(prodEpListDTO, prod);
+            prod.setConcurrencyLimit(prodEpListDTO.getConcurrencyLimit());
         }
 
         if (sandEpListDTO != null) {
@@ -165,6 +202,8 @@ public final class RouteUtils {
             setEndpointUrls(sandEpListDTO, sandbox);
             sandbox.setSecurityConfig(sandEpListDTO.getSecurityConfig());
             sandbox.setName(sandEpListDTO.getName());
+            setBalancingStrategy(sandEpListDTO, sandbox);
+            sandbox.setConcurrencyLimit(sandEpListDTO.getConcurrencyLimit());
         }
 
         endpointConfigDTO.setProdEndpointList(prod);
@@ -216,6 +255,31 @@ public final class RouteUtils {
         }
     }
 
+    /**
+     * Set the strategy of the gateway balanced client if the endpoint list selects the adaptive algorithm or
+     * defines a health check. Must be called after the endpoint type is resolved.
+     *
+     * @param sourceObject {@link EndpointListRouteDTO} object
+     * @param destObject   {@link MgwEndpointListDTO} object
+     */
+    private static void setBalancingStrategy(EndpointListRouteDTO sourceObject, MgwEndpointListDTO destObject) {
+        LoadBalanceAlgorithm algorithm = sourceObject.getAlgorithm();
+        EndpointHealthCheckDTO healthCheck = sourceObject.getHealthCheck();
+        if (algorithm != LoadBalanceAlgorithm.adaptive && healthCheck == null) {
+            return;
+        }
+        if (destObject.getType() == EndpointType.failover) {
+            destObject.setBalancingStrategy(EndpointType.failover.name());
+        } else if (destObject.getType() == EndpointType.load_balance) {
+            destObject.setBalancingStrategy(algorithm == null ? LoadBalanceAlgorithm.round_robin.name()
+                    : algorithm.name());
+        } else {
+            CmdUtils.printVerbose("Load balance algorithm and health check are not effective with a single url.");
+            return;
+        }
+        destObject.setHealthCheck(healthCheck == null ? new EndpointHealthCheckDTO() : healthCheck);
+    }
+
     /**
      * Set endpoint Urls from {@link EndpointListRouteDTO} object to {@link MgwEndpointConfigDTO} object.
      *
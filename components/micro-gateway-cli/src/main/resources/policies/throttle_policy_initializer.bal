@@ -15,19 +15,19 @@ function initThrottlePolicies() {
         }
     }
 
-    future<()> initApplication50PerMinPolicyFtr = start initApplication50PerMinPolicy();
+    initApplication50PerMinPolicy();
 
-    future<()> initApplication20PerMinPolicyFtr = start initApplication20PerMinPolicy();
+    initApplication20PerMinPolicy();
 
-    future<()> initApplication10PerMinPolicyFtr = start initApplication10PerMinPolicy();
+    initApplication10PerMinPolicy();
 
-    future<()> initSubscriptionGoldPolicyFtr = start initSubscriptionGoldPolicy();
+    initSubscriptionGoldPolicy();
 
-    future<()> initSubscriptionSilverPolicyFtr = start initSubscriptionSilverPolicy();
+    initSubscriptionSilverPolicy();
 
-    future<()> initSubscriptionBronzePolicyFtr = start initSubscriptionBronzePolicy();
+    initSubscriptionBronzePolicy();
 
-    future<()> initSubscriptionUnauthenticatedPolicyFtr = start initSubscriptionUnauthenticatedPolicy();
+    initSubscriptionUnauthenticatedPolicy();
 
     log:printDebug("Throttle policies initialized.");
     }
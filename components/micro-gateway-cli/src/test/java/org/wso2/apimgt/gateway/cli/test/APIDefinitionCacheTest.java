@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.apimgt.gateway.cli.test;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.apimgt.gateway.cli.rest.APIDefinitionCache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for {@link APIDefinitionCache}.
+ */
+public class APIDefinitionCacheTest {
+    private static final String API_ID = "0a6d8f2c-1b8e-4d2a-9f2e-6b1e4a7c9d10";
+    private static final String ETAG = "\"1f3a\"";
+    private static final String LAST_MODIFIED = "Tue, 01 Oct 2019 10:00:00 GMT";
+
+    private Path cacheDirectory;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        cacheDirectory = Files.createTempDirectory("api-definition-cache").resolve("definitions");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(cacheDirectory.getParent().toFile());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        APIDefinitionCache cache = new APIDefinitionCache(cacheDirectory);
+        Assert.assertNull(cache.get(API_ID));
+        cache.put(API_ID, "openapi: 3.0.0", ETAG, LAST_MODIFIED);
+
+        APIDefinitionCache.Entry entry = cache.get(API_ID);
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(entry.getEtag(), ETAG);
+        Assert.assertEquals(entry.getLastModified(), LAST_MODIFIED);
+        Assert.assertEquals(cache.getContent(entry), "openapi: 3.0.0");
+    }
+
+    @Test
+    public void testIndexIsReadInNextImport() {
+        APIDefinitionCache cache = new APIDefinitionCache(cacheDirectory);
+        cache.put(API_ID, "openapi: 3.0.0", ETAG, null);
+        cache.persist();
+
+        APIDefinitionCache nextImportCache = new APIDefinitionCache(cacheDirectory);
+        APIDefinitionCache.Entry entry = nextImportCache.get(API_ID);
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(entry.getEtag(), ETAG);
+        Assert.assertNull(entry.getLastModified());
+        Assert.assertEquals(nextImportCache.getContent(entry), "openapi: 3.0.0");
+    }
+
+    @Test
+    public void testReplacedContentIsRemoved() throws IOException {
+        APIDefinitionCache cache = new APIDefinitionCache(cacheDirectory);
+        cache.put(API_ID, "openapi: 3.0.0", ETAG, LAST_MODIFIED);
+        cache.persist();
+        cache.put(API_ID, "openapi: 3.0.1", "\"2b4c\"", LAST_MODIFIED);
+        cache.persist();
+
+        Assert.assertEquals(countDefinitions(), 1);
+        Assert.assertEquals(cache.getContent(cache.get(API_ID)), "openapi: 3.0.1");
+    }
+
+    @Test
+    public void testSameContentIsStoredOnce() throws IOException {
+        APIDefinitionCache cache = new APIDefinitionCache(cacheDirectory);
+        cache.put(API_ID, "openapi: 3.0.0", ETAG, LAST_MODIFIED);
+        cache.put("5c2e", "openapi: 3.0.0", null, null);
+        cache.persist();
+        Assert.assertEquals(countDefinitions(), 1);
+        Assert.assertNotNull(cache.get("5c2e"));
+    }
+
+    @Test
+    public void testEntryWithoutContentIsIgnored() throws IOException {
+        APIDefinitionCache cache = new APIDefinitionCache(cacheDirectory);
+        cache.put(API_ID, "openapi: 3.0.0", ETAG, LAST_MODIFIED);
+        cache.persist();
+        FileUtils.cleanDirectory(cacheDirectory.toFile());
+        Files.write(cacheDirectory.resolve("index.json"), "[".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNull(cache.get(API_ID));
+        // an unreadable index is ignored
+        Assert.assertNull(new APIDefinitionCache(cacheDirectory).get(API_ID));
+    }
+
+    private long countDefinitions() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            return files.filter(path -> path.toString().endsWith(".definition")).count();
+        }
+    }
+}
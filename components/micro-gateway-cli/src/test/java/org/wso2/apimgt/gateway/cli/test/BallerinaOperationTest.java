@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.apimgt.gateway.cli.test;
+
+import io.swagger.v3.oas.models.Operation;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.apimgt.gateway.cli.constants.OpenAPIConstants;
+import org.wso2.apimgt.gateway.cli.exception.BallerinaServiceGenException;
+import org.wso2.apimgt.gateway.cli.exception.CLIRuntimeException;
+import org.wso2.apimgt.gateway.cli.model.config.ResponseCacheConfig;
+import org.wso2.apimgt.gateway.cli.model.template.service.BallerinaOperation;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+/**
+ * Unit tests for the streaming and response cache settings of {@link BallerinaOperation}, which select the
+ * generated resource code.
+ */
+public class BallerinaOperationTest {
+
+    @Test
+    public void testStreamingResource() throws BallerinaServiceGenException {
+        Operation operation = newOperation();
+        operation.addExtension(OpenAPIConstants.STREAMING, true);
+        operation.addExtension(OpenAPIConstants.PRODUCTION_ENDPOINTS,
+                Collections.singletonMap("urls", Collections.singletonList("http://localhost:8080")));
+        BallerinaOperation ballerinaOperation = new BallerinaOperation().buildContext(operation);
+        ballerinaOperation.resolveStreaming();
+        Assert.assertTrue(ballerinaOperation.isStreaming());
+        // the client of the resource endpoint is generated without a response cache
+        Assert.assertTrue(ballerinaOperation.getEpConfigDTO().getProdEndpointList().isStreaming());
+    }
+
+    @Test
+    public void testStreamingIsTurnedOffByInterceptors() throws BallerinaServiceGenException {
+        Operation operation = newOperation();
+        operation.addExtension(OpenAPIConstants.STREAMING, true);
+        operation.addExtension(OpenAPIConstants.REQUEST_INTERCEPTOR, "validateRequest");
+        BallerinaOperation ballerinaOperation = new BallerinaOperation().buildContext(operation);
+        ballerinaOperation.resolveStreaming();
+        Assert.assertFalse(ballerinaOperation.isStreaming());
+
+        BallerinaOperation apiInterceptedOperation = new BallerinaOperation().buildContext(newOperation());
+        apiInterceptedOperation.setStreaming(true);
+        apiInterceptedOperation.setApiResponseInterceptor("validateResponse");
+        Assert.assertFalse(apiInterceptedOperation.isStreaming());
+    }
+
+    @Test
+    public void testResourceStreamingOverridesApi() throws BallerinaServiceGenException {
+        Operation operation = newOperation();
+        operation.addExtension(OpenAPIConstants.STREAMING, false);
+        BallerinaOperation ballerinaOperation = new BallerinaOperation().buildContext(operation);
+        ballerinaOperation.setStreaming(true);
+        Assert.assertFalse(ballerinaOperation.isStreaming());
+
+        BallerinaOperation inheritingOperation = new BallerinaOperation().buildContext(newOperation());
+        inheritingOperation.setStreaming(true);
+        Assert.assertTrue(inheritingOperation.isStreaming());
+    }
+
+    @Test(expectedExceptions = CLIRuntimeException.class)
+    public void testInvalidStreamingValue() throws BallerinaServiceGenException {
+        Operation operation = newOperation();
+        operation.addExtension(OpenAPIConstants.STREAMING, "yes");
+        new BallerinaOperation().buildContext(operation);
+    }
+
+    @Test
+    public void testResponseCacheOfReadResources() throws BallerinaServiceGenException {
+        Operation operation = newOperation();
+        operation.addExtension(OpenAPIConstants.RESPONSE_CACHE, true);
+        BallerinaOperation getOperation = new BallerinaOperation().buildContext(operation);
+        getOperation.resolveResponseCache("GET");
+        Assert.assertNotNull(getOperation.getResponseCache());
+
+        BallerinaOperation postOperation = new BallerinaOperation().buildContext(operation);
+        postOperation.resolveResponseCache("POST");
+        Assert.assertNull(postOperation.getResponseCache());
+    }
+
+    @Test
+    public void testResourceResponseCacheOverridesApi() throws BallerinaServiceGenException {
+        Operation operation = newOperation();
+        operation.addExtension(OpenAPIConstants.RESPONSE_CACHE, false);
+        BallerinaOperation ballerinaOperation = new BallerinaOperation().buildContext(operation);
+        ResponseCacheConfig apiResponseCache = new ResponseCacheConfig();
+        ballerinaOperation.setResponseCache(apiResponseCache);
+        ballerinaOperation.resolveResponseCache("GET");
+        Assert.assertNull(ballerinaOperation.getResponseCache());
+
+        BallerinaOperation inheritingOperation = new BallerinaOperation().buildContext(newOperation());
+        inheritingOperation.setResponseCache(apiResponseCache);
+        inheritingOperation.resolveResponseCache("HEAD");
+        Assert.assertEquals(inheritingOperation.getResponseCache(), apiResponseCache);
+    }
+
+    @Test
+    public void testStreamedResponsesAreNotCached() throws BallerinaServiceGenException {
+        Operation operation = newOperation();
+        operation.addExtension(OpenAPIConstants.STREAMING, true);
+        operation.addExtension(OpenAPIConstants.RESPONSE_CACHE, true);
+        BallerinaOperation ballerinaOperation = new BallerinaOperation().buildContext(operation);
+        ballerinaOperation.resolveStreaming();
+        ballerinaOperation.resolveResponseCache("GET");
+        Assert.assertNull(ballerinaOperation.getResponseCache());
+    }
+
+    private static Operation newOperation() {
+        Operation operation = new Operation();
+        operation.setOperationId("getPets");
+        // extensions are set to an empty map by the OpenAPI parser
+        operation.setExtensions(new HashMap<>());
+        return operation;
+    }
+}
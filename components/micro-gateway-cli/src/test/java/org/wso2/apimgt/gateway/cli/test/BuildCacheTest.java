@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.apimgt.gateway.cli.test;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.apimgt.gateway.cli.codegen.BuildCache;
+import org.wso2.apimgt.gateway.cli.constants.CliConstants;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for {@link BuildCache}.
+ */
+public class BuildCacheTest {
+    private static final String PROJECT_NAME = "petstore";
+
+    private Path userDir;
+    private Path sourcePath;
+    private Path executablePath;
+    private Path cacheDirectory;
+    private String previousUserDir;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        userDir = Files.createTempDirectory("build-cache");
+        previousUserDir = System.getProperty(CliConstants.SYS_PROP_CURRENT_DIR);
+        System.setProperty(CliConstants.SYS_PROP_CURRENT_DIR, userDir.toString());
+        Path targetPath = userDir.resolve(PROJECT_NAME).resolve(CliConstants.PROJECT_TARGET_DIR);
+        Path genPath = targetPath.resolve(CliConstants.PROJECT_GEN_DIR);
+        sourcePath = genPath.resolve(CliConstants.GEN_SRC_DIR).resolve(PROJECT_NAME).resolve("PetStore.bal");
+        executablePath = targetPath.resolve(PROJECT_NAME + CliConstants.EXTENSION_JAR);
+        cacheDirectory = Paths.get(userDir.toString(), PROJECT_NAME, CliConstants.TEMP_DIR_NAME,
+                CliConstants.BUILD_CACHE_DIR);
+        Files.createDirectories(sourcePath.getParent());
+        write(genPath.resolve(CliConstants.BALLERINA_TOML_FILE), "[project]");
+        write(sourcePath, "service PetStore {}");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        if (previousUserDir == null) {
+            System.clearProperty(CliConstants.SYS_PROP_CURRENT_DIR);
+        } else {
+            System.setProperty(CliConstants.SYS_PROP_CURRENT_DIR, previousUserDir);
+        }
+        FileUtils.deleteDirectory(userDir.toFile());
+    }
+
+    @Test
+    public void testExecutableOfUnchangedSourcesIsRestored() throws IOException {
+        Assert.assertFalse(new BuildCache(PROJECT_NAME).restore());
+        // compiled by the micro-gw script after the build command
+        write(executablePath, "executable");
+
+        BuildCache nextBuildCache = new BuildCache(PROJECT_NAME);
+        nextBuildCache.storePreviousBuild();
+        Files.delete(executablePath);
+        Assert.assertTrue(nextBuildCache.restore());
+        Assert.assertEquals(new String(Files.readAllBytes(executablePath), StandardCharsets.UTF_8), "executable");
+    }
+
+    @Test
+    public void testExecutableOfChangedSourcesIsNotRestored() throws IOException {
+        Assert.assertFalse(new BuildCache(PROJECT_NAME).restore());
+        write(executablePath, "executable");
+
+        BuildCache nextBuildCache = new BuildCache(PROJECT_NAME);
+        nextBuildCache.storePreviousBuild();
+        Files.delete(executablePath);
+        write(sourcePath, "service PetStore { resource function get() {} }");
+        Assert.assertFalse(nextBuildCache.restore());
+        Assert.assertTrue(Files.notExists(executablePath));
+    }
+
+    @Test
+    public void testFailedCompilationIsNotCached() throws IOException {
+        Assert.assertFalse(new BuildCache(PROJECT_NAME).restore());
+        // no executable is produced by the micro-gw script
+        BuildCache nextBuildCache = new BuildCache(PROJECT_NAME);
+        nextBuildCache.storePreviousBuild();
+        Assert.assertFalse(nextBuildCache.restore());
+    }
+
+    @Test
+    public void testNumberOfCachedBuildsIsBounded() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            write(sourcePath, "service PetStore" + i + " {}");
+            BuildCache buildCache = new BuildCache(PROJECT_NAME);
+            buildCache.storePreviousBuild();
+            Assert.assertFalse(buildCache.restore());
+            write(executablePath, "executable" + i);
+        }
+        new BuildCache(PROJECT_NAME).storePreviousBuild();
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            Assert.assertEquals(entries.filter(path -> path.toString().endsWith(CliConstants.EXTENSION_JAR))
+                    .count(), 3);
+        }
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.apimgt.gateway.cli.test;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.apimgt.gateway.cli.codegen.GeneratedSourceCache;
+import org.wso2.apimgt.gateway.cli.constants.CliConstants;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Unit tests for {@link GeneratedSourceCache}.
+ */
+public class GeneratedSourceCacheTest {
+    private static final String PROJECT_NAME = "petstore";
+    private static final byte[] DEFINITION = "openapi: 3.0.0".getBytes(StandardCharsets.UTF_8);
+
+    private Path userDir;
+    private String previousUserDir;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        userDir = Files.createTempDirectory("generated-source-cache");
+        previousUserDir = System.getProperty(CliConstants.SYS_PROP_CURRENT_DIR);
+        System.setProperty(CliConstants.SYS_PROP_CURRENT_DIR, userDir.toString());
+        Files.createDirectories(userDir.resolve(PROJECT_NAME));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        if (previousUserDir == null) {
+            System.clearProperty(CliConstants.SYS_PROP_CURRENT_DIR);
+        } else {
+            System.setProperty(CliConstants.SYS_PROP_CURRENT_DIR, previousUserDir);
+        }
+        FileUtils.deleteDirectory(userDir.toFile());
+    }
+
+    @Test
+    public void testHashDependsOnDefinition() throws IOException {
+        GeneratedSourceCache cache = new GeneratedSourceCache(PROJECT_NAME);
+        String hash = cache.getHash(DEFINITION);
+        Assert.assertEquals(new GeneratedSourceCache(PROJECT_NAME).getHash(DEFINITION), hash);
+        Assert.assertNotEquals(cache.getHash("openapi: 3.0.1".getBytes(StandardCharsets.UTF_8)), hash);
+    }
+
+    @Test
+    public void testHashDependsOnSharedInputs() throws IOException {
+        String hash = new GeneratedSourceCache(PROJECT_NAME).getHash(DEFINITION);
+        Path interceptors = userDir.resolve(PROJECT_NAME).resolve(CliConstants.PROJECT_INTERCEPTORS_DIR);
+        Files.createDirectories(interceptors);
+        Files.write(interceptors.resolve("validate.bal"), "function validate() {}".getBytes(StandardCharsets.UTF_8));
+        String hashWithInterceptor = new GeneratedSourceCache(PROJECT_NAME).getHash(DEFINITION);
+        Assert.assertNotEquals(hashWithInterceptor, hash);
+
+        // files which are not interceptors do not affect the generated sources
+        Files.write(interceptors.resolve("README.md"), "interceptors".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(new GeneratedSourceCache(PROJECT_NAME).getHash(DEFINITION), hashWithInterceptor);
+    }
+
+    @Test
+    public void testEntryIsReadInNextBuild() throws IOException {
+        GeneratedSourceCache cache = new GeneratedSourceCache(PROJECT_NAME);
+        String hash = cache.getHash(DEFINITION);
+        Assert.assertNull(cache.get(hash));
+        cache.put(hash, newEntry("petstore.yaml"));
+
+        GeneratedSourceCache.Entry entry = new GeneratedSourceCache(PROJECT_NAME).get(hash);
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(entry.getDefinitionPath(), "petstore.yaml");
+        Assert.assertEquals(entry.getApiName(), "PetStore");
+        Assert.assertEquals(entry.getApiVersion(), "1.0.0");
+        Assert.assertEquals(entry.getBasePath(), "/petstore/v1");
+        Assert.assertEquals(entry.getSources().get("PetStore_1_0_0.bal"), "service PetStore {}");
+    }
+
+    @Test
+    public void testUnreadableEntryIsIgnored() throws IOException {
+        GeneratedSourceCache cache = new GeneratedSourceCache(PROJECT_NAME);
+        String hash = cache.getHash(DEFINITION);
+        Path cacheDirectory = Paths.get(userDir.toString(), PROJECT_NAME, CliConstants.TEMP_DIR_NAME,
+                CliConstants.CODEGEN_CACHE_DIR);
+        Files.write(cacheDirectory.resolve(hash + ".json"), "{".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNull(cache.get(hash));
+    }
+
+    @Test
+    public void testUnusedEntriesAreRemoved() throws IOException {
+        GeneratedSourceCache cache = new GeneratedSourceCache(PROJECT_NAME);
+        String usedHash = cache.getHash(DEFINITION);
+        String unusedHash = cache.getHash("openapi: 3.0.1".getBytes(StandardCharsets.UTF_8));
+        cache.put(usedHash, newEntry("petstore.yaml"));
+        cache.put(unusedHash, newEntry("removed.yaml"));
+
+        GeneratedSourceCache nextBuildCache = new GeneratedSourceCache(PROJECT_NAME);
+        Assert.assertNotNull(nextBuildCache.get(usedHash));
+        nextBuildCache.removeUnusedEntries();
+
+        GeneratedSourceCache lastBuildCache = new GeneratedSourceCache(PROJECT_NAME);
+        Assert.assertNotNull(lastBuildCache.get(usedHash));
+        Assert.assertNull(lastBuildCache.get(unusedHash));
+    }
+
+    private static GeneratedSourceCache.Entry newEntry(String definitionPath) {
+        GeneratedSourceCache.Entry entry = new GeneratedSourceCache.Entry();
+        entry.setDefinitionPath(definitionPath);
+        entry.setApiName("PetStore");
+        entry.setApiVersion("1.0.0");
+        entry.setBasePath("/petstore/v1");
+        entry.getSources().put("PetStore_1_0_0.bal", "service PetStore {}");
+        return entry;
+    }
+}
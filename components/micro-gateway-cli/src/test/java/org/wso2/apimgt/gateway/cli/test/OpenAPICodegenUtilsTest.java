@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.apimgt.gateway.cli.test;
+
+import io.swagger.v3.oas.models.Operation;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.apimgt.gateway.cli.constants.OpenAPIConstants;
+import org.wso2.apimgt.gateway.cli.exception.CLIRuntimeException;
+import org.wso2.apimgt.gateway.cli.model.config.ResponseCacheConfig;
+import org.wso2.apimgt.gateway.cli.model.mgwcodegen.MgwEndpointListDTO;
+import org.wso2.apimgt.gateway.cli.model.route.EndpointType;
+import org.wso2.apimgt.gateway.cli.utils.OpenAPICodegenUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for the endpoint and response cache configurations read from the OpenAPI extensions by
+ * {@link OpenAPICodegenUtils}.
+ */
+public class OpenAPICodegenUtilsTest {
+
+    @Test
+    public void testAdaptiveEndpoint() {
+        Map<String, Object> endpoints = newEndpoints("http://localhost:8080", "http://localhost:8081");
+        endpoints.put("algorithm", "adaptive");
+        Map<String, Object> healthCheck = new HashMap<>();
+        healthCheck.put("path", "/health");
+        healthCheck.put("intervalInMillis", 5000);
+        endpoints.put("healthCheck", healthCheck);
+        endpoints.put("concurrencyLimit", Collections.singletonMap("maxLimit", 50));
+
+        MgwEndpointListDTO endpointList = getProductionEndpoints(endpoints);
+        Assert.assertEquals(endpointList.getType(), EndpointType.load_balance);
+        Assert.assertEquals(endpointList.getBalancingStrategy(), "adaptive");
+        Assert.assertEquals(endpointList.getHealthCheck().getPath(), "/health");
+        Assert.assertEquals(endpointList.getHealthCheck().getIntervalInMillis(), 5000);
+        Assert.assertEquals(endpointList.getHealthCheck().getUnhealthyThreshold(), 3);
+        Assert.assertEquals(endpointList.getConcurrencyLimit().getMaxLimit(), 50);
+        Assert.assertEquals(endpointList.getConcurrencyLimit().getMinLimit(), 5);
+    }
+
+    @Test
+    public void testHealthCheckedEndpoints() {
+        Map<String, Object> endpoints = newEndpoints("http://localhost:8080", "http://localhost:8081");
+        endpoints.put("healthCheck", Collections.emptyMap());
+        MgwEndpointListDTO endpointList = getProductionEndpoints(endpoints);
+        Assert.assertEquals(endpointList.getBalancingStrategy(), "round_robin");
+        Assert.assertEquals(endpointList.getHealthCheck().getPath(), "");
+
+        endpoints.put("type", "failover");
+        endpointList = getProductionEndpoints(endpoints);
+        Assert.assertEquals(endpointList.getType(), EndpointType.failover);
+        Assert.assertEquals(endpointList.getBalancingStrategy(), "failover");
+    }
+
+    @Test
+    public void testBalancingIsNotEffectiveWithSingleUrl() {
+        Map<String, Object> endpoints = newEndpoints("http://localhost:8080");
+        endpoints.put("algorithm", "adaptive");
+        MgwEndpointListDTO endpointList = getProductionEndpoints(endpoints);
+        Assert.assertEquals(endpointList.getType(), EndpointType.http);
+        Assert.assertNull(endpointList.getBalancingStrategy());
+        Assert.assertNull(endpointList.getHealthCheck());
+    }
+
+    @Test
+    public void testEndpointsWithoutBalancingConfig() {
+        MgwEndpointListDTO endpointList = getProductionEndpoints(newEndpoints("http://localhost:8080",
+                "http://localhost:8081"));
+        Assert.assertEquals(endpointList.getType(), EndpointType.load_balance);
+        Assert.assertNull(endpointList.getBalancingStrategy());
+        Assert.assertNull(endpointList.getConcurrencyLimit());
+    }
+
+    @Test
+    public void testResponseCacheConfig() {
+        Assert.assertNull(OpenAPICodegenUtils.getResponseCacheConfig(null));
+        Assert.assertNull(OpenAPICodegenUtils.getResponseCacheConfig(Collections.emptyMap()));
+
+        ResponseCacheConfig enabled = OpenAPICodegenUtils.getResponseCacheConfig(
+                Collections.singletonMap(OpenAPIConstants.RESPONSE_CACHE, true));
+        Assert.assertTrue(enabled.isEnabled());
+        Assert.assertEquals(enabled.getMaxAgeInSeconds(), 300);
+        Assert.assertTrue(enabled.getQueryParams().isEmpty());
+        Assert.assertEquals(enabled.getScope(), ResponseCacheConfig.SCOPE_CALLER);
+
+        Map<String, Object> value = new HashMap<>();
+        value.put("maxAgeInSeconds", 60);
+        value.put("queryParams", Arrays.asList("status", "limit"));
+        value.put("headers", Collections.singletonList("Accept-Language"));
+        value.put("scope", "shared");
+        ResponseCacheConfig configured = OpenAPICodegenUtils.getResponseCacheConfig(
+                Collections.singletonMap(OpenAPIConstants.RESPONSE_CACHE, value));
+        Assert.assertTrue(configured.isEnabled());
+        Assert.assertEquals(configured.getMaxAgeInSeconds(), 60);
+        Assert.assertEquals(configured.getQueryParams(), Arrays.asList("status", "limit"));
+        Assert.assertEquals(configured.getHeaders(), Collections.singletonList("Accept-Language"));
+        Assert.assertEquals(configured.getScope(), ResponseCacheConfig.SCOPE_SHARED);
+    }
+
+    @Test(expectedExceptions = CLIRuntimeException.class)
+    public void testInvalidResponseCacheConfig() {
+        OpenAPICodegenUtils.getResponseCacheConfig(Collections.singletonMap(OpenAPIConstants.RESPONSE_CACHE,
+                Collections.singletonMap("maxAgeInSeconds", "five minutes")));
+    }
+
+    @Test(expectedExceptions = CLIRuntimeException.class)
+    public void testInvalidResponseCacheScope() {
+        OpenAPICodegenUtils.getResponseCacheConfig(Collections.singletonMap(OpenAPIConstants.RESPONSE_CACHE,
+                Collections.singletonMap("scope", "everyone")));
+    }
+
+    private static Map<String, Object> newEndpoints(String... urls) {
+        Map<String, Object> endpoints = new HashMap<>();
+        endpoints.put("urls", Arrays.asList(urls));
+        return endpoints;
+    }
+
+    private static MgwEndpointListDTO getProductionEndpoints(Map<String, Object> endpoints) {
+        Operation operation = new Operation();
+        operation.setOperationId("getPets");
+        operation.addExtension(OpenAPIConstants.PRODUCTION_ENDPOINTS, endpoints);
+        return OpenAPICodegenUtils.getResourceEpConfigForCodegen(operation).getProdEndpointList();
+    }
+}
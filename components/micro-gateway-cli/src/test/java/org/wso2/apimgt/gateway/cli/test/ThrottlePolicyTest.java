@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.apimgt.gateway.cli.test;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.apimgt.gateway.cli.constants.GeneratorConstants;
+import org.wso2.apimgt.gateway.cli.model.rest.policy.BandwidthLimitDTO;
+import org.wso2.apimgt.gateway.cli.model.rest.policy.RequestCountLimitDTO;
+import org.wso2.apimgt.gateway.cli.model.rest.policy.SubscriptionThrottlePolicyDTO;
+import org.wso2.apimgt.gateway.cli.model.rest.policy.ThrottlePolicyMapper;
+import org.wso2.apimgt.gateway.cli.model.template.policy.ThrottlePolicy;
+
+/**
+ * Unit tests for {@link ThrottlePolicy}, the template model of the generated throttle policies.
+ */
+public class ThrottlePolicyTest {
+
+    @Test
+    public void testRequestCountPolicy() {
+        ThrottlePolicy policy = new ThrottlePolicy().buildContext(newMapper("10PerMin", 10L, null, null),
+                GeneratorConstants.PolicyType.APPLICATION);
+        Assert.assertFalse(policy.isBandwidth());
+        Assert.assertEquals(policy.getCount(), 10);
+        Assert.assertEquals(policy.getUnitTime(), 60000);
+        Assert.assertEquals(policy.getTierType(), GeneratorConstants.APPLICATION_TIER_TYPE);
+        Assert.assertTrue(policy.isStopOnQuotaReach());
+    }
+
+    @Test
+    public void testBandwidthPolicy() {
+        ThrottlePolicy policy = new ThrottlePolicy().buildContext(newMapper("2MBPerMin", null, 2L, "MB"),
+                GeneratorConstants.PolicyType.SUBSCRIPTION);
+        Assert.assertTrue(policy.isBandwidth());
+        Assert.assertEquals(policy.getCount(), 2 * 1024 * 1024);
+        Assert.assertEquals(policy.getUnitTime(), 60000);
+        Assert.assertEquals(policy.getTierType(), GeneratorConstants.SUBSCRIPTION_TIER_TYPE);
+        Assert.assertFalse(policy.isStopOnQuotaReach());
+    }
+
+    @Test
+    public void testDataUnits() {
+        Assert.assertEquals(new ThrottlePolicy().buildContext(newMapper("kb", null, 512L, "KB"),
+                GeneratorConstants.PolicyType.RESOURCE).getCount(), 512 * 1024);
+        Assert.assertEquals(new ThrottlePolicy().buildContext(newMapper("gb", null, 3L, "gb"),
+                GeneratorConstants.PolicyType.RESOURCE).getCount(), 3L * 1024 * 1024 * 1024);
+    }
+
+    @Test(expectedExceptions = RuntimeException.class)
+    public void testUnsupportedDataUnit() {
+        new ThrottlePolicy().buildContext(newMapper("tb", null, 1L, "TB"), GeneratorConstants.PolicyType.RESOURCE);
+    }
+
+    @Test
+    public void testPublisherBandwidthPolicy() {
+        BandwidthLimitDTO limit = new BandwidthLimitDTO();
+        limit.setDataAmount(100L);
+        limit.setDataUnit("KB");
+        limit.setUnitTime(1);
+        limit.setTimeUnit("hour");
+        SubscriptionThrottlePolicyDTO publisherPolicy = new SubscriptionThrottlePolicyDTO();
+        publisherPolicy.setPolicyName("Bandwidth");
+        publisherPolicy.setDefaultLimit(limit);
+        publisherPolicy.setStopOnQuotaReach(true);
+
+        ThrottlePolicy policy = new ThrottlePolicy().buildContext(publisherPolicy);
+        Assert.assertNotNull(policy);
+        Assert.assertTrue(policy.isBandwidth());
+        Assert.assertEquals(policy.getCount(), 100 * 1024);
+        Assert.assertEquals(policy.getUnitTime(), 3600000);
+    }
+
+    @Test
+    public void testPublisherRequestCountPolicy() {
+        RequestCountLimitDTO limit = new RequestCountLimitDTO();
+        limit.setRequestCount(50L);
+        limit.setUnitTime(1);
+        limit.setTimeUnit("min");
+        SubscriptionThrottlePolicyDTO publisherPolicy = new SubscriptionThrottlePolicyDTO();
+        publisherPolicy.setPolicyName("Silver");
+        publisherPolicy.setDefaultLimit(limit);
+        publisherPolicy.setStopOnQuotaReach(true);
+
+        ThrottlePolicy policy = new ThrottlePolicy().buildContext(publisherPolicy);
+        Assert.assertFalse(policy.isBandwidth());
+        Assert.assertEquals(policy.getCount(), 50);
+    }
+
+    private static ThrottlePolicyMapper newMapper(String name, Long count, Long dataAmount, String dataUnit) {
+        ThrottlePolicyMapper mapper = new ThrottlePolicyMapper();
+        mapper.setName(name);
+        mapper.setCount(count);
+        mapper.setDataAmount(dataAmount);
+        mapper.setDataUnit(dataUnit);
+        mapper.setUnitTime(1);
+        mapper.setTimeUnit("min");
+        mapper.setStopOnQuotaReach(false);
+        return mapper;
+    }
+}
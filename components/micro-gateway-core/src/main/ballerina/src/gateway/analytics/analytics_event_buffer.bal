@@ -0,0 +1,212 @@
+// Copyright (c)  WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/grpc;
+import ballerina/runtime;
+
+# Analytics event waiting in the buffer to be published.
+#
+# + streamId - Analytics stream the event belongs to
+# + payload - JSON payload of the event
+type AnalyticsEvent record {|
+    string streamId;
+    string payload;
+|};
+
+int analyticsBufferSize = DEFAULT_ANALYTICS_BUFFER_SIZE;
+int analyticsBatchSize = DEFAULT_ANALYTICS_BATCH_SIZE;
+int analyticsFlushInterval = DEFAULT_ANALYTICS_FLUSH_INTERVAL;
+string analyticsOverflowPolicy = ANALYTICS_OVERFLOW_DROP_OLDEST;
+
+// Ring buffer of events which are yet to be published
+AnalyticsEvent?[] analyticsEventBuffer = [];
+int analyticsBufferHead = 0;
+int analyticsBufferCount = 0;
+
+int enqueuedAnalyticsEvents = 0;
+int droppedAnalyticsEvents = 0;
+int publishedAnalyticsEvents = 0;
+int failedAnalyticsEvents = 0;
+
+// Long lived stream to the analytics event service. Only the drainer creates it, but the event service listener
+// resets it as well, hence it is always read and reassigned under a lock.
+grpc:StreamingClient? analyticsEventStream = ();
+
+# Reads the analytics buffer configurations and starts the background drainer which publishes the buffered
+# events in batches.
+function initAnalyticsEventBuffer() {
+    analyticsBufferSize = getConfigIntValue(ANALYTICS, ANALYTICS_BUFFER_SIZE, DEFAULT_ANALYTICS_BUFFER_SIZE);
+    analyticsBatchSize = getConfigIntValue(ANALYTICS, ANALYTICS_BATCH_SIZE, DEFAULT_ANALYTICS_BATCH_SIZE);
+    analyticsFlushInterval = getConfigIntValue(ANALYTICS, ANALYTICS_FLUSH_INTERVAL, DEFAULT_ANALYTICS_FLUSH_INTERVAL);
+    analyticsOverflowPolicy = getConfigValue(ANALYTICS, ANALYTICS_OVERFLOW_POLICY, ANALYTICS_OVERFLOW_DROP_OLDEST);
+    if (analyticsBufferSize <= 0) {
+        analyticsBufferSize = DEFAULT_ANALYTICS_BUFFER_SIZE;
+    }
+    if (analyticsBatchSize <= 0) {
+        analyticsBatchSize = DEFAULT_ANALYTICS_BATCH_SIZE;
+    }
+    if (analyticsOverflowPolicy != ANALYTICS_OVERFLOW_DROP_OLDEST &&
+            analyticsOverflowPolicy != ANALYTICS_OVERFLOW_DROP_NEWEST) {
+        printWarn(KEY_ANALYTICS_FILTER, "Unknown analytics overflow policy : " + analyticsOverflowPolicy +
+            ". Using " + ANALYTICS_OVERFLOW_DROP_OLDEST);
+        analyticsOverflowPolicy = ANALYTICS_OVERFLOW_DROP_OLDEST;
+    }
+    lock {
+        analyticsEventBuffer = [];
+        analyticsEventBuffer[analyticsBufferSize - 1] = ();
+        analyticsBufferHead = 0;
+        analyticsBufferCount = 0;
+    }
+    future<()> drainer = start drainAnalyticsEvents();
+    printDebug(KEY_ANALYTICS_FILTER, "Analytics event buffer initialized with size : {}, batch size : {}",
+        analyticsBufferSize, analyticsBatchSize);
+}
+
+# Adds an event to the analytics buffer. This never blocks the caller; once the buffer is full either the
+# oldest buffered event or the new event is dropped depending on the configured overflow policy.
+#
+# + payload - JSON payload of the event
+# + streamId - Analytics stream the event belongs to
+public function enqueueAnalyticsEvent(string payload, string streamId) {
+    lock {
+        boolean accept = true;
+        if (analyticsBufferCount >= analyticsBufferSize) {
+            droppedAnalyticsEvents += 1;
+            if (analyticsOverflowPolicy == ANALYTICS_OVERFLOW_DROP_NEWEST) {
+                accept = false;
+            } else {
+                analyticsBufferHead = (analyticsBufferHead + 1) % analyticsBufferSize;
+                analyticsBufferCount -= 1;
+            }
+        }
+        if (accept) {
+            int tail = (analyticsBufferHead + analyticsBufferCount) % analyticsBufferSize;
+            analyticsEventBuffer[tail] = {streamId: streamId, payload: payload};
+            analyticsBufferCount += 1;
+            enqueuedAnalyticsEvents += 1;
+        }
+    }
+}
+
+# Returns the counters of the analytics buffer.
+#
+# + return - Number of enqueued, dropped, published, failed and currently buffered events
+public function getAnalyticsBufferStatistics() returns map<int> {
+    map<int> statistics = {};
+    lock {
+        statistics["enqueued"] = enqueuedAnalyticsEvents;
+        statistics["dropped"] = droppedAnalyticsEvents;
+        statistics["published"] = publishedAnalyticsEvents;
+        statistics["failed"] = failedAnalyticsEvents;
+        statistics["buffered"] = analyticsBufferCount;
+    }
+    return statistics;
+}
+
+function takeAnalyticsBatch(int maxEvents) returns AnalyticsEvent[] {
+    AnalyticsEvent[] batch = [];
+    lock {
+        while (analyticsBufferCount > 0 && batch.length() < maxEvents) {
+            AnalyticsEvent? event = analyticsEventBuffer[analyticsBufferHead];
+            analyticsEventBuffer[analyticsBufferHead] = ();
+            analyticsBufferHead = (analyticsBufferHead + 1) % analyticsBufferSize;
+            analyticsBufferCount -= 1;
+            if (event is AnalyticsEvent) {
+                batch.push(event);
+            }
+        }
+    }
+    return batch;
+}
+
+# Publishes buffered events once a full batch is available or the flush interval has elapsed.
+function drainAnalyticsEvents() {
+    int reportedDrops = 0;
+    while (true) {
+        AnalyticsEvent[] batch = takeAnalyticsBatch(analyticsBatchSize);
+        if (batch.length() > 0) {
+            publishAnalyticsBatch(batch);
+        }
+        int dropped = droppedAnalyticsEvents;
+        if (dropped > reportedDrops) {
+            printWarn(KEY_ANALYTICS_FILTER, "Analytics buffer is full. " + (dropped - reportedDrops).toString() +
+                " events were dropped.");
+            reportedDrops = dropped;
+        }
+        if (batch.length() < analyticsBatchSize) {
+            runtime:sleep(analyticsFlushInterval);
+        }
+    }
+}
+
+function publishAnalyticsBatch(AnalyticsEvent[] batch) {
+    grpc:StreamingClient|grpc:Error eventStream = getAnalyticsEventStream();
+    if (eventStream is grpc:Error) {
+        lock {
+            failedAnalyticsEvents += batch.length();
+        }
+        printError(KEY_ANALYTICS_FILTER, "Error while connecting to the analytics event service : " +
+            eventStream.reason());
+        return;
+    }
+    grpc:StreamingClient streamingClient = <grpc:StreamingClient>eventStream;
+    int sent = 0;
+    foreach AnalyticsEvent event in batch {
+        Event grpcEvent = {payload: event.payload, headers: [{key: "stream.id", value: event.streamId}]};
+        grpc:Error? sendResult = streamingClient->send(grpcEvent);
+        if (sendResult is grpc:Error) {
+            // the stream is recreated when publishing the next batch
+            lock {
+                grpc:StreamingClient? currentStream = analyticsEventStream;
+                if (currentStream === streamingClient) {
+                    analyticsEventStream = ();
+                }
+                failedAnalyticsEvents += batch.length() - sent;
+            }
+            printError(KEY_ANALYTICS_FILTER, "Error while publishing analytics events : " + sendResult.reason());
+            return;
+        }
+        sent += 1;
+    }
+    lock {
+        publishedAnalyticsEvents += sent;
+    }
+    printDebug(KEY_ANALYTICS_FILTER, "{} analytics events published.", sent);
+}
+
+function getAnalyticsEventStream() returns grpc:StreamingClient|grpc:Error {
+    grpc:StreamingClient? eventStream = ();
+    lock {
+        eventStream = analyticsEventStream;
+    }
+    if (eventStream is grpc:StreamingClient) {
+        return eventStream;
+    }
+    grpc:StreamingClient|grpc:Error newStream = analyticsClient->consume(EventServiceMessageListner);
+    if (newStream is grpc:StreamingClient) {
+        lock {
+            analyticsEventStream = newStream;
+        }
+    }
+    return newStream;
+}
+
+# Drops the current analytics event stream so that the drainer recreates it when publishing the next batch.
+function resetAnalyticsEventStream() {
+    lock {
+        analyticsEventStream = ();
+    }
+}
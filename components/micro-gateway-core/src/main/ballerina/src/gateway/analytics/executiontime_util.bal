@@ -21,7 +21,7 @@ import ballerina/runtime;
 public function generateExecutionTimeEvent(http:FilterContext context) returns ExecutionTimeDTO {
     ExecutionTimeDTO executionTimeDTO = {};
     boolean isSecured =  <boolean>context.attributes[IS_SECURED];
-    printDebug(KEY_ANALYTICS_FILTER, "Resource is secured : " + isSecured.toString());
+    printDebug(KEY_ANALYTICS_FILTER, "Resource is secured : {}", isSecured);
     runtime:InvocationContext invocationContext = runtime:getInvocationContext();
     if (isSecured && invocationContext.attributes.hasKey(AUTHENTICATION_CONTEXT)) {
         AuthenticationContext authContext =  <AuthenticationContext>invocationContext.attributes[AUTHENTICATION_CONTEXT];
@@ -52,7 +52,7 @@ public function generateExecutionTimeEvent(http:FilterContext context) returns E
     int timeRequestOut =  <int>invocationContext.attributes[TS_REQUEST_OUT];
     int timeResponseIn =  <int>invocationContext.attributes[TS_RESPONSE_IN];
     executionTimeDTO.backEndLatency = timeResponseIn - timeRequestOut;
-    printDebug(KEY_ANALYTICS_FILTER, "Execution time dto : " + executionTimeDTO.toString());
+    printDebug(KEY_ANALYTICS_FILTER, "Execution time dto : {}", executionTimeDTO);
     return executionTimeDTO;
 }
 
@@ -16,12 +16,11 @@
 
 import ballerina/http;
 import ballerina/runtime;
-import ballerina/lang.'int;
 import ballerina/stringutils;
 
 
 public function getRequestReponseExecutionDataPayload(RequestResponseExecutionDTO requestResponseExecutionDTO) returns string {
-    printDebug(KEY_ANALYTICS_FILTER, "Request response execution DTO : " + requestResponseExecutionDTO.toString());
+    printDebug(KEY_ANALYTICS_FILTER, "Request response execution DTO : {}", requestResponseExecutionDTO);
     string output =
         requestResponseExecutionDTO.applicationConsumerKey + OBJ +
         requestResponseExecutionDTO.applicationName + OBJ + requestResponseExecutionDTO.applicationId + OBJ +
@@ -52,7 +51,7 @@ public function getRequestReponseExecutionDataPayload(RequestResponseExecutionDT
         requestResponseExecutionDTO.executionTime.otherLatency.toString() + OBJ +
         requestResponseExecutionDTO.gatewayType + OBJ +
         requestResponseExecutionDTO.label;
-        printDebug(KEY_ANALYTICS_FILTER, "Request response execution DTO string : " + output);
+        printDebug(KEY_ANALYTICS_FILTER, "Request response execution DTO string : {}", output);
     return output;
 }
 
@@ -122,21 +121,15 @@ public function generateRequestResponseExecutionDataEvent(http:Response response
       var res = responseCacheControl.noCache;
       requestResponseExecutionDTO.cacheHit = res;
     }
+    any responseCacheHit = invocationContext.attributes[RESPONSE_CACHE_HIT];
+    requestResponseExecutionDTO.responseCacheHit = responseCacheHit is boolean && responseCacheHit;
 
     requestResponseExecutionDTO.apiHostname = retrieveHostname(DATACENTER_ID, <string>context.attributes[
         HOSTNAME_PROPERTY]);
     // if response contains Content-Length header that value will be taken
-    if (response.hasHeader(CONTENT_LENGHT_HEADER)) {
-        var respSize = 'int:fromString(response.getHeader(CONTENT_LENGHT_HEADER));
-        if (respSize is int) {
-            requestResponseExecutionDTO.responseSize = respSize;
-            printDebug(KEY_ANALYTICS_FILTER, "Response content lenght header : " + respSize.toString());
-        } else {
-            requestResponseExecutionDTO.responseSize = 0;
-        }
-    } else { //TODO: we are not building message in order to get the response size if the message is chunk
-        requestResponseExecutionDTO.responseSize = 0;
-    }
+    //TODO: we are not building message in order to get the response size if the message is chunk
+    requestResponseExecutionDTO.responseSize = getResponseSize(response);
+    printDebug(KEY_ANALYTICS_FILTER, "Response size : {}", requestResponseExecutionDTO.responseSize);
     requestResponseExecutionDTO.responseCode = response.statusCode;
     string resourceName = context.getResourceName();
     string serviceName = context.getServiceName();
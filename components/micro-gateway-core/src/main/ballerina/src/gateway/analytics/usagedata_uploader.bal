@@ -24,7 +24,7 @@ public function multipartSender(string location, string file, string username, s
     mime:Entity filePart = new;
     string filePath = location + PATH_SEPERATOR + file;
     filePart.setFileAsEntityBody(filePath);
-    printDebug(KEY_UPLOAD_TASK,"File being uploaded : " + filePath);
+    printDebug(KEY_UPLOAD_TASK, "File being uploaded : {}", filePath);
     filePart.setContentDisposition(getContentDispositionForFormData(file));
     mime:Entity[] bodyParts = [filePart];
     http:Request request = new;
@@ -47,7 +47,7 @@ public function multipartSender(string location, string file, string username, s
         else {
             var responseString = returnResponse.getTextPayload();
             if(responseString is string) {
-                printDebug(KEY_UPLOAD_TASK,"File upload response : " + returnResponse.getTextPayload().toString());
+                printDebug(KEY_UPLOAD_TASK, "File upload response : {}", returnResponse.getTextPayload());
             }
             return returnResponse;
         }
@@ -27,12 +27,16 @@ public type APIConfiguration record {
     string publisher;
     string authorizationHeader?;
     string[] authProviders = [];
+    // Requests to `low` priority APIs are shed first under overload, and those to `high` priority APIs last.
+    string priority = "normal";
 };
 
 public annotation APIConfiguration API on service;
 
 public type ResourceConfiguration record {
     string[] authProviders = [];
+    // Request and response payloads are passed through without being read at the gateway.
+    boolean streaming = false;
 };
 
 public annotation ResourceConfiguration Resource on resource function;
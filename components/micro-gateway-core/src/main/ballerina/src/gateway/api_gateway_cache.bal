@@ -14,84 +14,64 @@
 // specific language governing permissions and limitations
 // under the License.
 
-import ballerina/cache;
 
-// TODO: Refactor the cache
-cache:Cache gatewayTokenCache = new;
-cache:Cache gatewayKeyValidationCache = new;
-cache:Cache invalidTokenCache= new;
-cache:Cache jwtCache = new;
+// Verified JWT claims keyed by the hash of the token, shared by the JWT auth provider and the subscription filter.
+handle jwtClaimsCache = newTokenCache(10000, 900000);
+
+// Single cache holding both valid (keyed by the access token cache key) and invalid (keyed by the access token)
+// key validation results.
+handle gatewayTokenCache = newTokenCache(10000, 900000);
 
 public function initGatewayCaches() {
     int cacheExpiryTime = getConfigIntValue(CACHING_ID, TOKEN_CACHE_EXPIRY, 900000);
     int cacheSize = getConfigIntValue(CACHING_ID, TOKEN_CACHE_CAPACITY, 10000);
-    float evictionFactor = getConfigFloatValue(CACHING_ID, TOKEN_CACHE_EVICTION_FACTOR, 0.25);
-    gatewayTokenCache = new(cacheExpiryTime, cacheSize, evictionFactor);
-    gatewayKeyValidationCache = new(cacheExpiryTime, cacheSize, evictionFactor);
-    invalidTokenCache = new(cacheExpiryTime, cacheSize, evictionFactor);
-    jwtCache = new(cacheExpiryTime, cacheSize, evictionFactor);
+    gatewayTokenCache = newTokenCache(cacheSize, cacheExpiryTime);
+    jwtClaimsCache = newTokenCache(cacheSize, cacheExpiryTime);
+}
+
+public function isTokenCacheEnabled() returns boolean {
+    return getGatewayConfig().tokenCacheEnabled;
 }
 
 public type APIGatewayCache object {
 
-   public function authenticateFromGatewayKeyValidationCache(string tokenCacheKey) returns
-(APIKeyValidationDto|()) {
-        var apikeyValidationDto = gatewayKeyValidationCache.get(tokenCacheKey);
-        if(apikeyValidationDto is APIKeyValidationDto){
+    public function authenticateFromGatewayKeyValidationCache(string tokenCacheKey) returns
+    (APIKeyValidationDto|()) {
+        var apikeyValidationDto = getFromTokenCache(gatewayTokenCache, tokenCacheKey);
+        if (apikeyValidationDto is APIKeyValidationDto) {
             return apikeyValidationDto;
         } else {
             return ();
         }
-
     }
 
-    public function addToGatewayKeyValidationCache (string tokenCacheKey, APIKeyValidationDto
+    public function addToGatewayKeyValidationCache(string tokenCacheKey, APIKeyValidationDto
         apiKeyValidationDto) {
-        gatewayKeyValidationCache.put(tokenCacheKey, <@untainted>apiKeyValidationDto);
+        putToTokenCache(gatewayTokenCache, tokenCacheKey, <@untainted>apiKeyValidationDto);
         printDebug(KEY_GW_CACHE, "Added key validation information to the key validation cache. key: " + mask(tokenCacheKey));
     }
 
-    public function removeFromGatewayKeyValidationCache (string tokenCacheKey) {
-        gatewayKeyValidationCache.remove(tokenCacheKey);
+    public function removeFromGatewayKeyValidationCache(string tokenCacheKey) {
+        removeFromTokenCache(gatewayTokenCache, tokenCacheKey);
         printDebug(KEY_GW_CACHE, "Removed key validation information from the key validation cache. key: " + mask(tokenCacheKey));
     }
 
-    public function retrieveFromInvalidTokenCache(string tokenCacheKey) returns (APIKeyValidationDto |()) {
-        var authorize = invalidTokenCache.get(tokenCacheKey);
-        if(authorize is APIKeyValidationDto){
-            return authorize;
-        } else {
-            return ();
-        }
-    }
-
-    public function addToInvalidTokenCache (string tokenCacheKey, APIKeyValidationDto apiKeyValidationDto) {
-        invalidTokenCache.put(tokenCacheKey, <@untainted>apiKeyValidationDto);
-        printDebug(KEY_GW_CACHE, "Added key validation information to the invalid token cache. key: " + mask(tokenCacheKey));
-    }
-
-    public function removeFromInvalidTokenCache (string tokenCacheKey) {
-        invalidTokenCache.remove(tokenCacheKey);
-        printDebug(KEY_GW_CACHE, "Removed from the invalid key validation cache. key: " + mask(tokenCacheKey));
-    }
-
-    public function retrieveFromTokenCache(string accessToken) returns (boolean|()) {
-        var authorize = gatewayTokenCache.get(accessToken);
-        if(authorize is boolean){
-            return authorize;
+    public function retrieveFromInvalidTokenCache(string accessToken) returns (APIKeyValidationDto |()) {
+        var apiKeyValidationDto = getFromTokenCache(gatewayTokenCache, accessToken);
+        if (apiKeyValidationDto is APIKeyValidationDto) {
+            return apiKeyValidationDto;
         } else {
             return ();
         }
     }
 
-    public function addToTokenCache (string accessToken, boolean isValid) {
-        gatewayTokenCache.put(accessToken, isValid);
-        printDebug(KEY_GW_CACHE, "Added validity information to the token cache. key: " + mask(accessToken));
+    public function addToInvalidTokenCache(string accessToken, APIKeyValidationDto apiKeyValidationDto) {
+        putToTokenCache(gatewayTokenCache, accessToken, <@untainted>apiKeyValidationDto);
+        printDebug(KEY_GW_CACHE, "Added key validation information to the invalid token cache. key: " + mask(accessToken));
     }
 
-    public function removeFromTokenCache (string accessToken) {
-        gatewayTokenCache.remove(accessToken);
-        printDebug(KEY_GW_CACHE, "Removed from the token cache. key: " + mask(accessToken));
+    public function removeFromInvalidTokenCache(string accessToken) {
+        removeFromTokenCache(gatewayTokenCache, accessToken);
+        printDebug(KEY_GW_CACHE, "Removed from the invalid key validation cache. key: " + mask(accessToken));
     }
 };
-
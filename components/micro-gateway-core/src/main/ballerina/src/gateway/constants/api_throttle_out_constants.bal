@@ -21,6 +21,7 @@
  public const int INTERNAL_ERROR_CODE = 900808;
  public const int INTERNAL_ERROR_CODE_POLICY_NOT_FOUND = 900809;
  public const int BLOCKING_ERROR_CODE = 900805;
+ public const int SPIKE_ARREST_THROTTLE_OUT_ERROR_CODE = 900807;
 
  public const string THROTTLE_OUT_MESSAGE = "Message throttled out";
  public const string THROTTLE_OUT_DESCRIPTION = "You have exceeded your quota";
@@ -31,6 +32,8 @@
  const string THROTTLE_OUT_REASON_RESOURCE_LIMIT_EXCEEDED = "RESOURCE_LIMIT_EXCEEDED";
  const string THROTTLE_OUT_REASON_SUBSCRIPTION_LIMIT_EXCEEDED = "SUBSCRIPTION_LIMIT_EXCEEDED";
  const string THROTTLE_OUT_REASON_APPLICATION_LIMIT_EXCEEDED = "APPLICATION_LIMIT_EXCEEDED";
+ const string THROTTLE_OUT_REASON_SPIKE_ARREST_LIMIT_EXCEEDED = "SPIKE_ARREST_LIMIT_EXCEEDED";
+ public const string SPIKE_ARREST_DESCRIPTION = "You have exceeded the spike arrest limit of your subscription";
  const string POLICY_NOT_FOUND_DESCRIPTION = "POLICY ENFORCEMENT ERROR";
 
 
@@ -34,6 +34,7 @@
  public const string COOKIE_HEADER = "Cookie";
  public const string CONTENT_TYPE_HEADER = "Content-Type";
  public const string CONTENT_LENGHT_HEADER = "Content-Length";
+ public const string TRANSFER_ENCODING_HEADER = "Transfer-Encoding";
  public const string X_WWW_FORM_URLENCODED = "application/x-www-form-urlencoded";
  public const string APPLICATION_JSON = "application/json";
  public const string TEXT_XML = "text/xml";
@@ -44,11 +45,15 @@
  public const string INVALID_COOKIE = "Cookie is Invalid";
 
  public const string X_FORWARD_FOR_HEADER = "X-FORWARDED-FOR";
+ public const string RETRY_AFTER_HEADER = "Retry-After";
  public const string KEY_VALIDATION_RESPONSE = "KEY_VALIDATION_RESPONSE";
  public const string AUTHENTICATION_CONTEXT = "AUTHENTICATION_CONTEXT";
  public const string SUPER_TENANT_DOMAIN_NAME = "carbon.super";
  public const int SUPER_TENANT_ID = -1234;
  public const string THROTTLE_KEY = "throttleKey";
+ public const string APPLICATION_TIER_TYPE = "appTier";
+ public const string SUBSCRIPTION_TIER_TYPE = "subscriptionTier";
+ public const string RESOURCE_TIER_TYPE = "resourceTier";
  public const string RESOURCE_TIER_ANN_PACKAGE = "ballerina.gateway";
  public const string RESOURCE_TIER_ANN_NAME = "RateLimit";
  public const string RESOURCE_CONFIGURATION_ANN_NAME = "Resource";
@@ -63,6 +68,9 @@
  public const string MESSAGE_ID = "MESSAGE_ID";
  public const string IS_THROTTLE_OUT = "IS_THROTTLE_OUT";
  public const string ALLOWED_ON_QUOTA_REACHED = "ALLOWED_ON_QUOTA_REACHED";
+ public const string BANDWIDTH_THROTTLE_EVENT = "BANDWIDTH_THROTTLE_EVENT";
+ public const string BANDWIDTH_REQUEST_SIZE = "BANDWIDTH_REQUEST_SIZE";
+ public const string ACQUIRED_THROTTLE_QUOTA = "ACQUIRED_THROTTLE_QUOTA";
  public const string IS_SECURED = "IS_SECURED";
  public const string THROTTLE_OUT_REASON = "THROTTLE_REASON";
  public const string JWT_HEADER_NAME = "X-JWT-Assertion";
@@ -80,6 +88,8 @@
  public const string ERROR_MESSAGE = "error_message";
  public const string ERROR_DESCRIPTION = "error_description";
  public const string HTTP_STATUS_CODE = "status_code";
+ public const string RETRY_AFTER = "retry_after";
+ public const string LOAD_SHEDDING_CREDENTIAL_KEY = "load_shedding_credential_key";
 
  public const string API_NAME = "api_name";
  public const string API_CONTEXT = "api_context";
@@ -94,6 +104,7 @@
 
  public const string SERVICE_TYPE_ATTR = "SERVICE_TYPE";
  public const string KEY_TYPE_ATTR = "KEY_TYPE";
+ public const string JWT_CLAIMS = "JWT_CLAIMS";
  public const string RESOURCE_NAME_ATTR = "RESOURCE_NAME";
  public const string ACCESS_TOKEN_ATTR = "ACCESS_TOKEN";
  public const string HOST_HEADER_NAME = "Host";
@@ -113,6 +124,11 @@
 
  public const string ERROR_RESPONSE = "error_response";
  public const string ERROR_RESPONSE_CODE = "error_response_code";
+ public const int CONCURRENCY_LIMIT_EXCEEDED_ERROR_CODE = 101506;
+ public const string CONCURRENCY_LIMIT_EXCEEDED_DESCRIPTION = "The backend is overloaded. Try again later";
+ public const int REQUEST_SHED_ERROR_CODE = 101507;
+ public const string REQUEST_SHED_MESSAGE = "Service Unavailable";
+ public const string REQUEST_SHED_DESCRIPTION = "The gateway is overloaded. Try again later";
  public const string USERNAME = "username";
  public const string PASSWORD = "password";
  public const string ENABLE = "enable";
@@ -131,6 +147,7 @@
  public const string ROTATING_TIME = "rotatingPeriod";
  public const string UPLOADING_EP = "uploadingEndpoint";
  public const string REQUEST_TIME = "REQUEST_TIME";
+ const string REQUEST_START_NANO_TIME = "REQUEST_START_NANO_TIME";
  public const string DATACENTER_ID = "datacenterId";
  public const string THROTTLE_LATENCY = "THROTTLE_LATENCY";
  public const string SECURITY_LATENCY_AUTHN = "SECURITY_LATENCY_AUTHN";
@@ -146,6 +163,15 @@
  public const string FILE_UPLOAD_TASK = "taskUploadFiles";
  public const string INITIAL_DELAY = "initialDelayInMillis";
  public const string DESTINATION = "destination";
+ public const string ANALYTICS_BUFFER_SIZE = "bufferSize";
+ public const string ANALYTICS_BATCH_SIZE = "batchSize";
+ public const string ANALYTICS_FLUSH_INTERVAL = "flushIntervalInMillis";
+ public const string ANALYTICS_OVERFLOW_POLICY = "overflowPolicy";
+ public const string ANALYTICS_OVERFLOW_DROP_OLDEST = "dropOldest";
+ public const string ANALYTICS_OVERFLOW_DROP_NEWEST = "dropNewest";
+ public const int DEFAULT_ANALYTICS_BUFFER_SIZE = 10000;
+ public const int DEFAULT_ANALYTICS_BATCH_SIZE = 200;
+ public const int DEFAULT_ANALYTICS_FLUSH_INTERVAL = 1000;
 
 //validation_filter related constatnts
  public const string PATHS = "paths";
@@ -217,6 +243,10 @@
  public const string ISSUER = "issuer";
  public const string AUDIENCE = "audience";
  public const string CERTIFICATE_ALIAS = "certificateAlias";
+ public const string JWKS_URL = "jwksUrl";
+ public const string JWKS_REFRESH_INTERVAL = "jwksRefreshInterval";
+ public const int DEFAULT_JWKS_REFRESH_INTERVAL = 3600000;
+ public const int DEFAULT_JWT_CLOCK_SKEW = 60;
  public const string TRUST_STORE_PATH = "trustStorePath";
  public const string TRUST_STORE_PASSWORD = "trustStorePassword";
 
@@ -226,6 +256,83 @@
  public const string TOKEN_CACHE_CAPACITY = "tokenCacheCapacity";
  public const string TOKEN_CACHE_EVICTION_FACTOR = "tokenCacheEvictionFactor";
 
+ public const string CONFIG_RELOAD_INSTANCE_ID = "configReload";
+ public const string CONFIG_RELOAD_ENABLED = "enabled";
+ public const string CONFIG_RELOAD_CHECK_INTERVAL = "checkIntervalInMillis";
+ public const string CONFIG_FILE_PATH = "b7a.config.file";
+ public const int DEFAULT_CONFIG_RELOAD_CHECK_INTERVAL = 5000;
+
+ public const string RESPONSE_CACHE_INSTANCE_ID = "responseCache";
+ public const string RESPONSE_CACHE_MAX_SIZE = "maxSizeInMB";
+ public const string RESPONSE_CACHE_MAX_ENTRY_SIZE = "maxEntrySizeInKB";
+ public const string RESPONSE_CACHE_OFF_HEAP = "offHeap";
+ public const string RESPONSE_CACHE_COALESCE_TIMEOUT = "coalesceTimeoutInMillis";
+ public const int DEFAULT_RESPONSE_CACHE_MAX_SIZE = 64;
+ public const int DEFAULT_RESPONSE_CACHE_MAX_ENTRY_SIZE = 1024;
+ public const int DEFAULT_RESPONSE_CACHE_COALESCE_TIMEOUT = 1000;
+ public const string RESPONSE_CACHE_SCOPE_CALLER = "caller";
+ public const string RESPONSE_CACHE_SCOPE_APPLICATION = "application";
+ public const string RESPONSE_CACHE_SCOPE_SHARED = "shared";
+ const string RESPONSE_CACHE_HIT = "response_cache_hit";
+ const string RESPONSE_CACHE_FETCHING = "response_cache_fetching";
+ const string RESPONSE_CACHE_REVALIDATED_ENTRY = "response_cache_revalidated_entry";
+ const string CACHE_CONTROL_HEADER = "Cache-Control";
+ const string ETAG_HEADER = "ETag";
+ const string LAST_MODIFIED_HEADER = "Last-Modified";
+ const string IF_NONE_MATCH_HEADER = "If-None-Match";
+ const string IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+
+ public const string LOG_CONFIG_INSTANCE_ID = "logConfig";
+ public const string LOG_CONFIG_ASYNC_APPENDER_ENABLED = "asyncAppenderEnabled";
+ public const string LOG_CONFIG_ASYNC_BUFFER_SIZE = "asyncBufferSize";
+ public const int DEFAULT_LOG_ASYNC_BUFFER_SIZE = 8192;
+ const string GATEWAY_MODULE_LOG_LEVEL = "wso2/gateway.loglevel";
+ const string BALLERINA_LOG_LEVEL = "b7a.log.level";
+ const string LOG_MESSAGE_PLACEHOLDER = "{}";
+ const int LOG_LEVEL_OFF = 0;
+ const int LOG_LEVEL_ERROR = 1;
+ const int LOG_LEVEL_WARN = 2;
+ const int LOG_LEVEL_INFO = 3;
+ const int LOG_LEVEL_DEBUG = 4;
+ const int LOG_LEVEL_TRACE = 5;
+ const string LOG_LEVEL_ERROR_NAME = "ERROR";
+ const string LOG_LEVEL_WARN_NAME = "WARN";
+ const string LOG_LEVEL_INFO_NAME = "INFO";
+
+ public const string LOAD_SHEDDING_INSTANCE_ID = "loadShedding";
+ public const string LOAD_SHEDDING_ENABLED = "enabled";
+ public const string LOAD_SHEDDING_MAX_REQUESTS_IN_FLIGHT = "maxRequestsInFlight";
+ public const string LOAD_SHEDDING_MAX_SCHEDULING_LAG = "maxSchedulingLagInMillis";
+ public const string LOAD_SHEDDING_SAMPLE_INTERVAL = "sampleIntervalInMillis";
+ public const string LOAD_SHEDDING_TIER_PRIORITY = "tierPriority";
+ public const string LOAD_SHEDDING_TIER_HINT_CAPACITY = "tierHintCapacity";
+ public const string LOAD_SHEDDING_RETRY_AFTER = "retryAfterInSeconds";
+ public const int DEFAULT_LOAD_SHEDDING_MAX_REQUESTS_IN_FLIGHT = 0;
+ public const int DEFAULT_LOAD_SHEDDING_MAX_SCHEDULING_LAG = 50;
+ public const int DEFAULT_LOAD_SHEDDING_SAMPLE_INTERVAL = 100;
+ public const string DEFAULT_LOAD_SHEDDING_TIER_PRIORITY = "Unlimited,Gold,Silver,Bronze";
+ public const int DEFAULT_LOAD_SHEDDING_TIER_HINT_CAPACITY = 65536;
+ public const int DEFAULT_LOAD_SHEDDING_RETRY_AFTER = 1;
+
+ public const string METRICS_INSTANCE_ID = "metrics";
+ public const string METRICS_ENABLED = "enabled";
+ public const string ADMIN_LISTENER_INSTANCE_ID = "adminListener";
+ public const string ADMIN_LISTENER_ENABLED = "enabled";
+ public const string ADMIN_LISTENER_HOST = "host";
+ public const string ADMIN_LISTENER_PORT = "port";
+ public const int DEFAULT_ADMIN_LISTENER_PORT = 9798;
+ const string METRICS_PATH = "/metrics";
+ const string READINESS_PATH = "/health/ready";
+
+ public const string STARTUP_PHASE_ANNOTATION_MAPS = "annotation maps";
+ public const string STARTUP_PHASE_CACHES = "cache initialization";
+ public const string STARTUP_PHASE_THROTTLE_POLICIES = "throttle policies";
+ public const string STARTUP_PHASE_LISTENER_BIND = "listener bind";
+ public const string STARTUP_COMPONENT_CACHES = "gateway caches";
+ public const string STARTUP_COMPONENT_THROTTLE_POLICIES = "throttle policies";
+ const string STARTUP_COMPONENT_LISTENER_PREFIX = "listener:";
+ const string PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
  public const string JWT_CONFIG_INSTANCE_ID = "jwtConfig";
  public const string JWT_HEADER = "header";
  public const string EXPECT_HEADER = "Expect";
@@ -243,6 +350,25 @@
  public const string JMS_CONNECTION_PASSWORD = "jmsConnectionPassword";
  public const string THROTTLE_ENDPOINT_URL = "throttleEndpointUrl";
  public const string THROTTLE_ENDPOINT_BASE64_HEADER = "throttleEndpointbase64Header";
+ public const string THROTTLE_ENDPOINT_HTTP_VERSION = "throttleEndpointHttpVersion";
+ public const string THROTTLE_ENDPOINT_MAX_CONNECTIONS = "throttleEndpointMaxActiveConnections";
+ public const string THROTTLE_EVENT_BUFFER_SIZE = "throttleEventBufferSize";
+ public const string THROTTLE_EVENT_BATCH_SIZE = "throttleEventBatchSize";
+ public const string THROTTLE_EVENT_FLUSH_INTERVAL = "throttleEventFlushIntervalInMillis";
+ public const int DEFAULT_THROTTLE_EVENT_BUFFER_SIZE = 10000;
+ public const int DEFAULT_THROTTLE_EVENT_BATCH_SIZE = 100;
+ public const int DEFAULT_THROTTLE_EVENT_FLUSH_INTERVAL = 500;
+ public const string THROTTLE_DECISION_STORE_CAPACITY = "throttleDecisionStoreCapacity";
+ public const int DEFAULT_THROTTLE_DECISION_STORE_CAPACITY = 100000;
+ public const string THROTTLE_SPIKE_ARREST_CAPACITY = "spikeArrestCapacity";
+ public const int DEFAULT_THROTTLE_SPIKE_ARREST_CAPACITY = 65536;
+ public const string THROTTLE_UNAUTHENTICATED_APPROXIMATE_COUNTING = "unauthenticatedApproximateCounting";
+ public const string THROTTLE_APPROXIMATE_COUNTER_WIDTH = "approximateCounterWidth";
+ public const string THROTTLE_HEAVY_HITTER_CAPACITY = "heavyHitterCapacity";
+ public const int DEFAULT_THROTTLE_APPROXIMATE_COUNTER_WIDTH = 65536;
+ public const int DEFAULT_THROTTLE_HEAVY_HITTER_CAPACITY = 4096;
+ public const string THROTTLE_BANDWIDTH_ACCOUNTING_QUEUE_SIZE = "bandwidthAccountingQueueSize";
+ public const int DEFAULT_THROTTLE_BANDWIDTH_ACCOUNTING_QUEUE_SIZE = 10000;
 
  public const string TOKEN_REVOCATION_CONF_INSTANCE_ID = "tokenRevocationConfig";
  public const string TOKEN_REVOCATION_ENABLED = "enabledTokenRevocation";
@@ -280,6 +406,8 @@
  public const int UNAUTHORIZED = 401;
  public const int THROTTLED_OUT = 429;
  public const int UNPROCESSABLE_ENTITY = 422;
+ public const int NOT_FOUND = 404;
+ public const int SERVICE_UNAVAILABLE = 503;
 
 // end of http codes
 
@@ -313,10 +441,21 @@
  const string KEY_TOKEN_REVOCATION_ETCD_UTIL = "TokenRevocationETCDUtil";
  const string KEY_TOKEN_REVOCATION_JMS = "TokenRevocationJMS";
  const string KEY_JWT_AUTH_PROVIDER = "JWTAuthProvider";
+ const string KEY_JWKS_UTIL = "JwksUtil";
+ const string KEY_CONFIG_UTIL = "ConfigUtil";
+ const string KEY_ADAPTIVE_CLIENT = "AdaptiveClient";
+ const string KEY_CONCURRENCY_LIMITER = "ConcurrencyLimiter";
+ const string KEY_LOAD_SHEDDING_FILTER = "LoadSheddingFilter";
+ const string KEY_RESPONSE_CACHE = "ResponseCache";
+ const string KEY_ADMIN_LISTENER = "AdminListener";
+ const string KEY_STARTUP = "Startup";
 
 
  public const int DEFAULT_LISTENER_TIMEOUT = 120000; //2 mins
  public const int DEFAULT_ETCD_TRIGGER_TIME = 10000; //10 seconds
+ public const int ETCD_WATCH_POLL_INTERVAL = 500;
+
+ public const string ENDPOINT_STRATEGY_FAILOVER = "failover";
 
 //jwt claims
  const string APPLICATION = "application";
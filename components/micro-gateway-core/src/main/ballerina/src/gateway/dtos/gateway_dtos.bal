@@ -84,3 +84,72 @@ public type Credentials record {
    string password="";
 };
 
+# Details of a resource which are derived once from its annotations when the service is registered, so that the
+# filters do not rebuild them for every request.
+# + resourceKey - resource function name without underscores, as used by the traffic manager
+# + resourceThrottleKey - key of the resource level throttle counter
+# + resourcePolicy - resource level throttle policy
+public type ResourceRoute record {|
+    string resourceKey;
+    string resourceThrottleKey;
+    string? resourcePolicy = ();
+|};
+
+# Claims of a JWT whose signature and issuer details were verified, cached against the hash of the token.
+# + claims - decoded payload of the token
+# + expiryTime - expiry time of the token in seconds since the epoch, or -1 if the token does not expire
+public type CachedJwtClaims record {|
+    map<json> claims;
+    int expiryTime = -1;
+|};
+
+# Configuration values read by the filters on every request. A snapshot is built once from the configuration file
+# and replaced as a whole when the file changes, so a request always sees a consistent set of values.
+# + authHeaderName - default name of the header carrying the access token
+# + removeAuthHeaderFromOutMessage - whether the access token header is removed before calling the backend
+# + authCookie - session cookie accepted by the cookie based authentication handler
+# + jwtHeaderName - name of the header carrying the backend JWT
+# + tokenCacheEnabled - whether key validation results are cached
+# + timestampSkew - allowed clock skew in milliseconds when checking the expiry of cached access tokens
+public type GatewayConfigSnapshot record {|
+    string authHeaderName = AUTHORIZATION_HEADER;
+    boolean removeAuthHeaderFromOutMessage = true;
+    string authCookie = "";
+    string jwtHeaderName = JWT_HEADER_NAME;
+    boolean tokenCacheEnabled = true;
+    int timestampSkew = 5000;
+|};
+
+# Health check and outlier ejection settings of a load balanced or failover endpoint balanced by the gateway.
+# + path - path probed on each target. Active health checks are disabled when empty
+# + intervalInMillis - time between two health probes of the targets
+# + unhealthyThreshold - consecutive failed probes after which a target is taken out of rotation
+# + healthyThreshold - consecutive successful probes after which a target is put back into rotation
+# + consecutiveErrors - consecutive failed requests after which a target is ejected
+# + baseEjectionTimeInMillis - time a target is ejected for, doubled on each consecutive ejection
+# + slowStartWindowInMillis - time over which the share of traffic of a re admitted target is ramped up
+public type EndpointHealthConfig record {|
+    string path = "";
+    int intervalInMillis = 10000;
+    int unhealthyThreshold = 3;
+    int healthyThreshold = 2;
+    int consecutiveErrors = 5;
+    int baseEjectionTimeInMillis = 30000;
+    int slowStartWindowInMillis = 30000;
+|};
+
+# Adaptive concurrency limit of an endpoint. The limit is adjusted according to the round trip time of the endpoint.
+# + initialLimit - requests allowed in flight before any round trip time is observed
+# + minLimit - lowest limit the endpoint is throttled down to
+# + maxLimit - highest limit the endpoint is allowed to grow to
+# + smoothing - share of the newly calculated limit applied at the end of each sampling window, from 0 to 1
+# + rttTolerance - factor by which the round trip time may exceed the long term one before the limit is reduced
+# + windowInMillis - length of the sampling window the limit is recalculated after
+public type EndpointConcurrencyConfig record {|
+    int initialLimit = 20;
+    int minLimit = 5;
+    int maxLimit = 200;
+    float smoothing = 0.2;
+    float rttTolerance = 1.5;
+    int windowInMillis = 1000;
+|};
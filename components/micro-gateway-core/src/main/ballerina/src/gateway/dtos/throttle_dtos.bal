@@ -41,13 +41,6 @@ public type GlobalThrottleStreamDTO record {
     int expiryTimeStamp=0;
 };
 
-public type EligibilityStreamDTO record {
-    string messageID="";
-    boolean isEligible=false;
-    string throttleKey="";
-    int expiryTimeStamp=0;
-};
-
 public type ThrottleAnalyticsEventDTO record {
     string metaClientType="";
     string userName="";
@@ -64,11 +57,4 @@ public type ThrottleAnalyticsEventDTO record {
     string gatewayType="";
     int throttledTime=0;
     string hostname="";
-};
-
-public type IntermediateStream record{
-    string throttleKey ="";
-    int eventCount=0;
-    boolean stopOnQuota=false;
-    int expiryTimeStamp=0;
 };
\ No newline at end of file
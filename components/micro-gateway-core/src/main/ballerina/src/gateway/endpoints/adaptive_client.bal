@@ -0,0 +1,148 @@
+// Copyright (c)  WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerina/runtime;
+
+# Client of a load balanced or failover endpoint whose targets are selected by the gateway according to their
+# latency, load and health instead of a fixed order.
+public type AdaptiveClient client object {
+
+    private string name;
+    private http:Client[] targets;
+    private handle balancer;
+    private int maxAttempts;
+
+    # Creates the client and starts the health probes of the targets when a health check path is configured.
+    #
+    # + name - Name of the endpoint, used in logs and metrics
+    # + targets - Clients of the individual targets
+    # + strategy - `adaptive`, `round_robin` or `failover`
+    # + healthConfig - Health check and outlier ejection settings
+    public function __init(string name, http:Client[] targets, string strategy,
+            EndpointHealthConfig healthConfig = {}) {
+        self.name = name;
+        self.targets = targets;
+        self.balancer = newEndpointBalancer(targets.length(), strategy, healthConfig);
+        registerEndpointBalancerMetrics(name, self.balancer);
+        // a failed request is retried on another target, on every target when failing over
+        self.maxAttempts = strategy == ENDPOINT_STRATEGY_FAILOVER || targets.length() < 2 ? targets.length() : 2;
+        if (healthConfig.path != "") {
+            future<()> probeFuture = start probeAdaptiveClientTargets(self, healthConfig.path,
+                healthConfig.intervalInMillis);
+        }
+    }
+
+    # Forwards the request to the selected target, retrying on another target if the target cannot be reached.
+    # Requests with a payload are only retried if their method is idempotent and the resource is not streaming, in
+    # which case the payload is built once before the first attempt so that it can be sent again.
+    #
+    # + path - Resource path of the request
+    # + request - Request to be forwarded
+    # + return - Response of the target, or the error of the last attempt
+    public remote function forward(string path, http:Request request) returns http:Response|error {
+        http:Client[] targets = self.targets;
+        int maxAttempts = self.maxAttempts;
+        byte[]? payload = ();
+        string contentType = "";
+        if (maxAttempts > 1 && hasRequestPayload(request)) {
+            if (!isIdempotentMethod(request.method)
+                    || isStreamingResource(runtime:getInvocationContext().attributes[http:RESOURCE_NAME].toString())) {
+                maxAttempts = 1;
+            } else {
+                payload = check request.getBinaryPayload();
+                contentType = request.getContentType();
+            }
+        }
+        int triedTargets = 0;
+        http:Response|error result = error("No target of endpoint " + self.name + " could be reached");
+        int attempt = 0;
+        while (attempt < maxAttempts) {
+            int target = selectEndpointTarget(self.balancer, triedTargets);
+            if (target < 0) {
+                break;
+            }
+            triedTargets = triedTargets | (1 << target);
+            if (attempt > 0 && payload is byte[]) {
+                // the payload of the previous attempt has been written to the previous target
+                if (contentType == "") {
+                    request.setBinaryPayload(payload);
+                } else {
+                    request.setBinaryPayload(payload, contentType = contentType);
+                }
+            }
+            int startTime = startEndpointRequest(self.balancer, target);
+            http:Client targetClient = targets[target];
+            result = targetClient->forward(path, request);
+            if (result is http:Response) {
+                completeEndpointRequest(self.balancer, target, startTime, !isTargetUnavailable(result.statusCode));
+                return result;
+            }
+            completeEndpointRequest(self.balancer, target, startTime, false);
+            printDebug(KEY_ADAPTIVE_CLIENT, "Target {} of endpoint {} could not be reached.", target, self.name);
+            attempt += 1;
+        }
+        return result;
+    }
+
+    # Replaces the clients of the targets, e.g. after their urls were changed at etcd. Requests in flight complete
+    # on the previous clients.
+    #
+    # + targets - Clients of the individual targets, in the same order as the current ones
+    public function updateTargets(http:Client[] targets) {
+        if (targets.length() != self.targets.length()) {
+            printError(KEY_ADAPTIVE_CLIENT, "The number of targets of endpoint " + self.name +
+                " cannot be changed at runtime.");
+            return;
+        }
+        self.targets = targets;
+    }
+
+    # Probes each target once and records the results.
+    #
+    # + path - Path probed on each target
+    public function probeTargets(string path) {
+        http:Client[] targets = self.targets;
+        foreach var [target, targetClient] in targets.enumerate() {
+            var response = targetClient->get(path);
+            boolean healthy = response is http:Response && response.statusCode < 500;
+            if (reportEndpointProbe(self.balancer, target, healthy)) {
+                printInfo(KEY_ADAPTIVE_CLIENT, "Target " + target.toString() + " of endpoint " + self.name +
+                    (healthy ? " is healthy." : " is unhealthy and taken out of rotation."));
+            }
+        }
+    }
+};
+
+function probeAdaptiveClientTargets(AdaptiveClient adaptiveClient, string path, int interval) {
+    while (true) {
+        runtime:sleep(interval);
+        adaptiveClient.probeTargets(path);
+    }
+}
+
+function hasRequestPayload(http:Request request) returns boolean {
+    return request.hasHeader(CONTENT_LENGHT_HEADER) || request.hasHeader(TRANSFER_ENCODING_HEADER);
+}
+
+function isIdempotentMethod(string method) returns boolean {
+    return method == "GET" || method == "HEAD" || method == "OPTIONS" || method == "PUT" || method == "DELETE" ||
+        method == "TRACE";
+}
+
+function isTargetUnavailable(int statusCode) returns boolean {
+    return statusCode == 502 || statusCode == 503 || statusCode == 504;
+}
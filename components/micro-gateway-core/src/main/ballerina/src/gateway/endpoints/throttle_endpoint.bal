@@ -14,16 +14,23 @@
 // specific language governing permissions and limitations
 // under the License.
 
-import ballerina/log;
 import ballerina/http;
+import ballerina/runtime;
 
 string throttleEndpointUrl = getConfigValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_ENDPOINT_URL,
     "https://localhost:9443/endpoints");
 string throttleEndpointbase64Header = getConfigValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_ENDPOINT_BASE64_HEADER,
     "admin:admin");
+// The credentials do not change at runtime, hence the header is encoded only once
+string throttleEndpointAuthHeader = BASIC_PREFIX_WITH_SPACE + throttleEndpointbase64Header.toBytes().toBase64();
 
 http:Client throttleEndpoint = new(throttleEndpointUrl,
     {cache: { enabled: false },
+        httpVersion: getConfigValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_ENDPOINT_HTTP_VERSION, "1.1"),
+        http1Settings: { keepAlive: http:KEEPALIVE_ALWAYS },
+        poolConfig: {
+            maxActiveConnections: getConfigIntValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_ENDPOINT_MAX_CONNECTIONS, 10)
+        },
         secureSocket:{
             trustStore: {
                   path: getConfigValue(LISTENER_CONF_INSTANCE_ID, TRUST_STORE_PATH,
@@ -34,6 +41,52 @@ http:Client throttleEndpoint = new(throttleEndpointUrl,
         }
     });
 
+int throttleEventBufferSize = DEFAULT_THROTTLE_EVENT_BUFFER_SIZE;
+int throttleEventBatchSize = DEFAULT_THROTTLE_EVENT_BATCH_SIZE;
+int throttleEventFlushInterval = DEFAULT_THROTTLE_EVENT_FLUSH_INTERVAL;
+
+// Ring buffer of throttle events which are yet to be sent to the traffic manager
+json[] throttleEventBuffer = [];
+int throttleEventBufferHead = 0;
+int throttleEventBufferCount = 0;
+boolean throttleEventPublisherStarted = false;
+
+int enqueuedThrottleEvents = 0;
+int droppedThrottleEvents = 0;
+int publishedThrottleEvents = 0;
+int failedThrottleEvents = 0;
+int throttleEventBatches = 0;
+
+# Reads the throttle event publisher configurations and starts the background publisher which sends the
+# buffered events to the traffic manager in batches.
+public function initThrottleEventPublisher() {
+    int bufferSize = getConfigIntValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_EVENT_BUFFER_SIZE,
+        DEFAULT_THROTTLE_EVENT_BUFFER_SIZE);
+    int batchSize = getConfigIntValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_EVENT_BATCH_SIZE,
+        DEFAULT_THROTTLE_EVENT_BATCH_SIZE);
+    throttleEventFlushInterval = getConfigIntValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_EVENT_FLUSH_INTERVAL,
+        DEFAULT_THROTTLE_EVENT_FLUSH_INTERVAL);
+    boolean startPublisher = false;
+    lock {
+        if (!throttleEventPublisherStarted) {
+            throttleEventBufferSize = bufferSize > 0 ? bufferSize : DEFAULT_THROTTLE_EVENT_BUFFER_SIZE;
+            throttleEventBatchSize = batchSize > 0 ? batchSize : DEFAULT_THROTTLE_EVENT_BATCH_SIZE;
+            throttleEventBuffer = [];
+            throttleEventBuffer[throttleEventBufferSize - 1] = ();
+            throttleEventPublisherStarted = true;
+            startPublisher = true;
+        }
+    }
+    if (startPublisher) {
+        future<()> publisher = start sendThrottleEventBatches();
+        printDebug(KEY_THROTTLE_UTIL, "Throttle event publisher started with batch size : {}", throttleEventBatchSize);
+    }
+}
+
+# Queues a throttle event to be sent to the traffic manager. If the buffer is full, the oldest queued event is
+# dropped so that request processing is never blocked by the traffic manager.
+#
+# + throttleEvent - Throttle event of the request
 public function publishThrottleEventToTrafficManager(RequestStreamDTO throttleEvent) {
 
     json sendEvent = {
@@ -62,19 +115,91 @@ public function publishThrottleEventToTrafficManager(RequestStreamDTO throttleEv
         }
     };
 
-    http:Request clientRequest = new;
-    string encodedBasicAuthHeader = throttleEndpointbase64Header.toBytes().toBase64();
-    clientRequest.setHeader(AUTHORIZATION_HEADER, BASIC_PREFIX_WITH_SPACE + encodedBasicAuthHeader);
-    clientRequest.setPayload(sendEvent);
+    lock {
+        if (throttleEventPublisherStarted) {
+            if (throttleEventBufferCount >= throttleEventBufferSize) {
+                droppedThrottleEvents += 1;
+                throttleEventBufferHead = (throttleEventBufferHead + 1) % throttleEventBufferSize;
+                throttleEventBufferCount -= 1;
+            }
+            int tail = (throttleEventBufferHead + throttleEventBufferCount) % throttleEventBufferSize;
+            throttleEventBuffer[tail] = sendEvent;
+            throttleEventBufferCount += 1;
+            enqueuedThrottleEvents += 1;
+        } else {
+            droppedThrottleEvents += 1;
+        }
+    }
+}
 
-    log:printDebug("ThrottleMessage is sent to traffic manager");
+# Returns the counters of the throttle event publisher.
+#
+# + return - Number of enqueued, dropped, published and failed events, sent batches and currently buffered events
+public function getThrottleEventPublisherStatistics() returns map<int> {
+    map<int> statistics = {};
+    lock {
+        statistics["enqueued"] = enqueuedThrottleEvents;
+        statistics["dropped"] = droppedThrottleEvents;
+        statistics["published"] = publishedThrottleEvents;
+        statistics["failed"] = failedThrottleEvents;
+        statistics["batches"] = throttleEventBatches;
+        statistics["buffered"] = throttleEventBufferCount;
+    }
+    return statistics;
+}
 
-    var response = throttleEndpoint->post("/throttleEventReceiver", clientRequest);
+function takeThrottleEventBatch(int maxEvents) returns json[] {
+    json[] batch = [];
+    lock {
+        while (throttleEventBufferCount > 0 && batch.length() < maxEvents) {
+            json event = throttleEventBuffer[throttleEventBufferHead];
+            throttleEventBuffer[throttleEventBufferHead] = ();
+            throttleEventBufferHead = (throttleEventBufferHead + 1) % throttleEventBufferSize;
+            throttleEventBufferCount -= 1;
+            if (event is map<json>) {
+                batch.push(event);
+            }
+        }
+    }
+    return batch;
+}
 
-    if (response is http:Response) {
-        log:printDebug("\nStatus Code: " + response.statusCode.toString());
-    } else {
-        log:printError(response.reason(), err = response);
+# Sends buffered events once a full batch is available or the flush interval has elapsed. While the buffer
+# holds more than a batch, batches are sent back to back.
+function sendThrottleEventBatches() {
+    while (true) {
+        json[] batch = takeThrottleEventBatch(throttleEventBatchSize);
+        if (batch.length() > 0) {
+            sendThrottleEventBatch(batch);
+        }
+        if (batch.length() < throttleEventBatchSize) {
+            runtime:sleep(throttleEventFlushInterval);
+        }
     }
+}
 
+function sendThrottleEventBatch(json[] batch) {
+    http:Request clientRequest = new;
+    clientRequest.setHeader(AUTHORIZATION_HEADER, throttleEndpointAuthHeader);
+    clientRequest.setJsonPayload(batch);
+
+    var response = throttleEndpoint->post("/throttleEventReceiver", clientRequest);
+    if (response is http:Response && response.statusCode < 300) {
+        lock {
+            publishedThrottleEvents += batch.length();
+            throttleEventBatches += 1;
+        }
+        printDebug(KEY_THROTTLE_UTIL, "{} throttle events sent to the traffic manager.", batch.length());
+    } else {
+        lock {
+            failedThrottleEvents += batch.length();
+        }
+        if (response is http:Response) {
+            printError(KEY_THROTTLE_UTIL, "Traffic manager responded with status code : " +
+                response.statusCode.toString());
+        } else {
+            printError(KEY_THROTTLE_UTIL, "Error while sending throttle events to the traffic manager : " +
+                response.reason());
+        }
+    }
 }
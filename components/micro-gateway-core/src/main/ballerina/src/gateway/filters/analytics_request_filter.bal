@@ -16,7 +16,6 @@
 
 import ballerina/http;
 import ballerina/runtime;
-import ballerina /io;
 
 public type AnalyticsRequestFilter object {
 
@@ -37,19 +36,12 @@ public type AnalyticsRequestFilter object {
             if (context.attributes.hasKey(IS_THROTTLE_OUT)) {
                 boolean isThrottleOut = <boolean>context.attributes[IS_THROTTLE_OUT];
                 if (isThrottleOut) {
-                    io:println("ThrottleAnalyticsEventDTO is going to print -->");
                     ThrottleAnalyticsEventDTO|error throttleAnalyticsEventDTO = trap populateThrottleAnalyticsDTO(context);
-                    io:println(throttleAnalyticsEventDTO.toString());
                     if(throttleAnalyticsEventDTO is ThrottleAnalyticsEventDTO) {
                         EventDTO|error eventDTO  = trap getEventFromThrottleData(throttleAnalyticsEventDTO);
                         if(eventDTO is EventDTO) {
-                            io:println("This is the event DTO of throttling -->");
-                            //eventStream.publish(eventDTO);
-                            // ####################################################
                             json analyticsThrottleJSON = createThrottleJSON(throttleAnalyticsEventDTO);
-                            dataToAnalytics(analyticsThrottleJSON.toJsonString() , "InComingThrottledOutStream");
-                            // ####################################################
-                            io:println(eventDTO.toString());
+                            enqueueAnalyticsEvent(analyticsThrottleJSON.toJsonString(), "InComingThrottledOutStream");
                         } else {
                             printError(KEY_ANALYTICS_FILTER, "Error while creating throttle analytics event");
                             printFullError(KEY_ANALYTICS_FILTER, eventDTO);
@@ -86,19 +78,11 @@ function doFilterRequest(http:Request request, http:FilterContext context) {
 
 function doFilterFault(http:FilterContext context, string errorMessage) {
     FaultDTO|error faultDTO = trap populateFaultAnalyticsDTO(context, errorMessage);
-    io:println("This is first falut DTO :" + faultDTO.toString());
     if(faultDTO is FaultDTO) {
         EventDTO|error eventDTO = trap getEventFromFaultData(faultDTO);
         if(eventDTO is EventDTO) {
-            io:println("This is the falut event DTO");
-
-            //eventStream.publish(eventDTO);
-            //eventStream.publish(eventDTO);
-            // ####################################################
             json analyticsFaultJSON = createFaultJSON(faultDTO);
-            dataToAnalytics(analyticsFaultJSON.toJsonString() , "FaultStream");
-            // ####################################################
-            io:println(eventDTO.toString());
+            enqueueAnalyticsEvent(analyticsFaultJSON.toJsonString(), "FaultStream");
         } else {
             printError(KEY_ANALYTICS_FILTER, "Error while genaratting analytics data for fault event");
             printFullError(KEY_ANALYTICS_FILTER, eventDTO);
@@ -116,13 +100,8 @@ function doFilterResponseData(http:Response response, http:FilterContext context
     if(requestResponseExecutionDTO is RequestResponseExecutionDTO) {
         EventDTO|error event = trap generateEventFromRequestResponseExecutionDTO(requestResponseExecutionDTO);
         if(event is EventDTO) {
-            // eventStream.publish(event);
-            // ###############################################
             json analyticsResponseJSON = createAnalyticsJSON(requestResponseExecutionDTO);
-            dataToAnalytics(analyticsResponseJSON.toJsonString() , "InComingRequestStream");
-            io:println("\n\n\nTo json string : " + analyticsResponseJSON.toJsonString() );
-            io:println("\n\n\nTo  string : " + analyticsResponseJSON.toString() );
-            // ##############################################
+            enqueueAnalyticsEvent(analyticsResponseJSON.toJsonString(), "InComingRequestStream");
         } else {
             printError(KEY_ANALYTICS_FILTER, "Error while genarating analytics data event");
             printFullError(KEY_ANALYTICS_FILTER, event);
@@ -33,11 +33,11 @@ public type OAuthzFilter object {
                                                                                                             boolean
     {
 
-        string checkAuthentication = getConfigValue(MTSL_CONF_INSTANCE_ID, MTSL_CONF_SSLVERIFYCLIENT, "");
+        string checkAuthentication = mutualSSLVerifyClient;
 
         if (checkAuthentication != "require") {
             //Setting UUID
-            int startingTime = getCurrentTime();
+            int startingTime = getCurrentNanoTime();
             checkOrSetMessageID(context);
             printDebug(KEY_AUTHZ_FILTER, "Processing request via Authorization filter.");
             runtime:AuthenticationContext? authContext = runtime:getInvocationContext()?.authenticationContext;
@@ -50,7 +50,7 @@ public type OAuthzFilter object {
                     result = self.authzFilter.filterRequest(caller, request, context);
                 }
             }
-            printDebug(KEY_AUTHZ_FILTER, "Returned with value: " + result.toString());
+            printDebug(KEY_AUTHZ_FILTER, "Returned with value: {}", result);
             setLatency(startingTime, context, SECURITY_LATENCY_AUTHZ);
             return result;
         } else {
@@ -60,7 +60,7 @@ public type OAuthzFilter object {
     }
 
     public function filterResponse(http:Response response, http:FilterContext context) returns boolean {
-        int startingTime = getCurrentTime();
+        int startingTime = getCurrentNanoTime();
         boolean result = doAuthzFilterResponse(response, context);
         setLatency(startingTime, context, SECURITY_LATENCY_AUTHZ_RESPONSE);
         return result;
@@ -0,0 +1,102 @@
+// Copyright (c)  WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file   except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerina/runtime;
+
+boolean loadSheddingEnabled = false;
+int loadSheddingRetryAfter = DEFAULT_LOAD_SHEDDING_RETRY_AFTER;
+
+// Load shedding filter. Runs right after the pre authentication filter and before the authentication filter, which
+// the listeners insert at position 2, so that requests shed under overload do not cost a key validation. The
+// authentication context is only available once the response is sent.
+
+public type LoadSheddingFilter object {
+
+    public function filterRequest(http:Caller caller, http:Request request, http:FilterContext context)
+                        returns boolean {
+        if (!loadSheddingEnabled) {
+            return true;
+        }
+        return doLoadSheddingFilterRequest(caller, request, context);
+    }
+
+    public function filterResponse(http:Response response, http:FilterContext context) returns boolean {
+        any credentialKey = context.attributes[LOAD_SHEDDING_CREDENTIAL_KEY];
+        if (credentialKey is int) {
+            // remember the tier the credential was validated with, for the requests shed before key validation
+            string tier = "";
+            string applicationTier = "";
+            any authContext = runtime:getInvocationContext().attributes[AUTHENTICATION_CONTEXT];
+            if (authContext is AuthenticationContext && authContext.authenticated) {
+                tier = authContext.tier;
+                applicationTier = authContext.applicationTier;
+            }
+            completeAdmittedRequest(credentialKey, tier, applicationTier);
+        }
+        return true;
+    }
+};
+
+function doLoadSheddingFilterRequest(http:Caller caller, http:Request request, http:FilterContext context)
+             returns boolean {
+    string credential = "";
+    string authHeaderName = getAuthHeaderFromFilterContext(context);
+    if (request.hasHeader(authHeaderName)) {
+        credential = request.getHeader(authHeaderName);
+    }
+    int credentialKey = getLoadSheddingCredentialKey(credential);
+    string apiPriority = "normal";
+    APIConfiguration? apiConfig = apiConfigAnnotationMap[context.getServiceName()];
+    if (apiConfig is APIConfiguration) {
+        apiPriority = apiConfig.priority;
+    }
+    if (!admitRequest(credentialKey, apiPriority)) {
+        printDebug(KEY_LOAD_SHEDDING_FILTER, "Gateway is overloaded. Shedding request to {} API with {} priority.",
+            context.getServiceName(), apiPriority);
+        context.attributes[RETRY_AFTER] = loadSheddingRetryAfter;
+        context.attributes[HTTP_STATUS_CODE] = SERVICE_UNAVAILABLE;
+        context.attributes[FILTER_FAILED] = true;
+        context.attributes[ERROR_CODE] = REQUEST_SHED_ERROR_CODE;
+        context.attributes[ERROR_MESSAGE] = REQUEST_SHED_MESSAGE;
+        context.attributes[ERROR_DESCRIPTION] = REQUEST_SHED_DESCRIPTION;
+        sendErrorResponse(caller, request, context);
+        return false;
+    }
+    context.attributes[LOAD_SHEDDING_CREDENTIAL_KEY] = credentialKey;
+    return true;
+}
+
+# Configures load shedding from the `loadShedding` section of the gateway configuration.
+public function initLoadShedding() {
+    loadSheddingEnabled = getConfigBooleanValue(LOAD_SHEDDING_INSTANCE_ID, LOAD_SHEDDING_ENABLED, false);
+    if (!loadSheddingEnabled) {
+        return;
+    }
+    loadSheddingRetryAfter = getConfigIntValue(LOAD_SHEDDING_INSTANCE_ID, LOAD_SHEDDING_RETRY_AFTER,
+        DEFAULT_LOAD_SHEDDING_RETRY_AFTER);
+    initOverloadController(
+        getConfigIntValue(LOAD_SHEDDING_INSTANCE_ID, LOAD_SHEDDING_MAX_REQUESTS_IN_FLIGHT,
+            DEFAULT_LOAD_SHEDDING_MAX_REQUESTS_IN_FLIGHT),
+        getConfigIntValue(LOAD_SHEDDING_INSTANCE_ID, LOAD_SHEDDING_MAX_SCHEDULING_LAG,
+            DEFAULT_LOAD_SHEDDING_MAX_SCHEDULING_LAG),
+        getConfigIntValue(LOAD_SHEDDING_INSTANCE_ID, LOAD_SHEDDING_SAMPLE_INTERVAL,
+            DEFAULT_LOAD_SHEDDING_SAMPLE_INTERVAL),
+        getConfigValue(LOAD_SHEDDING_INSTANCE_ID, LOAD_SHEDDING_TIER_PRIORITY, DEFAULT_LOAD_SHEDDING_TIER_PRIORITY),
+        getConfigIntValue(LOAD_SHEDDING_INSTANCE_ID, LOAD_SHEDDING_TIER_HINT_CAPACITY,
+            DEFAULT_LOAD_SHEDDING_TIER_HINT_CAPACITY));
+    printDebug(KEY_LOAD_SHEDDING_FILTER, "Load shedding is enabled.");
+}
@@ -15,7 +15,6 @@
 // under the License.
 
 import ballerina/http;
-import ballerina/config;
 import ballerina/runtime;
 
 // Pre Authentication filter
@@ -25,15 +24,22 @@ public type PreAuthnFilter object {
     public function filterRequest(http:Caller caller, http:Request request, @tainted http:FilterContext context)
                         returns boolean {
         //Setting UUID
-        int startingTime = getCurrentTime();
-        context.attributes[REQUEST_TIME] = startingTime;
+        int startingTime = getCurrentNanoTime();
+        context.attributes[REQUEST_TIME] = getCurrentTime();
+        context.attributes[REQUEST_START_NANO_TIME] = startingTime;
         checkOrSetMessageID(context);
         setHostHeaderToFilterContext(request, context);
+        boolean result = doAuthnFilterRequest(caller, request, <@untainted>context);
         setLatency(startingTime, context, SECURITY_LATENCY_AUTHN);
-        return doAuthnFilterRequest(caller, request, <@untainted>context);
+        return result;
     }
 
     public function filterResponse(http:Response response, http:FilterContext context) returns boolean {
+        any requestStartTime = context.attributes[REQUEST_START_NANO_TIME];
+        if (requestStartTime is int) {
+            recordRequestLatency(context.getServiceName(), requestStartTime);
+        }
+        releaseFetchedResponseCacheKey();
         if(response.statusCode == 401) {
             sendErrorResponseFromInvocationContext(response);
         }
@@ -55,7 +61,7 @@ function doAuthnFilterRequest(http:Caller caller, http:Request request, http:Fil
     invocationContext.attributes[SERVICE_TYPE_ATTR] = context.getService();
     invocationContext.attributes[RESOURCE_NAME_ATTR] = resourceName;
     boolean isSecuredResource = isSecured(serviceName, resourceName);
-    printDebug(KEY_PRE_AUTHN_FILTER, "Resource secured : " + isSecuredResource.toString());
+    printDebug(KEY_PRE_AUTHN_FILTER, "Resource secured : {}", isSecuredResource);
     invocationContext.attributes[IS_SECURED] = isSecuredResource;
     context.attributes[IS_SECURED] = isSecuredResource;
 
@@ -64,16 +70,16 @@ function doAuthnFilterRequest(http:Caller caller, http:Request request, http:Fil
     string? authCookie = "";
     string|error extractedToken = "";
     string authHeaderName = getAuthHeaderFromFilterContext(context);
-    printDebug(KEY_PRE_AUTHN_FILTER, "Authentication header name : " + authHeaderName);
+    printDebug(KEY_PRE_AUTHN_FILTER, "Authentication header name : {}", authHeaderName);
     invocationContext.attributes[AUTH_HEADER] = authHeaderName;
     string[] authProvidersIds = getAuthProviders(context.getServiceName(), context.getResourceName());
-    printDebug(KEY_PRE_AUTHN_FILTER, "Auth providers array  : " + authProvidersIds.toString());
+    printDebug(KEY_PRE_AUTHN_FILTER, "Auth providers array  : {}", authProvidersIds);
 
     if (request.hasHeader(authHeaderName)) {
         authHeader = request.getHeader(authHeaderName);
     } else if (request.hasHeader(COOKIE_HEADER)) {
         //Authentiction with HTTP cookies
-        isCookie = config:contains(COOKIE_HEADER);
+        isCookie = getGatewayConfig().authCookie != "";
         if (isCookie) {
             authCookie = getAuthCookieIfPresent(request);
             if (authCookie is string) {
@@ -87,7 +93,7 @@ function doAuthnFilterRequest(http:Caller caller, http:Request request, http:Fil
     } else {
         providerId = getAuthenticationProviderTypeWithCookie(authHeader);
     }
-    printDebug(KEY_PRE_AUTHN_FILTER, "Provider Id for authentication handler : " + providerId);
+    printDebug(KEY_PRE_AUTHN_FILTER, "Provider Id for authentication handler : {}", providerId);
     boolean canHandleAuthentication = false;
     foreach string provider in authProvidersIds {
         if (provider == providerId) {
@@ -136,15 +142,15 @@ function getAuthenticationProviderTypeWithCookie(string authHeader) returns (str
 }
 
 function checkAndRemoveAuthHeaders(http:Request request, string authHeaderName) {
-    if (getConfigBooleanValue(AUTH_CONF_INSTANCE_ID, REMOVE_AUTH_HEADER_FROM_OUT_MESSAGE, true)) {
+    if (getGatewayConfig().removeAuthHeaderFromOutMessage) {
         request.removeHeader(authHeaderName);
-        printDebug(KEY_PRE_AUTHN_FILTER, "Removed header : " + authHeaderName + " from the request");
+        printDebug(KEY_PRE_AUTHN_FILTER, "Removed header : {} from the request", authHeaderName);
     }
     if (request.hasHeader(TEMP_AUTH_HEADER)) {
         request.setHeader(AUTH_HEADER, request.getHeader(TEMP_AUTH_HEADER));
-        printDebug(KEY_PRE_AUTHN_FILTER, "Setting the backed up auth header value to the header: " + AUTH_HEADER);
+        printDebug(KEY_PRE_AUTHN_FILTER, "Setting the backed up auth header value to the header: {}", AUTH_HEADER);
         request.removeHeader(TEMP_AUTH_HEADER);
-        printDebug(KEY_PRE_AUTHN_FILTER, "Removed header : " + TEMP_AUTH_HEADER + " from the request");
+        printDebug(KEY_PRE_AUTHN_FILTER, "Removed header : {} from the request", TEMP_AUTH_HEADER);
     }
 }
 
@@ -152,7 +158,7 @@ function getAuthCookieIfPresent(http:Request request) returns string? {
     //get required cookie as config value
     string? authCookie = ();
     if (request.hasHeader(COOKIE_HEADER)) {
-        string requiredCookie = config:getAsString(COOKIE_HEADER, "");
+        string requiredCookie = getGatewayConfig().authCookie;
         //extract cookies from the incoming request
         string authHead = request.getHeader(COOKIE_HEADER);
         string[] cookies = split(authHead.trim(), ";");
@@ -16,7 +16,6 @@
 
 import ballerina/http;
 import ballerina/log;
-import ballerina/jwt;
 import ballerina/runtime;
 
 // Subscription filter to validate the subscriptions which is available in the  jwt token
@@ -26,7 +25,7 @@ public type SubscriptionFilter object {
 
     public function filterRequest(http:Caller caller, http:Request request, @tainted http:FilterContext filterContext)
                         returns boolean {
-        int startingTime = getCurrentTime();
+        int startingTime = getCurrentNanoTime();
         checkOrSetMessageID(filterContext);
         boolean result = doSubscriptionFilterRequest(caller, request, filterContext);
         setLatency(startingTime, filterContext, SECURITY_LATENCY_SUBS);
@@ -47,7 +46,7 @@ function doSubscriptionFilterRequest(http:Caller caller, http:Request request, @
     if (authContext is runtime:AuthenticationContext) {
         string? authScheme = authContext?.scheme;
         if(authScheme is string) {
-            printDebug(KEY_SUBSCRIPTION_FILTER, "Auth scheme: " + authScheme);
+            printDebug(KEY_SUBSCRIPTION_FILTER, "Auth scheme: {}", authScheme);
             if (authScheme != AUTH_SCHEME_JWT){
                 printDebug(KEY_SUBSCRIPTION_FILTER, "Skipping since auth scheme != jwt.");
                 return true;
@@ -63,34 +62,12 @@ function doSubscriptionFilterRequest(http:Caller caller, http:Request request, @
         AuthenticationContext authenticationContext = {};
         json|error decodedPayload = {};
         if(jwtToken is string) {
-            var cachedJwt = trap <jwt:CachedJwt>jwtCache.get(jwtToken);
-            if (cachedJwt is jwt:CachedJwt) {
-                printDebug(KEY_SUBSCRIPTION_FILTER, "jwt found from the jwt cache");
-                jwt:JwtPayload jwtPayload = cachedJwt.jwtPayload;
-                json payload = {};
-                if(payload is map<json>){
-                    map<json>? customClaims = jwtPayload?.customClaims;
-                    if(customClaims is map<json>) {
-                        if(customClaims.hasKey(APPLICATION)) {
-                            payload["application"] = customClaims[APPLICATION];
-                        }
-                        if(customClaims.hasKey(SUBSCRIBED_APIS)) {
-                            payload["subscribedAPIs"] = customClaims[SUBSCRIBED_APIS];
-                        }
-                        if(customClaims.hasKey(CONSUMER_KEY)) {
-                            payload["consumerKey"] = customClaims[CONSUMER_KEY];
-                        }
-                        if(customClaims.hasKey(KEY_TYPE)) {
-                            payload["keytype"] = customClaims[KEY_TYPE];
-                        }
-                    }
-                    if(jwtPayload?.sub is string) {
-                        payload["sub"] = jwtPayload?.sub;
-                    }
-                    decodedPayload = payload;
-                }
+            any verifiedClaims = invocationContext.attributes[JWT_CLAIMS];
+            if (verifiedClaims is map<json>) {
+                printDebug(KEY_SUBSCRIPTION_FILTER, "Using the claims verified by the jwt auth provider");
+                decodedPayload = verifiedClaims;
             } else {
-                //If not found in cache decode jwt token and get the payload
+                //If the claims are not available decode jwt token and get the payload
                 var jwtPayload = getEncodedJWTPayload(jwtToken);
                 if (jwtPayload is error) {
                     log:printError(jwtPayload.reason(), err = jwtPayload);
@@ -98,14 +75,14 @@ function doSubscriptionFilterRequest(http:Caller caller, http:Request request, @
                     sendErrorResponse(caller, request, filterContext);
                     return false;
                 } else {
-                    printTrace(KEY_SUBSCRIPTION_FILTER, "Encoded JWT payload: " + jwtPayload);
+                    printTrace(KEY_SUBSCRIPTION_FILTER, "Encoded JWT payload: {}", jwtPayload);
                     decodedPayload = getDecodedJWTPayload(jwtPayload);
                 }
             }
 
 
             if (decodedPayload is json) {
-                printTrace(KEY_SUBSCRIPTION_FILTER, "Decoded JWT payload: " + decodedPayload.toString());
+                printTrace(KEY_SUBSCRIPTION_FILTER, "Decoded JWT payload: {}", decodedPayload);
                 json[] subscribedAPIList = [];
                 json|error jsonSubscribedApis = decodedPayload.subscribedAPIs;
                 if (jsonSubscribedApis is json) {
@@ -113,7 +90,7 @@ function doSubscriptionFilterRequest(http:Caller caller, http:Request request, @
                     if(jsonSubscribedApis is json[]) {
                     subscribedAPIList = jsonSubscribedApis;
                     }
-                    printDebug(KEY_SUBSCRIPTION_FILTER, "Subscribed APIs list : " + subscribedAPIList.toString());
+                    printDebug(KEY_SUBSCRIPTION_FILTER, "Subscribed APIs list : {}", subscribedAPIList);
                     APIConfiguration? apiConfig = apiConfigAnnotationMap[filterContext.getServiceName()];
                     int l = subscribedAPIList.length();
                     if (l == 0){
@@ -172,8 +149,8 @@ function doSubscriptionFilterRequest(http:Caller caller, http:Request request, @
                             .subscriberTenantDomain.toString();
                             authenticationContext.keyType = decodedPayload.keytype.toString();
                             // setting keytype to invocationContext
-                            printDebug(KEY_SUBSCRIPTION_FILTER, "Setting key type as " +
-                                    authenticationContext.keyType);
+                            printDebug(KEY_SUBSCRIPTION_FILTER, "Setting key type as {}",
+                                authenticationContext.keyType);
                             invocationContext.attributes[KEY_TYPE_ATTR] = authenticationContext
                             .keyType;
                             invocationContext.attributes[AUTHENTICATION_CONTEXT] = authenticationContext;
@@ -25,7 +25,7 @@ public type ThrottleFilter object {
     }
 
     public function filterRequest(http:Caller caller, http:Request request, http:FilterContext context) returns boolean {
-        int startingTime = getCurrentTime();
+        int startingTime = getCurrentNanoTime();
         checkOrSetMessageID(context);
         boolean result = doThrottleFilterRequest(caller, request, context, self.deployedPolicies);
         setLatency(startingTime, context, THROTTLE_LATENCY);
@@ -33,6 +33,16 @@ public type ThrottleFilter object {
     }
 
     public function filterResponse(http:Response response, http:FilterContext context) returns boolean {
+        any throttleEvent = context.attributes[BANDWIDTH_THROTTLE_EVENT];
+        if (throttleEvent is RequestStreamDTO) {
+            //the response size is read from the Content-Length header, as reported to analytics, and the usage is
+            //applied asynchronously. Payloads are never read for this, so that streamed payloads stay unbuffered.
+            publishBandwidthUsage(throttleEvent, <int>context.attributes[BANDWIDTH_REQUEST_SIZE] +
+                getResponseSize(response));
+            if (isChunkedResponse(response)) {
+                recordUnmeteredPayload("response");
+            }
+        }
         return true;
     }
 };
@@ -63,14 +73,27 @@ function doThrottleFilterRequest(http:Caller caller, http:Request request, http:
             sendErrorResponse(caller, request, context);
             return false;
         }
+        if (keyValidationResult.spikeArrestLimit > 0) {
+            printDebug(KEY_THROTTLE_FILTER, "Checking spike arrest limit of {} per {}.",
+                keyValidationResult.spikeArrestLimit, keyValidationResult.spikeArrestUnit);
+            if (isSpikeArrested(context, keyValidationResult)) {
+                printDebug(KEY_THROTTLE_FILTER, "Spike arrest limit exceeded. Sending throttled out response.");
+                context.attributes[IS_THROTTLE_OUT] = true;
+                context.attributes[THROTTLE_OUT_REASON] = THROTTLE_OUT_REASON_SPIKE_ARREST_LIMIT_EXCEEDED;
+                setThrottleErrorMessageToContext(context, THROTTLED_OUT, SPIKE_ARREST_THROTTLE_OUT_ERROR_CODE,
+                    THROTTLE_OUT_MESSAGE, SPIKE_ARREST_DESCRIPTION);
+                sendErrorResponse(caller, request, context);
+                return false;
+            }
+        }
         printDebug(KEY_THROTTLE_FILTER, "Checking subscription level throttle policy '" + keyValidationResult.
                 tier + "' exist.");
         string? resourceLevelPolicyName = getResourceLevelPolicy(context);
         if(resourceLevelPolicyName is string) {
-            printDebug(KEY_THROTTLE_FILTER, "Resource level throttle policy : " + resourceLevelPolicyName);
+            printDebug(KEY_THROTTLE_FILTER, "Resource level throttle policy : {}", resourceLevelPolicyName);
             if(resourceLevelPolicyName.length() > 0 && resourceLevelPolicyName != UNLIMITED_TIER && !isPolicyExist(deployedPolicies, resourceLevelPolicyName)) {
-                printDebug(KEY_THROTTLE_FILTER, "Resource level throttle policy '" + resourceLevelPolicyName
-                        + "' does not exist.");
+                printDebug(KEY_THROTTLE_FILTER, "Resource level throttle policy '{}' does not exist.",
+                    resourceLevelPolicyName);
                 setThrottleErrorMessageToContext(context, INTERNAL_SERVER_ERROR,
                     INTERNAL_ERROR_CODE_POLICY_NOT_FOUND,
                     INTERNAL_SERVER_ERROR_MESSAGE, POLICY_NOT_FOUND_DESCRIPTION);
@@ -85,6 +108,7 @@ function doThrottleFilterRequest(http:Caller caller, http:Request request, http:
             context.attributes[THROTTLE_OUT_REASON] = THROTTLE_OUT_REASON_RESOURCE_LIMIT_EXCEEDED;
             setThrottleErrorMessageToContext(context, THROTTLED_OUT, RESOURCE_THROTTLE_OUT_ERROR_CODE,
                 THROTTLE_OUT_MESSAGE, THROTTLE_OUT_DESCRIPTION);
+            releaseAcquiredThrottleQuota();
             sendErrorResponse(caller, request, context);
             return false;
         } else {
@@ -92,18 +116,19 @@ function doThrottleFilterRequest(http:Caller caller, http:Request request, http:
         }
 
         if (keyValidationResult.tier != UNLIMITED_TIER && !isPolicyExist(deployedPolicies, keyValidationResult.tier)) {
-            printDebug(KEY_THROTTLE_FILTER, "Subscription level throttle policy '" + keyValidationResult.tier
-                    + "' does not exist.");
+            printDebug(KEY_THROTTLE_FILTER, "Subscription level throttle policy '{}' does not exist.",
+                keyValidationResult.tier);
             setThrottleErrorMessageToContext(context, INTERNAL_SERVER_ERROR,
                 INTERNAL_ERROR_CODE_POLICY_NOT_FOUND,
                 INTERNAL_SERVER_ERROR_MESSAGE, POLICY_NOT_FOUND_DESCRIPTION);
+            releaseAcquiredThrottleQuota();
             sendErrorResponse(caller, request, context);
             return false;
         }
         printDebug(KEY_THROTTLE_FILTER, "Checking subscription level throttling-out.");
         [isThrottled, stopOnQuota] = isSubscriptionLevelThrottled(context, keyValidationResult);
-        printDebug(KEY_THROTTLE_FILTER, "Subscription level throttling result:: isThrottled:"
-                + isThrottled.toString() + ", stopOnQuota:" + stopOnQuota.toString());
+        printDebug(KEY_THROTTLE_FILTER, "Subscription level throttling result:: isThrottled:{}, stopOnQuota:{}",
+            isThrottled, stopOnQuota);
         if (isThrottled) {
             if (stopOnQuota) {
                 printDebug(KEY_THROTTLE_FILTER, "Sending throttled out responses.");
@@ -111,6 +136,7 @@ function doThrottleFilterRequest(http:Caller caller, http:Request request, http:
                 context.attributes[THROTTLE_OUT_REASON] = THROTTLE_OUT_REASON_SUBSCRIPTION_LIMIT_EXCEEDED;
                 setThrottleErrorMessageToContext(context, THROTTLED_OUT, SUBSCRIPTION_THROTTLE_OUT_ERROR_CODE,
                     THROTTLE_OUT_MESSAGE, THROTTLE_OUT_DESCRIPTION);
+                releaseAcquiredThrottleQuota();
                 sendErrorResponse(caller, request, context);
                 return false;
             } else {
@@ -119,15 +145,16 @@ function doThrottleFilterRequest(http:Caller caller, http:Request request, http:
                 printDebug(KEY_THROTTLE_FILTER, "Proceeding(1st) since stopOnQuota is set to false.");
             }
         }
-        printDebug(KEY_THROTTLE_FILTER, "Checking application level throttle policy '"
-                + keyValidationResult.applicationTier + "' exist.");
+        printDebug(KEY_THROTTLE_FILTER, "Checking application level throttle policy '{}' exist.",
+            keyValidationResult.applicationTier);
         if (keyValidationResult.applicationTier != UNLIMITED_TIER &&
             !isPolicyExist(deployedPolicies, keyValidationResult.applicationTier)) {
-            printDebug(KEY_THROTTLE_FILTER, "Application level throttle policy '"
-                    + keyValidationResult.applicationTier + "' does not exist.");
+            printDebug(KEY_THROTTLE_FILTER, "Application level throttle policy '{}' does not exist.",
+                keyValidationResult.applicationTier);
             setThrottleErrorMessageToContext(context, INTERNAL_SERVER_ERROR,
                 INTERNAL_ERROR_CODE_POLICY_NOT_FOUND,
                 INTERNAL_SERVER_ERROR_MESSAGE, POLICY_NOT_FOUND_DESCRIPTION);
+            releaseAcquiredThrottleQuota();
             sendErrorResponse(caller, request, context);
             return false;
         }
@@ -138,6 +165,7 @@ function doThrottleFilterRequest(http:Caller caller, http:Request request, http:
             context.attributes[THROTTLE_OUT_REASON] = THROTTLE_OUT_REASON_APPLICATION_LIMIT_EXCEEDED;
             setThrottleErrorMessageToContext(context, THROTTLED_OUT, APPLICATION_THROTTLE_OUT_ERROR_CODE,
                 THROTTLE_OUT_MESSAGE, THROTTLE_OUT_DESCRIPTION);
+            releaseAcquiredThrottleQuota();
             sendErrorResponse(caller, request, context);
             return false;
         } else {
@@ -149,11 +177,9 @@ function doThrottleFilterRequest(http:Caller caller, http:Request request, http:
         // setting keytype to invocationContext
         invocationContext.attributes[KEY_TYPE_ATTR] = PRODUCTION_KEY_TYPE;
 
-        printDebug(KEY_THROTTLE_FILTER, "Checking unauthenticated throttle policy '" + UNAUTHENTICATED_TIER
-                + "' exist.");
+        printDebug(KEY_THROTTLE_FILTER, "Checking unauthenticated throttle policy '{}' exist.", UNAUTHENTICATED_TIER);
         if (!isPolicyExist(deployedPolicies, UNAUTHENTICATED_TIER)) {
-            printDebug(KEY_THROTTLE_FILTER, "Unauthenticated throttle policy '" + UNAUTHENTICATED_TIER
-                    + "' is not exist.");
+            printDebug(KEY_THROTTLE_FILTER, "Unauthenticated throttle policy '{}' is not exist.", UNAUTHENTICATED_TIER);
             setThrottleErrorMessageToContext(context, INTERNAL_SERVER_ERROR,
                 INTERNAL_ERROR_CODE_POLICY_NOT_FOUND,
                 INTERNAL_SERVER_ERROR_MESSAGE, POLICY_NOT_FOUND_DESCRIPTION);
@@ -161,8 +187,8 @@ function doThrottleFilterRequest(http:Caller caller, http:Request request, http:
             return false;
         }
         [isThrottled, stopOnQuota] = isUnauthenticateLevelThrottled(context);
-        printDebug(KEY_THROTTLE_FILTER, "Unauthenticated tier throttled out result:: isThrottled:"
-                + isThrottled.toString() + ", stopOnQuota:" + stopOnQuota.toString());
+        printDebug(KEY_THROTTLE_FILTER, "Unauthenticated tier throttled out result:: isThrottled:{}, stopOnQuota:{}",
+            isThrottled, stopOnQuota);
         if (isThrottled) {
             if (stopOnQuota) {
                 printDebug(KEY_THROTTLE_FILTER, "Sending throttled out response.");
@@ -196,18 +222,22 @@ function doThrottleFilterRequest(http:Caller caller, http:Request request, http:
         return false;
     }
 
-    //Publish throttle event to another worker flow to publish to internal policies or traffic manager
     RequestStreamDTO throttleEvent = generateThrottleEvent(request, context, keyValidationResult);
-    future<()> publishedEvent = start asyncPublishEvent(throttleEvent);
+    //Events to the traffic manager are only buffered here, internal policy counters are already updated by the
+    //policy checks above and are released again only if the request is rejected by one of them
+    publishNonThrottleEvent(throttleEvent);
+    if (!enabledGlobalTMEventPublishing && hasBandwidthPolicy(throttleEvent)) {
+        //bandwidth policies are charged once the size of the response is known
+        context.attributes[BANDWIDTH_THROTTLE_EVENT] = throttleEvent;
+        context.attributes[BANDWIDTH_REQUEST_SIZE] = getRequestSize(request);
+        if (isChunkedRequest(request)) {
+            recordUnmeteredPayload("request");
+        }
+    }
     printDebug(KEY_THROTTLE_FILTER, "Request is not throttled");
     return true;
 }
 
-function asyncPublishEvent(RequestStreamDTO throttleEvent) {
-    printDebug(KEY_THROTTLE_FILTER, "Checking application sending throttle event to another worker.");
-    publishNonThrottleEvent(throttleEvent);
-}
-
 function setThrottleErrorMessageToContext(http:FilterContext context, int statusCode, int errorCode, string
     errorMessage, string errorDescription) {
     context.attributes[HTTP_STATUS_CODE] = statusCode;
@@ -215,6 +245,9 @@ function setThrottleErrorMessageToContext(http:FilterContext context, int status
     context.attributes[ERROR_CODE] = errorCode;
     context.attributes[ERROR_MESSAGE] = errorMessage;
     context.attributes[ERROR_DESCRIPTION] = errorDescription;
+    if (statusCode == THROTTLED_OUT) {
+        recordThrottledRequest(errorCode);
+    }
 }
 
 function isSubscriptionLevelThrottled(http:FilterContext context, AuthenticationContext keyValidationDto) returns [
@@ -228,8 +261,25 @@ function isSubscriptionLevelThrottled(http:FilterContext context, Authentication
     if (apiVersion is string) {
         subscriptionLevelThrottleKey += ":" + apiVersion;
     }
-    printDebug(KEY_THROTTLE_FILTER, "Subscription level throttle key : " + subscriptionLevelThrottleKey);
-    return isRequestThrottled(subscriptionLevelThrottleKey);
+    printDebug(KEY_THROTTLE_FILTER, "Subscription level throttle key : {}", subscriptionLevelThrottleKey);
+    return isRequestThrottledByPolicy(SUBSCRIPTION_TIER_TYPE, keyValidationDto.tier, subscriptionLevelThrottleKey);
+}
+
+//check the request against the spike arrest limit of the subscription, which is enforced locally on every request
+function isSpikeArrested(http:FilterContext context, AuthenticationContext keyValidationDto) returns boolean {
+    string? apiVersion = getVersion(context);
+    string spikeArrestKey = keyValidationDto.applicationId + ":" + getContext(context);
+    if (apiVersion is string) {
+        spikeArrestKey += ":" + apiVersion;
+    }
+    int retryAfterMillis = checkSpikeArrest(spikeArrestKey, keyValidationDto.spikeArrestLimit,
+        keyValidationDto.spikeArrestUnit);
+    if (retryAfterMillis > 0) {
+        // Retry-After is expressed in whole seconds
+        context.attributes[RETRY_AFTER] = (retryAfterMillis + 999) / 1000;
+        return true;
+    }
+    return false;
 }
 
 function isApplicationLevelThrottled(AuthenticationContext keyValidationDto) returns (boolean) {
@@ -237,10 +287,11 @@ function isApplicationLevelThrottled(AuthenticationContext keyValidationDto) ret
         return false;
     }
     string applicationLevelThrottleKey = keyValidationDto.applicationId + ":" + keyValidationDto.username;
-    printDebug(KEY_THROTTLE_FILTER, "Application level throttle key : " + applicationLevelThrottleKey);
+    printDebug(KEY_THROTTLE_FILTER, "Application level throttle key : {}", applicationLevelThrottleKey);
     boolean throttled;
     boolean stopOnQuota;
-    [throttled, stopOnQuota] = isRequestThrottled(applicationLevelThrottleKey);
+    [throttled, stopOnQuota] = isRequestThrottledByPolicy(APPLICATION_TIER_TYPE, keyValidationDto.applicationTier,
+        applicationLevelThrottleKey);
     return throttled;
 }
 
@@ -251,24 +302,18 @@ function isResourceLevelThrottled(http:FilterContext context,AuthenticationConte
             return false;
         }
         
-        // TODO: Need to discuss if we should valdate the () case of apiVersion property
-        string? apiVersion = getVersion(context);
-        string resourceLevelThrottleKey = replaceAll(context.getResourceName(), "_", "");
-        if (apiVersion is string) {
-            resourceLevelThrottleKey += ":" + apiVersion;
-        }
-        printDebug(KEY_THROTTLE_FILTER, "Resource level throttle key : " + resourceLevelThrottleKey);
+        string resourceLevelThrottleKey = getResourceRoute(context.getResourceName()).resourceThrottleKey;
+        printDebug(KEY_THROTTLE_FILTER, "Resource level throttle key : {}", resourceLevelThrottleKey);
         boolean throttled;
         boolean stopOnQuota;
-        [throttled, stopOnQuota] = isRequestThrottled(resourceLevelThrottleKey);
+        [throttled, stopOnQuota] = isRequestThrottledByPolicy(RESOURCE_TIER_TYPE, policy, resourceLevelThrottleKey);
         return throttled;
     }
     return false;
 }
 
 function getResourceLevelPolicy(http:FilterContext context) returns string? {
-    TierConfiguration? tier = resourceTierAnnotationMap[context.getResourceName()];
-    return (tier is TierConfiguration) ? tier.policy : ();
+    return getResourceRoute(context.getResourceName()).resourcePolicy;
 }
 
 function isUnauthenticateLevelThrottled(http:FilterContext context) returns [boolean, boolean] {
@@ -278,7 +323,7 @@ function isUnauthenticateLevelThrottled(http:FilterContext context) returns [boo
     if (apiVersion is string) {
         throttleKey += ":" + apiVersion;
     }
-    return isRequestThrottled(throttleKey);
+    return isRequestThrottledByPolicy(SUBSCRIPTION_TIER_TYPE, UNAUTHENTICATED_TIER, throttleKey);
 }
 function isRequestBlocked(http:Caller caller, http:Request request, http:FilterContext context, AuthenticationContext keyValidationResult) returns (boolean) {
     string apiLevelBlockingKey = getContext(context);
@@ -305,10 +350,9 @@ function generateThrottleEvent(http:Request req, http:FilterContext context, Aut
     requestStreamDto.appTier = keyValidationDto.applicationTier;
     requestStreamDto.apiTier = keyValidationDto.apiTier;
     requestStreamDto.subscriptionTier = keyValidationDto.tier;
-    string resourcekey = context.getResourceName();
-    requestStreamDto.resourceKey = replaceAll(resourcekey, "_", "");
-    TierConfiguration? tier = resourceTierAnnotationMap[resourcekey];
-    string? policy = (tier is TierConfiguration) ? tier.policy : ();
+    ResourceRoute route = getResourceRoute(context.getResourceName());
+    requestStreamDto.resourceKey = route.resourceKey;
+    string? policy = route.resourcePolicy;
     if (policy is string) {
        requestStreamDto.resourceTier = policy;
     }
@@ -328,14 +372,14 @@ function generateThrottleEvent(http:Request req, http:FilterContext context, Aut
         requestStreamDto.subscriptionKey +=":" + apiVersion;
         requestStreamDto.resourceKey += ":" + apiVersion;
     }
-    printDebug(KEY_THROTTLE_FILTER, "Resource key : " + requestStreamDto.resourceKey);
-    printDebug(KEY_THROTTLE_FILTER, "Subscription key : " + requestStreamDto.subscriptionKey);
-    printDebug(KEY_THROTTLE_FILTER, "App key : " + requestStreamDto.appKey);
-    printDebug(KEY_THROTTLE_FILTER, "API key : " + requestStreamDto.apiKey);
-    printDebug(KEY_THROTTLE_FILTER, "Resource Tier : " + requestStreamDto.resourceTier);
-    printDebug(KEY_THROTTLE_FILTER, "Subscription Tier : " + requestStreamDto.subscriptionTier);
-    printDebug(KEY_THROTTLE_FILTER, "App Tier : " + requestStreamDto.appTier);
-    printDebug(KEY_THROTTLE_FILTER, "API Tier : " + requestStreamDto.apiTier);
+    printDebug(KEY_THROTTLE_FILTER, "Resource key : {}", requestStreamDto.resourceKey);
+    printDebug(KEY_THROTTLE_FILTER, "Subscription key : {}", requestStreamDto.subscriptionKey);
+    printDebug(KEY_THROTTLE_FILTER, "App key : {}", requestStreamDto.appKey);
+    printDebug(KEY_THROTTLE_FILTER, "API key : {}", requestStreamDto.apiKey);
+    printDebug(KEY_THROTTLE_FILTER, "Resource Tier : {}", requestStreamDto.resourceTier);
+    printDebug(KEY_THROTTLE_FILTER, "Subscription Tier : {}", requestStreamDto.subscriptionTier);
+    printDebug(KEY_THROTTLE_FILTER, "App Tier : {}", requestStreamDto.appTier);
+    printDebug(KEY_THROTTLE_FILTER, "API Tier : {}", requestStreamDto.apiTier);
 
     json properties = {};
     requestStreamDto.properties = properties.toString();
@@ -4,8 +4,6 @@
 
 // }
 
-import ballerina/grpc;
-import ballerina/io;
 
 // EventServiceClient analyticsClient = new("http://localhost:9806");
 
@@ -23,51 +21,18 @@ EventServiceClient analyticsClient = new("https://localhost:9806", {
 
 
 service EventServiceMessageListner = service {
-        resource function onMessage(string message) {
-        // total = 1;
-        io:println("Response received from server: " + message);
+
+    resource function onMessage(string message) {
+        printDebug(KEY_ANALYTICS_FILTER, "Response received from the analytics event service : {}", message);
     }
 
     resource function onError(error err) {
-        io:println("Error reported from server: " + err.reason() + " - "
-                                           + <string> err.detail()["message"]);
-}
+        printError(KEY_ANALYTICS_FILTER, "Error reported from the analytics event service : " + err.reason());
+        resetAnalyticsEventStream();
+    }
 
     resource function onComplete() {
-        // total = 1;
-        io:println("Server Complete Sending Responses.");
+        printDebug(KEY_ANALYTICS_FILTER, "Analytics event service completed the stream.");
+        resetAnalyticsEventStream();
     }
 };
-
-public function dataToAnalytics(string payloadString, string streamId){
-    io:println("Grpc :" + streamId +"triggered------------------------>>>>>>>>>>>>>>>>>" );
-    grpc:StreamingClient ep;
-    var res = analyticsClient->consume(EventServiceMessageListner);
-    // var res = analyticsClient->consume();
-    if(res is grpc:Error){
-        io:println("Error from connector :" + res.reason()+ " - " + <string>res.detail()["message"]);
-        return ;
-    }
-    else{
-        io:println("Initialized Connection Successfully");
-        ep = res;
-    }
-    Event event = {payload:payloadString,
-    headers: [{key:"stream.id", value:streamId}]};
-    grpc:Error? connErr = ep->send(event);
-        if (connErr is grpc:Error) {
-            io:println("Error from Connector: " + connErr.reason() + " - "
-                                       + <string> connErr.detail()["message"]);
-        } else {
-            io:println("send greeting successfully");
-        }
-}
-
-public function throttlingDataToAnalytics(){
-
-}
-
-
-public function faultDataToAnalytics(){
-    
-}
@@ -68,7 +68,7 @@ public type BasicAuthProvider object {
             }
             string[] decodedCred = split(decodedCredentialsString.trim(), ":");
             userName = decodedCred[0];
-            printDebug(KEY_AUTHN_FILTER, "Decoded user name from the header : " + userName);
+            printDebug(KEY_AUTHN_FILTER, "Decoded user name from the header : {}", userName);
             if (decodedCred.length() < 2) {
                 setErrorMessageToInvocationContext( API_AUTH_INVALID_BASICAUTH_CREDENTIALS);
                 return false;
@@ -82,17 +82,17 @@ public type BasicAuthProvider object {
 
         //Hashing mechanism
         string hashedPass = crypto:hashSha1(password.toBytes()).toBase16();
-        printDebug(KEY_AUTHN_FILTER, "Hashed password value : " + hashedPass);
+        printDebug(KEY_AUTHN_FILTER, "Hashed password value : {}", hashedPass);
         string credentials = userName + ":" + hashedPass;
         string hashedRequest;
         string encodedVal = credentials.toBytes().toBase64();
-        printDebug(KEY_AUTHN_FILTER, "Encoded Auth header value : " + encodedVal);
+        printDebug(KEY_AUTHN_FILTER, "Encoded Auth header value : {}", encodedVal);
         hashedRequest = BASIC_PREFIX_WITH_SPACE + encodedVal;
 
 
         var isAuthorized = self.inboundBasicAuthProvider.authenticate(encodedVal);
         if (isAuthorized is boolean) {
-            printDebug(KEY_AUTHN_FILTER, "Basic auth provider returned with value : " + isAuthorized.toString());
+            printDebug(KEY_AUTHN_FILTER, "Basic auth provider returned with value : {}", isAuthorized);
             if (!isAuthorized) {
                 //TODO: Handle the error message properly 
                 setErrorMessageToInvocationContext(API_AUTH_INVALID_BASICAUTH_CREDENTIALS);
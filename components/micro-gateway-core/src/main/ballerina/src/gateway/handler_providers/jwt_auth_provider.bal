@@ -15,91 +15,148 @@
 // under the License.
 
 import ballerina/auth;
+import ballerina/crypto;
+import ballerina/io;
 import ballerina/jwt;
 import ballerina/runtime;
 
 
-# Represents inbound JWT auth provider.
+# Represents inbound JWT auth provider. The signature is verified natively against cached public keys and the
+# verified claims are cached against the hash of the token, so a token is decoded, parsed and verified only once
+# per cache lifetime. The claims are handed over to the subscription filter through the invocation context.
 #
 # + jwtValidatorConfig - JWT validator configurations
-# + inboundJwtAuthProvider - Reference to b7a inbound auth provider
 public type JwtAuthProvider object {
     *auth:InboundAuthProvider;
 
     public jwt:JwtValidatorConfig jwtValidatorConfig;
-    public jwt:InboundJwtAuthProvider inboundJwtAuthProvider;
 
     # Provides authentication based on the provided JWT token.
     #
     # + jwtValidatorConfig - JWT validator configurations
     public function __init(jwt:JwtValidatorConfig jwtValidatorConfig) {
         self.jwtValidatorConfig = jwtValidatorConfig;
-        self.inboundJwtAuthProvider = new(jwtValidatorConfig);
+        jwt:JwtTrustStoreConfig? trustStoreConfig = jwtValidatorConfig?.trustStoreConfig;
+        if (trustStoreConfig is jwt:JwtTrustStoreConfig) {
+            error? result = loadJwtTrustStore(trustStoreConfig.trustStore.path, trustStoreConfig.trustStore.password,
+                trustStoreConfig.certificateAlias);
+            if (result is error) {
+                printError(KEY_JWT_AUTH_PROVIDER, "Failed to load the JWT signing certificates : " + result.reason());
+            }
+        }
     }
 
- 
     public function authenticate(string credential) returns @tainted (boolean|auth:Error) {
-        var handleVar = self.inboundJwtAuthProvider.authenticate(credential);
-        if(handleVar is boolean) {
-        if (handleVar) {
-            boolean isBlacklisted = false;
-            string? jti = "";
-            runtime:InvocationContext invocationContext= runtime:getInvocationContext();
-            runtime:AuthenticationContext? authContext = invocationContext?.authenticationContext;
-            if(authContext is runtime:AuthenticationContext){
-                string? jwtToken = authContext?.authToken;
-                if(jwtToken is string) {
-                    var cachedJwt = trap <jwt:CachedJwt>jwtCache.get(jwtToken);
-                    if (cachedJwt is jwt:CachedJwt) {
-                        printDebug(KEY_JWT_AUTH_PROVIDER, "jwt found from the jwt cache");
-                        jwt:JwtPayload jwtPayloadFromCache = cachedJwt.jwtPayload;
-                        jti = jwtPayloadFromCache["jti"];
-                        if(jti is string) {
-                            printDebug(KEY_JWT_AUTH_PROVIDER, "jti claim found in the jwt");
-                            printDebug(KEY_JWT_AUTH_PROVIDER, "Checking for the JTI in the gateway invalid revoked token map.");
-                            var status = retrieveFromRevokedTokenMap(jti);
-                            if (status is boolean) {
-                                if (status) {
-                                    printDebug(KEY_JWT_AUTH_PROVIDER, "JTI token found in the invalid token map.");
-                                    isBlacklisted = true;
-                                } else {
-                                    printDebug(KEY_JWT_AUTH_PROVIDER, "JTI token not found in the invalid token map.");
-                                    isBlacklisted = false;
-                                }
-                            } else {
-                                printDebug(KEY_JWT_AUTH_PROVIDER, "JTI token not found in the invalid token map.");
-                                isBlacklisted = false;
-                            }
-
-                            if (isBlacklisted) {
-                                printDebug(KEY_JWT_AUTH_PROVIDER, "JWT Authentication Handler value for, is token black listed: " + isBlacklisted.toString());
-                                printDebug(KEY_JWT_AUTH_PROVIDER, "JWT Token is revoked");
-                                setErrorMessageToInvocationContext(API_AUTH_INVALID_CREDENTIALS);
-                                return false;
-                            } else {
-                                return true;
-                            }
-
-                        } else {
-                            printDebug(KEY_JWT_AUTH_PROVIDER, "jti claim not found in the jwt");
-                            return handleVar;
-                        }
+        string tokenHash = crypto:hashSha256(credential.toBytes()).toBase16();
+        map<json> claims = {};
+        any cachedClaims = getFromTokenCache(jwtClaimsCache, tokenHash);
+        if (cachedClaims is CachedJwtClaims && !isJwtExpired(cachedClaims.expiryTime, 0)) {
+            printDebug(KEY_JWT_AUTH_PROVIDER, "jwt found from the jwt cache");
+            claims = cachedClaims.claims;
+        } else {
+            var verifiedClaims = self.verify(credential);
+            if (verifiedClaims is auth:Error) {
+                setErrorMessageToInvocationContext(API_AUTH_INVALID_CREDENTIALS);
+                return verifiedClaims;
+            }
+            if (verifiedClaims is ()) {
+                setErrorMessageToInvocationContext(API_AUTH_INVALID_CREDENTIALS);
+                return false;
+            }
+            claims = <map<json>>verifiedClaims;
+            json exp = claims["exp"];
+            putToTokenCache(jwtClaimsCache, tokenHash, <CachedJwtClaims>{
+                claims: claims,
+                expiryTime: exp is int ? exp : -1
+            });
+        }
 
-                    } else {
-                        printDebug(KEY_JWT_AUTH_PROVIDER, "jwt not found in the jwt cache");
-                        return handleVar;
-                    }
-                }
+        json jti = claims["jti"];
+        if (jti is string) {
+            printDebug(KEY_JWT_AUTH_PROVIDER, "jti claim found in the jwt");
+            printDebug(KEY_JWT_AUTH_PROVIDER, "Checking for the JTI in the gateway invalid revoked token map.");
+            var status = retrieveFromRevokedTokenMap(jti);
+            if (status is boolean && status) {
+                printDebug(KEY_JWT_AUTH_PROVIDER, "JTI token found in the invalid token map.");
+                printDebug(KEY_JWT_AUTH_PROVIDER, "JWT Token is revoked");
+                setErrorMessageToInvocationContext(API_AUTH_INVALID_CREDENTIALS);
+                return false;
             }
-            return handleVar;
+            printDebug(KEY_JWT_AUTH_PROVIDER, "JTI token not found in the invalid token map.");
         } else {
-            setErrorMessageToInvocationContext(API_AUTH_INVALID_CREDENTIALS);
-            return handleVar;
+            printDebug(KEY_JWT_AUTH_PROVIDER, "jti claim not found in the jwt");
+        }
+
+        auth:setAuthenticationContext(AUTH_SCHEME_JWT, credential);
+        json sub = claims["sub"];
+        string? subject = sub is string ? sub : ();
+        json scope = claims["scope"];
+        string[]? scopes = scope is string && scope != "" ? split(scope, " ") : ();
+        auth:setPrincipal(userId = subject, username = subject, scopes = scopes, claims = claims);
+        runtime:getInvocationContext().attributes[JWT_CLAIMS] = claims;
+        return true;
+    }
+
+    # Verifies the signature of the token and validates its issuer, audience and validity period.
+    #
+    # + credential - JWT token
+    # + return - Claims of the token if it is valid, `()` if it is not valid, or an error if the payload could not
+    # be read
+    function verify(string credential) returns @tainted (map<json>|auth:Error)? {
+        var payload = verifyJwtSignature(credential);
+        if (payload is error) {
+            printDebug(KEY_JWT_AUTH_PROVIDER, "JWT signature validation failed : {}", payload.reason());
+            return ();
         }
-    } else {
-        setErrorMessageToInvocationContext(API_AUTH_INVALID_CREDENTIALS);
-        return prepareError("Failed to authenticate with jwt auth provider.", handleVar);
+        io:StringReader reader = new (payload);
+        var parsedPayload = reader.readJson();
+        if (!(parsedPayload is map<json>)) {
+            return prepareError("Failed to parse the JWT payload.", parsedPayload is error ? parsedPayload : ());
         }
+        map<json> claims = <map<json>>parsedPayload;
+        int clockSkew = self.jwtValidatorConfig.clockSkewInSeconds;
 
-    }    
+        string? issuer = self.jwtValidatorConfig?.issuer;
+        if (issuer is string && claims["iss"] != issuer) {
+            printDebug(KEY_JWT_AUTH_PROVIDER, "JWT issuer is not valid");
+            return ();
+        }
+        string|string[]? audience = self.jwtValidatorConfig?.audience;
+        if (audience is string|string[] && !isJwtAudienceValid(claims["aud"], audience)) {
+            printDebug(KEY_JWT_AUTH_PROVIDER, "JWT audience is not valid");
+            return ();
+        }
+        json exp = claims["exp"];
+        if (exp is int && isJwtExpired(exp, clockSkew)) {
+            printDebug(KEY_JWT_AUTH_PROVIDER, "JWT is expired");
+            return ();
+        }
+        json nbf = claims["nbf"];
+        if (nbf is int && nbf - clockSkew > getCurrentTime() / 1000) {
+            printDebug(KEY_JWT_AUTH_PROVIDER, "JWT is not yet valid");
+            return ();
+        }
+        return claims;
+    }
 };
+
+function isJwtExpired(int expiryTime, int clockSkew) returns boolean {
+    return expiryTime >= 0 && expiryTime + clockSkew < getCurrentTime() / 1000;
+}
+
+function isJwtAudienceValid(json aud, string|string[] audience) returns boolean {
+    string[] expectedAudiences = audience is string ? [audience] : audience;
+    foreach string expectedAudience in expectedAudiences {
+        if (aud is string && aud == expectedAudience) {
+            return true;
+        }
+        if (aud is json[]) {
+            foreach json tokenAudience in aud {
+                if (tokenAudience is string && tokenAudience == expectedAudience) {
+                    return true;
+                }
+            }
+        }
+    }
+    return false;
+}
@@ -26,6 +26,9 @@ xmlns "http://schemas.xmlsoap.org/soap/envelope/" as soapenv;
 xmlns "http://org.apache.axis2/xsd" as xsd;
 xmlns "http://dto.impl.apimgt.carbon.wso2.org/xsd" as apim;
 
+// Key validation calls in progress, keyed by the access token cache key
+map<future<[boolean, APIKeyValidationDto]|error>> inFlightKeyValidations = {};
+
 # Represents inbound OAuth2 provider, which calls the key validation service of the WSO2 Key manager
 #
 # + keyValidationClient - key validation client endpoint
@@ -56,8 +59,7 @@ public type OAuth2KeyValidationProvider object {
         APIKeyValidationDto | error apiKeyValidationDto = trap self.checkCacheAndAuthenticate(apiKeyValidationRequestDto, invocationContext);
         if (apiKeyValidationDto is APIKeyValidationDto){
             isAuthorized = apiKeyValidationDto.authorized;
-            printDebug(KEY_AUTHN_FILTER, "Authentication handler returned with value : " +
-                    isAuthorized.toString());
+            printDebug(KEY_AUTHN_FILTER, "Authentication handler returned with value : {}", isAuthorized);
             if (isAuthorized) {
                 authenticationContext.authenticated = true;
                 authenticationContext.tier = apiKeyValidationDto?.tier;
@@ -98,8 +100,8 @@ public type OAuth2KeyValidationProvider object {
             } else {
                 int|error status = 'int:fromString(apiKeyValidationDto.validationStatus);
                 int errorStatus = (status is int)?status:INTERNAL_SERVER_ERROR;
-                printDebug(KEY_AUTHN_FILTER,
-                        "Authentication handler returned with validation status : " + errorStatus.toString());
+                printDebug(KEY_AUTHN_FILTER, "Authentication handler returned with validation status : {}",
+                    errorStatus);
                 //TODO: Send proper error messages        
                 setErrorMessageToInvocationContext(errorStatus);
                 //sendErrorResponse(caller, request, <@untainted>  context);
@@ -121,45 +123,36 @@ public type OAuth2KeyValidationProvider object {
         string accessToken = apiRequestMetaDataDto.accessToken;
         boolean authorized;
         APIKeyValidationDto apiKeyValidationDto;
-        if(getConfigBooleanValue(CACHING_ID, TOKEN_CACHE_ENABLED, true)) {
+        if (isTokenCacheEnabled()) {
             printDebug(KEY_OAUTH_PROVIDER, "Checking for the access token in the gateway token cache.");
-            var  isTokenCached = self.gatewayCache.retrieveFromTokenCache(accessToken);
-                if(isTokenCached is boolean) {
-                    printDebug(KEY_OAUTH_PROVIDER, "Access token found in the token cache.");
-                    var apiKeyValidationDtoFromcache = self.gatewayCache.authenticateFromGatewayKeyValidationCache
-                    (cacheKey);
-                    if(apiKeyValidationDtoFromcache is APIKeyValidationDto ) {
-                        if (isAccessTokenExpired(apiKeyValidationDtoFromcache)) {
-                            self.gatewayCache.removeFromGatewayKeyValidationCache(cacheKey);
-                            self.gatewayCache.addToInvalidTokenCache(accessToken, apiKeyValidationDtoFromcache);
-                            self.gatewayCache.removeFromTokenCache(accessToken);
-                            apiKeyValidationDtoFromcache.authorized = false;
-                            printDebug(KEY_OAUTH_PROVIDER, "Token has expired");
-                            return apiKeyValidationDtoFromcache;
-                        }
-                        authorized = apiKeyValidationDtoFromcache.authorized;
-                        apiKeyValidationDto = apiKeyValidationDtoFromcache;
-                        printDebug(KEY_OAUTH_PROVIDER, "Authorized value from the token cache: " + authorized.toString());
-                    } else {
-                        printDebug(KEY_OAUTH_PROVIDER, "Access token not found in the invalid token cache."
-                        + " Calling the key validation service.");
-                        [authorized, apiKeyValidationDto] = self.invokeKeyValidation(apiRequestMetaDataDto);
-                    }
-                } else {
-                    printDebug(KEY_OAUTH_PROVIDER, "Access token not found in the gateway token cache.");
-
-                    printDebug(KEY_OAUTH_PROVIDER, "Checking for the access token in the invalid token cache.");
-                    var cacheAuthorizedValue = self.gatewayCache.retrieveFromInvalidTokenCache(accessToken);
-                    if(cacheAuthorizedValue is APIKeyValidationDto) {
-                        printDebug(KEY_OAUTH_PROVIDER, "Access token found in the invalid token cache.");
-                        return cacheAuthorizedValue;
-                    } else {
-                        printDebug(KEY_OAUTH_PROVIDER, "Access token not found in the invalid token cache."
-                                + " Calling the key validation service.");
-                        [authorized, apiKeyValidationDto] = self.invokeKeyValidation(apiRequestMetaDataDto);
-                    }
+            var apiKeyValidationDtoFromcache = self.gatewayCache.authenticateFromGatewayKeyValidationCache(cacheKey);
+            recordTokenCacheLookup(apiKeyValidationDtoFromcache is APIKeyValidationDto);
+            if (apiKeyValidationDtoFromcache is APIKeyValidationDto) {
+                printDebug(KEY_OAUTH_PROVIDER, "Access token found in the token cache.");
+                if (isAccessTokenExpired(apiKeyValidationDtoFromcache)) {
+                    self.gatewayCache.removeFromGatewayKeyValidationCache(cacheKey);
+                    self.gatewayCache.addToInvalidTokenCache(accessToken, apiKeyValidationDtoFromcache);
+                    apiKeyValidationDtoFromcache.authorized = false;
+                    printDebug(KEY_OAUTH_PROVIDER, "Token has expired");
+                    return apiKeyValidationDtoFromcache;
                 }
+                authorized = apiKeyValidationDtoFromcache.authorized;
+                apiKeyValidationDto = apiKeyValidationDtoFromcache;
+                printDebug(KEY_OAUTH_PROVIDER, "Authorized value from the token cache: {}", authorized);
+            } else {
+                printDebug(KEY_OAUTH_PROVIDER, "Access token not found in the gateway token cache.");
 
+                printDebug(KEY_OAUTH_PROVIDER, "Checking for the access token in the invalid token cache.");
+                var cacheAuthorizedValue = self.gatewayCache.retrieveFromInvalidTokenCache(accessToken);
+                if (cacheAuthorizedValue is APIKeyValidationDto) {
+                    printDebug(KEY_OAUTH_PROVIDER, "Access token found in the invalid token cache.");
+                    return cacheAuthorizedValue;
+                } else {
+                    printDebug(KEY_OAUTH_PROVIDER, "Access token not found in the invalid token cache."
+                            + " Calling the key validation service.");
+                    [authorized, apiKeyValidationDto] = self.loadKeyValidation(apiRequestMetaDataDto, cacheKey);
+                }
+            }
         } else {
             printDebug(KEY_OAUTH_PROVIDER, "Gateway cache disabled. Calling the key validation service.");
             [authorized, apiKeyValidationDto] = self.invokeKeyValidation(apiRequestMetaDataDto);
@@ -171,6 +164,46 @@ public type OAuth2KeyValidationProvider object {
         return apiKeyValidationDto;
     }
 
+    # Calls the key validation service making sure only one call is in flight per cache key. Requests for the
+    # same key which arrive while a call is in progress wait for its result instead of calling the service again.
+    #
+    # + apiRequestMetaDataDto - Key validation request metadata
+    # + cacheKey - Access token cache key of the request
+    # + return - Authorized flag and the key validation result
+    function loadKeyValidation(APIRequestMetaDataDto apiRequestMetaDataDto, string cacheKey) returns @tainted [boolean,
+                APIKeyValidationDto] {
+        future<[boolean, APIKeyValidationDto]|error> keyValidationFuture;
+        boolean isLoader = false;
+        lock {
+            var inFlightValidation = inFlightKeyValidations[cacheKey];
+            if (inFlightValidation is future<[boolean, APIKeyValidationDto]|error>) {
+                keyValidationFuture = inFlightValidation;
+            } else {
+                keyValidationFuture = start self.trapKeyValidation(apiRequestMetaDataDto);
+                inFlightKeyValidations[cacheKey] = keyValidationFuture;
+                isLoader = true;
+            }
+        }
+        if (!isLoader) {
+            printDebug(KEY_OAUTH_PROVIDER, "Key validation in progress for the token. Waiting for the result.");
+        }
+        [boolean, APIKeyValidationDto]|error result = wait keyValidationFuture;
+        if (isLoader) {
+            lock {
+                _ = inFlightKeyValidations.remove(cacheKey);
+            }
+        }
+        if (result is error) {
+            panic result;
+        }
+        return <[boolean, APIKeyValidationDto]>result;
+    }
+
+    function trapKeyValidation(APIRequestMetaDataDto apiRequestMetaDataDto) returns @tainted [boolean,
+                APIKeyValidationDto]|error {
+        return trap self.invokeKeyValidation(apiRequestMetaDataDto);
+    }
+
     public function doKeyValidation(APIRequestMetaDataDto apiRequestMetaDataDto) returns @tainted (xml | error) {
         http:Request keyValidationRequest = new;
         http:Response keyValidationResponse = new;
@@ -192,11 +225,13 @@ public type OAuth2KeyValidationProvider object {
         keyValidationRequest.setHeader(SOAP_ACTION, VALIDATE_KEY_SOAP_ACTION);
         time:Time time = time:currentTime();
         int startTimeMills = time.time;
+        int startTime = getCurrentNanoTime();
         var result = self.keyValidationClient -> post(KEY_VALIDATION_SERVICE_CONTEXT, keyValidationRequest);
+        recordKeyValidation(result is http:Response, startTime);
         time = time:currentTime();
         int endTimeMills = time.time;
         int timeDiff = endTimeMills - startTimeMills;
-        printDebug(KEY_OAUTH_PROVIDER, "Total time taken for the key validation service call : " + timeDiff.toString() + "ms");
+        printDebug(KEY_OAUTH_PROVIDER, "Total time taken for the key validation service call : {}ms", timeDiff);
         if(result is http:Response) {
             keyValidationResponse = result;
         } else {
@@ -206,7 +241,7 @@ public type OAuth2KeyValidationProvider object {
         }
         var responseXml =  keyValidationResponse.getXmlPayload();
         if(responseXml is xml) {
-            printTrace(KEY_OAUTH_PROVIDER, "Key validation response:" + responseXml.getTextValue());
+            printTrace(KEY_OAUTH_PROVIDER, "Key validation response:{}", responseXml.getTextValue());
 
         } else {
             string message = "Error occurred while getting the key validation service XML response payload";
@@ -223,24 +258,23 @@ public type OAuth2KeyValidationProvider object {
         boolean authorized = false;
         xml|error keyValidationResponseXML = self.doKeyValidation(apiRequestMetaDataDto);
         if (keyValidationResponseXML is xml) {
-            printTrace(KEY_OAUTH_PROVIDER, "key Validation json " + keyValidationResponseXML.getTextValue());
+            printTrace(KEY_OAUTH_PROVIDER, "key Validation json {}", keyValidationResponseXML.getTextValue());
             xml keyValidationInfoXML = keyValidationResponseXML[soapenv:Body][xsd:validateKeyResponse][xsd:'return];
             string authorizeValue = keyValidationInfoXML[apim:authorized].getTextValue();
             boolean auth = stringutils:toBoolean(authorizeValue);
-            printDebug(KEY_OAUTH_PROVIDER, "Authorized value from key validation service: " + auth.toString());
+            printDebug(KEY_OAUTH_PROVIDER, "Authorized value from key validation service: {}", auth);
             if (auth) {
                 apiKeyValidationDto = convertXmlToKeyValidationObject(keyValidationInfoXML);
-                printDebug(KEY_OAUTH_PROVIDER, "key type: " + apiKeyValidationDto.keyType);
+                printDebug(KEY_OAUTH_PROVIDER, "key type: {}", apiKeyValidationDto.keyType);
                 authorized = auth;
-                if (getConfigBooleanValue(CACHING_ID, TOKEN_CACHE_ENABLED, true)) {
+                if (isTokenCacheEnabled()) {
                     string cacheKey = getAccessTokenCacheKey(apiRequestMetaDataDto);
                     self.gatewayCache.addToGatewayKeyValidationCache(cacheKey, apiKeyValidationDto);
-                    self.gatewayCache.addToTokenCache(accessToken, true);
                 }
             } else {
                 apiKeyValidationDto.authorized = false;
                 apiKeyValidationDto.validationStatus = keyValidationInfoXML[apim:validationStatus].getTextValue();
-                if (getConfigBooleanValue(CACHING_ID, TOKEN_CACHE_ENABLED, true)) {
+                if (isTokenCacheEnabled()) {
                     self.gatewayCache.addToInvalidTokenCache(accessToken, apiKeyValidationDto);
                 }
             }
@@ -15,7 +15,6 @@
 // under the License.
 
 import ballerina/http;
-import ballerina/config;
 import ballerina/runtime;
 
 
@@ -28,7 +27,7 @@ public type CookieAuthHandler object {
     public function canProcess(http:Request req) returns @tainted boolean {
         runtime:InvocationContext invocationContext = runtime:getInvocationContext();
         if (req.hasHeader(COOKIE_HEADER)) {
-            string requiredCookie = config:getAsString(COOKIE_HEADER, "");
+            string requiredCookie = getGatewayConfig().authCookie;
 
             //extract cookies from the incoming request
             string authHead = req.getHeader(COOKIE_HEADER);
@@ -71,7 +71,7 @@ public type KeyValidationHandler object {
                 if (authenticationContext?.callerToken is string && authenticationContext?.callerToken != () && authenticationContext?.callerToken != "") {
                     printDebug(KEY_AUTHN_FILTER, "Caller token: " + <string>authenticationContext?.
                                 callerToken);
-                    string jwtheaderName = getConfigValue(JWT_CONFIG_INSTANCE_ID, JWT_HEADER, JWT_HEADER_NAME);
+                    string jwtheaderName = getGatewayConfig().jwtHeaderName;
                     req.setHeader(jwtheaderName, <string>authenticationContext?.callerToken);
                 }
                 string authHeaderName = getAuthorizationHeader(invocationContext);
@@ -0,0 +1,81 @@
+// Copyright (c)  WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerina/log;
+
+boolean metricsEnabled = false;
+
+service adminService = @http:ServiceConfig {
+    basePath: "/"
+} service {
+    @http:ResourceConfig {
+        methods: ["GET"],
+        path: METRICS_PATH
+    }
+    resource function metrics(http:Caller caller, http:Request req) {
+        http:Response response = new;
+        if (metricsEnabled) {
+            response.setTextPayload(scrapeMetrics(), contentType = PROMETHEUS_CONTENT_TYPE);
+        } else {
+            response.statusCode = NOT_FOUND;
+        }
+        respondFromAdminService(caller, response);
+    }
+
+    @http:ResourceConfig {
+        methods: ["GET"],
+        path: READINESS_PATH
+    }
+    resource function readiness(http:Caller caller, http:Request req) {
+        http:Response response = new;
+        // the status is only read here, readiness is decided as the startup components get initialized
+        response.statusCode = isGatewayReady() ? 200 : SERVICE_UNAVAILABLE;
+        response.setTextPayload(getStartupStatus(), contentType = APPLICATION_JSON);
+        respondFromAdminService(caller, response);
+    }
+};
+
+function respondFromAdminService(http:Caller caller, http:Response response) {
+    var result = caller->respond(response);
+    if (result is error) {
+        printError(KEY_ADMIN_LISTENER, "Error while responding to the admin request: {}", result.reason());
+    }
+}
+
+# Starts recording the gateway metrics if they are enabled, and the admin listener serving the metrics and the
+# readiness of the gateway if it or the metrics are enabled. The admin listener is separate from the gateway
+# listeners so that it is not exposed along with the APIs.
+public function startAdminListener() {
+    metricsEnabled = getConfigBooleanValue(METRICS_INSTANCE_ID, METRICS_ENABLED, false);
+    initMetrics(metricsEnabled);
+    if (!metricsEnabled && !getConfigBooleanValue(ADMIN_LISTENER_INSTANCE_ID, ADMIN_LISTENER_ENABLED, false)) {
+        return;
+    }
+    int port = getConfigIntValue(ADMIN_LISTENER_INSTANCE_ID, ADMIN_LISTENER_PORT, DEFAULT_ADMIN_LISTENER_PORT);
+    http:Listener adminListener = new(port, config = {
+        host: getConfigValue(ADMIN_LISTENER_INSTANCE_ID, ADMIN_LISTENER_HOST, "0.0.0.0")
+    });
+    error? result = adminListener.__attach(adminService);
+    if (result is ()) {
+        result = adminListener.__start();
+    }
+    if (result is error) {
+        printError(KEY_ADMIN_LISTENER, "Failed to start the admin listener on port {}: {}", port, result.reason());
+        return;
+    }
+    log:printInfo("Admin listener is active on port " + port.toString());
+}
@@ -35,17 +35,23 @@ public type APIGatewayListener object {
             self.listenerPort = getConfigIntValue(LISTENER_CONF_INSTANCE_ID, LISTENER_CONF_HTTPS_PORT, port);
             self.listenerType = "HTTPS";
         }
+        addStartupComponent(STARTUP_COMPONENT_LISTENER_PREFIX + self.listenerPort.toString());
         initiateGatewayConfigurations(config);
-        printDebug(KEY_GW_LISTNER, "Initialized gateway configurations for port:" + self.listenerPort.toString());
+        printDebug(KEY_GW_LISTNER, "Initialized gateway configurations for port:{}", self.listenerPort);
 
         self.httpListener = new(self.listenerPort, config = config);
 
-        printDebug(KEY_GW_LISTNER, "Successfully initialized APIGatewayListener for port:" + self.listenerPort.toString());
+        printDebug(KEY_GW_LISTNER, "Successfully initialized APIGatewayListener for port:{}", self.listenerPort);
     }
 
 
     public function __start() returns error? {
+        int startTime = startStartupPhase();
         error? gwListener = self.httpListener.__start();
+        endStartupPhase(STARTUP_PHASE_LISTENER_BIND, startTime);
+        if (gwListener is ()) {
+            setStartupComponentReady(STARTUP_COMPONENT_LISTENER_PREFIX + self.listenerPort.toString());
+        }
 
         log:printInfo(self.listenerType + " listener is active on port " + self.listenerPort.toString());
         return gwListener;
@@ -74,10 +80,19 @@ public type APIGatewayListener object {
 public function initiateGatewayConfigurations(http:ListenerConfiguration config) {
     // default should bind to 0.0.0.0, not localhost. Else will not work in dockerized environments.
     config.host = getConfigValue(LISTENER_CONF_INSTANCE_ID, LISTENER_CONF_HOST, "0.0.0.0");
+    // the throttle policies are initialized from the main function, once the listeners are created
+    addStartupComponent(STARTUP_COMPONENT_CACHES);
+    addStartupComponent(STARTUP_COMPONENT_THROTTLE_POLICIES);
     initiateKeyManagerConfigurations();
     printDebug(KEY_GW_LISTNER, "Initialized key manager configurations");
+    int startTime = startStartupPhase();
     initGatewayCaches();
+    endStartupPhase(STARTUP_PHASE_CACHES, startTime);
+    setStartupComponentReady(STARTUP_COMPONENT_CACHES);
     printDebug(KEY_GW_LISTNER, "Initialized gateway caches");
+    initJwksRefresh();
+    initConfigReload();
+    initLoadShedding();
     //TODO : migrate this method and re enable
     initializeAnalytics();
 
@@ -93,7 +108,7 @@ public function getAuthHandlers() returns http:InboundAuthHandler[] {
     jwt:JwtValidatorConfig jwtValidatorConfig = {
         issuer: getConfigValue(JWT_INSTANCE_ID, ISSUER, "https://localhost:9443/oauth2/token"),
         audience: getConfigValue(JWT_INSTANCE_ID, AUDIENCE, "RQIO7ti2OThP79wh3fE5_Zksszga"),
-        clockSkewInSeconds: 60,
+        clockSkewInSeconds: DEFAULT_JWT_CLOCK_SKEW,
         trustStoreConfig : {
             trustStore: {
                 path: getConfigValue(LISTENER_CONF_INSTANCE_ID, TRUST_STORE_PATH,
@@ -101,8 +116,7 @@ public function getAuthHandlers() returns http:InboundAuthHandler[] {
                 password: getConfigValue(LISTENER_CONF_INSTANCE_ID, TRUST_STORE_PASSWORD, "ballerina")
             },
             certificateAlias: getConfigValue(JWT_INSTANCE_ID, CERTIFICATE_ALIAS, "ballerina")
-        },
-        jwtCache : jwtCache
+        }
     };
     JwtAuthProvider jwtAuthProvider = new(jwtValidatorConfig);
     JWTAuthHandler jwtAuthHandler = new (jwtAuthProvider);
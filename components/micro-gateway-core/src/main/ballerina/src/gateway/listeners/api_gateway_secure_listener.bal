@@ -81,12 +81,11 @@ function initiateGatewaySecureConfigurations(http:ListenerConfiguration config)
     string[] protocolVersions = split(getConfigValue(MTSL_CONF_INSTANCE_ID, MTSL_CONF_PROTOCOL_VERSIONS,
     defaultProtocolVersions), ",");
     string[] ciphers = split(getConfigValue(MTSL_CONF_INSTANCE_ID, MTSL_CONF_CIPHERS, defaultCiphers), ",");
-    string sslVerifyClient = getConfigValue(MTSL_CONF_INSTANCE_ID, MTSL_CONF_SSLVERIFYCLIENT, "");
 
     crypto:TrustStore trustStore = { path: trustStorePath, password: trustStorePassword };
     crypto:KeyStore keyStore = { path: keyStorePath, password: keyStorePassword };
     http:Protocols protocol = { name: protocolName, versions: protocolVersions };
     http:ListenerSecureSocket secureSocket = { trustStore: trustStore, keyStore: keyStore,
-        sslVerifyClient: sslVerifyClient, ciphers: ciphers };
+        sslVerifyClient: mutualSSLVerifyClient, ciphers: ciphers };
     config.secureSocket = secureSocket;
 }
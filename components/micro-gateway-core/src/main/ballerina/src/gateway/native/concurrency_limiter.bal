@@ -0,0 +1,66 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Creates the adaptive concurrency limiter of an endpoint and exposes its limit in the metrics.
+#
+# + endpoint - Name of the endpoint, used in metrics
+# + config - Concurrency limit settings
+# + return - Handle to the created limiter
+public function newConcurrencyLimiter(string endpoint, EndpointConcurrencyConfig config) returns handle {
+    handle limiter = jNewConcurrencyLimiter(config.initialLimit, config.minLimit, config.maxLimit, config.smoothing,
+        config.rttTolerance, config.windowInMillis);
+    jRegisterConcurrencyLimiter(java:fromString(endpoint), limiter);
+    return limiter;
+}
+
+# Reserves a slot for a request to the endpoint.
+#
+# + limiter - Handle to the concurrency limiter
+# + return - Permit to be passed to `releaseConcurrencyPermit`, or `-1` if the limit is reached
+public function acquireConcurrencyPermit(handle limiter) returns int {
+    return jAcquireConcurrencyPermit(limiter);
+}
+
+# Frees the slot of a completed request and records its round trip time.
+#
+# + limiter - Handle to the concurrency limiter
+# + permit - Value returned by `acquireConcurrencyPermit`
+# + success - `false` if the endpoint could not be reached or reported that it is unavailable
+public function releaseConcurrencyPermit(handle limiter, int permit, boolean success) {
+    jReleaseConcurrencyPermit(limiter, permit, success);
+}
+
+function jNewConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, float smoothing, float rttTolerance,
+        int windowInMillis) returns handle = @java:Constructor {
+    class: "org.wso2.micro.gateway.core.lb.ConcurrencyLimiter"
+} external;
+
+function jRegisterConcurrencyLimiter(handle endpoint, handle limiter) = @java:Method {
+    name: "registerConcurrencyLimiter",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jAcquireConcurrencyPermit(handle limiter) returns int = @java:Method {
+    name: "acquire",
+    class: "org.wso2.micro.gateway.core.lb.ConcurrencyLimiter"
+} external;
+
+function jReleaseConcurrencyPermit(handle limiter, int permit, boolean success) = @java:Method {
+    name: "release",
+    class: "org.wso2.micro.gateway.core.lb.ConcurrencyLimiter"
+} external;
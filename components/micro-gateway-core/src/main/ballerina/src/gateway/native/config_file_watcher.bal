@@ -0,0 +1,84 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Starts watching the configuration file for changes.
+#
+# + configFilePath - Path of the configuration file
+# + return - `true` if the watcher was started by this call
+public function watchConfigFile(string configFilePath) returns boolean {
+    return jStartConfigWatcher(java:fromString(configFilePath));
+}
+
+# Returns the version of the configuration file content, incremented each time the file is read after a change.
+#
+# + return - `0` if the file has not changed since the gateway started
+public function getConfigFileVersion() returns int {
+    return jGetConfigFileVersion();
+}
+
+# Reads a string value from the latest content of the configuration file.
+#
+# + key - Fully qualified configuration key
+# + defaultValue - Value returned if the key is not present
+# + return - Configuration value
+public function getReloadedConfigValue(string key, string defaultValue) returns string {
+    return jGetReloadedString(java:fromString(key), java:fromString(defaultValue)).toString();
+}
+
+# Reads an integer value from the latest content of the configuration file.
+#
+# + key - Fully qualified configuration key
+# + defaultValue - Value returned if the key is not present
+# + return - Configuration value
+public function getReloadedConfigIntValue(string key, int defaultValue) returns int {
+    return jGetReloadedInt(java:fromString(key), defaultValue);
+}
+
+# Reads a boolean value from the latest content of the configuration file.
+#
+# + key - Fully qualified configuration key
+# + defaultValue - Value returned if the key is not present
+# + return - Configuration value
+public function getReloadedConfigBooleanValue(string key, boolean defaultValue) returns boolean {
+    return jGetReloadedBoolean(java:fromString(key), defaultValue);
+}
+
+function jStartConfigWatcher(handle configFilePath) returns boolean = @java:Method {
+    name: "start",
+    class: "org.wso2.micro.gateway.core.config.ConfigFileWatcher"
+} external;
+
+function jGetConfigFileVersion() returns int = @java:Method {
+    name: "getVersion",
+    class: "org.wso2.micro.gateway.core.config.ConfigFileWatcher"
+} external;
+
+function jGetReloadedString(handle key, handle defaultValue) returns handle = @java:Method {
+    name: "getString",
+    class: "org.wso2.micro.gateway.core.config.ConfigFileWatcher"
+} external;
+
+function jGetReloadedInt(handle key, int defaultValue) returns int = @java:Method {
+    name: "getInt",
+    class: "org.wso2.micro.gateway.core.config.ConfigFileWatcher"
+} external;
+
+function jGetReloadedBoolean(handle key, boolean defaultValue) returns boolean = @java:Method {
+    name: "getBoolean",
+    class: "org.wso2.micro.gateway.core.config.ConfigFileWatcher"
+} external;
@@ -0,0 +1,106 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Creates the target selector of an endpoint balanced by the gateway.
+#
+# + targetCount - Number of targets of the endpoint
+# + strategy - `adaptive`, `round_robin` or `failover`
+# + healthConfig - Health check and outlier ejection settings
+# + return - Handle to the created selector
+public function newEndpointBalancer(int targetCount, string strategy, EndpointHealthConfig healthConfig)
+        returns handle {
+    return jNewEndpointBalancer(targetCount, java:fromString(strategy), healthConfig.unhealthyThreshold,
+        healthConfig.healthyThreshold, healthConfig.consecutiveErrors, healthConfig.baseEjectionTimeInMillis,
+        healthConfig.slowStartWindowInMillis);
+}
+
+# Selects the target for the next attempt of a request.
+#
+# + balancer - Handle to the target selector
+# + triedTargets - Bit set of the targets already tried for the request
+# + return - Index of the selected target, or `-1` if all targets were tried
+public function selectEndpointTarget(handle balancer, int triedTargets) returns int {
+    return jSelectEndpointTarget(balancer, triedTargets);
+}
+
+# Marks the start of a request sent to a target.
+#
+# + balancer - Handle to the target selector
+# + target - Index of the target
+# + return - Start time to be passed to `completeEndpointRequest`
+public function startEndpointRequest(handle balancer, int target) returns int {
+    return jStartEndpointRequest(balancer, target);
+}
+
+# Records the outcome of a request sent to a target.
+#
+# + balancer - Handle to the target selector
+# + target - Index of the target
+# + startTime - Value returned by `startEndpointRequest`
+# + success - `false` if the target could not be reached or reported that it is unavailable
+public function completeEndpointRequest(handle balancer, int target, int startTime, boolean success) {
+    jCompleteEndpointRequest(balancer, target, startTime, success);
+}
+
+# Records the result of an active health probe of a target.
+#
+# + balancer - Handle to the target selector
+# + target - Index of the target
+# + healthy - Whether the probe succeeded
+# + return - `true` if the health state of the target changed
+public function reportEndpointProbe(handle balancer, int target, boolean healthy) returns boolean {
+    return jReportEndpointProbe(balancer, target, healthy);
+}
+
+# Returns the number of targets currently eligible to receive traffic.
+#
+# + balancer - Handle to the target selector
+# + return - Available target count
+public function getAvailableEndpointTargetCount(handle balancer) returns int {
+    return jGetAvailableEndpointTargetCount(balancer);
+}
+
+function jNewEndpointBalancer(int targetCount, handle strategy, int unhealthyThreshold, int healthyThreshold,
+        int consecutiveErrors, int baseEjectionTime, int slowStartWindow) returns handle = @java:Constructor {
+    class: "org.wso2.micro.gateway.core.lb.EndpointBalancer"
+} external;
+
+function jSelectEndpointTarget(handle balancer, int triedTargets) returns int = @java:Method {
+    name: "select",
+    class: "org.wso2.micro.gateway.core.lb.EndpointBalancer"
+} external;
+
+function jStartEndpointRequest(handle balancer, int target) returns int = @java:Method {
+    name: "start",
+    class: "org.wso2.micro.gateway.core.lb.EndpointBalancer"
+} external;
+
+function jCompleteEndpointRequest(handle balancer, int target, int startTime, boolean success) = @java:Method {
+    name: "complete",
+    class: "org.wso2.micro.gateway.core.lb.EndpointBalancer"
+} external;
+
+function jReportEndpointProbe(handle balancer, int target, boolean healthy) returns boolean = @java:Method {
+    name: "reportProbe",
+    class: "org.wso2.micro.gateway.core.lb.EndpointBalancer"
+} external;
+
+function jGetAvailableEndpointTargetCount(handle balancer) returns int = @java:Method {
+    name: "getAvailableCount",
+    class: "org.wso2.micro.gateway.core.lb.EndpointBalancer"
+} external;
@@ -0,0 +1,107 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Loads the trust store used to verify the etcd server when the watch stream is opened over https.
+#
+# + trustStorePath - Path of the trust store
+# + trustStorePassword - Password of the trust store
+# + return - `false` if the trust store could not be loaded
+public function initEtcdWatcher(string trustStorePath, string trustStorePassword) returns boolean {
+    return jInitEtcdWatcher(java:fromString(trustStorePath), java:fromString(trustStorePassword));
+}
+
+# Sets the prefix of the etcd keys watched with a single range watch request. Keys outside of the prefix are
+# watched separately.
+#
+# + keyPrefix - Key prefix, or an empty string to watch each key separately
+public function setEtcdWatchKeyPrefix(string keyPrefix) {
+    jSetEtcdWatchKeyPrefix(java:fromString(keyPrefix));
+}
+
+# Registers an etcd key whose changes should be received from the watch stream.
+#
+# + etcdKey - Etcd key
+public function addEtcdWatchKey(string etcdKey) {
+    jAddEtcdWatchKey(java:fromString(etcdKey));
+}
+
+# Opens the etcd watch stream unless it is already open.
+#
+# + watchUrl - Url of the etcd watch service
+# + token - Etcd authentication token, empty if authentication is disabled
+# + return - `true` if the stream was opened by this call
+public function connectEtcdWatch(string watchUrl, string token) returns boolean {
+    return jConnectEtcdWatch(java:fromString(watchUrl), java:fromString(token));
+}
+
+# Checks whether the etcd watch stream is open.
+#
+# + return - `true` if the stream is open
+public function isEtcdWatchConnected() returns boolean {
+    return jIsEtcdWatchConnected();
+}
+
+# Returns the next etcd key whose value changed since it was last returned.
+#
+# + return - Changed key, or `()` if there are no pending changes
+public function pollEtcdUpdatedKey() returns string? {
+    return java:toString(jPollEtcdUpdatedKey());
+}
+
+# Returns the latest value of an etcd key received from the watch stream.
+#
+# + etcdKey - Etcd key
+# + return - Value of the key, or an empty string if the key was deleted
+public function getEtcdWatchedValue(string etcdKey) returns string {
+    return jGetEtcdWatchedValue(java:fromString(etcdKey)).toString();
+}
+
+function jInitEtcdWatcher(handle trustStorePath, handle trustStorePassword) returns boolean = @java:Method {
+    name: "init",
+    class: "org.wso2.micro.gateway.core.etcd.EtcdWatcher"
+} external;
+
+function jSetEtcdWatchKeyPrefix(handle keyPrefix) = @java:Method {
+    name: "setKeyPrefix",
+    class: "org.wso2.micro.gateway.core.etcd.EtcdWatcher"
+} external;
+
+function jAddEtcdWatchKey(handle etcdKey) = @java:Method {
+    name: "addKey",
+    class: "org.wso2.micro.gateway.core.etcd.EtcdWatcher"
+} external;
+
+function jConnectEtcdWatch(handle watchUrl, handle token) returns boolean = @java:Method {
+    name: "connect",
+    class: "org.wso2.micro.gateway.core.etcd.EtcdWatcher"
+} external;
+
+function jIsEtcdWatchConnected() returns boolean = @java:Method {
+    name: "isConnected",
+    class: "org.wso2.micro.gateway.core.etcd.EtcdWatcher"
+} external;
+
+function jPollEtcdUpdatedKey() returns handle = @java:Method {
+    name: "pollUpdatedKey",
+    class: "org.wso2.micro.gateway.core.etcd.EtcdWatcher"
+} external;
+
+function jGetEtcdWatchedValue(handle etcdKey) returns handle = @java:Method {
+    name: "getValue",
+    class: "org.wso2.micro.gateway.core.etcd.EtcdWatcher"
+} external;
@@ -0,0 +1,86 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+# Loads the public key of the trust store certificate used to verify JWT signatures.
+#
+# + trustStorePath - Path of the trust store
+# + trustStorePassword - Password of the trust store
+# + certificateAlias - Alias of the certificate used when a token does not name a key of the JWKS endpoint
+# + return - Returns an error if the trust store or the certificate alias could not be loaded
+public function loadJwtTrustStore(string trustStorePath, string trustStorePassword, string certificateAlias)
+        returns error? {
+    return jLoadTrustStore(java:fromString(trustStorePath), java:fromString(trustStorePassword),
+        java:fromString(certificateAlias));
+}
+
+# Verifies the signature of a JWT against the cached public keys.
+#
+# + jwtToken - Serialized JWT
+# + return - JSON payload of the token if the signature is valid, else an error
+public function verifyJwtSignature(string jwtToken) returns string|error {
+    return jVerify(java:fromString(jwtToken));
+}
+
+# Creates an empty key set to be filled with the keys of a JWKS response.
+#
+# + return - Handle to the key set
+public function newJwkSet() returns handle {
+    return jNewJwkSet();
+}
+
+# Adds an RSA key to a key set.
+#
+# + jwkSet - Handle to the key set
+# + kid - Key id
+# + modulus - Base64url encoded modulus of the key
+# + exponent - Base64url encoded public exponent of the key
+# + return - Returns an error if the key could not be created
+public function addToJwkSet(handle jwkSet, string kid, string modulus, string exponent) returns error? {
+    return jJwkSetAdd(jwkSet, java:fromString(kid), java:fromString(modulus), java:fromString(exponent));
+}
+
+# Replaces the JWKS keys used to verify JWT signatures.
+#
+# + jwkSet - Handle to the key set
+public function setJwks(handle jwkSet) {
+    jSetJwks(jwkSet);
+}
+
+function jLoadTrustStore(handle trustStorePath, handle trustStorePassword, handle certificateAlias) returns error? =
+@java:Method {
+    name: "loadTrustStore",
+    class: "org.wso2.micro.gateway.core.jwt.JwtVerifier"
+} external;
+
+function jVerify(handle jwtToken) returns string|error = @java:Method {
+    name: "verify",
+    class: "org.wso2.micro.gateway.core.jwt.JwtVerifier"
+} external;
+
+function jNewJwkSet() returns handle = @java:Constructor {
+    class: "org.wso2.micro.gateway.core.jwt.JwkSet"
+} external;
+
+function jJwkSetAdd(handle jwkSet, handle kid, handle modulus, handle exponent) returns error? = @java:Method {
+    name: "add",
+    class: "org.wso2.micro.gateway.core.jwt.JwkSet"
+} external;
+
+function jSetJwks(handle jwkSet) = @java:Method {
+    name: "setJwks",
+    class: "org.wso2.micro.gateway.core.jwt.JwtVerifier"
+} external;
@@ -0,0 +1,42 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Starts the appender writing the info, warn and error logs of the gateway module asynchronously.
+#
+# + bufferSize - Maximum number of log records waiting to be written
+public function initAsyncLogAppender(int bufferSize) {
+    jInitAsyncLogAppender(bufferSize);
+}
+
+# Appends a log record to the asynchronous appender.
+#
+# + level - Log level
+# + message - Formatted log message
+public function appendAsyncLog(string level, string message) {
+    jAppendAsyncLog(java:fromString(level), java:fromString(message));
+}
+
+function jInitAsyncLogAppender(int bufferSize) = @java:Method {
+    name: "init",
+    class: "org.wso2.micro.gateway.core.logging.AsyncLogAppender"
+} external;
+
+function jAppendAsyncLog(handle level, handle message) = @java:Method {
+    name: "append",
+    class: "org.wso2.micro.gateway.core.logging.AsyncLogAppender"
+} external;
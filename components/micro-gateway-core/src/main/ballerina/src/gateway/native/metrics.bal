@@ -0,0 +1,179 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Enables or disables recording of the gateway metrics.
+#
+# + enabled - Whether metrics are recorded
+public function initMetrics(boolean enabled) {
+    jInitMetrics(enabled);
+}
+
+# Returns the current value of the monotonic clock latencies are measured with.
+#
+# + return - Current time in nanoseconds
+public function getCurrentNanoTime() returns int {
+    return jNanoTime();
+}
+
+# Records the time spent in a gateway filter.
+#
+# + stage - Filter stage
+# + serviceName - Name of the service the request was received for
+# + startTime - Time the filter started, as returned by `getCurrentNanoTime`
+public function recordFilterLatency(string stage, string serviceName, int startTime) {
+    jRecordFilterLatency(java:fromString(stage), java:fromString(serviceName), startTime);
+}
+
+# Records the time taken by the backend to respond.
+#
+# + serviceName - Name of the service the request was received for
+# + startTime - Time the request was sent to the backend, as returned by `getCurrentNanoTime`
+public function recordBackendLatency(string serviceName, int startTime) {
+    jRecordBackendLatency(java:fromString(serviceName), startTime);
+}
+
+# Records the time taken by the gateway to serve a request.
+#
+# + serviceName - Name of the service the request was received for
+# + startTime - Time the request was received, as returned by `getCurrentNanoTime`
+public function recordRequestLatency(string serviceName, int startTime) {
+    jRecordRequestLatency(java:fromString(serviceName), startTime);
+}
+
+# Records a call to the key validation service.
+#
+# + success - Whether the key validation service responded
+# + startTime - Time the call was made, as returned by `getCurrentNanoTime`
+public function recordKeyValidation(boolean success, int startTime) {
+    jRecordKeyValidation(success, startTime);
+}
+
+# Records a request rejected by the throttle filter.
+#
+# + errorCode - Error code sent to the client
+public function recordThrottledRequest(int errorCode) {
+    jRecordThrottledRequest(java:fromString(errorCode.toString()));
+}
+
+# Records a lookup of the gateway token cache.
+#
+# + hit - Whether the token was found in the cache
+public function recordTokenCacheLookup(boolean hit) {
+    jRecordTokenCacheLookup(hit);
+}
+
+# Records a chunked payload of a bandwidth throttled request, which is not charged as its size is not known without
+# reading it.
+#
+# + direction - `request` or `response`
+public function recordUnmeteredPayload(string direction) {
+    jRecordUnmeteredPayload(java:fromString(direction));
+}
+
+# Exposes the available targets of a load balanced or failover endpoint in the metrics.
+#
+# + endpoint - Name of the endpoint
+# + balancer - Balancer of the endpoint
+public function registerEndpointBalancerMetrics(string endpoint, handle balancer) {
+    jRegisterEndpointBalancer(java:fromString(endpoint), balancer);
+}
+
+# Exposes the counters of a gateway event buffer in the metrics.
+#
+# + buffer - Name of the buffer
+# + statistics - Number of enqueued, dropped, published, failed and currently buffered events, and of the batches
+#   the events were published in if the buffer publishes in batches
+public function updateEventBufferMetrics(string buffer, map<int> statistics) {
+    jUpdateEventBuffer(java:fromString(buffer), statistics["enqueued"] ?: 0, statistics["dropped"] ?: 0,
+        statistics["published"] ?: 0, statistics["failed"] ?: 0, statistics["buffered"] ?: 0,
+        statistics["batches"] ?: -1);
+}
+
+# Returns all the gateway metrics in the Prometheus text exposition format.
+#
+# + return - Metrics text
+public function scrapeMetrics() returns string {
+    if (isAnalyticsEnabled) {
+        updateEventBufferMetrics("analytics", getAnalyticsBufferStatistics());
+    }
+    if (throttleEventPublisherStarted) {
+        updateEventBufferMetrics("throttle", getThrottleEventPublisherStatistics());
+    }
+    return jScrapeMetrics().toString();
+}
+
+function jInitMetrics(boolean enabled) = @java:Method {
+    name: "init",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jNanoTime() returns int = @java:Method {
+    name: "nanoTime",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jRecordFilterLatency(handle stage, handle serviceName, int startTime) = @java:Method {
+    name: "recordFilterLatency",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jRecordBackendLatency(handle serviceName, int startTime) = @java:Method {
+    name: "recordBackendLatency",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jRecordRequestLatency(handle serviceName, int startTime) = @java:Method {
+    name: "recordRequestLatency",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jRecordKeyValidation(boolean success, int startTime) = @java:Method {
+    name: "recordKeyValidation",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jRecordThrottledRequest(handle errorCode) = @java:Method {
+    name: "recordThrottledRequest",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jRecordUnmeteredPayload(handle direction) = @java:Method {
+    name: "recordUnmeteredPayload",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jRecordTokenCacheLookup(boolean hit) = @java:Method {
+    name: "recordTokenCacheLookup",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jRegisterEndpointBalancer(handle endpoint, handle balancer) = @java:Method {
+    name: "registerEndpointBalancer",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jUpdateEventBuffer(handle buffer, int enqueued, int dropped, int published, int failed, int buffered,
+        int batches) = @java:Method {
+    name: "updateEventBuffer",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
+
+function jScrapeMetrics() returns handle = @java:Method {
+    name: "scrape",
+    class: "org.wso2.micro.gateway.core.metrics.MetricsRegistry"
+} external;
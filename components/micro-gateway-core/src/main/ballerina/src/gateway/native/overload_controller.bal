@@ -0,0 +1,77 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Configures the overload controller and starts sampling the load of the gateway.
+#
+# + maxRequestsInFlight - Requests in flight above which the gateway is overloaded, or `0` to ignore them
+# + maxSchedulingLag - Scheduling lag in milliseconds above which the gateway is overloaded
+# + sampleInterval - Interval between load samples in milliseconds
+# + tierPriority - Comma separated subscription tiers, from the highest priority to the lowest
+# + tierHintCapacity - Number of credentials whose tier is remembered
+public function initOverloadController(int maxRequestsInFlight, int maxSchedulingLag, int sampleInterval,
+        string tierPriority, int tierHintCapacity) {
+    jInitOverloadController(maxRequestsInFlight, maxSchedulingLag, sampleInterval, java:fromString(tierPriority),
+        tierHintCapacity);
+}
+
+# Returns the key the tier of a credential is remembered with.
+#
+# + credential - Value of the authorization header, or an empty string
+# + return - Key of the credential, or `0` if there is no credential
+public function getLoadSheddingCredentialKey(string credential) returns int {
+    return jGetCredentialKey(java:fromString(credential));
+}
+
+# Admits a request unless its priority is below the current shed level of the overload controller.
+#
+# + credentialKey - Key returned by `getLoadSheddingCredentialKey`
+# + apiPriority - Priority of the API, `high`, `normal` or `low`
+# + return - `true` if the request is admitted
+public function admitRequest(int credentialKey, string apiPriority) returns boolean {
+    return jTryAdmit(credentialKey, java:fromString(apiPriority));
+}
+
+# Completes a request admitted by the overload controller and remembers the tiers the credential was validated with.
+#
+# + credentialKey - Key returned by `getLoadSheddingCredentialKey`
+# + tier - Subscription tier of the caller, or an empty string if the request was not validated
+# + applicationTier - Application tier of the caller
+public function completeAdmittedRequest(int credentialKey, string tier, string applicationTier) {
+    jCompleteAdmittedRequest(credentialKey, java:fromString(tier), java:fromString(applicationTier));
+}
+
+function jInitOverloadController(int maxRequestsInFlight, int maxSchedulingLag, int sampleInterval,
+        handle tierPriority, int tierHintCapacity) = @java:Method {
+    name: "init",
+    class: "org.wso2.micro.gateway.core.overload.OverloadController"
+} external;
+
+function jGetCredentialKey(handle credential) returns int = @java:Method {
+    name: "getCredentialKey",
+    class: "org.wso2.micro.gateway.core.overload.OverloadController"
+} external;
+
+function jTryAdmit(int credentialKey, handle apiPriority) returns boolean = @java:Method {
+    name: "tryAdmit",
+    class: "org.wso2.micro.gateway.core.overload.OverloadController"
+} external;
+
+function jCompleteAdmittedRequest(int credentialKey, handle tier, handle applicationTier) = @java:Method {
+    name: "complete",
+    class: "org.wso2.micro.gateway.core.overload.OverloadController"
+} external;
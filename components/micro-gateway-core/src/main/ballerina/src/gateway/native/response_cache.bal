@@ -0,0 +1,259 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerinax/java;
+
+# Replaces the response cache with an empty one of the given size.
+#
+# + maxSize - Memory budget in bytes
+# + offHeap - Whether response bodies are kept in direct buffers
+public function initResponseCache(int maxSize, boolean offHeap) {
+    jInitResponseCache(maxSize, offHeap);
+}
+
+# Returns the cached response of a key, fresh or stale.
+#
+# + cacheKey - Cache key
+# + return - Handle to the cached entry, or `()` if there is no usable entry
+public function lookupResponseCacheEntry(string cacheKey) returns handle? {
+    handle entry = jLookupResponseCache(java:fromString(cacheKey));
+    return java:isNull(entry) ? () : entry;
+}
+
+# Marks a key as being fetched from the backend. The mark expires after the lease, unless it is released earlier.
+#
+# + cacheKey - Cache key
+# + leaseInMillis - Time after which the mark expires
+# + return - `true` if the caller should fetch the response, `false` if another request is already fetching it
+public function acquireResponseCacheKey(string cacheKey, int leaseInMillis) returns boolean {
+    return jAcquireResponseCacheKey(java:fromString(cacheKey), leaseInMillis);
+}
+
+# Waits for the request fetching the response of a key to release the key. Returns as soon as the key is released,
+# its mark expires or the timeout elapses.
+#
+# + cacheKey - Cache key
+# + timeoutInMillis - Maximum time to wait
+# + return - `true` if the response of the key is not being fetched anymore
+public function awaitResponseCacheKey(string cacheKey, int timeoutInMillis) returns boolean {
+    return jAwaitResponseCacheKey(java:fromString(cacheKey), timeoutInMillis);
+}
+
+# Clears the mark set by `acquireResponseCacheKey`.
+#
+# + cacheKey - Cache key
+public function releaseResponseCacheKey(string cacheKey) {
+    jReleaseResponseCacheKey(java:fromString(cacheKey));
+}
+
+# Creates a response cache entry to be populated with headers and stored.
+#
+# + statusCode - Status code of the response
+# + body - Response body
+# + maxAge - Time in milliseconds the entry is fresh for
+# + return - Handle to the new entry
+public function newResponseCacheEntry(int statusCode, byte[] body, int maxAge) returns handle {
+    return jNewResponseCacheEntry(statusCode, body, maxAge);
+}
+
+# Adds a header to a response cache entry.
+#
+# + entry - Handle to the entry
+# + name - Header name
+# + value - Header value
+public function addResponseCacheEntryHeader(handle entry, string name, string value) {
+    jAddResponseCacheEntryHeader(entry, java:fromString(name), java:fromString(value));
+}
+
+# Stores a response cache entry.
+#
+# + cacheKey - Cache key
+# + entry - Handle to the entry
+public function putResponseCacheEntry(string cacheKey, handle entry) {
+    jPutResponseCacheEntry(java:fromString(cacheKey), entry);
+}
+
+# Extends the freshness of an entry after the backend confirmed that it is still valid.
+#
+# + entry - Handle to the entry
+# + maxAge - Time in milliseconds the entry is fresh for
+public function refreshResponseCacheEntry(handle entry, int maxAge) {
+    jRefreshResponseCacheEntry(entry, maxAge);
+}
+
+# Checks whether a response cache entry can be served without revalidation.
+#
+# + entry - Handle to the entry
+# + return - `true` if the entry is fresh
+public function isResponseCacheEntryFresh(handle entry) returns boolean {
+    return jIsResponseCacheEntryFresh(entry);
+}
+
+# Returns the first value of a header of a response cache entry.
+#
+# + entry - Handle to the entry
+# + name - Header name
+# + return - Header value, or an empty string if the header is not present
+public function getResponseCacheEntryHeader(handle entry, string name) returns string {
+    return jGetResponseCacheEntryHeader(entry, java:fromString(name)).toString();
+}
+
+# Builds a response from a response cache entry.
+#
+# + entry - Handle to the entry
+# + return - Response carrying the cached status code, headers and body
+public function buildCachedResponse(handle entry) returns http:Response {
+    http:Response response = new;
+    response.statusCode = jGetResponseCacheEntryStatusCode(entry);
+    int headerCount = jGetResponseCacheEntryHeaderCount(entry);
+    int i = 0;
+    while (i < headerCount) {
+        response.addHeader(jGetResponseCacheEntryHeaderName(entry, i).toString(),
+            jGetResponseCacheEntryHeaderValue(entry, i).toString());
+        i += 1;
+    }
+    response.setBinaryPayload(jGetResponseCacheEntryBody(entry));
+    return response;
+}
+
+# Returns the number of lookups which found a fresh entry.
+#
+# + return - Hit count
+public function getResponseCacheHitCount() returns int {
+    return jGetResponseCacheHitCount();
+}
+
+# Returns the number of lookups which did not find a fresh entry.
+#
+# + return - Miss count
+public function getResponseCacheMissCount() returns int {
+    return jGetResponseCacheMissCount();
+}
+
+# Returns the number of entries evicted to stay within the memory budget.
+#
+# + return - Eviction count
+public function getResponseCacheEvictionCount() returns int {
+    return jGetResponseCacheEvictionCount();
+}
+
+# Returns the approximate memory used by the cached responses.
+#
+# + return - Used memory in bytes
+public function getResponseCacheUsedBytes() returns int {
+    return jGetResponseCacheUsedBytes();
+}
+
+function jInitResponseCache(int maxSize, boolean offHeap) = @java:Method {
+    name: "init",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jLookupResponseCache(handle cacheKey) returns handle = @java:Method {
+    name: "lookup",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jAcquireResponseCacheKey(handle cacheKey, int leaseInMillis) returns boolean = @java:Method {
+    name: "acquire",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jAwaitResponseCacheKey(handle cacheKey, int timeoutInMillis) returns boolean = @java:Method {
+    name: "await",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jReleaseResponseCacheKey(handle cacheKey) = @java:Method {
+    name: "release",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jNewResponseCacheEntry(int statusCode, byte[] body, int maxAge) returns handle = @java:Method {
+    name: "newEntry",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jAddResponseCacheEntryHeader(handle entry, handle name, handle value) = @java:Method {
+    name: "addHeader",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jPutResponseCacheEntry(handle cacheKey, handle entry) = @java:Method {
+    name: "put",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jRefreshResponseCacheEntry(handle entry, int maxAge) = @java:Method {
+    name: "refresh",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jIsResponseCacheEntryFresh(handle entry) returns boolean = @java:Method {
+    name: "isFresh",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jGetResponseCacheEntryHeader(handle entry, handle name) returns handle = @java:Method {
+    name: "getHeader",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jGetResponseCacheEntryStatusCode(handle entry) returns int = @java:Method {
+    name: "getStatusCode",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jGetResponseCacheEntryHeaderCount(handle entry) returns int = @java:Method {
+    name: "getHeaderCount",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jGetResponseCacheEntryHeaderName(handle entry, int index) returns handle = @java:Method {
+    name: "getHeaderName",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jGetResponseCacheEntryHeaderValue(handle entry, int index) returns handle = @java:Method {
+    name: "getHeaderValue",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jGetResponseCacheEntryBody(handle entry) returns byte[] = @java:Method {
+    name: "getBody",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jGetResponseCacheHitCount() returns int = @java:Method {
+    name: "getHitCount",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jGetResponseCacheMissCount() returns int = @java:Method {
+    name: "getMissCount",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jGetResponseCacheEvictionCount() returns int = @java:Method {
+    name: "getEvictionCount",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
+
+function jGetResponseCacheUsedBytes() returns int = @java:Method {
+    name: "getUsedBytes",
+    class: "org.wso2.micro.gateway.core.cache.ResponseCache"
+} external;
@@ -0,0 +1,44 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Creates an empty spike arrest limiter tracking up to the given number of keys.
+#
+# + capacity - Number of spike arrest keys tracked
+public function initSpikeArrestLimiter(int capacity) {
+    jInitSpikeArrestLimiter(capacity);
+}
+
+# Checks a request against the spike arrest limit of its key and records it if it is allowed.
+#
+# + key - Spike arrest key of the request
+# + spikeArrestLimit - Number of requests allowed per unit
+# + spikeArrestUnit - Spike arrest unit, `sec` or `min`
+# + return - 0 if the request is allowed, otherwise the number of milliseconds after which it would be allowed
+public function checkSpikeArrest(string key, int spikeArrestLimit, string spikeArrestUnit) returns int {
+    return jTryAcquireSpikeArrest(java:fromString(key), spikeArrestLimit, java:fromString(spikeArrestUnit));
+}
+
+function jInitSpikeArrestLimiter(int capacity) = @java:Method {
+    name: "init",
+    class: "org.wso2.micro.gateway.core.throttle.SpikeArrestLimiter"
+} external;
+
+function jTryAcquireSpikeArrest(handle key, int spikeArrestLimit, handle spikeArrestUnit) returns int = @java:Method {
+    name: "tryAcquire",
+    class: "org.wso2.micro.gateway.core.throttle.SpikeArrestLimiter"
+} external;
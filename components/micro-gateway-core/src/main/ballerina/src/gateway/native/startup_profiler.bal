@@ -0,0 +1,98 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Returns the time a startup phase starts at.
+#
+# + return - Start time of the phase
+public function startStartupPhase() returns int {
+    return jStartPhase();
+}
+
+# Records the time spent in a startup phase.
+#
+# + phase - Name of the phase
+# + startTime - Time returned by `startStartupPhase` when the phase started
+public function endStartupPhase(string phase, int startTime) {
+    jEndPhase(java:fromString(phase), startTime);
+}
+
+# Registers a component which has to be initialized before the gateway is ready to serve traffic.
+#
+# + component - Name of the component
+public function addStartupComponent(string component) {
+    jAddComponent(java:fromString(component));
+}
+
+# Marks a startup component as initialized, and logs the startup summary once all of them are.
+#
+# + component - Name of the component
+public function setStartupComponentReady(string component) {
+    if (jSetComponentReady(java:fromString(component))) {
+        printInfo(KEY_STARTUP, "Gateway is ready to serve traffic, {}", jGetSummary().toString());
+    }
+}
+
+# Returns whether all the registered startup components are initialized.
+#
+# + return - Whether the gateway is ready to serve traffic
+public function isGatewayReady() returns boolean {
+    return jIsReady();
+}
+
+# Describes the startup of the gateway, i.e. whether it is ready, the pending components and the time spent in
+# each startup phase.
+#
+# + return - Startup details as a JSON string
+public function getStartupStatus() returns string {
+    return jGetStatus().toString();
+}
+
+function jStartPhase() returns int = @java:Method {
+    name: "startPhase",
+    class: "org.wso2.micro.gateway.core.startup.StartupProfiler"
+} external;
+
+function jEndPhase(handle phase, int startTime) = @java:Method {
+    name: "endPhase",
+    class: "org.wso2.micro.gateway.core.startup.StartupProfiler"
+} external;
+
+function jAddComponent(handle component) = @java:Method {
+    name: "addComponent",
+    class: "org.wso2.micro.gateway.core.startup.StartupProfiler"
+} external;
+
+function jSetComponentReady(handle component) returns boolean = @java:Method {
+    name: "setComponentReady",
+    class: "org.wso2.micro.gateway.core.startup.StartupProfiler"
+} external;
+
+function jIsReady() returns boolean = @java:Method {
+    name: "isReady",
+    class: "org.wso2.micro.gateway.core.startup.StartupProfiler"
+} external;
+
+function jGetStatus() returns handle = @java:Method {
+    name: "getStatus",
+    class: "org.wso2.micro.gateway.core.startup.StartupProfiler"
+} external;
+
+function jGetSummary() returns handle = @java:Method {
+    name: "getSummary",
+    class: "org.wso2.micro.gateway.core.startup.StartupProfiler"
+} external;
@@ -0,0 +1,117 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Creates an empty throttle decision store of the given capacity.
+#
+# + capacity - Maximum number of throttle decisions held
+public function initThrottleDecisionStore(int capacity) {
+    jInitDecisionStore(capacity);
+}
+
+# Stores a throttle decision of the traffic manager.
+#
+# + throttleKey - Throttle key
+# + stopOnQuota - Whether requests should be rejected while the decision is active
+# + expiryTimeStamp - Time in milliseconds until which the key is throttled
+public function putThrottleDecision(string throttleKey, boolean stopOnQuota, int expiryTimeStamp) {
+    jPutDecision(java:fromString(throttleKey), stopOnQuota, expiryTimeStamp);
+}
+
+# Removes the throttle decision of a key.
+#
+# + throttleKey - Throttle key
+public function removeThrottleDecision(string throttleKey) {
+    jRemoveDecision(java:fromString(throttleKey));
+}
+
+# Checks whether an active throttle decision exists for the key.
+#
+# + throttleKey - Throttle key
+# + return - `true` if the key is throttled
+public function isThrottleDecisionActive(string throttleKey) returns boolean {
+    return jIsDecisionActive(java:fromString(throttleKey));
+}
+
+# Checks whether the active throttle decision of the key requires requests to be rejected.
+#
+# + throttleKey - Throttle key
+# + return - `true` if requests of the key should be rejected
+public function isThrottleDecisionStopOnQuota(string throttleKey) returns boolean {
+    return jIsDecisionStopOnQuota(java:fromString(throttleKey));
+}
+
+# Returns the number of throttle decisions currently held.
+#
+# + return - Number of throttle decisions
+public function getThrottleDecisionCount() returns int {
+    return jDecisionCount();
+}
+
+# Returns how late, in milliseconds, the latest expired throttle decisions were removed.
+#
+# + return - Expiry lag in milliseconds
+public function getThrottleDecisionExpiryLag() returns int {
+    return jDecisionExpiryLag();
+}
+
+# Returns the number of throttle decisions evicted to keep the store within its capacity.
+#
+# + return - Number of evicted throttle decisions
+public function getThrottleDecisionEvictionCount() returns int {
+    return jDecisionEvictionCount();
+}
+
+function jInitDecisionStore(int capacity) = @java:Method {
+    name: "init",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleDecisionStore"
+} external;
+
+function jPutDecision(handle throttleKey, boolean stopOnQuota, int expiryTimeStamp) = @java:Method {
+    name: "put",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleDecisionStore"
+} external;
+
+function jRemoveDecision(handle throttleKey) = @java:Method {
+    name: "remove",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleDecisionStore"
+} external;
+
+function jIsDecisionActive(handle throttleKey) returns boolean = @java:Method {
+    name: "isThrottled",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleDecisionStore"
+} external;
+
+function jIsDecisionStopOnQuota(handle throttleKey) returns boolean = @java:Method {
+    name: "isStopOnQuota",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleDecisionStore"
+} external;
+
+function jDecisionCount() returns int = @java:Method {
+    name: "size",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleDecisionStore"
+} external;
+
+function jDecisionExpiryLag() returns int = @java:Method {
+    name: "getExpiryLag",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleDecisionStore"
+} external;
+
+function jDecisionEvictionCount() returns int = @java:Method {
+    name: "getEvictionCount",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleDecisionStore"
+} external;
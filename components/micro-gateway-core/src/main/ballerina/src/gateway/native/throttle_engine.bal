@@ -0,0 +1,156 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Registers a request count throttle policy in the local throttle engine.
+#
+# + tierType - Tier type the policy applies to (`appTier`, `subscriptionTier` or `resourceTier`)
+# + policyName - Name of the throttle policy
+# + count - Number of requests allowed within the unit time
+# + unitTime - Length of the throttling window in milliseconds
+# + stopOnQuota - Whether requests should be rejected once the quota is reached
+public function addThrottlePolicy(string tierType, string policyName, int count, int unitTime,
+        boolean stopOnQuota) {
+    jAddThrottlePolicy(java:fromString(tierType), java:fromString(policyName), count, unitTime, stopOnQuota);
+}
+
+# Registers a bandwidth throttle policy in the local throttle engine. Bandwidth policies limit the request and
+# response payload bytes of a throttle key instead of the number of requests.
+#
+# + tierType - Tier type the policy applies to (`appTier`, `subscriptionTier` or `resourceTier`)
+# + policyName - Name of the throttle policy
+# + dataAmount - Number of bytes allowed within the unit time
+# + unitTime - Length of the throttling window in milliseconds
+# + stopOnQuota - Whether requests should be rejected once the quota is reached
+public function addBandwidthThrottlePolicy(string tierType, string policyName, int dataAmount, int unitTime,
+        boolean stopOnQuota) {
+    jAddBandwidthPolicy(java:fromString(tierType), java:fromString(policyName), dataAmount, unitTime, stopOnQuota);
+}
+
+# Makes policies with the given name count requests approximately in fixed memory, using a count-min sketch and
+# a table of the heaviest throttle keys. Should be called before the policies are registered.
+#
+# + policyName - Name of the throttle policy
+# + sketchWidth - Number of counters in each row of the count-min sketch
+# + heavyHitterCapacity - Number of throttle keys counted individually
+public function setApproximateThrottleCounting(string policyName, int sketchWidth, int heavyHitterCapacity) {
+    jSetApproximateCounting(java:fromString(policyName), sketchWidth, heavyHitterCapacity);
+}
+
+# Checks whether the throttle key has reached the quota of the given policy and records the request against it in
+# the same step, so that concurrent requests are not admitted on the same remaining quota.
+#
+# + tierType - Tier type the policy applies to
+# + policyName - Name of the throttle policy
+# + throttleKey - Throttle key of the request
+# + return - `true` if the request should be throttled
+public function acquireThrottleQuota(string tierType, string policyName, string throttleKey) returns boolean {
+    return jAcquire(java:fromString(tierType), java:fromString(policyName), java:fromString(throttleKey));
+}
+
+# Removes a request counted by `acquireThrottleQuota` which was rejected by another policy afterwards, so that only
+# admitted requests are counted.
+#
+# + tierType - Tier type the policy applies to
+# + policyName - Name of the throttle policy
+# + throttleKey - Throttle key of the request
+public function releaseThrottleQuota(string tierType, string policyName, string throttleKey) {
+    jRelease(java:fromString(tierType), java:fromString(policyName), java:fromString(throttleKey));
+}
+
+# Checks whether requests should be rejected once the quota of the given policy is reached.
+#
+# + tierType - Tier type the policy applies to
+# + policyName - Name of the throttle policy
+# + return - `true` if the policy stops on quota reach
+public function isThrottlePolicyStopOnQuota(string tierType, string policyName) returns boolean {
+    return jIsStopOnQuota(java:fromString(tierType), java:fromString(policyName));
+}
+
+# Checks whether the given policy limits the bytes transferred rather than the number of requests.
+#
+# + tierType - Tier type the policy applies to
+# + policyName - Name of the throttle policy
+# + return - `true` if the policy is a bandwidth policy
+public function isBandwidthThrottlePolicy(string tierType, string policyName) returns boolean {
+    return jIsBandwidthPolicy(java:fromString(tierType), java:fromString(policyName));
+}
+
+# Records the bytes transferred by a request against the throttle key of the given policy. The usage is applied
+# asynchronously and only affects the following requests. Policies which count requests are ignored.
+#
+# + tierType - Tier type the policy applies to
+# + policyName - Name of the throttle policy
+# + throttleKey - Throttle key of the request
+# + bytes - Number of request and response payload bytes
+public function recordBandwidthUsage(string tierType, string policyName, string throttleKey, int bytes) {
+    jRecordBandwidth(java:fromString(tierType), java:fromString(policyName), java:fromString(throttleKey), bytes);
+}
+
+# Sets the number of bandwidth usage records which can wait to be applied to the policy counters.
+#
+# + queueSize - Maximum number of pending usage records
+public function initBandwidthAccounting(int queueSize) {
+    jInitBandwidthAccountant(queueSize);
+}
+
+function jAddThrottlePolicy(handle tierType, handle policyName, int count, int unitTime, boolean stopOnQuota)
+= @java:Method {
+    name: "addPolicy",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleEngine"
+} external;
+
+function jAddBandwidthPolicy(handle tierType, handle policyName, int dataAmount, int unitTime, boolean stopOnQuota)
+= @java:Method {
+    name: "addBandwidthPolicy",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleEngine"
+} external;
+
+function jSetApproximateCounting(handle policyName, int sketchWidth, int heavyHitterCapacity) = @java:Method {
+    name: "setApproximateCounting",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleEngine"
+} external;
+
+function jAcquire(handle tierType, handle policyName, handle throttleKey) returns boolean = @java:Method {
+    name: "acquire",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleEngine"
+} external;
+
+function jRelease(handle tierType, handle policyName, handle throttleKey) = @java:Method {
+    name: "release",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleEngine"
+} external;
+
+function jIsStopOnQuota(handle tierType, handle policyName) returns boolean = @java:Method {
+    name: "isStopOnQuota",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleEngine"
+} external;
+
+function jIsBandwidthPolicy(handle tierType, handle policyName) returns boolean = @java:Method {
+    name: "isBandwidthPolicy",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleEngine"
+} external;
+
+function jRecordBandwidth(handle tierType, handle policyName, handle throttleKey, int bytes) = @java:Method {
+    name: "recordBandwidth",
+    class: "org.wso2.micro.gateway.core.throttle.ThrottleEngine"
+} external;
+
+function jInitBandwidthAccountant(int queueSize) = @java:Method {
+    name: "init",
+    class: "org.wso2.micro.gateway.core.throttle.BandwidthAccountant"
+} external;
@@ -0,0 +1,71 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerinax/java;
+
+# Creates a size bounded token cache.
+#
+# + capacity - Maximum number of entries held by the cache
+# + expiryTime - Time in milliseconds an entry is kept after it was written
+# + return - Handle to the created cache
+public function newTokenCache(int capacity, int expiryTime) returns handle {
+    return jNewTokenCache(capacity, expiryTime);
+}
+
+# Retrieves an entry from the token cache.
+#
+# + tokenCache - Handle to the token cache
+# + key - Cache key
+# + return - Cached value or `()` if the key is not cached or has expired
+public function getFromTokenCache(handle tokenCache, string key) returns any {
+    return jTokenCacheGet(tokenCache, java:fromString(key));
+}
+
+# Adds or replaces an entry in the token cache.
+#
+# + tokenCache - Handle to the token cache
+# + key - Cache key
+# + value - Value to be cached
+public function putToTokenCache(handle tokenCache, string key, any value) {
+    jTokenCachePut(tokenCache, java:fromString(key), value);
+}
+
+# Removes an entry from the token cache.
+#
+# + tokenCache - Handle to the token cache
+# + key - Cache key
+public function removeFromTokenCache(handle tokenCache, string key) {
+    jTokenCacheRemove(tokenCache, java:fromString(key));
+}
+
+function jNewTokenCache(int capacity, int expiryTime) returns handle = @java:Constructor {
+    class: "org.wso2.micro.gateway.core.cache.TokenCache"
+} external;
+
+function jTokenCacheGet(handle tokenCache, handle key) returns any = @java:Method {
+    name: "get",
+    class: "org.wso2.micro.gateway.core.cache.TokenCache"
+} external;
+
+function jTokenCachePut(handle tokenCache, handle key, any value) = @java:Method {
+    name: "put",
+    class: "org.wso2.micro.gateway.core.cache.TokenCache"
+} external;
+
+function jTokenCacheRemove(handle tokenCache, handle key) = @java:Method {
+    name: "remove",
+    class: "org.wso2.micro.gateway.core.cache.TokenCache"
+} external;
@@ -14,24 +14,58 @@
 // specific language governing permissions and limitations
 // under the License.
 
-map<string> revokedTokenMap ={};
+import ballerinax/java;
 
-public function getRevokedTokenMap() returns map<string>{
+// Revoked tokens written into the map handed out by `getRevokedTokenMap`, e.g. by a persistent revoked token
+// retrieval extension. They are moved to the native store before every revocation check.
+map<string> revokedTokenMap = {};
+
+# Returns the map revoked token retrieval extensions write revoked tokens into. Tokens written into the map are
+# moved to the revoked token store, so the map only holds the tokens which have not been checked against yet.
+#
+# + return - Map of revoked tokens to be added to the revoked token store
+public function getRevokedTokenMap() returns map<string> {
     return revokedTokenMap;
 }
 
-public function addToRevokedTokenMap(map<string> revokedTokens) returns (boolean|()){
-    foreach var [revokedTokenKey,revokedTokenValue] in revokedTokens.entries() {
-        revokedTokenMap[<string>revokedTokenKey]=<string>revokedTokenValue;
+# Adds revoked tokens to the revoked token store. Each token is kept until it expires.
+#
+# + revokedTokens - Map of the jti of each revoked token to its expiry, given either as the remaining time to live
+# in seconds or as the expiry time since the epoch
+# + return - `true` once the tokens are added
+public function addToRevokedTokenMap(map<string> revokedTokens) returns (boolean|()) {
+    foreach var [revokedTokenKey, revokedTokenValue] in revokedTokens.entries() {
+        jAddRevokedToken(java:fromString(revokedTokenKey), java:fromString(revokedTokenValue));
     }
     return true;
 }
 
-public function retrieveFromRevokedTokenMap(string token) returns (boolean|()){
-    foreach var [revokedTokenKey,revokedTokenValue] in revokedTokenMap.entries() {
-        if(token==revokedTokenKey) {
-            return true;
-        }
+# Checks whether the token with the given jti has been revoked.
+#
+# + token - jti of the token
+# + return - `true` if the token is revoked
+public function retrieveFromRevokedTokenMap(string token) returns (boolean|()) {
+    if (revokedTokenMap.length() > 0) {
+        drainRevokedTokenMap();
+    }
+    return jIsRevoked(java:fromString(token));
+}
+
+# Moves the revoked tokens written into the map returned by `getRevokedTokenMap` to the revoked token store.
+public function drainRevokedTokenMap() {
+    lock {
+        _ = addToRevokedTokenMap(revokedTokenMap);
+        revokedTokenMap.removeAll();
     }
-    return false;
 }
+
+function jAddRevokedToken(handle jti, handle ttl) = @java:Method {
+    name: "addRevokedToken",
+    paramTypes: ["java.lang.String", "java.lang.String"],
+    class: "org.wso2.micro.gateway.core.revocation.RevokedTokenStore"
+} external;
+
+function jIsRevoked(handle jti) returns boolean = @java:Method {
+    name: "isRevoked",
+    class: "org.wso2.micro.gateway.core.revocation.RevokedTokenStore"
+} external;
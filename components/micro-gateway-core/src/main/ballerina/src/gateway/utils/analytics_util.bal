@@ -67,7 +67,7 @@ function populateThrottleAnalyticsDTO(http:FilterContext context) returns (Throt
     
     metaInfo["correlationID"] = <string>context.attributes[MESSAGE_ID];
     eventDto.metaClientType = metaInfo.toString();
-    printDebug(KEY_ANALYTICS_FILTER, "Throttle Event DTO : " + eventDto.toString());
+    printDebug(KEY_ANALYTICS_FILTER, "Throttle Event DTO : {}", eventDto);
     return eventDto;
 }
 
@@ -140,6 +140,7 @@ function initializeAnalytics() {
         getAnalyticsEnableConfig();
         if (isAnalyticsEnabled) {
             initStreamPublisher();
+            initAnalyticsEventBuffer();
             printDebug(KEY_ANALYTICS_FILTER, "Analytics is enabled");
             future<()> uploadTask = start timerTask(); // file uploading task
             future<()> rotateTask = start rotatingTask(); // file rotating task
@@ -0,0 +1,48 @@
+// Copyright (c)  WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerina/runtime;
+
+# Records the outcome of a request forwarded within the concurrency limit of an endpoint.
+#
+# + limiter - Handle to the concurrency limiter of the endpoint
+# + permit - Value returned by `acquireConcurrencyPermit`
+# + response - Response of the endpoint, or the error if it could not be reached
+public function completeConcurrencyLimitedRequest(handle limiter, int permit, http:Response|error response) {
+    releaseConcurrencyPermit(limiter, permit, response is http:Response && !isTargetUnavailable(response.statusCode));
+}
+
+# Builds the response sent without contacting the endpoint when its concurrency limit is reached.
+#
+# + endpoint - Name of the endpoint
+# + return - `503 Service Unavailable` response
+public function getConcurrencyLimitExceededResponse(string endpoint) returns http:Response {
+    printDebug(KEY_CONCURRENCY_LIMITER, "Concurrency limit of endpoint {} is reached.", endpoint);
+    runtime:InvocationContext invocationContext = runtime:getInvocationContext();
+    invocationContext.attributes[ERROR_RESPONSE_CODE] = CONCURRENCY_LIMIT_EXCEEDED_ERROR_CODE;
+    invocationContext.attributes[ERROR_RESPONSE] = CONCURRENCY_LIMIT_EXCEEDED_DESCRIPTION;
+    http:Response response = new;
+    response.statusCode = 503;
+    response.setContentType(APPLICATION_JSON);
+    json payload = { fault: {
+        code: CONCURRENCY_LIMIT_EXCEEDED_ERROR_CODE,
+        message: "Service Unavailable",
+        description: CONCURRENCY_LIMIT_EXCEEDED_DESCRIPTION
+    } };
+    response.setJsonPayload(payload);
+    return response;
+}
@@ -0,0 +1,106 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/runtime;
+
+// Replaced as a whole when the configuration file changes. Readers take the reference once and read all the values
+// they need from the same snapshot.
+GatewayConfigSnapshot gatewayConfigSnapshot = buildGatewayConfigSnapshot(false);
+boolean configReloadStarted = false;
+// The secure listener applies the mutual SSL mode only when it starts, hence it is not part of the reloadable snapshot
+// and the filters keep using the value the listener was started with.
+final string mutualSSLVerifyClient = getConfigValue(MTSL_CONF_INSTANCE_ID, MTSL_CONF_SSLVERIFYCLIENT, "");
+
+# Returns the current configuration snapshot. The values of a snapshot never change.
+#
+# + return - Current configuration snapshot
+public function getGatewayConfig() returns GatewayConfigSnapshot {
+    return gatewayConfigSnapshot;
+}
+
+# Starts watching the configuration file and a background strand which swaps in a new configuration snapshot
+# whenever the file changes, so that the values read by the filters can be tuned without a restart.
+public function initConfigReload() {
+    if (!getConfigBooleanValue(CONFIG_RELOAD_INSTANCE_ID, CONFIG_RELOAD_ENABLED, true)) {
+        return;
+    }
+    string configFilePath = retrieveConfig(CONFIG_FILE_PATH, "");
+    if (configFilePath == "") {
+        printDebug(KEY_CONFIG_UTIL, "Configuration file path is not available, configuration reload is disabled");
+        return;
+    }
+    int checkInterval = getConfigIntValue(CONFIG_RELOAD_INSTANCE_ID, CONFIG_RELOAD_CHECK_INTERVAL,
+        DEFAULT_CONFIG_RELOAD_CHECK_INTERVAL);
+    boolean startReload = false;
+    lock {
+        if (!configReloadStarted) {
+            configReloadStarted = true;
+            startReload = true;
+        }
+    }
+    if (startReload && watchConfigFile(configFilePath)) {
+        future<()> reloader = start reloadConfigOnChange(checkInterval > 0 ? checkInterval :
+            DEFAULT_CONFIG_RELOAD_CHECK_INTERVAL);
+        printDebug(KEY_CONFIG_UTIL, "Watching {} for configuration changes", configFilePath);
+    }
+}
+
+function reloadConfigOnChange(int checkInterval) {
+    int loadedVersion = 0;
+    while (true) {
+        runtime:sleep(checkInterval);
+        int version = getConfigFileVersion();
+        if (version != loadedVersion) {
+            gatewayConfigSnapshot = buildGatewayConfigSnapshot(true);
+            loadedVersion = version;
+            printInfo(KEY_CONFIG_UTIL, "Reloaded the gateway configuration");
+        }
+    }
+}
+
+function buildGatewayConfigSnapshot(boolean reloaded) returns GatewayConfigSnapshot {
+    GatewayConfigSnapshot snapshot = {
+        authHeaderName: readConfigValue(reloaded, AUTH_CONF_INSTANCE_ID, AUTH_HEADER_NAME, AUTHORIZATION_HEADER),
+        removeAuthHeaderFromOutMessage: readConfigBooleanValue(reloaded, AUTH_CONF_INSTANCE_ID,
+            REMOVE_AUTH_HEADER_FROM_OUT_MESSAGE, true),
+        authCookie: readConfigValue(reloaded, "", COOKIE_HEADER, ""),
+        jwtHeaderName: readConfigValue(reloaded, JWT_CONFIG_INSTANCE_ID, JWT_HEADER, JWT_HEADER_NAME),
+        tokenCacheEnabled: readConfigBooleanValue(reloaded, CACHING_ID, TOKEN_CACHE_ENABLED, true),
+        timestampSkew: readConfigIntValue(reloaded, KM_CONF_INSTANCE_ID, TIMESTAMP_SKEW, 5000)
+    };
+    return snapshot.cloneReadOnly();
+}
+
+// Values missing from the changed file keep the value the gateway was started with.
+function readConfigValue(boolean reloaded, string instanceId, string property, string defaultValue) returns string {
+    string value = getConfigValue(instanceId, property, defaultValue);
+    return reloaded ? getReloadedConfigValue(getConfigKey(instanceId, property), value) : value;
+}
+
+function readConfigIntValue(boolean reloaded, string instanceId, string property, int defaultValue) returns int {
+    int value = getConfigIntValue(instanceId, property, defaultValue);
+    return reloaded ? getReloadedConfigIntValue(getConfigKey(instanceId, property), value) : value;
+}
+
+function readConfigBooleanValue(boolean reloaded, string instanceId, string property, boolean defaultValue)
+        returns boolean {
+    boolean value = getConfigBooleanValue(instanceId, property, defaultValue);
+    return reloaded ? getReloadedConfigBooleanValue(getConfigKey(instanceId, property), value) : value;
+}
+
+function getConfigKey(string instanceId, string property) returns string {
+    return instanceId == "" ? property : instanceId + "." + property;
+}
@@ -15,15 +15,16 @@
 // under the License.
 
 import ballerina/http;
-import ballerina/task;
 import ballerina/config;
 import ballerina/io;
+import ballerina/runtime;
+import ballerina/time;
 
 map<string> etcdUrls = {};
-map<any> urlChanged = {};
 map<string> defaultUrls ={};
+map<(function ())[]> etcdEndpointRebuilders = {};
 string etcdToken ="";
-boolean etcdPeriodicQueryInitialized = false;
+boolean etcdWatchInitialized = false;
 boolean etcdConnectionEstablished = false;
 boolean etcdConnectionAttempted = false;
 boolean credentialsProvided = false;
@@ -32,67 +33,108 @@ string etcdBasePath = getConfigValue("","etcdbasepath","/v3");
 string etcdKVBasePath = etcdBasePath + "/kv";
 string etcdAuthBasePath = etcdBasePath + "/auth";
 int etcdTriggerTime = config:getAsInt("etcdtimer", DEFAULT_ETCD_TRIGGER_TIME);
-task:TimerConfiguration timerConfiguration = {
-        intervalInMillis: etcdTriggerTime,
-        initialDelayInMillis: 1000
-};
-task:Scheduler timer = new(timerConfiguration);
 
-# Setting up etcd timer task
-public function initiateEtcdTimerTask() {
-    printDebug(KEY_ETCD_UTIL, "initiateEtcdTimerTask Called");
-    int etcdTriggerTime = config:getAsInt("etcdtimer", DEFAULT_ETCD_TRIGGER_TIME);
-    string|error trigTime = etcdTriggerTime.toString();
-    // The Task Timer configuration record to configure the Task Listener.
-
-    var searchResult = timer.attach(etcdService);
-    if (searchResult is error) {
-        printError(KEY_ETCD_UTIL, searchResult.toString());
+# Starts the background strand which follows the etcd watch stream. Endpoint urls are updated and the clients of
+# the affected endpoints are rebuilt by this strand, so that requests only use clients which are ready.
+public function initiateEtcdWatch() {
+    boolean watchStarted = false;
+    lock {
+        if (!etcdWatchInitialized) {
+            etcdWatchInitialized = true;
+            watchStarted = true;
+        }
     }
-    var startResult = timer.start();
-    if (startResult is error) {
-        printError(KEY_ETCD_UTIL, "Starting the etcd service task is failed.");
+    if (!watchStarted) {
+        return;
     }
-    if(trigTime is string){
-        printInfo(KEY_ETCD_UTIL, "Etcd periodic timer task started with a periodic time of " + trigTime + "ms");
+    boolean trustStoreLoaded = initEtcdWatcher(getConfigValue(LISTENER_CONF_INSTANCE_ID, TRUST_STORE_PATH,
+        "${ballerina.home}/bre/security/ballerinaTruststore.p12"),
+        getConfigValue(LISTENER_CONF_INSTANCE_ID, TRUST_STORE_PASSWORD, "ballerina"));
+    if (!trustStoreLoaded) {
+        printWarn(KEY_ETCD_UTIL, "Failed to load the trust store for the etcd watch stream. " +
+            "Connecting to etcd over https may fail.");
     }
+    // when set, the keys under the prefix are watched with a single range watch request
+    setEtcdWatchKeyPrefix(config:getAsString("etcdkeyprefix", ""));
+    future<()> etcdWatchFuture = start watchEtcdKeys();
+    printInfo(KEY_ETCD_UTIL, "Etcd watch started with a reconnect interval of " + etcdTriggerTime.toString() + "ms");
 }
 
-// Creating a service on the task Listener.
-service etcdService = service {
-    resource function onTrigger() {
-     error? onTriggerFunction = etcdTimerTask();
-     if (onTriggerFunction is error) {
-       printError(KEY_ETCD_UTIL, "Error occured while triggering etcd timer task " + onTriggerFunction.toString());
-     }
-    }
-};
-
-# Periodic Etcd Query. Trigger function of etcd timer task
-# + return - ....
-public function etcdTimerTask() returns error? {
-    printDebug(KEY_ETCD_UTIL,"Etcd Periodic Query Initiated");
-    if (etcdUrls.length() > 0) {
-        printDebug(KEY_ETCD_UTIL, "etcdurl map values - start");
-        foreach var [key, value] in etcdUrls.entries() {
-            string currentUrl = <string>value;
-            string fetchedUrl = etcdLookup(<string>key);
-            if (currentUrl != fetchedUrl) {
-                etcdUrls[<string>key] = fetchedUrl;
-                urlChanged[<string>key] = true;
+# Keeps the etcd watch stream open and applies the changes received from it. Whenever the stream is (re)opened,
+# all keys are looked up again as changes made while it was closed are not replayed.
+function watchEtcdKeys() {
+    string watchUrl = config:getAsString("etcdurl", "") + etcdBasePath + "/watch";
+    int lastConnectAttempt = 0;
+    while (true) {
+        int currentTime = time:currentTime().time;
+        if (!isEtcdWatchConnected() && currentTime - lastConnectAttempt >= etcdTriggerTime) {
+            lastConnectAttempt = currentTime;
+            etcdAuthenticate();
+            string token = etcdAuthenticationEnabled ? etcdToken : "";
+            if (etcdConnectionEstablished && connectEtcdWatch(watchUrl, token)) {
+                printDebug(KEY_ETCD_UTIL, "Etcd watch stream opened");
+                foreach string etcdKey in etcdUrls.keys() {
+                    updateEtcdUrl(etcdKey, etcdLookup(etcdKey));
+                }
+            } else {
+                printDebug(KEY_ETCD_UTIL, "Failed to open the etcd watch stream. Retrying in {}ms", etcdTriggerTime);
             }
-            printDebug(KEY_ETCD_UTIL, key + " : " + <string>etcdUrls[<string>key]);
         }
-        printDebug(KEY_ETCD_UTIL, "etcdurl map values - end");
-    } else {
-        printInfo(KEY_ETCD_UTIL, "No Etcd keys provided. Stopping etcd periodic call");
-        var stopResult = timer.stop();
-        if (stopResult is error) {
-            printError(KEY_ETCD_UTIL, "Error while stopping the etcd periodic timer task");
+        string? etcdKey = pollEtcdUpdatedKey();
+        while (etcdKey is string) {
+            string fetchedUrl = getEtcdWatchedValue(etcdKey);
+            updateEtcdUrl(etcdKey, fetchedUrl == "" ? <string>defaultUrls[etcdKey] : fetchedUrl);
+            etcdKey = pollEtcdUpdatedKey();
+        }
+        runtime:sleep(ETCD_WATCH_POLL_INTERVAL);
+    }
+}
+
+# Updates the url of an etcd key and rebuilds the clients of the endpoints resolved from it.
+# + etcdKey - Etcd key
+# + fetchedUrl - Latest endpoint url of the key
+function updateEtcdUrl(string etcdKey, string fetchedUrl) {
+    if (etcdUrls[etcdKey] == fetchedUrl) {
+        return;
+    }
+    etcdUrls[etcdKey] = fetchedUrl;
+    printDebug(KEY_ETCD_UTIL, etcdKey + " : " + fetchedUrl);
+    (function ())[]? rebuilders = etcdEndpointRebuilders[etcdKey];
+    if (rebuilders is (function ())[]) {
+        foreach var rebuildEndpoint in rebuilders {
+            rebuildEndpoint();
         }
+    }
+}
 
+# Registers the function which rebuilds the client of an endpoint when the url of any of its etcd keys changes.
+# + etcdKeys - Etcd keys the endpoint urls are resolved from. Empty keys are ignored.
+# + rebuildEndpoint - Function which creates the new client and replaces the current one
+# + return - `true` once the function is registered
+public function registerEtcdEndpoint(string[] etcdKeys, function () rebuildEndpoint) returns boolean {
+    foreach string etcdKey in etcdKeys {
+        if (etcdKey != "") {
+            (function ())[]? rebuilders = etcdEndpointRebuilders[etcdKey];
+            if (rebuilders is (function ())[]) {
+                rebuilders.push(rebuildEndpoint);
+            } else {
+                etcdEndpointRebuilders[etcdKey] = [rebuildEndpoint];
+            }
+        }
     }
-    return ();
+    return true;
+}
+
+# Resolves the url of an endpoint which is rebuilt after an etcd change.
+# + key - endpoint override key ex : Pizaashack_http_endpoint_0
+# + etcdConfigKey - etcdKey taken as runtime paramate ex: value returned by - Pizaashack_http_0_etcdKey
+# + defaultUrl - endpoint url mentioned in the open API
+# + defaultEtcdKey - etcd key from open API
+# + return - Latest endpoint url known for the etcd key of the endpoint
+public function getEtcdEndpointUrl(string key, string etcdConfigKey, string defaultUrl, string defaultEtcdKey)
+        returns string {
+    string? endpointUrl = etcdUrls[config:getAsString(etcdConfigKey, defaultEtcdKey)];
+    return endpointUrl is string ? endpointUrl : config:getAsString(key, defaultUrl);
 }
 
 # Setting up etcd requirements
@@ -109,15 +151,12 @@ public function etcdSetup(string key, string etcdConfigKey, string defaultUrl, s
         etcdConnectionAttempted = true;
         printDebug(KEY_ETCD_UTIL, "Etcd Connection Attempted");
     }
-    printDebug(KEY_ETCD_UTIL, "Endpoint override key : " + key);
-    printDebug(KEY_ETCD_UTIL, "ETCD config key provided from runtime : " + etcdConfigKey);
-    printDebug(KEY_ETCD_UTIL, "Default url from the open API : " + defaultUrl);
-    printDebug(KEY_ETCD_UTIL, "ETCD key from the open API : " + defaultEtcdKey);
+    printDebug(KEY_ETCD_UTIL, "Endpoint override key : {}", key);
+    printDebug(KEY_ETCD_UTIL, "ETCD config key provided from runtime : {}", etcdConfigKey);
+    printDebug(KEY_ETCD_UTIL, "Default url from the open API : {}", defaultUrl);
+    printDebug(KEY_ETCD_UTIL, "ETCD key from the open API : {}", defaultEtcdKey);
     if (etcdConnectionEstablished) {
-        if (!etcdPeriodicQueryInitialized) {
-            etcdPeriodicQueryInitialized = true;
-            initiateEtcdTimerTask();
-        }
+        initiateEtcdWatch();
         string etcdKey = config:getAsString(etcdConfigKey, "");
         if (etcdKey == "") {
             config:setConfig(etcdConfigKey, defaultEtcdKey);
@@ -128,9 +167,9 @@ public function etcdSetup(string key, string etcdConfigKey, string defaultUrl, s
             endpointUrl = config:getAsString(key, defaultUrl);
         }
         else {
-            printDebug(KEY_ETCD_UTIL, "Etcd Key provided for: " + key);
+            printDebug(KEY_ETCD_UTIL, "Etcd Key provided for: {}", key);
             defaultUrls[etcdKey] = config:getAsString(key, defaultUrl);
-            urlChanged[etcdKey] = false;
+            addEtcdWatchKey(etcdKey);
             etcdUrls[etcdKey] = etcdLookup(etcdKey);
             endpointUrl = <string>etcdUrls[etcdKey];
         }
@@ -138,7 +177,7 @@ public function etcdSetup(string key, string etcdConfigKey, string defaultUrl, s
     else {
         endpointUrl = config:getAsString(key, defaultUrl);
     }
-    printDebug(KEY_ETCD_UTIL, "Resolved endpoint url : " + endpointUrl);
+    printDebug(KEY_ETCD_UTIL, "Resolved endpoint url : {}", endpointUrl);
     return endpointUrl;
 }
 
@@ -179,7 +218,7 @@ public function etcdLookup(string base10EncodedKey) returns @tainted string {
         printDebug(KEY_ETCD_UTIL, "Http Response object obtained");
         var msg = response.getJsonPayload();
         if(msg is json) {
-            printDebug(KEY_ETCD_UTIL, "Etcd lookup response : " + msg.toJsonString());
+            printDebug(KEY_ETCD_UTIL, "Etcd lookup response : {}", msg.toJsonString());
             //map<json>|error message = map<json>.constructFrom(msg);
             if (msg is map<json>) {
                 printDebug(KEY_ETCD_UTIL, "etcd responded with a payload");
@@ -294,10 +333,6 @@ public function isEtcdConnectionEstablished() returns boolean {
     return etcdConnectionEstablished;
 }
 
-public function getUrlChangedMap() returns map<any> {
-    return urlChanged;
-}
-
 public function getEtcdUrlsMap() returns map<string> {
     return etcdUrls;
 }
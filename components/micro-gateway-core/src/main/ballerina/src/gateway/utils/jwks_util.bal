@@ -0,0 +1,98 @@
+// Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerina/runtime;
+
+boolean jwksRefreshStarted = false;
+
+# Starts a background strand which loads the signing keys from the JWKS endpoint configured for the JWT issuer
+# and refreshes them periodically. Tokens are verified against the keys loaded by the last successful refresh, so
+# the endpoint is never called while a request is being authenticated.
+public function initJwksRefresh() {
+    string jwksUrl = getConfigValue(JWT_INSTANCE_ID, JWKS_URL, "");
+    if (jwksUrl == "") {
+        return;
+    }
+    int refreshInterval = getConfigIntValue(JWT_INSTANCE_ID, JWKS_REFRESH_INTERVAL, DEFAULT_JWKS_REFRESH_INTERVAL);
+    boolean startRefresh = false;
+    lock {
+        if (!jwksRefreshStarted) {
+            jwksRefreshStarted = true;
+            startRefresh = true;
+        }
+    }
+    if (startRefresh) {
+        http:Client jwksClient = new (jwksUrl, {
+            cache: { enabled: false },
+            secureSocket: {
+                trustStore: {
+                    path: getConfigValue(LISTENER_CONF_INSTANCE_ID, TRUST_STORE_PATH,
+                        "${ballerina.home}/bre/security/ballerinaTruststore.p12"),
+                    password: getConfigValue(LISTENER_CONF_INSTANCE_ID, TRUST_STORE_PASSWORD, "ballerina")
+                },
+                verifyHostname: getConfigBooleanValue(HTTP_CLIENTS_INSTANCE_ID, ENABLE_HOSTNAME_VERIFICATION, true)
+            }
+        });
+        future<()> refresher = start refreshJwksPeriodically(jwksClient,
+            refreshInterval > 0 ? refreshInterval : DEFAULT_JWKS_REFRESH_INTERVAL);
+        printDebug(KEY_JWKS_UTIL, "JWKS refresh started for {}", jwksUrl);
+    }
+}
+
+function refreshJwksPeriodically(http:Client jwksClient, int refreshInterval) {
+    while (true) {
+        error? result = refreshJwks(jwksClient);
+        if (result is error) {
+            printError(KEY_JWKS_UTIL, "Failed to refresh the JWKS keys : " + result.reason());
+        }
+        runtime:sleep(refreshInterval);
+    }
+}
+
+# Fetches the JWKS and replaces the cached keys with the RSA keys of the response.
+#
+# + jwksClient - Client of the JWKS endpoint
+# + return - Returns an error if the JWKS could not be retrieved
+function refreshJwks(http:Client jwksClient) returns error? {
+    http:Response response = check jwksClient->get("");
+    if (response.statusCode != http:STATUS_OK) {
+        return error("JWKS endpoint responded with status code " + response.statusCode.toString());
+    }
+    json jwks = check response.getJsonPayload();
+    json|error keys = jwks.keys;
+    if (!(keys is json[])) {
+        return error("JWKS response does not contain a key list");
+    }
+    handle jwkSet = newJwkSet();
+    int keyCount = 0;
+    foreach json key in <json[]>keys {
+        json|error kty = key.kty;
+        json|error kid = key.kid;
+        json|error modulus = key.n;
+        json|error exponent = key.e;
+        if (kty is string && kty == "RSA" && kid is string && modulus is string && exponent is string) {
+            error? result = addToJwkSet(jwkSet, kid, modulus, exponent);
+            if (result is error) {
+                printWarn(KEY_JWKS_UTIL, "Ignoring the JWKS key " + kid + " : " + result.reason());
+            } else {
+                keyCount += 1;
+            }
+        }
+    }
+    setJwks(jwkSet);
+    printDebug(KEY_JWKS_UTIL, "Loaded {} keys from the JWKS endpoint", keyCount);
+}
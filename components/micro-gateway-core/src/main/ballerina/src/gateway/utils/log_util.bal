@@ -0,0 +1,148 @@
+// Copyright (c)  WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/config;
+import ballerina/io;
+import ballerina/log;
+
+// Log level of the gateway module, resolved once the same way as the Ballerina log module does, so that disabled
+// log calls return before the message is formatted or the message ID is looked up.
+final int gatewayLogLevel = resolveGatewayLogLevel();
+final boolean asyncLogAppenderEnabled = initiateAsyncLogAppender();
+
+function resolveGatewayLogLevel() returns int {
+    // config is read directly since the config utils log through this module
+    string level = config:getAsString(GATEWAY_MODULE_LOG_LEVEL, config:getAsString(BALLERINA_LOG_LEVEL,
+        LOG_LEVEL_INFO_NAME));
+    match level.toUpperAscii() {
+        "OFF" => { return LOG_LEVEL_OFF; }
+        "ERROR" => { return LOG_LEVEL_ERROR; }
+        "WARN" => { return LOG_LEVEL_WARN; }
+        "DEBUG" => { return LOG_LEVEL_DEBUG; }
+        "TRACE" | "ALL" => { return LOG_LEVEL_TRACE; }
+    }
+    return LOG_LEVEL_INFO;
+}
+
+function initiateAsyncLogAppender() returns boolean {
+    if (!config:getAsBoolean(LOG_CONFIG_INSTANCE_ID + "." + LOG_CONFIG_ASYNC_APPENDER_ENABLED, true)) {
+        return false;
+    }
+    initAsyncLogAppender(config:getAsInt(LOG_CONFIG_INSTANCE_ID + "." + LOG_CONFIG_ASYNC_BUFFER_SIZE,
+        DEFAULT_LOG_ASYNC_BUFFER_SIZE));
+    return true;
+}
+
+# Returns whether debug logs of the gateway module are enabled. Can be used to skip building the arguments of a
+# debug log which are expensive to compute.
+# + return - Whether debug logs are enabled
+public function isDebugEnabled() returns boolean {
+    return gatewayLogLevel >= LOG_LEVEL_DEBUG;
+}
+
+# Add a error log with provided key (class) and message ID.
+# + key - The name of the bal file from which the log is printed.
+# + message - The message to be logged. Each `{}` in the message is replaced with the next argument.
+# + args - Arguments of the message.
+public function printError(string key, string message, any... args) {
+    if (gatewayLogLevel >= LOG_LEVEL_ERROR) {
+        appendLog(LOG_LEVEL_ERROR_NAME, formatLogMessage(key, message, args));
+    }
+}
+
+# Add a debug log with provided key (class) and message ID.
+# + key - The name of the bal file from which the log is printed.
+# + message - The message to be logged. Each `{}` in the message is replaced with the next argument.
+# + args - Arguments of the message.
+public function printDebug(string key, string message, any... args) {
+    if (gatewayLogLevel >= LOG_LEVEL_DEBUG) {
+        log:printDebug(formatLogMessage(key, message, args));
+    }
+}
+
+# Add a warn log with provided key (class) and message ID.
+# + key - The name of the bal file from which the log is printed.
+# + message - The message to be logged. Each `{}` in the message is replaced with the next argument.
+# + args - Arguments of the message.
+public function printWarn(string key, string message, any... args) {
+    if (gatewayLogLevel >= LOG_LEVEL_WARN) {
+        appendLog(LOG_LEVEL_WARN_NAME, formatLogMessage(key, message, args));
+    }
+}
+
+# Add a trace log with provided key (class) and message ID.
+# + key - The name of the bal file from which the log is printed.
+# + message - The message to be logged. Each `{}` in the message is replaced with the next argument.
+# + args - Arguments of the message.
+public function printTrace(string key, string message, any... args) {
+    if (gatewayLogLevel >= LOG_LEVEL_TRACE) {
+        log:printTrace(formatLogMessage(key, message, args));
+    }
+}
+
+# Add a info log with provided key (class) and message ID.
+# + key - The name of the bal file from which the log is printed.
+# + message - The message to be logged. Each `{}` in the message is replaced with the next argument.
+# + args - Arguments of the message.
+public function printInfo(string key, string message, any... args) {
+    if (gatewayLogLevel >= LOG_LEVEL_INFO) {
+        appendLog(LOG_LEVEL_INFO_NAME, formatLogMessage(key, message, args));
+    }
+}
+
+# Add a full error log with provided key (class) and message ID.
+# + key - The name of the bal file from which the log is printed.
+# + message - The message to be logged.
+public function printFullError(string key, error message) {
+    if (gatewayLogLevel >= LOG_LEVEL_ERROR) {
+        // logged synchronously since the stack trace of the error is written by the Ballerina log module
+        log:printError(formatLogMessage(key, message.reason(), []), err = message);
+    }
+}
+
+// Debug and trace logs are written synchronously by the Ballerina log module, the other levels by the asynchronous
+// appender when it is enabled.
+function appendLog(string level, string message) {
+    if (asyncLogAppenderEnabled) {
+        appendAsyncLog(level, message);
+    } else if (level == LOG_LEVEL_ERROR_NAME) {
+        log:printError(message);
+    } else if (level == LOG_LEVEL_WARN_NAME) {
+        log:printWarn(message);
+    } else {
+        log:printInfo(message);
+    }
+}
+
+function formatLogMessage(string key, string message, any[] args) returns string {
+    string formattedMessage = message;
+    if (args.length() > 0) {
+        formattedMessage = "";
+        int startIndex = 0;
+        foreach any arg in args {
+            int? placeholderIndex = message.indexOf(LOG_MESSAGE_PLACEHOLDER, startIndex);
+            if (placeholderIndex is ()) {
+                break;
+            } else {
+                formattedMessage = formattedMessage + message.substring(startIndex, placeholderIndex)
+                    + io:sprintf("%s", arg);
+                startIndex = placeholderIndex + LOG_MESSAGE_PLACEHOLDER.length();
+            }
+        }
+        formattedMessage = formattedMessage + message.substring(startIndex, message.length());
+    }
+    return "[" + key + "] [" + getMessageId() + "] " + formattedMessage;
+}
@@ -0,0 +1,245 @@
+// Copyright (c)  WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/crypto;
+import ballerina/http;
+import ballerina/lang.'int;
+import ballerina/runtime;
+
+// headers which describe the connection to the backend rather than the cached response
+final string[] responseCacheExcludedHeaders = ["connection", "keep-alive", "transfer-encoding", "content-length",
+    "proxy-connection", "upgrade", "te", "trailer"];
+int responseCacheMaxEntrySize = getConfigIntValue(RESPONSE_CACHE_INSTANCE_ID, RESPONSE_CACHE_MAX_ENTRY_SIZE,
+    DEFAULT_RESPONSE_CACHE_MAX_ENTRY_SIZE) * 1024;
+int responseCacheCoalesceTimeout = getConfigIntValue(RESPONSE_CACHE_INSTANCE_ID, RESPONSE_CACHE_COALESCE_TIMEOUT,
+    DEFAULT_RESPONSE_CACHE_COALESCE_TIMEOUT);
+boolean responseCacheInitialized = initiateResponseCache();
+
+function initiateResponseCache() returns boolean {
+    int maxSize = getConfigIntValue(RESPONSE_CACHE_INSTANCE_ID, RESPONSE_CACHE_MAX_SIZE,
+        DEFAULT_RESPONSE_CACHE_MAX_SIZE) * 1024 * 1024;
+    initResponseCache(maxSize, getConfigBooleanValue(RESPONSE_CACHE_INSTANCE_ID, RESPONSE_CACHE_OFF_HEAP, false));
+    return true;
+}
+
+# Builds the response cache key of a request. The key always contains the API, the key type, the method and the
+# resource path of the request. Depending on the scope, keys of secured resources also contain the caller and a hash
+# of its credential, so that a cached response is only served to the caller it was fetched for, or the application
+# of the caller, so that it is served to any user of the same application.
+# + req - Request received by the resource
+# + apiId - Name and version of the API
+# + queryParams - Query parameters included in the key. The whole query string is included when empty
+# + headers - Request headers included in the key
+# + scope - Callers a cached response is served to, `caller`, `application` or `shared`
+# + return - Cache key of the request
+public function getResponseCacheKey(http:Request req, string apiId, string[] queryParams, string[] headers,
+        string scope = RESPONSE_CACHE_SCOPE_CALLER) returns string {
+    runtime:InvocationContext invocationContext = runtime:getInvocationContext();
+    any keyType = invocationContext.attributes[KEY_TYPE_ATTR];
+    string[] pathAndQuery = split(req.rawPath, "\\?");
+    string cacheKey = apiId + "|" + (keyType is string ? keyType : "") + "|" + req.method + "|" + pathAndQuery[0];
+    if (queryParams.length() == 0) {
+        cacheKey = cacheKey + "|" + (pathAndQuery.length() > 1 ? pathAndQuery[1] : "");
+    } else {
+        foreach string queryParam in queryParams {
+            string[]? values = req.getQueryParamValues(queryParam);
+            cacheKey = cacheKey + "|" + queryParam + "=";
+            if (values is string[]) {
+                foreach string value in values {
+                    cacheKey = cacheKey + value + ",";
+                }
+            }
+        }
+    }
+    foreach string header in headers {
+        cacheKey = cacheKey + "|" + (req.hasHeader(header) ? req.getHeader(header) : "");
+    }
+    if (scope != RESPONSE_CACHE_SCOPE_SHARED && isSecuredRequest(invocationContext)) {
+        any authContext = invocationContext.attributes[AUTHENTICATION_CONTEXT];
+        if (authContext is AuthenticationContext && scope == RESPONSE_CACHE_SCOPE_APPLICATION) {
+            cacheKey = cacheKey + "|" + authContext.applicationId;
+        } else if (authContext is AuthenticationContext) {
+            cacheKey = cacheKey + "|" + authContext.username + "|" + authContext.applicationId + "|" +
+                crypto:hashSha256(authContext.apiKey.toBytes()).toBase16();
+        } else {
+            // the caller is unknown, hence the response is cached for the credential it was sent with
+            string authHeaderName = getAuthorizationHeader(invocationContext);
+            string credential = req.hasHeader(authHeaderName) ? req.getHeader(authHeaderName) : "";
+            cacheKey = cacheKey + "|" + crypto:hashSha256(credential.toBytes()).toBase16();
+        }
+    }
+    return cacheKey;
+}
+
+# Looks up the cached response of a request. On a miss the caller either becomes responsible for fetching the
+# response, or waits for the request which is already fetching it. When a stale entry can be revalidated, the
+# conditional headers of the entry are added to the request.
+# + cacheKey - Cache key returned by `getResponseCacheKey`
+# + req - Request received by the resource
+# + return - Cached response, or `()` if the request should be sent to the backend
+public function lookupResponseCache(string cacheKey, http:Request req) returns http:Response? {
+    if (req.method != "GET" && req.method != "HEAD") {
+        return ();
+    }
+    string requestCacheControl = req.hasHeader(CACHE_CONTROL_HEADER) ? req.getHeader(CACHE_CONTROL_HEADER) : "";
+    if (contains(requestCacheControl, "no-store")) {
+        return ();
+    }
+    boolean revalidate = contains(requestCacheControl, "no-cache");
+    runtime:InvocationContext invocationContext = runtime:getInvocationContext();
+    handle? entry = lookupResponseCacheEntry(cacheKey);
+    if (entry is handle && !revalidate && isResponseCacheEntryFresh(entry)) {
+        invocationContext.attributes[RESPONSE_CACHE_HIT] = true;
+        return buildCachedResponse(entry);
+    }
+    if (!acquireResponseCacheKey(cacheKey, responseCacheCoalesceTimeout)) {
+        // woken up as soon as the request fetching the response releases the key
+        if (!awaitResponseCacheKey(cacheKey, responseCacheCoalesceTimeout)) {
+            printDebug(KEY_RESPONSE_CACHE, "Timed out waiting for the concurrent request fetching {}.", cacheKey);
+        }
+        entry = lookupResponseCacheEntry(cacheKey);
+        if (entry is handle && isResponseCacheEntryFresh(entry)) {
+            invocationContext.attributes[RESPONSE_CACHE_HIT] = true;
+            return buildCachedResponse(entry);
+        }
+        printDebug(KEY_RESPONSE_CACHE, "Response of {} was not cached by the concurrent request.", cacheKey);
+        return ();
+    }
+    invocationContext.attributes[RESPONSE_CACHE_FETCHING] = cacheKey;
+    if (entry is handle && !req.hasHeader(IF_NONE_MATCH_HEADER) && !req.hasHeader(IF_MODIFIED_SINCE_HEADER)) {
+        string eTag = getResponseCacheEntryHeader(entry, ETAG_HEADER);
+        string lastModified = getResponseCacheEntryHeader(entry, LAST_MODIFIED_HEADER);
+        if (eTag != "") {
+            req.setHeader(IF_NONE_MATCH_HEADER, eTag);
+        }
+        if (lastModified != "") {
+            req.setHeader(IF_MODIFIED_SINCE_HEADER, lastModified);
+        }
+        invocationContext.attributes[RESPONSE_CACHE_REVALIDATED_ENTRY] = entry;
+    }
+    return ();
+}
+
+# Caches the backend response of a request which missed the cache, and releases the key so that waiting requests
+# can use the cached response. A `304 Not Modified` response to a revalidation is replaced by the cached response.
+# + cacheKey - Cache key returned by `getResponseCacheKey`
+# + backendResponse - Response received from the backend
+# + maxAgeInSeconds - Time a response is cached for, unless the backend allows a shorter time
+# + scope - Scope the cache key was built for
+# + return - Response to be sent to the client
+public function cacheBackendResponse(string cacheKey, http:Response|error backendResponse, int maxAgeInSeconds,
+        string scope = RESPONSE_CACHE_SCOPE_CALLER) returns http:Response|error {
+    runtime:InvocationContext invocationContext = runtime:getInvocationContext();
+    if (!(invocationContext.attributes[RESPONSE_CACHE_FETCHING] is string)) {
+        return backendResponse;
+    }
+    http:Response|error clientResponse = backendResponse;
+    if (backendResponse is http:Response) {
+        int maxAge = getCacheableMaxAge(backendResponse, maxAgeInSeconds * 1000, scope,
+            isSecuredRequest(invocationContext));
+        any revalidatedEntry = invocationContext.attributes[RESPONSE_CACHE_REVALIDATED_ENTRY];
+        if (backendResponse.statusCode == 304 && revalidatedEntry is handle) {
+            refreshResponseCacheEntry(revalidatedEntry, maxAge > 0 ? maxAge : maxAgeInSeconds * 1000);
+            invocationContext.attributes[RESPONSE_CACHE_HIT] = true;
+            clientResponse = buildCachedResponse(revalidatedEntry);
+        } else if (maxAge > 0) {
+            storeResponse(cacheKey, backendResponse, maxAge);
+        }
+    }
+    releaseFetchedResponseCacheKey();
+    return clientResponse;
+}
+
+# Releases the cache key the request is fetching the response of, if any. Called once the response is sent, so that
+# the key is released even if the request failed before its response was cached.
+public function releaseFetchedResponseCacheKey() {
+    runtime:InvocationContext invocationContext = runtime:getInvocationContext();
+    any fetching = invocationContext.attributes[RESPONSE_CACHE_FETCHING];
+    if (fetching is string) {
+        releaseResponseCacheKey(fetching);
+        _ = invocationContext.attributes.remove(RESPONSE_CACHE_FETCHING);
+    }
+}
+
+function storeResponse(string cacheKey, http:Response response, int maxAge) {
+    if (response.hasHeader(CONTENT_LENGHT_HEADER)) {
+        int|error contentLength = 'int:fromString(response.getHeader(CONTENT_LENGHT_HEADER));
+        if (contentLength is int && contentLength > responseCacheMaxEntrySize) {
+            return;
+        }
+    }
+    byte[]|error body = response.getBinaryPayload();
+    if (body is error || body.length() > responseCacheMaxEntrySize) {
+        return;
+    }
+    handle entry = newResponseCacheEntry(response.statusCode, <byte[]>body, maxAge);
+    foreach string headerName in response.getHeaderNames() {
+        if (responseCacheExcludedHeaders.indexOf(headerName.toLowerAscii()) is ()) {
+            foreach string value in response.getHeaders(headerName) {
+                addResponseCacheEntryHeader(entry, headerName, value);
+            }
+        }
+    }
+    putResponseCacheEntry(cacheKey, entry);
+    printDebug(KEY_RESPONSE_CACHE, "Response of {} cached for {}ms.", cacheKey, maxAge);
+}
+
+# Returns the time a backend response may be cached for, honouring the Cache-Control directives of the response.
+# A `private` response is only cached when the cache key identifies the caller, i.e. for the `caller` scope of secured
+# requests, and a response to a secured request is only shared with every caller when it is marked `public`.
+# + response - Response received from the backend
+# + maxAge - Configured cache time in milliseconds
+# + scope - Scope of the cache key of the request
+# + secured - Whether the request was authenticated
+# + return - Cache time in milliseconds, or `-1` if the response must not be cached
+function getCacheableMaxAge(http:Response response, int maxAge, string scope, boolean secured) returns int {
+    if ((response.statusCode != 200 && response.statusCode != 203) || response.hasHeader("Set-Cookie")) {
+        return -1;
+    }
+    if (response.hasHeader("Vary") && contains(response.getHeader("Vary"), "*")) {
+        return -1;
+    }
+    boolean publicRequired = secured && scope == RESPONSE_CACHE_SCOPE_SHARED;
+    if (!response.hasHeader(CACHE_CONTROL_HEADER)) {
+        return publicRequired ? -1 : maxAge;
+    }
+    int cacheableMaxAge = maxAge;
+    boolean isPublic = false;
+    foreach string directive in split(response.getHeader(CACHE_CONTROL_HEADER).toLowerAscii(), ",") {
+        string trimmedDirective = directive.trim();
+        if (trimmedDirective == "no-store" || trimmedDirective == "no-cache") {
+            return -1;
+        }
+        if (trimmedDirective == "private" && (!secured || scope != RESPONSE_CACHE_SCOPE_CALLER)) {
+            return -1;
+        }
+        if (trimmedDirective == "public" || hasPrefix(trimmedDirective, "s-maxage=")) {
+            isPublic = true;
+        }
+        if (hasPrefix(trimmedDirective, "max-age=") || hasPrefix(trimmedDirective, "s-maxage=")) {
+            int|error seconds = 'int:fromString(split(trimmedDirective, "=")[1]);
+            if (seconds is int && seconds * 1000 < cacheableMaxAge) {
+                cacheableMaxAge = seconds * 1000;
+            }
+        }
+    }
+    return publicRequired && !isPublic ? -1 : cacheableMaxAge;
+}
+
+function isSecuredRequest(runtime:InvocationContext invocationContext) returns boolean {
+    any isSecured = invocationContext.attributes[IS_SECURED];
+    return isSecured is boolean && isSecured;
+}
@@ -14,11 +14,9 @@
 // specific language governing permissions and limitations
 // under the License.
 
-import ballerina/time;
+import ballerina/runtime;
 
 map<string> blockConditions = {};
-map<any> throttleDataMap = {};
-stream<RequestStreamDTO> requestStream = new;
 stream<GlobalThrottleStreamDTO> globalThrottleStream = new;
 boolean isStreamsInitialized = false;
 //future<()> ftr = start initializeThrottleSubscription();
@@ -48,44 +46,109 @@ public function putBlockCondition(map<any> m) {
     }
 }
 
-//check whether throttle event is in the local map(request is throttled or not)
+//check whether throttle event is in the local decision store(request is throttled or not)
 public function isRequestThrottled(string key) returns [boolean, boolean] {
-    printDebug(KEY_THROTTLE_UTIL, "throttle data map : " + throttleDataMap.toString());
-    printDebug(KEY_THROTTLE_UTIL, "throttle data key : " + key);
-    boolean isThrottled = throttleDataMap.hasKey(key);
-    if (isThrottled) {
-        int currentTime = time:currentTime().time;
-        GlobalThrottleStreamDTO dto = <GlobalThrottleStreamDTO>throttleDataMap[key];
-        int timeStamp = dto.expiryTimeStamp;
-        boolean stopOnQuota = dto.stopOnQuota;
-        if (enabledGlobalTMEventPublishing == true) {
-            stopOnQuota = true;
-        }
-        if (timeStamp >= currentTime) {
-            return [isThrottled, stopOnQuota];
-        } else {
-            var value = throttleDataMap.remove(key);
-            return [false, stopOnQuota];
-        }
+    printDebug(KEY_THROTTLE_UTIL, "throttle data key : {}", key);
+    if (!isThrottleDecisionActive(key)) {
+        return [false, false];
     }
-    return [isThrottled, false];
+    return [true, enabledGlobalTMEventPublishing || isThrottleDecisionStopOnQuota(key)];
 }
 
 public function publishNonThrottleEvent(RequestStreamDTO throttleEvent) {
     //Publish throttle event to traffic manager
     if (enabledGlobalTMEventPublishing == true) {
         publishThrottleEventToTrafficManager(throttleEvent);
-        printDebug(KEY_THROTTLE_UTIL, "Throttle out event is sent to the traffic manager.");
+        printDebug(KEY_THROTTLE_UTIL, "Throttle event is queued to be sent to the traffic manager.");
     }
-    //Publish throttle event to internal policies
-    else {
-        requestStream.publish(throttleEvent);
-        printDebug(KEY_THROTTLE_UTIL, "Request stream : " + requestStream.toString());
-        printDebug(KEY_THROTTLE_UTIL, "Throttle out event is sent to the queue.");
+    //the counters of the internal policies are updated as the policies are checked
+}
+
+//record the bytes transferred by the request against the bandwidth policies of the internal throttle engine. The
+//counters are updated asynchronously, hence a quota exceeded by this request throttles the following requests.
+public function publishBandwidthUsage(RequestStreamDTO throttleEvent, int bytes) {
+    if (enabledGlobalTMEventPublishing || bytes <= 0) {
+        return;
+    }
+    recordBandwidthUsage(RESOURCE_TIER_TYPE, throttleEvent.resourceTier, throttleEvent.resourceKey, bytes);
+    recordBandwidthUsage(SUBSCRIPTION_TIER_TYPE, throttleEvent.subscriptionTier, throttleEvent.subscriptionKey, bytes);
+    recordBandwidthUsage(APPLICATION_TIER_TYPE, throttleEvent.appTier, throttleEvent.appKey, bytes);
+    printDebug(KEY_THROTTLE_UTIL, "Bandwidth usage of {} bytes is recorded in the local throttle engine.", bytes);
+}
+
+//check whether any of the policies of the throttle event limits the bytes transferred by the request.
+public function hasBandwidthPolicy(RequestStreamDTO throttleEvent) returns boolean {
+    return isBandwidthThrottlePolicy(RESOURCE_TIER_TYPE, throttleEvent.resourceTier) ||
+        isBandwidthThrottlePolicy(SUBSCRIPTION_TIER_TYPE, throttleEvent.subscriptionTier) ||
+        isBandwidthThrottlePolicy(APPLICATION_TIER_TYPE, throttleEvent.appTier);
+}
+
+//check whether the request is throttled by the given policy. Internal policies are evaluated inline by the local
+//throttle engine, which also counts the request against the policy, while decisions of the traffic manager are read
+//from the local map. The policies which counted the request are kept, so that the count can be released if the
+//request is rejected afterwards.
+public function isRequestThrottledByPolicy(string tierType, string policyName, string key) returns [boolean, boolean] {
+    if (enabledGlobalTMEventPublishing) {
+        return isRequestThrottled(key);
+    }
+    printDebug(KEY_THROTTLE_UTIL, "throttle policy : {}, throttle key : {}", policyName, key);
+    if (acquireThrottleQuota(tierType, policyName, key)) {
+        boolean stopOnQuota = isThrottlePolicyStopOnQuota(tierType, policyName);
+        if (!stopOnQuota) {
+            //requests over the quota are still counted unless the policy stops on quota reach
+            addAcquiredThrottleQuota(tierType, policyName, key);
+        }
+        return [true, stopOnQuota];
+    }
+    addAcquiredThrottleQuota(tierType, policyName, key);
+    return [false, false];
+}
+
+//release the count of the request from the internal policies it was counted against, as the request is rejected.
+//Only admitted requests are counted, hence a request rejected by the subscription or application policy does not use
+//the quota of the policies checked before.
+public function releaseAcquiredThrottleQuota() {
+    runtime:InvocationContext invocationContext = runtime:getInvocationContext();
+    any acquired = invocationContext.attributes[ACQUIRED_THROTTLE_QUOTA];
+    if (acquired is [string, string, string][]) {
+        foreach var [tierType, policyName, key] in acquired {
+            releaseThrottleQuota(tierType, policyName, key);
+        }
+        _ = invocationContext.attributes.remove(ACQUIRED_THROTTLE_QUOTA);
+    }
+}
+
+function addAcquiredThrottleQuota(string tierType, string policyName, string key) {
+    runtime:InvocationContext invocationContext = runtime:getInvocationContext();
+    any acquired = invocationContext.attributes[ACQUIRED_THROTTLE_QUOTA];
+    if (acquired is [string, string, string][]) {
+        acquired.push([tierType, policyName, key]);
+    } else {
+        [string, string, string][] quotas = [[tierType, policyName, key]];
+        invocationContext.attributes[ACQUIRED_THROTTLE_QUOTA] = quotas;
     }
 }
 
 public function initializeThrottleSubscription() {
+    initThrottleDecisionStore(getConfigIntValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_DECISION_STORE_CAPACITY,
+        DEFAULT_THROTTLE_DECISION_STORE_CAPACITY));
+    initSpikeArrestLimiter(getConfigIntValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_SPIKE_ARREST_CAPACITY,
+        DEFAULT_THROTTLE_SPIKE_ARREST_CAPACITY));
+    initBandwidthAccounting(getConfigIntValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_BANDWIDTH_ACCOUNTING_QUEUE_SIZE,
+        DEFAULT_THROTTLE_BANDWIDTH_ACCOUNTING_QUEUE_SIZE));
+    // unauthenticated requests are throttled per client IP, which can take any number of distinct values
+    if (getConfigBooleanValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_UNAUTHENTICATED_APPROXIMATE_COUNTING, false)) {
+        setApproximateThrottleCounting(UNAUTHENTICATED_TIER,
+            getConfigIntValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_APPROXIMATE_COUNTER_WIDTH,
+                DEFAULT_THROTTLE_APPROXIMATE_COUNTER_WIDTH),
+            getConfigIntValue(THROTTLE_CONF_INSTANCE_ID, THROTTLE_HEAVY_HITTER_CAPACITY,
+                DEFAULT_THROTTLE_HEAVY_HITTER_CAPACITY));
+        printDebug(KEY_THROTTLE_UTIL, "Approximate request counting is enabled for the {} policy.",
+            UNAUTHENTICATED_TIER);
+    }
+    if (enabledGlobalTMEventPublishing) {
+        initThrottleEventPublisher();
+    }
     globalThrottleStream.subscribe(onReceiveThrottleEvent);
     isStreamsInitialized = true;
     printDebug(KEY_THROTTLE_UTIL, "Successfully subscribed global throttle stream.");
@@ -95,13 +158,13 @@ public function initializeThrottleSubscription() {
     //return ftr;
 //}
 public function onReceiveThrottleEvent(GlobalThrottleStreamDTO throttleEvent) {
-    printDebug(KEY_THROTTLE_UTIL, "Event GlobalThrottleStream: throttleKey: " + throttleEvent.throttleKey + 
-            " ,isThrottled:" + throttleEvent.isThrottled.toString() + ",expiryTimeStamp:" + throttleEvent.expiryTimeStamp.toString());
+    printDebug(KEY_THROTTLE_UTIL, "Event GlobalThrottleStream: throttleKey: {} ,isThrottled:{},expiryTimeStamp:{}",
+        throttleEvent.throttleKey, throttleEvent.isThrottled, throttleEvent.expiryTimeStamp);
     if (throttleEvent.isThrottled){
-        throttleDataMap[throttleEvent.throttleKey] = throttleEvent;
+        putThrottleData(throttleEvent);
     }
     else {
-        _ = throttleDataMap.remove(throttleEvent.throttleKey);
+        removeThrottleData(throttleEvent.throttleKey);
     }
 }
 
@@ -128,10 +191,10 @@ public function getEventFromThrottleData(ThrottleAnalyticsEventDTO dto) returns
 }
 
 public function putThrottleData(GlobalThrottleStreamDTO throttleEvent) {
-    throttleDataMap[throttleEvent.throttleKey] = throttleEvent;
+    putThrottleDecision(throttleEvent.throttleKey, throttleEvent.stopOnQuota, throttleEvent.expiryTimeStamp);
 }
 public function removeThrottleData(string key) {
-    _ = throttleDataMap.remove(key);
+    removeThrottleDecision(key);
 }
 
 //check whether the throttle policy is available if in built throttling is used
@@ -142,10 +205,6 @@ public function isPolicyExist(map<boolean> deployedPolicies, string policyName)
     return true;
 }
 
-public function getRequestStream() returns stream<RequestStreamDTO> {
-    return requestStream;
-}
-
 public function getGlobalThrottleStream() returns stream<GlobalThrottleStreamDTO> {
     return globalThrottleStream;
 }
@@ -34,20 +34,58 @@ map<http:HttpServiceConfig?> serviceAnnotationMap = {};
 map<TierConfiguration?> resourceTierAnnotationMap = {};
 map<APIConfiguration?> apiConfigAnnotationMap = {};
 map<ResourceConfiguration?> resourceConfigAnnotationMap = {};
+map<ResourceRoute> resourceRouteMap = {};
 
 public function populateAnnotationMaps(string serviceName, service s, string[] resourceArray) {
+    serviceAnnotationMap[serviceName] = <http:HttpServiceConfig?>reflect:getServiceAnnotations(s, SERVICE_ANN_NAME, ANN_PACKAGE);
+    APIConfiguration? apiConfig = <APIConfiguration?>reflect:getServiceAnnotations(s, API_ANN_NAME, GATEWAY_ANN_PACKAGE);
+    apiConfigAnnotationMap[serviceName] = apiConfig;
+    string apiVersion = (apiConfig is APIConfiguration) ? apiConfig.apiVersion : "";
     foreach string resourceFunction in resourceArray {
         resourceAnnotationMap[resourceFunction] = <http:HttpResourceConfig?>reflect:getResourceAnnotations(s, resourceFunction, RESOURCE_ANN_NAME, ANN_PACKAGE);
-        resourceTierAnnotationMap[resourceFunction] = <TierConfiguration?>reflect:getResourceAnnotations(s, resourceFunction, RESOURCE_TIER_ANN_NAME, GATEWAY_ANN_PACKAGE);
+        TierConfiguration? tier = <TierConfiguration?>reflect:getResourceAnnotations(s, resourceFunction, RESOURCE_TIER_ANN_NAME, GATEWAY_ANN_PACKAGE);
+        resourceTierAnnotationMap[resourceFunction] = tier;
         resourceConfigAnnotationMap[resourceFunction] = <ResourceConfiguration?>reflect:getResourceAnnotations(s, resourceFunction, RESOURCE_CONFIGURATION_ANN_NAME, GATEWAY_ANN_PACKAGE);
+        string resourceKey = replaceAll(resourceFunction, "_", "");
+        resourceRouteMap[resourceFunction] = {
+            resourceKey: resourceKey,
+            resourceThrottleKey: resourceKey + ":" + apiVersion,
+            resourcePolicy: (tier is TierConfiguration) ? tier.policy : ()
+        };
     }
-    serviceAnnotationMap[serviceName] = <http:HttpServiceConfig?>reflect:getServiceAnnotations(s, SERVICE_ANN_NAME, ANN_PACKAGE);
-    apiConfigAnnotationMap[serviceName] = <APIConfiguration?>reflect:getServiceAnnotations(s, API_ANN_NAME, GATEWAY_ANN_PACKAGE);
-    printDebug(KEY_UTILS, "Service annotation map: " + serviceAnnotationMap.toString());
-    printDebug(KEY_UTILS, "Resource annotation map: " + resourceAnnotationMap.toString());
-    printDebug(KEY_UTILS, "API config annotation map: " + apiConfigAnnotationMap.toString());
-    printDebug(KEY_UTILS, "Resource tier annotation map: " + resourceTierAnnotationMap.toString());
-    printDebug(KEY_UTILS, "Resource Configuration annotation map: " + resourceConfigAnnotationMap.toString());
+    printDebug(KEY_UTILS, "Service annotation map: {}", serviceAnnotationMap);
+    printDebug(KEY_UTILS, "Resource annotation map: {}", resourceAnnotationMap);
+    printDebug(KEY_UTILS, "API config annotation map: {}", apiConfigAnnotationMap);
+    printDebug(KEY_UTILS, "Resource tier annotation map: {}", resourceTierAnnotationMap);
+    printDebug(KEY_UTILS, "Resource Configuration annotation map: {}", resourceConfigAnnotationMap);
+}
+
+# Returns the details of the resource derived when the service was registered.
+# + resourceName - name of the resource function
+# + return - resource details
+public function getResourceRoute(string resourceName) returns ResourceRoute {
+    ResourceRoute? route = resourceRouteMap[resourceName];
+    if (route is ResourceRoute) {
+        return route;
+    }
+    // resources which are not registered through populateAnnotationMaps
+    string resourceKey = replaceAll(resourceName, "_", "");
+    return {resourceKey: resourceKey, resourceThrottleKey: resourceKey + ":"};
+}
+
+# Returns the part of the request path after the API base path, which is appended to the backend url.
+# + rawPath - raw path of the request
+# + basePath - base path of the API
+# + return - request path relative to the base path, starting with "/"
+public function getUrlPostfix(string rawPath, string basePath) returns string {
+    string urlPostfix = rawPath;
+    if (hasPrefix(rawPath, basePath)) {
+        urlPostfix = rawPath.substring(basePath.length(), rawPath.length());
+    }
+    if (!hasPrefix(urlPostfix, PATH_SEPERATOR)) {
+        urlPostfix = PATH_SEPERATOR + urlPostfix;
+    }
+    return urlPostfix;
 }
 
 # Retrieve the key validation request dto from filter context.
@@ -58,8 +96,8 @@ public function getKeyValidationRequestObject(runtime:InvocationContext context,
     APIRequestMetaDataDto apiKeyValidationRequest = {};
     string serviceName = runtime:getInvocationContext().attributes[http:SERVICE_NAME].toString();
     string resourceName = runtime:getInvocationContext().attributes[http:RESOURCE_NAME].toString();
-    printDebug(KEY_UTILS, "Service Name : " + serviceName);
-    printDebug(KEY_UTILS, "Resource Name : " + resourceName);
+    printDebug(KEY_UTILS, "Service Name : {}", serviceName);
+    printDebug(KEY_UTILS, "Resource Name : {}", resourceName);
     http:HttpServiceConfig httpServiceConfig =  <http:HttpServiceConfig>serviceAnnotationMap[serviceName];
     http:HttpResourceConfig? httpResourceConfig = resourceAnnotationMap[resourceName];
     io:println(httpServiceConfig);
@@ -86,9 +124,8 @@ public function getKeyValidationRequestObject(runtime:InvocationContext context,
     apiKeyValidationRequest.clientDomain = "*";
     
     apiKeyValidationRequest.accessToken = accessToken;
-    printDebug(KEY_UTILS, "Created request meta-data object with context: " + apiContext
-            + ", resource: " + apiKeyValidationRequest.matchingResource
-            + ", verb: " + apiKeyValidationRequest.httpVerb);
+    printDebug(KEY_UTILS, "Created request meta-data object with context: {}, resource: {}, verb: {}",
+        apiContext, apiKeyValidationRequest.matchingResource, apiKeyValidationRequest.httpVerb);
     return apiKeyValidationRequest;
 
 }
@@ -110,7 +147,7 @@ public function isAccessTokenExpired(APIKeyValidationDto apiKeyValidationDto) re
     if (issueTime is string ) {
         issuedTime = 'int:fromString(issueTime);
     }
-    int timestampSkew = getConfigIntValue(KM_CONF_INSTANCE_ID, TIMESTAMP_SKEW, 5000);
+    int timestampSkew = getGatewayConfig().timestampSkew;
     int currentTime = time:currentTime().time;
     int intMaxValue = 9223372036854775807;
     if (!(validityPeriod is int) || !(issuedTime is int)) {
@@ -150,6 +187,40 @@ public function getClientIp(http:Request request, http:Caller caller) returns (s
     return clientIp;
 }
 
+//returns the payload size of the request from the Content-Length header. Chunked payloads are not built in order to
+//get the size, hence counted as 0.
+public function getRequestSize(http:Request request) returns int {
+    if (request.hasHeader(CONTENT_LENGHT_HEADER)) {
+        var requestSize = 'int:fromString(request.getHeader(CONTENT_LENGHT_HEADER));
+        if (requestSize is int) {
+            return requestSize;
+        }
+    }
+    return 0;
+}
+
+//returns the payload size of the response from the Content-Length header. Chunked payloads are not built in order to
+//get the size, hence counted as 0.
+public function getResponseSize(http:Response response) returns int {
+    if (response.hasHeader(CONTENT_LENGHT_HEADER)) {
+        var responseSize = 'int:fromString(response.getHeader(CONTENT_LENGHT_HEADER));
+        if (responseSize is int) {
+            return responseSize;
+        }
+    }
+    return 0;
+}
+
+//checks whether the request payload is sent in chunks, in which case its size is not known without reading it.
+public function isChunkedRequest(http:Request request) returns boolean {
+    return !request.hasHeader(CONTENT_LENGHT_HEADER) && request.hasHeader(TRANSFER_ENCODING_HEADER);
+}
+
+//checks whether the response payload is sent in chunks, in which case its size is not known without reading it.
+public function isChunkedResponse(http:Response response) returns boolean {
+    return !response.hasHeader(CONTENT_LENGHT_HEADER) && response.hasHeader(TRANSFER_ENCODING_HEADER);
+}
+
 public function extractAccessToken(http:Request req, string authHeaderName) returns (string|error) {
     string authHeader = req.getHeader(authHeaderName);
     string[] authHeaderComponents = split(authHeader, " ");
@@ -267,6 +338,9 @@ public function sendErrorResponse(http:Caller caller, http:Request request, http
     http:Response response = new;
     response.statusCode = <int>context.attributes[HTTP_STATUS_CODE];
     response.setContentType(APPLICATION_JSON);
+    if (context.attributes.hasKey(RETRY_AFTER)) {
+        response.setHeader(RETRY_AFTER_HEADER, context.attributes[RETRY_AFTER].toString());
+    }
     json payload = { fault: {
         code: errorCode,
         message: errorMesssage,
@@ -305,7 +379,7 @@ public function getAuthorizationHeader(runtime:InvocationContext context) return
         authHeader = annotatedHeadeName;
     }
     if (authHeader == "") {
-        authHeader = getConfigValue(AUTH_CONF_INSTANCE_ID, AUTH_HEADER_NAME, AUTHORIZATION_HEADER);
+        authHeader = getGatewayConfig().authHeaderName;
     }
     return authHeader;
 
@@ -320,7 +394,7 @@ public function getAuthHeaderFromFilterContext(http:FilterContext context) retur
         authHeader = annotatedHeadeName;
     }
     if (authHeader == "") {
-        authHeader = getConfigValue(AUTH_CONF_INSTANCE_ID, AUTH_HEADER_NAME, AUTHORIZATION_HEADER);
+        authHeader = getGatewayConfig().authHeaderName;
     }
     return authHeader;
 }
@@ -391,56 +465,26 @@ public function getMessageId() returns string {
     }
 }
 
-# Add a error log with provided key (class) and message ID.
-# + key - The name of the bal file from which the log is printed.
-# + message - The message to be logged.
-public function printError(string key, string message) {
-    log:printError(io:sprintf("[%s] [%s] %s", key, getMessageId(), message));
-}
-
-# Add a debug log with provided key (class) and message ID.
-# + key - The name of the bal file from which the log is printed.
-# + message - The message to be logged.
-public function printDebug(string key, string message) {
-    log:printDebug(function() returns string {
-            return io:sprintf("[%s] [%s] %s",  key, getMessageId(), message); });
-}
-
-# Add a warn log with provided key (class) and message ID.
-# + key - The name of the bal file from which the log is printed.
-# + message - The message to be logged.
-public function printWarn(string key, string message) {
-    log:printWarn(function() returns string {
-            return io:sprintf("[%s] [%s] %s",  key, getMessageId(), message); });
-}
-
-# Add a trace log with provided key (class) and message ID.
-# + key - The name of the bal file from which the log is printed.
-# + message - The message to be logged.
-public function printTrace(string key, string message) {
-    log:printTrace(function() returns string {
-            return io:sprintf("[%s] [%s] %s",  key, getMessageId(), message); });
-}
-
-# Add a info log with provided key (class) and message ID.
-# + key - The name of the bal file from which the log is printed.
-# + message - The message to be logged.
-public function printInfo(string key, string message) {
-    log:printInfo(io:sprintf("[%s] [%s] %s", key, getMessageId(), message));
-}
-
-# Add a full error log with provided key (class) and message ID.
-# + key - The name of the bal file from which the log is printed.
-# + message - The message to be logged.
-public function printFullError(string key, error message) {
-    log:printError(io:sprintf("[%s] [%s] %s", key, getMessageId(), message.reason()), err = message);
-}
+// stage names of the filter latencies in the gateway metrics
+final map<string> filterLatencyStages = {
+    "SECURITY_LATENCY_AUTHN": "authentication",
+    "SECURITY_LATENCY_AUTHZ": "authorization",
+    "SECURITY_LATENCY_AUTHZ_RESPONSE": "authorization_response",
+    "SECURITY_LATENCY_SUBS": "subscription",
+    "SECURITY_LATENCY_VALIDATION": "validation",
+    "THROTTLE_LATENCY": "throttling"
+};
 
+# Sets the time spent in a filter in milliseconds to the filter context, and records it in the gateway metrics.
+# + starting - Time the filter started, as returned by `getCurrentNanoTime`
+# + context - Filter context of the request
+# + latencyType - Filter context attribute the latency is set to
 public function setLatency(int starting, http:FilterContext context, string latencyType) {
-    int ending = getCurrentTime();
-    context.attributes[latencyType] = ending - starting;
-    int latency = ending - starting;
-    printDebug(KEY_THROTTLE_FILTER, "Throttling latency: " + latency.toString() + "ms");
+    int latency = (getCurrentNanoTime() - starting) / 1000000;
+    context.attributes[latencyType] = latency;
+    string? stage = filterLatencyStages[latencyType];
+    recordFilterLatency(stage is string ? stage : latencyType, context.getServiceName(), starting);
+    printDebug(KEY_UTILS, "{}: {}ms", latencyType, latency);
 }
 
 # Check MESSAGE_ID in context and set if it is not.
@@ -451,8 +495,12 @@ public function checkOrSetMessageID(http:FilterContext context) {
     }
 }
 
+# Removes the `Expect: 100-continue` header of the request. The header is left as it is for streaming resources, so
+# that the continue handshake takes place with the backend the payload is passed through to.
+# + request - Request received by the gateway
 public function checkExpectHeaderPresent(http:Request request) {
-    if (request.expects100Continue()) {
+    if (request.expects100Continue() && !isStreamingResource(runtime:getInvocationContext().attributes[
+            http:RESOURCE_NAME].toString())) {
         request.removeHeader(EXPECT_HEADER);
         printDebug(KEY_UTILS, "Expect header is removed from the request");
 
@@ -542,7 +590,7 @@ function isServiceResourceSecured(http:ServiceResourceAuth? serviceResourceAuth)
 }
 
 public function getAuthProviders(string serviceName, string resourceName) returns string[] {
-    printDebug(KEY_UTILS, "Service name provided to retrieve auth configuration  : " + serviceName);
+    printDebug(KEY_UTILS, "Service name provided to retrieve auth configuration  : {}", serviceName);
     string[] authProviders = [];
     ResourceConfiguration? resourceConfig = resourceConfigAnnotationMap[resourceName];
     if(resourceConfig is ResourceConfiguration) {
@@ -558,6 +606,14 @@ public function getAuthProviders(string serviceName, string resourceName) return
     return authProviders;
 }
 
+# Returns whether the payloads of the resource are passed through without being read at the gateway.
+# + resourceName - name of the resource function
+# + return - `true` if the resource is configured with `streaming: true`
+public function isStreamingResource(string resourceName) returns boolean {
+    ResourceConfiguration? resourceConfig = resourceConfigAnnotationMap[resourceName];
+    return resourceConfig is ResourceConfiguration && resourceConfig.streaming;
+}
+
 # Log and prepare `error` as a `Error`.
 #
 # + message - Error message
@@ -42,4 +42,6 @@ public class Constants {
     public static final String ERROR_MESSAGE = "message";
 
     public static final String FILE_NOT_FOUND_ERROR = "{wso2/gateway}FileNotFoundError";
+
+    public static final String JWT_VALIDATION_ERROR = "{wso2/gateway}JwtValidationError";
 }
@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.cache;
+
+/**
+ * Count-min sketch of 4 bit counters used to estimate how often a key has been accessed recently.
+ * <p>
+ * All counters are halved once the number of recorded accesses reaches ten times the sample size, so the
+ * estimate favours recent popularity. Updates are not atomic; a lost increment under contention only affects
+ * the accuracy of cache admission decisions.
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    public FrequencySketch(long maximumSize) {
+        int size = 1;
+        while (size < Math.min(maximumSize, 1 << 30)) {
+            size <<= 1;
+        }
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = (int) Math.min(10L * size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of recent accesses of the given hash, capped at 15.
+     *
+     * @param hashCode hash code of the key
+     * @return estimated access frequency
+     */
+    public int frequency(int hashCode) {
+        int start = (spread(hashCode) & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hashCode, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of the given hash.
+     *
+     * @param hashCode hash code of the key
+     */
+    public void increment(int hashCode) {
+        int start = (spread(hashCode) & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hashCode, i), start + i);
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = additions >>> 1;
+    }
+
+    private int indexOf(int hashCode, int depth) {
+        long hash = (hashCode + SEEDS[depth]) * SEEDS[depth];
+        hash += hash >>> 32;
+        return ((int) hash) & tableMask;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode;
+        h = ((h >>> 16) ^ h) * 0x45d9f3b;
+        h = ((h >>> 16) ^ h) * 0x45d9f3b;
+        return (h >>> 16) ^ h;
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.cache;
+
+import org.ballerinalang.jvm.values.ArrayValue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory bounded store of backend responses served by the gateway response cache.
+ * <p>
+ * Entries are kept in lock striped LRU segments which share the memory budget equally. Bodies are kept on or off
+ * the heap, as configured. Stale entries which carry an ETag or a Last-Modified date are kept until evicted so
+ * that they can be revalidated with the backend instead of being fetched again. The store also tracks the keys
+ * whose backend response is being fetched, so that concurrent misses of a key wait for a single backend call and are
+ * woken up as soon as the key is released.
+ */
+public class ResponseCache {
+
+    private static final int SEGMENT_COUNT = 16;
+    // approximate size of an entry excluding its key, headers and body
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private static volatile Segment[] segments = newSegments(64L * 1024 * 1024);
+    private static volatile boolean offHeap;
+    // lease of each key being fetched, after the deadline of which the key is free to be fetched again
+    private static final ConcurrentMap<String, Lease> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private ResponseCache() {
+    }
+
+    /**
+     * Replaces the store with an empty one of the given size.
+     *
+     * @param maxSize         memory budget in bytes
+     * @param offHeapStorage  whether response bodies are kept in direct buffers
+     */
+    public static void init(long maxSize, boolean offHeapStorage) {
+        offHeap = offHeapStorage;
+        segments = newSegments(maxSize);
+    }
+
+    /**
+     * Returns the entry of a key, fresh or stale. Stale entries without validators are removed and not returned.
+     *
+     * @param key cache key
+     * @return cached entry, or null if there is no usable entry
+     */
+    public static Object lookup(String key) {
+        Entry entry = segmentFor(key).get(key, System.currentTimeMillis());
+        if (entry != null && entry.isFresh()) {
+            HITS.incrementAndGet();
+        } else {
+            MISSES.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Marks a key as being fetched from the backend. The mark is leased, so that a request which fails to release
+     * it does not keep later requests waiting for a response which is never cached.
+     *
+     * @param key         cache key
+     * @param leaseMillis time after which the mark expires if it is not released
+     * @return true if the caller should fetch the response, false if another request is already fetching it
+     */
+    public static boolean acquire(String key, long leaseMillis) {
+        long now = System.currentTimeMillis();
+        Lease lease = new Lease(now + Math.max(1, leaseMillis));
+        while (true) {
+            Lease current = IN_FLIGHT.putIfAbsent(key, lease);
+            if (current == null) {
+                return true;
+            }
+            if (current.deadline > now) {
+                return false;
+            }
+            if (IN_FLIGHT.replace(key, current, lease)) {
+                current.end();
+                return true;
+            }
+        }
+    }
+
+    public static boolean isInFlight(String key) {
+        Lease lease = IN_FLIGHT.get(key);
+        return lease != null && lease.deadline > System.currentTimeMillis();
+    }
+
+    /**
+     * Waits for the request fetching the response of a key to release the key, so that the response it cached can
+     * be looked up. Returns as soon as the key is released, its lease expires or the timeout elapses.
+     *
+     * @param key           cache key
+     * @param timeoutMillis maximum time to wait
+     * @return true if the key is not being fetched anymore
+     */
+    public static boolean await(String key, long timeoutMillis) {
+        Lease lease = IN_FLIGHT.get(key);
+        if (lease == null) {
+            return true;
+        }
+        long waitMillis = Math.min(timeoutMillis, lease.deadline - System.currentTimeMillis());
+        try {
+            if (waitMillis > 0 && lease.released.await(waitMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !isInFlight(key);
+    }
+
+    /**
+     * Clears the mark set by {@link #acquire(String, long)}, whether or not the response was cached.
+     *
+     * @param key cache key
+     */
+    public static void release(String key) {
+        Lease lease = IN_FLIGHT.remove(key);
+        if (lease != null) {
+            lease.end();
+        }
+    }
+
+    /**
+     * Creates an entry to be populated with headers and stored with {@link #put(String, Object)}.
+     *
+     * @param statusCode status code of the response
+     * @param body       response body
+     * @param maxAge     time in milliseconds the entry is fresh for
+     * @return new entry
+     */
+    public static Object newEntry(long statusCode, ArrayValue body, long maxAge) {
+        byte[] bytes = body.getBytes();
+        ByteBuffer buffer;
+        if (offHeap) {
+            buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes);
+            buffer.flip();
+        } else {
+            buffer = ByteBuffer.wrap(bytes);
+        }
+        return new Entry((int) statusCode, buffer, maxAge);
+    }
+
+    public static void addHeader(Object entry, String name, String value) {
+        ((Entry) entry).headers.add(new String[]{name, value});
+    }
+
+    /**
+     * Stores an entry, evicting the least recently used entries of its segment if needed. Entries larger than a
+     * segment are not stored.
+     *
+     * @param key   cache key
+     * @param entry entry created by {@link #newEntry(long, ArrayValue, long)}
+     */
+    public static void put(String key, Object entry) {
+        segmentFor(key).put(key, (Entry) entry);
+    }
+
+    /**
+     * Extends the freshness of an entry after the backend confirmed that it is still valid.
+     *
+     * @param entry  cached entry
+     * @param maxAge time in milliseconds the entry is fresh for
+     */
+    public static void refresh(Object entry, long maxAge) {
+        ((Entry) entry).expiryTime = System.currentTimeMillis() + maxAge;
+    }
+
+    public static boolean isFresh(Object entry) {
+        return ((Entry) entry).isFresh();
+    }
+
+    public static long getStatusCode(Object entry) {
+        return ((Entry) entry).statusCode;
+    }
+
+    public static ArrayValue getBody(Object entry) {
+        ByteBuffer body = ((Entry) entry).body.duplicate();
+        byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        return new ArrayValue(bytes);
+    }
+
+    public static long getHeaderCount(Object entry) {
+        return ((Entry) entry).headers.size();
+    }
+
+    public static String getHeaderName(Object entry, long index) {
+        return ((Entry) entry).headers.get((int) index)[0];
+    }
+
+    public static String getHeaderValue(Object entry, long index) {
+        return ((Entry) entry).headers.get((int) index)[1];
+    }
+
+    /**
+     * Returns the first value of a header of an entry.
+     *
+     * @param entry cached entry
+     * @param name  header name, case insensitive
+     * @return header value, or an empty string if the header is not present
+     */
+    public static String getHeader(Object entry, String name) {
+        for (String[] header : ((Entry) entry).headers) {
+            if (header[0].equalsIgnoreCase(name)) {
+                return header[1];
+            }
+        }
+        return "";
+    }
+
+    public static long getHitCount() {
+        return HITS.get();
+    }
+
+    public static long getMissCount() {
+        return MISSES.get();
+    }
+
+    public static long getEvictionCount() {
+        return EVICTIONS.get();
+    }
+
+    public static long getSize() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public static long getUsedBytes() {
+        long usedBytes = 0;
+        for (Segment segment : segments) {
+            usedBytes += segment.usedBytes();
+        }
+        return usedBytes;
+    }
+
+    private static Segment[] newSegments(long maxSize) {
+        Segment[] newSegments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            newSegments[i] = new Segment(Math.max(0, maxSize / SEGMENT_COUNT));
+        }
+        return newSegments;
+    }
+
+    private static Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        Segment[] current = segments;
+        return current[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * Mark of a key being fetched, which requests waiting for the response of the key are parked on.
+     */
+    private static final class Lease {
+
+        private final long deadline;
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        Lease(long deadline) {
+            this.deadline = deadline;
+        }
+
+        void end() {
+            released.countDown();
+        }
+    }
+
+    /**
+     * A cached response.
+     */
+    private static final class Entry {
+
+        private final int statusCode;
+        private final ByteBuffer body;
+        private final List<String[]> headers = new ArrayList<>();
+        private volatile long expiryTime;
+        private long weight;
+
+        Entry(int statusCode, ByteBuffer body, long maxAge) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.expiryTime = System.currentTimeMillis() + maxAge;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expiryTime;
+        }
+
+        boolean isRevalidatable() {
+            for (String[] header : headers) {
+                if ("ETag".equalsIgnoreCase(header[0]) || "Last-Modified".equalsIgnoreCase(header[0])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long weigh(String key) {
+            long size = ENTRY_OVERHEAD + 2L * key.length() + body.capacity();
+            for (String[] header : headers) {
+                size += 2L * (header[0].length() + header[1].length());
+            }
+            return size;
+        }
+    }
+
+    /**
+     * An LRU map of entries with its own share of the memory budget.
+     */
+    private static final class Segment {
+
+        private final long maxBytes;
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long usedBytes;
+
+        Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized Entry get(String key, long now) {
+            Entry entry = entries.get(key);
+            if (entry != null && now >= entry.expiryTime && !entry.isRevalidatable()) {
+                remove(key);
+                return null;
+            }
+            return entry;
+        }
+
+        synchronized void put(String key, Entry entry) {
+            entry.weight = entry.weigh(key);
+            if (entry.weight > maxBytes) {
+                return;
+            }
+            remove(key);
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (usedBytes + entry.weight > maxBytes && iterator.hasNext()) {
+                usedBytes -= iterator.next().getValue().weight;
+                iterator.remove();
+                EVICTIONS.incrementAndGet();
+            }
+            entries.put(key, entry);
+            usedBytes += entry.weight;
+        }
+
+        synchronized long size() {
+            return entries.size();
+        }
+
+        synchronized long usedBytes() {
+            return usedBytes;
+        }
+
+        private void remove(String key) {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                usedBytes -= removed.weight;
+            }
+        }
+    }
+}
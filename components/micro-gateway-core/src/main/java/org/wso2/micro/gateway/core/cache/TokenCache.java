@@ -0,0 +1,169 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Size bounded concurrent cache used for key validation results.
+ * <p>
+ * Reads are lock free lookups in a {@link ConcurrentHashMap}. Once the cache is full, victims are selected in
+ * CLOCK order (entries read since the last sweep get a second chance) and a new entry is only admitted if it has
+ * been requested more often than the victim according to a {@link FrequencySketch}, which keeps one off tokens
+ * from flushing popular ones out of the cache. Entries expire a fixed time after they were written.
+ */
+public class TokenCache {
+
+    private static final int MAX_EVICTION_SCAN = 64;
+
+    private final ConcurrentHashMap<String, CacheEntry> entries;
+    private final ConcurrentLinkedQueue<CacheEntry> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger clockSize = new AtomicInteger();
+    private final FrequencySketch sketch;
+    private final int capacity;
+    private final long expiryTime;
+
+    public TokenCache(long capacity, long expiryTime) {
+        if (capacity <= 0 || expiryTime <= 0) {
+            throw new IllegalArgumentException("Cache capacity and expiry time should be positive values");
+        }
+        this.capacity = (int) Math.min(capacity, Integer.MAX_VALUE);
+        this.expiryTime = expiryTime;
+        this.entries = new ConcurrentHashMap<>(Math.min(this.capacity, 1 << 16));
+        this.sketch = new FrequencySketch(this.capacity);
+    }
+
+    /**
+     * Returns the cached value of the key, or {@code null} if the key is not cached or has expired.
+     *
+     * @param key cache key
+     * @return cached value
+     */
+    public Object get(String key) {
+        sketch.increment(key.hashCode());
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        entry.referenced = true;
+        return entry.value;
+    }
+
+    /**
+     * Adds or replaces the value of the key.
+     *
+     * @param key   cache key
+     * @param value value to be cached
+     */
+    public void put(String key, Object value) {
+        sketch.increment(key.hashCode());
+        long expiry = System.currentTimeMillis() + expiryTime;
+        CacheEntry existing = entries.get(key);
+        if (existing != null) {
+            existing.update(value, expiry);
+            return;
+        }
+        CacheEntry entry = new CacheEntry(key, value, expiry);
+        existing = entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            existing.update(value, expiry);
+            return;
+        }
+        clock.offer(entry);
+        clockSize.incrementAndGet();
+        evict(entry);
+    }
+
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(CacheEntry candidate) {
+        long now = System.currentTimeMillis();
+        int scanned = 0;
+        while ((entries.size() > capacity || clockSize.get() > 2 * capacity) && scanned++ < MAX_EVICTION_SCAN) {
+            CacheEntry victim = clock.poll();
+            if (victim == null) {
+                return;
+            }
+            clockSize.decrementAndGet();
+            if (entries.get(victim.key) != victim) {
+                // removed or replaced after it was queued
+                continue;
+            }
+            if (victim.isExpired(now)) {
+                entries.remove(victim.key, victim);
+                continue;
+            }
+            if (victim == candidate || victim.referenced) {
+                victim.referenced = false;
+                requeue(victim);
+                continue;
+            }
+            if (sketch.frequency(candidate.key.hashCode()) < sketch.frequency(victim.key.hashCode())) {
+                requeue(victim);
+                entries.remove(candidate.key, candidate);
+                return;
+            }
+            entries.remove(victim.key, victim);
+        }
+    }
+
+    private void requeue(CacheEntry entry) {
+        clock.offer(entry);
+        clockSize.incrementAndGet();
+    }
+
+    /**
+     * Cache entry along with its expiry time and the CLOCK reference bit.
+     */
+    private static final class CacheEntry {
+
+        private final String key;
+        private volatile Object value;
+        private volatile long expiry;
+        private volatile boolean referenced;
+
+        CacheEntry(String key, Object value, long expiry) {
+            this.key = key;
+            this.value = value;
+            this.expiry = expiry;
+        }
+
+        void update(Object value, long expiry) {
+            this.value = value;
+            this.expiry = expiry;
+            this.referenced = true;
+        }
+
+        boolean isExpired(long now) {
+            return now > expiry;
+        }
+    }
+}
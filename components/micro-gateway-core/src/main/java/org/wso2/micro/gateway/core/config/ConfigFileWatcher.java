@@ -0,0 +1,208 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watches the gateway configuration file and keeps the values of its latest content.
+ * <p>
+ * A daemon thread re-reads the file whenever it is modified and publishes the parsed values as a whole together
+ * with a new version number. The gateway polls the version and rebuilds its configuration snapshot from these
+ * values when it changes. Only the subset of TOML used by the gateway configuration is understood: tables,
+ * dotted table names and string, integer, float and boolean values. Other values are ignored.
+ */
+public class ConfigFileWatcher {
+
+    private static final long SETTLE_TIME = 200;
+    private static final AtomicLong VERSION = new AtomicLong();
+    private static volatile Map<String, Object> values = Collections.emptyMap();
+    private static Thread watcherThread;
+
+    private ConfigFileWatcher() {
+    }
+
+    /**
+     * Starts watching the configuration file. Subsequent calls are ignored.
+     *
+     * @param configFilePath path of the configuration file
+     * @return true if the watcher was started by this call
+     */
+    public static synchronized boolean start(String configFilePath) {
+        if (watcherThread != null) {
+            return false;
+        }
+        Path configFile = Paths.get(configFilePath).toAbsolutePath();
+        Path directory = configFile.getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return false;
+        }
+        WatchService watchService;
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            return false;
+        }
+        watcherThread = new Thread(() -> watch(watchService, configFile), "config-file-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        return true;
+    }
+
+    /**
+     * Version of the values, incremented each time the configuration file is read after a change.
+     *
+     * @return 0 if the file has not changed since the gateway started
+     */
+    public static long getVersion() {
+        return VERSION.get();
+    }
+
+    public static String getString(String key, String defaultValue) {
+        Object value = values.get(key);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    public static long getInt(String key, long defaultValue) {
+        Object value = values.get(key);
+        return value instanceof Long ? (Long) value : defaultValue;
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        Object value = values.get(key);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    private static void watch(WatchService watchService, Path configFile) {
+        try {
+            WatchKey key = watchService.take();
+            while (true) {
+                boolean changed = isConfigFileChanged(key, configFile);
+                // editors write the file in several steps, wait until it has settled before reading it
+                WatchKey nextKey = watchService.poll(SETTLE_TIME, TimeUnit.MILLISECONDS);
+                while (changed && nextKey != null) {
+                    isConfigFileChanged(nextKey, configFile);
+                    nextKey = watchService.poll(SETTLE_TIME, TimeUnit.MILLISECONDS);
+                }
+                if (changed) {
+                    reload(configFile);
+                }
+                key = nextKey != null ? nextKey : watchService.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // the watcher is stopped along with the gateway
+        }
+    }
+
+    private static boolean isConfigFileChanged(WatchKey key, Path configFile) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (configFile.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private static void reload(Path configFile) {
+        try {
+            values = parse(Files.readAllLines(configFile, StandardCharsets.UTF_8));
+            VERSION.incrementAndGet();
+        } catch (IOException e) {
+            // the file can be unreadable while it is being replaced, the next modification triggers a reload
+        }
+    }
+
+    static Map<String, Object> parse(List<String> lines) {
+        Map<String, Object> parsed = new HashMap<>();
+        String table = "";
+        for (String rawLine : lines) {
+            String line = stripComment(rawLine).trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.startsWith("[")) {
+                int end = line.indexOf(']');
+                table = end > 0 ? line.substring(1, end).replace("[", "").trim() : table;
+                continue;
+            }
+            int separator = line.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            String key = line.substring(0, separator).trim();
+            Object value = parseValue(line.substring(separator + 1).trim());
+            if (value != null) {
+                parsed.put(table.isEmpty() ? key : table + "." + key, value);
+            }
+        }
+        return parsed;
+    }
+
+    private static Object parseValue(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1).replace("\\\"", "\"").replace("\\\\", "\\");
+        }
+        if ("true".equals(value) || "false".equals(value)) {
+            return Boolean.valueOf(value);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static String stripComment(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"' && (i == 0 || line.charAt(i - 1) != '\\')) {
+                quoted = !quoted;
+            } else if (c == '#' && !quoted) {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.etcd;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManagerFactory;
+
+/**
+ * Subscribes to the etcd v3 watch stream and keeps the latest value of the keys the gateway resolves endpoint
+ * urls from.
+ * <p>
+ * Only the registered keys are watched, so that the gateway needs read access to nothing else and does not
+ * receive the changes of unrelated keys. When a key prefix is configured, a single watch request covers the keys
+ * under the prefix, and each registered key outside of it gets a watch request of its own. Each watch request is
+ * kept open on a daemon thread. Events of registered keys update the local cache and queue the key, and the
+ * gateway drains the queue from a background strand to rebuild the clients of the affected endpoints. When any of
+ * the streams fails or reports an error, all of them are closed. The streams are not reopened by this class: the
+ * gateway checks {@link #isConnected()}, re-authenticates and calls {@link #connect(String, String)} again,
+ * followed by a full lookup of the keys to recover events missed while disconnected.
+ */
+public class EtcdWatcher {
+
+    private static final String KV_MEMBER = "\"kv\"";
+    private static final String DELETE_EVENT = "\"DELETE\"";
+
+    private static final Set<String> WATCHED_KEYS = ConcurrentHashMap.newKeySet();
+    private static final Map<String, String> VALUES = new ConcurrentHashMap<>();
+    private static final ConcurrentLinkedQueue<String> UPDATED_KEYS = new ConcurrentLinkedQueue<>();
+    private static volatile SSLSocketFactory socketFactory;
+    private static volatile String keyPrefix = "";
+    private static volatile boolean connected;
+    private static List<HttpURLConnection> connections = Collections.emptyList();
+
+    private EtcdWatcher() {
+    }
+
+    /**
+     * Loads the trust store used to verify the etcd server when it is accessed over https.
+     *
+     * @param trustStorePath     path of the PKCS12 or JKS trust store
+     * @param trustStorePassword password of the trust store
+     * @return false if the trust store could not be loaded
+     */
+    public static boolean init(String trustStorePath, String trustStorePassword) {
+        String path = trustStorePath.replace("${ballerina.home}", System.getProperty("ballerina.home", ""));
+        try (InputStream inputStream = Files.newInputStream(Paths.get(path))) {
+            KeyStore trustStore = KeyStore.getInstance(path.endsWith(".jks") ? "JKS" : "PKCS12");
+            trustStore.load(inputStream, trustStorePassword.toCharArray());
+            TrustManagerFactory trustManagerFactory =
+                    TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init(trustStore);
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, trustManagerFactory.getTrustManagers(), null);
+            socketFactory = sslContext.getSocketFactory();
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sets the prefix of the keys watched with a single range watch request. Should be called before the streams
+     * are opened.
+     *
+     * @param prefix key prefix, or an empty string to watch each key separately
+     */
+    public static void setKeyPrefix(String prefix) {
+        keyPrefix = prefix;
+    }
+
+    /**
+     * Registers a key whose changes should be reported. If the streams are open and the key is not covered by
+     * them, they are closed so that the gateway reopens them including the key.
+     *
+     * @param key etcd key
+     */
+    public static void addKey(String key) {
+        if (WATCHED_KEYS.add(key) && !isCoveredByPrefix(key)) {
+            disconnect(null);
+        }
+    }
+
+    /**
+     * Opens the watch streams unless they are already open.
+     *
+     * @param watchUrl url of the etcd watch service, e.g. {@code http://127.0.0.1:2379/v3/watch}
+     * @param token    etcd authentication token, empty if authentication is disabled
+     * @return true if the streams were opened by this call
+     */
+    public static synchronized boolean connect(String watchUrl, String token) {
+        if (connected) {
+            return false;
+        }
+        List<String> watchRequests = getWatchRequests();
+        if (watchRequests.isEmpty()) {
+            return false;
+        }
+        List<HttpURLConnection> opened = new ArrayList<>();
+        for (String watchRequest : watchRequests) {
+            HttpURLConnection connection = openStream(watchUrl, token, watchRequest);
+            if (connection == null) {
+                opened.forEach(HttpURLConnection::disconnect);
+                return false;
+            }
+            opened.add(connection);
+        }
+        connections = opened;
+        connected = true;
+        for (HttpURLConnection connection : opened) {
+            Thread watchThread = new Thread(() -> readEvents(opened, connection), "etcd-watcher");
+            watchThread.setDaemon(true);
+            watchThread.start();
+        }
+        return true;
+    }
+
+    public static boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Returns the next key whose value changed since it was last returned.
+     *
+     * @return changed key, or null if there are no pending changes
+     */
+    public static String pollUpdatedKey() {
+        return UPDATED_KEYS.poll();
+    }
+
+    /**
+     * Returns the latest value of a key received from the watch stream.
+     *
+     * @param key etcd key
+     * @return value of the key, or an empty string if the key was deleted or no event was received for it
+     */
+    public static String getValue(String key) {
+        return VALUES.getOrDefault(key, "");
+    }
+
+    private static HttpURLConnection openStream(String watchUrl, String token, String watchRequest) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(watchUrl).openConnection();
+            if (connection instanceof HttpsURLConnection && socketFactory != null) {
+                ((HttpsURLConnection) connection).setSSLSocketFactory(socketFactory);
+            }
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setReadTimeout(0);
+            connection.setRequestProperty("Content-Type", "application/json");
+            if (!token.isEmpty()) {
+                connection.setRequestProperty("Authorization", token);
+            }
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(watchRequest.getBytes(StandardCharsets.UTF_8));
+            }
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                connection.disconnect();
+                return null;
+            }
+            return connection;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Builds a watch request for the range of the key prefix, if any, and one for each registered key outside of
+     * it.
+     */
+    static List<String> getWatchRequests() {
+        List<String> watchRequests = new ArrayList<>();
+        String prefix = keyPrefix;
+        if (!prefix.isEmpty()) {
+            watchRequests.add(getWatchRequest(prefix.getBytes(StandardCharsets.UTF_8),
+                    getPrefixRangeEnd(prefix.getBytes(StandardCharsets.UTF_8))));
+        }
+        for (String key : new TreeSet<>(WATCHED_KEYS)) {
+            if (!isCoveredByPrefix(key)) {
+                watchRequests.add(getWatchRequest(key.getBytes(StandardCharsets.UTF_8), null));
+            }
+        }
+        return watchRequests;
+    }
+
+    private static String getWatchRequest(byte[] key, byte[] rangeEnd) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return "{\"create_request\":{\"key\":\"" + encoder.encodeToString(key) + "\""
+                + (rangeEnd == null ? "" : ",\"range_end\":\"" + encoder.encodeToString(rangeEnd) + "\"") + "}}";
+    }
+
+    /**
+     * Returns the end of the range of keys starting with the prefix. The last byte of the prefix which is below 0xff
+     * is incremented, and the bytes after it are dropped.
+     */
+    static byte[] getPrefixRangeEnd(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xff) {
+                byte[] rangeEnd = Arrays.copyOf(prefix, i + 1);
+                rangeEnd[i]++;
+                return rangeEnd;
+            }
+        }
+        // every key is greater than or equal to a prefix of 0xff bytes only
+        return new byte[]{0};
+    }
+
+    private static boolean isCoveredByPrefix(String key) {
+        String prefix = keyPrefix;
+        return !prefix.isEmpty() && key.startsWith(prefix);
+    }
+
+    private static void readEvents(List<HttpURLConnection> streams, HttpURLConnection connection) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            String response;
+            while ((response = reader.readLine()) != null) {
+                if (!processWatchResponse(response)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // the gateway reconnects once it notices the stream is closed
+        } finally {
+            disconnect(streams);
+        }
+    }
+
+    /**
+     * Closes the open streams, so that the gateway reopens them.
+     *
+     * @param streams streams to be closed, or null to close the current ones. Streams which have already been
+     *                replaced are left alone.
+     */
+    private static synchronized void disconnect(List<HttpURLConnection> streams) {
+        if (streams != null && streams != connections) {
+            return;
+        }
+        connected = false;
+        connections.forEach(HttpURLConnection::disconnect);
+        connections = Collections.emptyList();
+    }
+
+    /**
+     * Applies the events of a single watch response. Events are read without a JSON parser: each {@code kv}
+     * object of the response belongs to an event, and the event type, when present, precedes it.
+     *
+     * @return false if the response reports an error, after which the stream should be closed
+     */
+    static boolean processWatchResponse(String response) {
+        if (response.contains("\"error\"")) {
+            // typically an expired token, the stream is closed and reopened with a new token
+            return false;
+        }
+        int eventStart = 0;
+        int kvIndex = response.indexOf(KV_MEMBER);
+        while (kvIndex >= 0) {
+            int kvEnd = response.indexOf('}', kvIndex);
+            if (kvEnd < 0) {
+                return true;
+            }
+            String kv = response.substring(kvIndex, kvEnd);
+            boolean deleted = response.substring(eventStart, kvIndex).contains(DELETE_EVENT);
+            String encodedKey = getStringMember(kv, "key");
+            if (encodedKey != null) {
+                String key = decode(encodedKey);
+                if (WATCHED_KEYS.contains(key)) {
+                    String encodedValue = getStringMember(kv, "value");
+                    String value = deleted || encodedValue == null ? "" : decode(encodedValue);
+                    if (!value.equals(VALUES.put(key, value))) {
+                        UPDATED_KEYS.add(key);
+                    }
+                }
+            }
+            eventStart = kvEnd;
+            kvIndex = response.indexOf(KV_MEMBER, kvEnd);
+        }
+        return true;
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+    private static String getStringMember(String json, String name) {
+        String quotedName = '"' + name + '"';
+        int index = json.indexOf(quotedName);
+        if (index < 0) {
+            return null;
+        }
+        int valueStart = json.indexOf('"', json.indexOf(':', index + quotedName.length()) + 1);
+        int valueEnd = valueStart < 0 ? -1 : json.indexOf('"', valueStart + 1);
+        return valueEnd < 0 ? null : json.substring(valueStart + 1, valueEnd);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.jwt;
+
+import org.wso2.micro.gateway.core.Constants;
+import org.wso2.micro.gateway.core.utils.ErrorUtils;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RSA public keys read from a JWKS response, keyed by their key id. A key set is built by a single strand and
+ * published to the {@link JwtVerifier} once complete.
+ */
+public class JwkSet {
+
+    private final Map<String, PublicKey> keys = new HashMap<>();
+
+    /**
+     * Adds an RSA key.
+     *
+     * @param keyId    key id ({@code kid}) of the key
+     * @param modulus  base64url encoded modulus ({@code n}) of the key
+     * @param exponent base64url encoded public exponent ({@code e}) of the key
+     * @return null if the key was added
+     */
+    public Object add(String keyId, String modulus, String exponent) {
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            RSAPublicKeySpec keySpec = new RSAPublicKeySpec(new BigInteger(1, decoder.decode(modulus)),
+                    new BigInteger(1, decoder.decode(exponent)));
+            keys.put(keyId, KeyFactory.getInstance("RSA").generatePublic(keySpec));
+            return null;
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            throw ErrorUtils.getBallerinaError(Constants.JWT_VALIDATION_ERROR, e);
+        }
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    Map<String, PublicKey> getKeys() {
+        return keys;
+    }
+}
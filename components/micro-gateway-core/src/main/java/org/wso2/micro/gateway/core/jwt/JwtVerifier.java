@@ -0,0 +1,181 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.jwt;
+
+import org.wso2.micro.gateway.core.Constants;
+import org.wso2.micro.gateway.core.utils.ErrorUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.cert.Certificate;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifies the signature of self contained JWTs against public keys which are parsed once and kept in memory.
+ * <p>
+ * The certificate configured for the issuer is loaded from the trust store when the gateway starts and the keys
+ * published by a JWKS endpoint are swapped in as a whole whenever the key set is refreshed, so verifying a token never
+ * reads the trust store or calls the JWKS endpoint. The {@code kid} header of the token is only resolved against the
+ * JWKS keys; any other token is verified with the configured certificate. The other certificates of the trust store
+ * are never used, as a token must not be able to pick the certificate it is trusted by.
+ */
+public class JwtVerifier {
+
+    private static final Map<String, String> SIGNATURE_ALGORITHMS = new HashMap<>();
+    private static final ThreadLocal<Map<String, Signature>> SIGNATURES = ThreadLocal.withInitial(HashMap::new);
+
+    private static volatile Map<String, PublicKey> jwksKeys = Collections.emptyMap();
+    private static volatile PublicKey defaultKey;
+
+    static {
+        SIGNATURE_ALGORITHMS.put("RS256", "SHA256withRSA");
+        SIGNATURE_ALGORITHMS.put("RS384", "SHA384withRSA");
+        SIGNATURE_ALGORITHMS.put("RS512", "SHA512withRSA");
+    }
+
+    private JwtVerifier() {
+    }
+
+    /**
+     * Loads the public key of the certificate configured for the issuer from the trust store.
+     *
+     * @param trustStorePath     path of the PKCS12 or JKS trust store
+     * @param trustStorePassword password of the trust store
+     * @param certificateAlias   alias of the certificate used when a token does not name a JWKS key
+     * @return null if the keys were loaded
+     */
+    public static Object loadTrustStore(String trustStorePath, String trustStorePassword, String certificateAlias) {
+        String type = trustStorePath.endsWith(".jks") ? "JKS" : "PKCS12";
+        try (InputStream inputStream = Files.newInputStream(Paths.get(trustStorePath))) {
+            KeyStore trustStore = KeyStore.getInstance(type);
+            trustStore.load(inputStream, trustStorePassword.toCharArray());
+            Certificate certificate = trustStore.getCertificate(certificateAlias);
+            if (certificate == null) {
+                throw ErrorUtils.getBallerinaError(Constants.JWT_VALIDATION_ERROR, "Certificate alias '"
+                        + certificateAlias + "' is not found in the trust store " + trustStorePath);
+            }
+            defaultKey = certificate.getPublicKey();
+            return null;
+        } catch (IOException | GeneralSecurityException e) {
+            throw ErrorUtils.getBallerinaError(Constants.JWT_VALIDATION_ERROR, e);
+        }
+    }
+
+    /**
+     * Replaces the keys obtained from the JWKS endpoint.
+     *
+     * @param jwkSet keys of the latest JWKS response
+     */
+    public static void setJwks(JwkSet jwkSet) {
+        jwksKeys = jwkSet.getKeys();
+    }
+
+    /**
+     * Verifies the signature of the token.
+     *
+     * @param token serialized JWT
+     * @return JSON payload of the token if the signature is valid
+     */
+    public static Object verify(String token) {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = token.indexOf('.', headerEnd + 1);
+        if (headerEnd <= 0 || payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            throw ErrorUtils.getBallerinaError(Constants.JWT_VALIDATION_ERROR, "Invalid JWT token");
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            String header = new String(decoder.decode(token.substring(0, headerEnd)), StandardCharsets.UTF_8);
+            String algorithm = SIGNATURE_ALGORITHMS.get(getStringParameter(header, "alg"));
+            if (algorithm == null) {
+                throw ErrorUtils.getBallerinaError(Constants.JWT_VALIDATION_ERROR,
+                        "Unsupported JWT signature algorithm");
+            }
+            PublicKey key = getKey(getStringParameter(header, "kid"));
+            if (key == null) {
+                throw ErrorUtils.getBallerinaError(Constants.JWT_VALIDATION_ERROR,
+                        "No public key is available to validate the JWT signature");
+            }
+            Signature signature = SIGNATURES.get().get(algorithm);
+            if (signature == null) {
+                signature = Signature.getInstance(algorithm);
+                SIGNATURES.get().put(algorithm, signature);
+            }
+            signature.initVerify(key);
+            signature.update(token.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(decoder.decode(token.substring(payloadEnd + 1)))) {
+                throw ErrorUtils.getBallerinaError(Constants.JWT_VALIDATION_ERROR, "Invalid JWT signature");
+            }
+            return new String(decoder.decode(token.substring(headerEnd + 1, payloadEnd)), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            throw ErrorUtils.getBallerinaError(Constants.JWT_VALIDATION_ERROR, e);
+        }
+    }
+
+    private static PublicKey getKey(String keyId) {
+        if (keyId != null) {
+            PublicKey key = jwksKeys.get(keyId);
+            if (key != null) {
+                return key;
+            }
+        }
+        return defaultKey;
+    }
+
+    /**
+     * Reads a string member of the flat JSON object of a JWT header without parsing the whole object.
+     *
+     * @param json JSON object
+     * @param name member name
+     * @return value of the member, or null if the member is not present or is not a string
+     */
+    static String getStringParameter(String json, String name) {
+        String quotedName = '"' + name + '"';
+        int index = json.indexOf(quotedName);
+        while (index >= 0) {
+            int position = skipWhitespace(json, index + quotedName.length());
+            if (position < json.length() && json.charAt(position) == ':') {
+                position = skipWhitespace(json, position + 1);
+                if (position >= json.length() || json.charAt(position) != '"') {
+                    return null;
+                }
+                int valueEnd = json.indexOf('"', position + 1);
+                return valueEnd < 0 ? null : json.substring(position + 1, valueEnd);
+            }
+            index = json.indexOf(quotedName, index + 1);
+        }
+        return null;
+    }
+
+    private static int skipWhitespace(String json, int position) {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+}
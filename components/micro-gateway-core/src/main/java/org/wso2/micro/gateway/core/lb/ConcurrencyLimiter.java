@@ -0,0 +1,188 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.core.lb;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive limit on the number of requests in flight to an endpoint.
+ * <p>
+ * The limit follows the gradient between the long term round trip time of the endpoint and the average round trip
+ * time of the latest sampling window. While the endpoint responds as fast as usual the limit grows by roughly the
+ * square root of itself per window. Once requests start queueing at the endpoint its round trip time rises above
+ * the long term one and the limit shrinks in proportion, so requests in excess are rejected at the gateway
+ * instead of piling up on the slow endpoint. Failed requests shrink the limit as well. The limit is not raised
+ * while less than half of it is in use, since the samples then say nothing about the capacity of the endpoint.
+ * <p>
+ * Requests only touch atomic counters. The limit is recalculated by the request which completes the sampling
+ * window.
+ */
+public class ConcurrencyLimiter {
+
+    // the long term round trip time moves by 1/LONG_WINDOW of the difference per sampling window
+    private static final double LONG_WINDOW = 600;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    // origin of the start times handed out as permits, which keeps them non-negative whatever the origin of
+    // System.nanoTime()
+    private static final long ORIGIN = System.nanoTime();
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final long window;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final AtomicLong windowStart = new AtomicLong(now());
+    private final AtomicLong windowRttSum = new AtomicLong();
+    private final AtomicLong windowSamples = new AtomicLong();
+    private final AtomicBoolean windowDropped = new AtomicBoolean();
+    private volatile double limit;
+    // written by the request completing a sampling window, which is a different thread for each window
+    private volatile double longRtt;
+
+    public ConcurrencyLimiter(long initialLimit, long minLimit, long maxLimit, double smoothing,
+                              double rttTolerance, long windowInMillis) {
+        this.minLimit = (int) Math.max(1, Math.min(minLimit, Integer.MAX_VALUE));
+        this.maxLimit = (int) Math.max(this.minLimit, Math.min(maxLimit, Integer.MAX_VALUE));
+        this.smoothing = smoothing > 0 && smoothing <= 1 ? smoothing : 1;
+        this.rttTolerance = Math.max(1, rttTolerance);
+        this.window = Math.max(1, windowInMillis) * NANOS_PER_MILLI;
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+    }
+
+    /**
+     * Reserves a slot for a request to the endpoint.
+     *
+     * @return non-negative start time to be passed to {@link #release(long, boolean)}, or -1 if the limit is
+     * reached
+     */
+    public long acquire() {
+        return acquire(now());
+    }
+
+    /**
+     * Reserves a slot for a request to the endpoint at the given time.
+     *
+     * @param now current time as returned by {@link #now()}
+     * @return start time, or -1 if the limit is reached
+     */
+    long acquire(long now) {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejectedCount.increment();
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return now;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a completed request and records its round trip time.
+     *
+     * @param startTime value returned by {@link #acquire()}
+     * @param success   {@code false} if the endpoint could not be reached or reported that it is unavailable
+     */
+    public void release(long startTime, boolean success) {
+        release(startTime, success, now());
+    }
+
+    /**
+     * Frees the slot of a request completed at the given time. The round trip times, and hence the limit, only
+     * depend on the times passed in.
+     *
+     * @param startTime value returned by {@link #acquire(long)}
+     * @param success   {@code false} if the endpoint could not be reached or reported that it is unavailable
+     * @param now       current time as returned by {@link #now()}
+     */
+    void release(long startTime, boolean success, long now) {
+        int requestsInFlight = inFlight.getAndDecrement();
+        if (success) {
+            windowRttSum.addAndGet(now - startTime);
+            windowSamples.incrementAndGet();
+        } else {
+            windowDropped.set(true);
+        }
+        long start = windowStart.get();
+        if (now - start >= window && windowStart.compareAndSet(start, now)) {
+            update(windowRttSum.getAndSet(0), windowSamples.getAndSet(0), windowDropped.getAndSet(false),
+                    requestsInFlight);
+        }
+    }
+
+    /**
+     * Recalculates the limit at the end of a sampling window. Only called by the request which moved the window
+     * on. Successive windows are completed by different threads, hence the state carried between windows is
+     * volatile.
+     */
+    private void update(long rttSum, long samples, boolean dropped, int requestsInFlight) {
+        double currentLimit = limit;
+        double newLimit;
+        if (dropped) {
+            newLimit = currentLimit * DROP_BACKOFF;
+        } else if (samples == 0) {
+            return;
+        } else {
+            double shortRtt = (double) rttSum / samples;
+            if (longRtt == 0) {
+                longRtt = shortRtt;
+            } else {
+                longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+                // recover quickly once the endpoint is faster than it used to be, e.g. after an incident
+                if (longRtt / shortRtt > 2) {
+                    longRtt *= 0.95;
+                }
+            }
+            if (requestsInFlight < currentLimit / 2) {
+                return;
+            }
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1, rttTolerance * longRtt / shortRtt));
+            newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        }
+        newLimit = currentLimit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /**
+     * Current time in nanoseconds since the class was loaded.
+     */
+    static long now() {
+        return System.nanoTime() - ORIGIN;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
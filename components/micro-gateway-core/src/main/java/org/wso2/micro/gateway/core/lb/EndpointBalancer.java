@@ -0,0 +1,295 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.lb;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Selects the target of a load balanced or failover endpoint, taking the health and the latency of the targets
+ * into account.
+ * <p>
+ * The {@code adaptive} strategy picks two random targets and sends the request to the one with the lower peak
+ * EWMA latency, weighted by the number of requests outstanding on it (power of two choices). The
+ * {@code round_robin} and {@code failover} strategies keep their usual order but skip unavailable targets.
+ * <p>
+ * A target becomes unavailable when it fails a number of consecutive requests, in which case it is ejected for a
+ * time that doubles with each consecutive ejection, or when it fails a number of consecutive health probes. Once a
+ * target is available again its share of traffic is ramped up over the slow start window. When no target is
+ * available the selection falls back to all targets rather than failing every request.
+ */
+public class EndpointBalancer {
+
+    public static final String ADAPTIVE = "adaptive";
+    public static final String ROUND_ROBIN = "round_robin";
+    public static final String FAILOVER = "failover";
+
+    // latency samples older than this carry a weight of 1/e
+    private static final double DECAY_TIME_NANOS = 10_000_000_000d;
+    private static final double MIN_SLOW_START_WEIGHT = 0.1;
+    private static final int MAX_EJECTION_MULTIPLIER = 8;
+    private static final int MAX_TRACKED_TARGETS = Long.SIZE;
+
+    private final Target[] targets;
+    private final String strategy;
+    private final int unhealthyThreshold;
+    private final int healthyThreshold;
+    private final int consecutiveErrors;
+    private final long baseEjectionTime;
+    private final long slowStartWindow;
+    private final AtomicInteger nextTarget = new AtomicInteger();
+
+    public EndpointBalancer(long targetCount, String strategy, long unhealthyThreshold, long healthyThreshold,
+                            long consecutiveErrors, long baseEjectionTime, long slowStartWindow) {
+        if (targetCount <= 0) {
+            throw new IllegalArgumentException("An endpoint should have at least one target");
+        }
+        this.targets = new Target[(int) targetCount];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = new Target();
+        }
+        this.strategy = strategy;
+        this.unhealthyThreshold = (int) Math.max(1, unhealthyThreshold);
+        this.healthyThreshold = (int) Math.max(1, healthyThreshold);
+        this.consecutiveErrors = (int) Math.max(1, consecutiveErrors);
+        this.baseEjectionTime = Math.max(0, baseEjectionTime);
+        this.slowStartWindow = Math.max(0, slowStartWindow);
+    }
+
+    /**
+     * Selects the target for the next attempt of a request.
+     *
+     * @param triedTargets bit set of the targets already tried for the request
+     * @return index of the selected target, or -1 if all targets were tried
+     */
+    public long select(long triedTargets) {
+        long now = System.currentTimeMillis();
+        int candidates = 0;
+        int available = 0;
+        for (int i = 0; i < targets.length; i++) {
+            if (!isTried(triedTargets, i)) {
+                candidates++;
+                if (targets[i].isAvailable(now)) {
+                    available++;
+                }
+            }
+        }
+        if (candidates == 0) {
+            return -1;
+        }
+        boolean availableOnly = available > 0;
+        switch (strategy) {
+            case FAILOVER:
+                return selectInOrder(triedTargets, now, availableOnly, 0);
+            case ROUND_ROBIN:
+                return selectInOrder(triedTargets, now, availableOnly,
+                        Math.floorMod(nextTarget.getAndIncrement(), targets.length));
+            default:
+                return selectTwoChoices(triedTargets, now, availableOnly, availableOnly ? available : candidates);
+        }
+    }
+
+    /**
+     * Marks the start of a request sent to a target.
+     *
+     * @param target index of the target
+     * @return start time to be passed to {@link #complete(long, long, boolean)}
+     */
+    public long start(long target) {
+        targets[(int) target].outstanding.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the outcome of a request sent to a target.
+     *
+     * @param target    index of the target
+     * @param startTime value returned by {@link #start(long)}
+     * @param success   false if the target could not be reached or reported that it is unavailable
+     */
+    public void complete(long target, long startTime, boolean success) {
+        long now = System.nanoTime();
+        Target state = targets[(int) target];
+        state.outstanding.decrementAndGet();
+        state.recordLatency(now - startTime, now);
+        state.recordResult(success, System.currentTimeMillis());
+    }
+
+    /**
+     * Records the result of an active health probe of a target.
+     *
+     * @param target  index of the target
+     * @param healthy whether the probe succeeded
+     * @return true if the health state of the target changed
+     */
+    public boolean reportProbe(long target, boolean healthy) {
+        return targets[(int) target].recordProbe(healthy, System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the number of targets currently eligible to receive traffic.
+     *
+     * @return available target count
+     */
+    public long getAvailableCount() {
+        long now = System.currentTimeMillis();
+        long available = 0;
+        for (Target target : targets) {
+            if (target.isAvailable(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    private long selectInOrder(long triedTargets, long now, boolean availableOnly, int first) {
+        for (int offset = 0; offset < targets.length; offset++) {
+            int i = (first + offset) % targets.length;
+            if (isCandidate(triedTargets, i, now, availableOnly)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private long selectTwoChoices(long triedTargets, long now, boolean availableOnly, int candidates) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = nthCandidate(triedTargets, now, availableOnly, random.nextInt(candidates));
+        if (candidates == 1) {
+            return first;
+        }
+        int second = random.nextInt(candidates - 1);
+        // skip the first choice so that two distinct targets are compared
+        int secondTarget = nthCandidate(triedTargets | (1L << first), now, availableOnly, second);
+        if (secondTarget < 0) {
+            return first;
+        }
+        long nanoTime = System.nanoTime();
+        return targets[first].score(now, nanoTime) <= targets[secondTarget].score(now, nanoTime)
+                ? first : secondTarget;
+    }
+
+    private int nthCandidate(long triedTargets, long now, boolean availableOnly, int n) {
+        int seen = 0;
+        for (int i = 0; i < targets.length; i++) {
+            if (isCandidate(triedTargets, i, now, availableOnly)) {
+                if (seen == n) {
+                    return i;
+                }
+                seen++;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isCandidate(long triedTargets, int target, long now, boolean availableOnly) {
+        return !isTried(triedTargets, target) && (!availableOnly || targets[target].isAvailable(now));
+    }
+
+    private static boolean isTried(long triedTargets, int target) {
+        return target < MAX_TRACKED_TARGETS && (triedTargets & (1L << target)) != 0;
+    }
+
+    /**
+     * Latency, load and health state of a single target.
+     */
+    private final class Target {
+
+        private final AtomicLong outstanding = new AtomicLong();
+        private double ewmaLatency;
+        private long lastLatencyUpdate;
+        private int failedRequests;
+        private int ejections;
+        private int failedProbes;
+        private int successfulProbes;
+        private volatile boolean healthy = true;
+        private volatile long ejectedUntil;
+        private volatile long availableSince;
+
+        boolean isAvailable(long now) {
+            return healthy && now >= ejectedUntil;
+        }
+
+        /**
+         * Lower is better. The latency of a target which has not been used for a while decays so that it is
+         * tried again, and targets which are within the slow start window get a higher score so that they receive
+         * a smaller share of the requests.
+         */
+        synchronized double score(long now, long nanoTime) {
+            double latency = ewmaLatency * Math.exp(-(nanoTime - lastLatencyUpdate) / DECAY_TIME_NANOS);
+            double weight = 1;
+            long sinceAvailable = now - availableSince;
+            if (slowStartWindow > 0 && sinceAvailable < slowStartWindow) {
+                weight = Math.max(MIN_SLOW_START_WEIGHT, (double) sinceAvailable / slowStartWindow);
+            }
+            return (latency + 1) * (outstanding.get() + 1) / weight;
+        }
+
+        /**
+         * Peak EWMA: a latency above the average replaces it immediately, lower latencies are blended in with a
+         * weight which depends on the time elapsed since the previous sample.
+         */
+        synchronized void recordLatency(long latency, long now) {
+            if (latency > ewmaLatency || lastLatencyUpdate == 0) {
+                ewmaLatency = latency;
+            } else {
+                double decay = Math.exp(-(now - lastLatencyUpdate) / DECAY_TIME_NANOS);
+                ewmaLatency = ewmaLatency * decay + latency * (1 - decay);
+            }
+            lastLatencyUpdate = now;
+        }
+
+        synchronized void recordResult(boolean success, long now) {
+            if (success) {
+                failedRequests = 0;
+                if (ejections > 0 && now - availableSince > slowStartWindow) {
+                    ejections = 0;
+                }
+                return;
+            }
+            if (++failedRequests < consecutiveErrors || now < ejectedUntil) {
+                return;
+            }
+            failedRequests = 0;
+            ejections++;
+            ejectedUntil = now + baseEjectionTime * Math.min(1L << Math.min(ejections - 1, 30),
+                    MAX_EJECTION_MULTIPLIER);
+            availableSince = ejectedUntil;
+        }
+
+        synchronized boolean recordProbe(boolean success, long now) {
+            if (success) {
+                failedProbes = 0;
+                if (!healthy && ++successfulProbes >= healthyThreshold) {
+                    healthy = true;
+                    availableSince = Math.max(now, ejectedUntil);
+                    return true;
+                }
+            } else {
+                successfulProbes = 0;
+                if (healthy && ++failedProbes >= unhealthyThreshold) {
+                    healthy = false;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes gateway log records to the standard error stream from a background thread, in the format of the Ballerina
+ * log module.
+ * <p>
+ * Records are put in a bounded queue and written in batches with a single flush per batch, so a request only pays
+ * for an offer to the queue. When the queue is full the record is written by the calling thread instead, hence
+ * records are never dropped. Pending records are written when the runtime shuts down.
+ */
+public class AsyncLogAppender {
+
+    private static final String MODULE_NAME = "wso2/gateway";
+    private static final int MAX_BATCH_SIZE = 512;
+
+    private static final Writer WRITER = new BufferedWriter(new OutputStreamWriter(System.err,
+            StandardCharsets.UTF_8));
+    // only used by threads holding the lock of the writer
+    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
+    private static volatile BlockingQueue<LogRecord> queue;
+
+    private AsyncLogAppender() {
+    }
+
+    /**
+     * Starts the thread writing the log records.
+     *
+     * @param bufferSize maximum number of log records waiting to be written
+     */
+    public static synchronized void init(long bufferSize) {
+        if (queue != null) {
+            return;
+        }
+        BlockingQueue<LogRecord> records = new ArrayBlockingQueue<>((int) Math.max(1, Math.min(bufferSize,
+                Integer.MAX_VALUE)));
+        Thread writerThread = new Thread(() -> writeRecords(records), "gateway-log-appender");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> drain(records), "gateway-log-appender-shutdown"));
+        queue = records;
+    }
+
+    /**
+     * Appends a log record.
+     *
+     * @param level   log level
+     * @param message formatted log message
+     */
+    public static void append(String level, String message) {
+        LogRecord record = new LogRecord(System.currentTimeMillis(), level, message);
+        BlockingQueue<LogRecord> records = queue;
+        if (records == null || !records.offer(record)) {
+            synchronized (WRITER) {
+                write(record);
+                flush();
+            }
+        }
+    }
+
+    private static void writeRecords(BlockingQueue<LogRecord> records) {
+        List<LogRecord> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(records.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            records.drainTo(batch, MAX_BATCH_SIZE - 1);
+            synchronized (WRITER) {
+                for (LogRecord record : batch) {
+                    write(record);
+                }
+                flush();
+            }
+            batch.clear();
+        }
+    }
+
+    private static void drain(BlockingQueue<LogRecord> records) {
+        List<LogRecord> batch = new ArrayList<>();
+        records.drainTo(batch);
+        synchronized (WRITER) {
+            for (LogRecord record : batch) {
+                write(record);
+            }
+            flush();
+        }
+    }
+
+    private static void write(LogRecord record) {
+        try {
+            WRITER.write(DATE_FORMAT.format(new Date(record.time)));
+            WRITER.write(' ');
+            WRITER.write(String.format("%-5s", record.level));
+            WRITER.write(" [" + MODULE_NAME + "] - ");
+            WRITER.write(record.message);
+            WRITER.write(System.lineSeparator());
+        } catch (IOException e) {
+            // the standard error stream is not writable, there is nowhere to report the failure
+        }
+    }
+
+    private static void flush() {
+        try {
+            WRITER.flush();
+        } catch (IOException e) {
+            // the standard error stream is not writable, there is nowhere to report the failure
+        }
+    }
+
+    private static final class LogRecord {
+        private final long time;
+        private final String level;
+        private final String message;
+
+        LogRecord(long time, String level, String message) {
+            this.time = time;
+            this.level = level;
+            this.message = message;
+        }
+    }
+}
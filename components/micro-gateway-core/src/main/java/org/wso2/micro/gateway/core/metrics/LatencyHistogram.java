@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free latency histogram with a constant relative precision, following the bucketing scheme of HDR
+ * histograms.
+ * <p>
+ * Values below {@code 2 * SUB_BUCKET_COUNT} nanoseconds are counted exactly. Larger values are counted in buckets
+ * of the same relative width: each power of two range is split into {@code SUB_BUCKET_COUNT} linear sub buckets,
+ * which bounds the error of any recorded value to 1/32 of the value. Recording a value is an index calculation
+ * and a single atomic increment, and does not allocate.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_BUCKET_COUNT = SUB_BUCKET_COUNT << 1;
+    // values of up to 2^40 ns (~18 minutes) are tracked, larger values are counted in the last bucket
+    private static final int MAX_VALUE_BITS = 40;
+    static final int BUCKET_COUNT = EXACT_BUCKET_COUNT + (MAX_VALUE_BITS - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+    }
+
+    /**
+     * Returns the number of recorded values which are not larger than the given value, within the precision of
+     * the histogram.
+     *
+     * @param nanos upper bound in nanoseconds
+     * @return number of recorded values up to the bound
+     */
+    public long countUpTo(long nanos) {
+        int lastIndex = indexOf(nanos);
+        long count = 0;
+        for (int i = 0; i <= lastIndex; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    static int indexOf(long value) {
+        if (value < EXACT_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - 1 - SUB_BUCKET_BITS;
+        int index = EXACT_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_COUNT
+                + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.metrics;
+
+import org.wso2.micro.gateway.core.cache.ResponseCache;
+import org.wso2.micro.gateway.core.lb.ConcurrencyLimiter;
+import org.wso2.micro.gateway.core.lb.EndpointBalancer;
+import org.wso2.micro.gateway.core.overload.OverloadController;
+import org.wso2.micro.gateway.core.throttle.ThrottleDecisionStore;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Gateway metrics, exposed in the Prometheus text exposition format.
+ * <p>
+ * Latencies are kept in {@link LatencyHistogram}s per filter stage, service and backend, and events in
+ * {@link LongAdder} counters. Recording only reads the concurrent maps holding the series once the series exists,
+ * so it neither locks nor allocates on the request path. Nothing is recorded until metrics are enabled. Gauges of
+ * the other gateway components are read when the metrics are scraped.
+ */
+public class MetricsRegistry {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+    private static final String[] BUCKET_BOUNDS = {"0.0001", "0.00025", "0.0005", "0.001", "0.0025", "0.005",
+            "0.01", "0.025", "0.05", "0.1", "0.25", "0.5", "1", "2.5", "5", "10"};
+
+    private static final HistogramFamily FILTER_LATENCY = new HistogramFamily("wso2_gateway_filter_latency_seconds",
+            "Time spent in a gateway filter.", "stage", "service");
+    private static final HistogramFamily BACKEND_LATENCY = new HistogramFamily(
+            "wso2_gateway_backend_latency_seconds", "Time taken by the backend to respond.", "service", null);
+    private static final HistogramFamily REQUEST_LATENCY = new HistogramFamily(
+            "wso2_gateway_request_latency_seconds", "Time taken by the gateway to serve a request.", "service", null);
+    private static final HistogramFamily KEY_VALIDATION_LATENCY = new HistogramFamily(
+            "wso2_gateway_key_validation_latency_seconds", "Time taken by the key validation service.", "outcome",
+            null);
+    private static final CounterFamily THROTTLED_REQUESTS = new CounterFamily("wso2_gateway_throttled_requests_total",
+            "Requests rejected by the throttle filter.", "error_code");
+    private static final CounterFamily TOKEN_CACHE_REQUESTS = new CounterFamily(
+            "wso2_gateway_token_cache_requests_total", "Lookups of the gateway token cache.", "result");
+
+    private static final CounterFamily UNMETERED_PAYLOADS = new CounterFamily(
+            "wso2_gateway_bandwidth_unmetered_payloads_total",
+            "Chunked payloads of bandwidth throttled requests, which are not charged as their size is not known.",
+            "direction");
+    private static final CounterFamily SHED_REQUESTS = new CounterFamily("wso2_gateway_shed_requests_total",
+            "Requests rejected by the overload controller, by request priority.", "priority");
+    private static final ConcurrentMap<String, EndpointBalancer> ENDPOINT_BALANCERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, ConcurrencyLimiter> CONCURRENCY_LIMITERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, EventBufferStatistics> EVENT_BUFFERS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = false;
+
+    private MetricsRegistry() {
+    }
+
+    public static void init(boolean metricsEnabled) {
+        enabled = metricsEnabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the current value of the monotonic clock the latencies are measured with.
+     *
+     * @return current time in nanoseconds
+     */
+    public static long nanoTime() {
+        return System.nanoTime();
+    }
+
+    public static void recordFilterLatency(String stage, String service, long startTime) {
+        if (enabled) {
+            FILTER_LATENCY.get(stage, service).record(System.nanoTime() - startTime);
+        }
+    }
+
+    public static void recordBackendLatency(String service, long startTime) {
+        if (enabled) {
+            BACKEND_LATENCY.get(service, "").record(System.nanoTime() - startTime);
+        }
+    }
+
+    public static void recordRequestLatency(String service, long startTime) {
+        if (enabled) {
+            REQUEST_LATENCY.get(service, "").record(System.nanoTime() - startTime);
+        }
+    }
+
+    public static void recordKeyValidation(boolean success, long startTime) {
+        if (enabled) {
+            KEY_VALIDATION_LATENCY.get(success ? "success" : "error", "").record(System.nanoTime() - startTime);
+        }
+    }
+
+    public static void recordThrottledRequest(String errorCode) {
+        if (enabled) {
+            THROTTLED_REQUESTS.get(errorCode).increment();
+        }
+    }
+
+    public static void recordTokenCacheLookup(boolean hit) {
+        if (enabled) {
+            TOKEN_CACHE_REQUESTS.get(hit ? "hit" : "miss").increment();
+        }
+    }
+
+    public static void recordUnmeteredPayload(String direction) {
+        if (enabled) {
+            UNMETERED_PAYLOADS.get(direction).increment();
+        }
+    }
+
+    public static void recordShedRequest(int priority) {
+        if (enabled) {
+            SHED_REQUESTS.get(Integer.toString(priority)).increment();
+        }
+    }
+
+    /**
+     * Exposes the number of available targets of a load balanced or failover endpoint.
+     *
+     * @param endpoint name of the endpoint
+     * @param balancer balancer of the endpoint
+     */
+    public static void registerEndpointBalancer(String endpoint, Object balancer) {
+        ENDPOINT_BALANCERS.put(endpoint, (EndpointBalancer) balancer);
+    }
+
+    /**
+     * Exposes the current limit, the requests in flight and the rejected requests of an endpoint concurrency
+     * limiter.
+     *
+     * @param endpoint name of the endpoint
+     * @param limiter  concurrency limiter of the endpoint
+     */
+    public static void registerConcurrencyLimiter(String endpoint, Object limiter) {
+        CONCURRENCY_LIMITERS.put(endpoint, (ConcurrencyLimiter) limiter);
+    }
+
+    /**
+     * Updates the counters of an event buffer of the gateway. The counters are kept by the buffers themselves, hence
+     * they are updated right before the metrics are scraped.
+     *
+     * @param buffer    name of the buffer
+     * @param enqueued  events added to the buffer
+     * @param dropped   events dropped since the buffer was full
+     * @param published events published from the buffer
+     * @param failed    events which could not be published
+     * @param buffered  events currently held in the buffer
+     * @param batches   batches the events were published in, or {@code -1} if the buffer does not publish in batches
+     */
+    public static void updateEventBuffer(String buffer, long enqueued, long dropped, long published, long failed,
+                                         long buffered, long batches) {
+        EVENT_BUFFERS.put(buffer, new EventBufferStatistics(enqueued, dropped, published, failed, buffered,
+                batches));
+    }
+
+    /**
+     * Writes all the metrics in the Prometheus text exposition format.
+     *
+     * @return metrics text
+     */
+    public static String scrape() {
+        StringBuilder builder = new StringBuilder(4096);
+        FILTER_LATENCY.write(builder);
+        BACKEND_LATENCY.write(builder);
+        REQUEST_LATENCY.write(builder);
+        KEY_VALIDATION_LATENCY.write(builder);
+        THROTTLED_REQUESTS.write(builder);
+        TOKEN_CACHE_REQUESTS.write(builder);
+        UNMETERED_PAYLOADS.write(builder);
+        SHED_REQUESTS.write(builder);
+
+        writeMetric(builder, "wso2_gateway_response_cache_hits_total", "counter",
+                "Requests served from the gateway response cache.", ResponseCache.getHitCount());
+        writeMetric(builder, "wso2_gateway_response_cache_misses_total", "counter",
+                "Cacheable requests not found in the gateway response cache.", ResponseCache.getMissCount());
+        writeMetric(builder, "wso2_gateway_response_cache_evictions_total", "counter",
+                "Responses evicted to keep the response cache within its memory budget.",
+                ResponseCache.getEvictionCount());
+        writeMetric(builder, "wso2_gateway_response_cache_entries", "gauge",
+                "Responses held in the response cache.", ResponseCache.getSize());
+        writeMetric(builder, "wso2_gateway_response_cache_bytes", "gauge",
+                "Memory used by the responses held in the response cache.", ResponseCache.getUsedBytes());
+        writeMetric(builder, "wso2_gateway_throttle_decisions", "gauge",
+                "Throttle decisions received from the traffic manager which are in effect.",
+                ThrottleDecisionStore.size());
+        writeMetric(builder, "wso2_gateway_throttle_decision_evictions_total", "counter",
+                "Throttle decisions evicted to keep the decision store within its capacity.",
+                ThrottleDecisionStore.getEvictionCount());
+        writeMetric(builder, "wso2_gateway_throttle_decision_expiry_lag_seconds", "gauge",
+                "Delay in removing the latest expired throttle decisions.",
+                ThrottleDecisionStore.getExpiryLag() / 1000d);
+        writeMetric(builder, "wso2_gateway_overload_shed_level", "gauge",
+                "Priority below which requests are shed by the overload controller.",
+                OverloadController.getShedLevel());
+        writeMetric(builder, "wso2_gateway_overload_scheduling_lag_seconds", "gauge",
+                "Smoothed delay of the overload controller in waking up, which grows as the CPU saturates.",
+                OverloadController.getLag() / NANOS_PER_SECOND);
+        writeMetric(builder, "wso2_gateway_overload_requests_in_flight", "gauge",
+                "Requests admitted by the overload controller which are not completed yet.",
+                OverloadController.getInFlight());
+
+        if (!ENDPOINT_BALANCERS.isEmpty()) {
+            String name = "wso2_gateway_endpoint_available_targets";
+            writeHeader(builder, name, "gauge", "Targets of a load balanced or failover endpoint taking traffic.");
+            for (Map.Entry<String, EndpointBalancer> balancer : new TreeMap<>(ENDPOINT_BALANCERS).entrySet()) {
+                builder.append(name).append("{endpoint=\"").append(escape(balancer.getKey())).append("\"} ")
+                        .append(balancer.getValue().getAvailableCount()).append('\n');
+            }
+        }
+        if (!CONCURRENCY_LIMITERS.isEmpty()) {
+            Map<String, ConcurrencyLimiter> limiters = new TreeMap<>(CONCURRENCY_LIMITERS);
+            writeLimiterMetric(builder, "wso2_gateway_endpoint_concurrency_limit", "gauge",
+                    "Current adaptive limit of the requests in flight to an endpoint.", limiters,
+                    ConcurrencyLimiter::getLimit);
+            writeLimiterMetric(builder, "wso2_gateway_endpoint_requests_in_flight", "gauge",
+                    "Requests in flight to an endpoint.", limiters, ConcurrencyLimiter::getInFlight);
+            writeLimiterMetric(builder, "wso2_gateway_endpoint_concurrency_rejected_total", "counter",
+                    "Requests rejected since the concurrency limit of the endpoint was reached.", limiters,
+                    ConcurrencyLimiter::getRejectedCount);
+        }
+        if (!EVENT_BUFFERS.isEmpty()) {
+            Map<String, EventBufferStatistics> buffers = new TreeMap<>(EVENT_BUFFERS);
+            writeBufferMetric(builder, "wso2_gateway_event_buffer_enqueued_total", "counter",
+                    "Events added to a gateway event buffer.", buffers, statistics -> statistics.enqueued);
+            writeBufferMetric(builder, "wso2_gateway_event_buffer_dropped_total", "counter",
+                    "Events dropped since a gateway event buffer was full.", buffers, statistics -> statistics.dropped);
+            writeBufferMetric(builder, "wso2_gateway_event_buffer_published_total", "counter",
+                    "Events published from a gateway event buffer.", buffers, statistics -> statistics.published);
+            writeBufferMetric(builder, "wso2_gateway_event_buffer_failed_total", "counter",
+                    "Events of a gateway event buffer which could not be published.", buffers,
+                    statistics -> statistics.failed);
+            writeBufferMetric(builder, "wso2_gateway_event_buffer_queued", "gauge",
+                    "Events waiting in a gateway event buffer to be published.", buffers,
+                    statistics -> statistics.buffered);
+            buffers.values().removeIf(statistics -> statistics.batches < 0);
+            if (!buffers.isEmpty()) {
+                writeBufferMetric(builder, "wso2_gateway_event_buffer_batches_total", "counter",
+                        "Batches the events of a gateway event buffer were published in.", buffers,
+                        statistics -> statistics.batches);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static void writeBufferMetric(StringBuilder builder, String name, String type, String help,
+                                          Map<String, EventBufferStatistics> buffers,
+                                          ToLongFunction<EventBufferStatistics> value) {
+        writeHeader(builder, name, type, help);
+        for (Map.Entry<String, EventBufferStatistics> buffer : buffers.entrySet()) {
+            builder.append(name).append("{buffer=\"").append(escape(buffer.getKey())).append("\"} ")
+                    .append(value.applyAsLong(buffer.getValue())).append('\n');
+        }
+    }
+
+    private static void writeLimiterMetric(StringBuilder builder, String name, String type, String help,
+                                           Map<String, ConcurrencyLimiter> limiters,
+                                           ToLongFunction<ConcurrencyLimiter> value) {
+        writeHeader(builder, name, type, help);
+        for (Map.Entry<String, ConcurrencyLimiter> limiter : limiters.entrySet()) {
+            builder.append(name).append("{endpoint=\"").append(escape(limiter.getKey())).append("\"} ")
+                    .append(value.applyAsLong(limiter.getValue())).append('\n');
+        }
+    }
+
+    private static void writeMetric(StringBuilder builder, String name, String type, String help, double value) {
+        writeHeader(builder, name, type, help);
+        builder.append(name).append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private static void writeHeader(StringBuilder builder, String name, String type, String help) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String formatValue(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value) ? Long.toString((long) value)
+                : Double.toString(value);
+    }
+
+    static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Counters of an event buffer, as of the last update.
+     */
+    private static final class EventBufferStatistics {
+
+        private final long enqueued;
+        private final long dropped;
+        private final long published;
+        private final long failed;
+        private final long buffered;
+        private final long batches;
+
+        EventBufferStatistics(long enqueued, long dropped, long published, long failed, long buffered,
+                              long batches) {
+            this.enqueued = enqueued;
+            this.dropped = dropped;
+            this.published = published;
+            this.failed = failed;
+            this.buffered = buffered;
+            this.batches = batches;
+        }
+    }
+
+    /**
+     * Histograms of a metric, keyed by up to two label values.
+     */
+    private static final class HistogramFamily {
+
+        private final String name;
+        private final String help;
+        private final String firstLabel;
+        private final String secondLabel;
+        private final ConcurrentMap<String, ConcurrentMap<String, LatencyHistogram>> series =
+                new ConcurrentHashMap<>();
+
+        HistogramFamily(String name, String help, String firstLabel, String secondLabel) {
+            this.name = name;
+            this.help = help;
+            this.firstLabel = firstLabel;
+            this.secondLabel = secondLabel;
+        }
+
+        LatencyHistogram get(String firstValue, String secondValue) {
+            ConcurrentMap<String, LatencyHistogram> histograms = series.get(firstValue);
+            if (histograms == null) {
+                histograms = series.computeIfAbsent(firstValue, key -> new ConcurrentHashMap<>());
+            }
+            LatencyHistogram histogram = histograms.get(secondValue);
+            if (histogram == null) {
+                histogram = histograms.computeIfAbsent(secondValue, key -> new LatencyHistogram());
+            }
+            return histogram;
+        }
+
+        void write(StringBuilder builder) {
+            if (series.isEmpty()) {
+                return;
+            }
+            writeHeader(builder, name, "histogram", help);
+            for (Map.Entry<String, ConcurrentMap<String, LatencyHistogram>> first : new TreeMap<>(series).entrySet()) {
+                for (Map.Entry<String, LatencyHistogram> second : new TreeMap<>(first.getValue()).entrySet()) {
+                    String labels = firstLabel + "=\"" + escape(first.getKey()) + "\"";
+                    if (secondLabel != null) {
+                        labels += "," + secondLabel + "=\"" + escape(second.getKey()) + "\"";
+                    }
+                    writeHistogram(builder, labels, second.getValue());
+                }
+            }
+        }
+
+        private void writeHistogram(StringBuilder builder, String labels, LatencyHistogram histogram) {
+            // the total is taken first so that no bucket exceeds it while values are being recorded
+            long count = histogram.getCount();
+            for (String bound : BUCKET_BOUNDS) {
+                long boundNanos = (long) (Double.parseDouble(bound) * NANOS_PER_SECOND);
+                long bucketCount = Math.min(histogram.countUpTo(boundNanos), count);
+                builder.append(name).append("_bucket{").append(labels).append(",le=\"").append(bound)
+                        .append("\"} ").append(bucketCount).append('\n');
+            }
+            builder.append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ").append(count)
+                    .append('\n');
+            builder.append(name).append("_sum{").append(labels).append("} ")
+                    .append(histogram.getSum() / NANOS_PER_SECOND).append('\n');
+            builder.append(name).append("_count{").append(labels).append("} ").append(count).append('\n');
+        }
+    }
+
+    /**
+     * Counters of a metric, keyed by a label value.
+     */
+    private static final class CounterFamily {
+
+        private final String name;
+        private final String help;
+        private final String label;
+        private final ConcurrentMap<String, LongAdder> series = new ConcurrentHashMap<>();
+
+        CounterFamily(String name, String help, String label) {
+            this.name = name;
+            this.help = help;
+            this.label = label;
+        }
+
+        LongAdder get(String value) {
+            LongAdder counter = series.get(value);
+            if (counter == null) {
+                counter = series.computeIfAbsent(value, key -> new LongAdder());
+            }
+            return counter;
+        }
+
+        void write(StringBuilder builder) {
+            if (series.isEmpty()) {
+                return;
+            }
+            writeHeader(builder, name, "counter", help);
+            for (Map.Entry<String, LongAdder> counter : new TreeMap<>(series).entrySet()) {
+                builder.append(name).append('{').append(label).append("=\"").append(escape(counter.getKey()))
+                        .append("\"} ").append(counter.getValue().sum()).append('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.overload;
+
+import org.wso2.micro.gateway.core.metrics.MetricsRegistry;
+import org.wso2.micro.gateway.core.throttle.SlidingWindowCounter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sheds requests in priority order while the gateway is overloaded.
+ * <p>
+ * A daemon thread wakes up every sampling interval and measures how late it woke up. The smoothed lag grows once
+ * the gateway threads saturate the CPU, as does the number of requests in flight once requests queue up. Each
+ * sample which finds either above its limit raises the shed level by one, and each sample which finds both well
+ * below their limits lowers it by one, so shedding deepens gradually until the load is within capacity.
+ * <p>
+ * Requests with a priority below the shed level are rejected. The priority is the rank of the subscription tier
+ * of the caller, with the priority of the API breaking ties between callers of the same rank. Requests are
+ * admitted before key validation, so the tier is taken from the tier the credential was validated with on an
+ * earlier request. These are kept in a fixed size table of atomic longs, each slot holding the upper bits of the
+ * credential hash together with its rank. Credentials which have not been seen yet get the rank of
+ * unauthenticated requests. The highest priority is never shed.
+ */
+public class OverloadController {
+
+    private static final String DEFAULT_TIER_PRIORITY = "Unlimited,Gold,Silver,Bronze";
+    private static final String UNAUTHENTICATED_TIER = "Unauthenticated";
+    private static final int DEFAULT_HINT_CAPACITY = 65536;
+    private static final int API_PRIORITY_LEVELS = 3;
+    private static final int NORMAL_API_PRIORITY = 1;
+    private static final long RANK_MASK = 0xFFL;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+
+    private static volatile Map<String, Integer> tierRanks = parseTierPriority(DEFAULT_TIER_PRIORITY);
+    private static volatile AtomicLongArray credentialRanks = new AtomicLongArray(DEFAULT_HINT_CAPACITY);
+    private static volatile int maxRequestsInFlight;
+    private static volatile long maxLag = 50 * NANOS_PER_MILLI;
+    private static volatile long sampleInterval = 100 * NANOS_PER_MILLI;
+    private static volatile long lag;
+    private static volatile int shedLevel;
+
+    private OverloadController() {
+    }
+
+    /**
+     * Configures the controller and starts sampling the load. Only the first call starts the sampling thread, later
+     * calls just replace the settings.
+     *
+     * @param maxInFlight          requests in flight above which the gateway is overloaded, or 0 to ignore them
+     * @param maxLagInMillis       smoothed scheduling lag above which the gateway is overloaded
+     * @param sampleIntervalMillis interval between load samples
+     * @param tierPriority         comma separated subscription tiers, from the highest priority to the lowest
+     * @param hintCapacity         number of credentials whose tier is remembered
+     */
+    public static void init(long maxInFlight, long maxLagInMillis, long sampleIntervalMillis, String tierPriority,
+                            long hintCapacity) {
+        maxRequestsInFlight = (int) Math.max(0, Math.min(maxInFlight, Integer.MAX_VALUE));
+        maxLag = Math.max(1, maxLagInMillis) * NANOS_PER_MILLI;
+        sampleInterval = Math.max(1, sampleIntervalMillis) * NANOS_PER_MILLI;
+        tierRanks = parseTierPriority(tierPriority);
+        int size = 1;
+        while (size < hintCapacity && size < (1 << 30)) {
+            size <<= 1;
+        }
+        credentialRanks = new AtomicLongArray(hintCapacity > 0 ? size : DEFAULT_HINT_CAPACITY);
+        if (STARTED.compareAndSet(false, true)) {
+            Thread thread = new Thread(OverloadController::sample, "overload-controller");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Returns the key the tier of a credential is remembered with.
+     *
+     * @param credential value of the authorization header, or an empty string
+     * @return key of the credential, or 0 if there is no credential
+     */
+    public static long getCredentialKey(String credential) {
+        if (credential.isEmpty()) {
+            return 0L;
+        }
+        return SlidingWindowCounter.hash(credential);
+    }
+
+    /**
+     * Admits a request unless its priority is below the current shed level. Admitted requests are counted as in
+     * flight until {@link #complete} is called.
+     *
+     * @param credentialKey key returned by {@link #getCredentialKey(String)}
+     * @param apiPriority   priority of the API, {@code high}, {@code normal} or {@code low}
+     * @return true if the request is admitted
+     */
+    public static boolean tryAdmit(long credentialKey, String apiPriority) {
+        int priority = getRank(credentialKey) * API_PRIORITY_LEVELS + getApiPriority(apiPriority);
+        if (priority < shedLevel) {
+            MetricsRegistry.recordShedRequest(priority);
+            return false;
+        }
+        IN_FLIGHT.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Completes an admitted request and remembers the tiers the credential was validated with.
+     *
+     * @param credentialKey   key returned by {@link #getCredentialKey(String)}
+     * @param tier            subscription tier of the caller, or an empty string if the request was not validated
+     * @param applicationTier application tier of the caller
+     */
+    public static void complete(long credentialKey, String tier, String applicationTier) {
+        IN_FLIGHT.decrementAndGet();
+        if (credentialKey == 0L || tier.isEmpty()) {
+            return;
+        }
+        Integer rank = tierRanks.get(tier);
+        if (rank == null) {
+            // a tier which is not ranked falls back to the application tier, and otherwise to the lowest rank
+            rank = tierRanks.getOrDefault(applicationTier, 1);
+        }
+        if (rank > 0) {
+            AtomicLongArray ranks = credentialRanks;
+            ranks.set(slotFor(credentialKey, ranks), (credentialKey & ~RANK_MASK) | Math.min(rank, RANK_MASK));
+        }
+    }
+
+    public static int getShedLevel() {
+        return shedLevel;
+    }
+
+    public static int getInFlight() {
+        return IN_FLIGHT.get();
+    }
+
+    public static long getLag() {
+        return lag;
+    }
+
+    private static int getRank(long credentialKey) {
+        if (credentialKey == 0L) {
+            return 0;
+        }
+        AtomicLongArray ranks = credentialRanks;
+        long entry = ranks.get(slotFor(credentialKey, ranks));
+        return entry != 0L && (entry & ~RANK_MASK) == (credentialKey & ~RANK_MASK) ? (int) (entry & RANK_MASK) : 0;
+    }
+
+    private static int getApiPriority(String apiPriority) {
+        if ("high".equalsIgnoreCase(apiPriority)) {
+            return 2;
+        } else if ("low".equalsIgnoreCase(apiPriority)) {
+            return 0;
+        }
+        return NORMAL_API_PRIORITY;
+    }
+
+    private static void sample() {
+        while (true) {
+            long interval = sampleInterval;
+            long expected = System.nanoTime() + interval;
+            try {
+                TimeUnit.NANOSECONDS.sleep(interval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long sampledLag = Math.max(0, System.nanoTime() - expected);
+            lag = (lag * 3 + sampledLag) / 4;
+            adjustShedLevel(lag, IN_FLIGHT.get());
+        }
+    }
+
+    static void adjustShedLevel(long currentLag, int inFlight) {
+        int maxInFlight = maxRequestsInFlight;
+        boolean overloaded = currentLag > maxLag || (maxInFlight > 0 && inFlight > maxInFlight);
+        boolean relieved = currentLag < maxLag / 2 && (maxInFlight == 0 || inFlight < maxInFlight - maxInFlight / 4);
+        int level = shedLevel;
+        if (overloaded) {
+            int maxLevel = tierRanks.values().stream().max(Integer::compare).orElse(1) * API_PRIORITY_LEVELS
+                    + API_PRIORITY_LEVELS - 1;
+            shedLevel = Math.min(level + 1, maxLevel);
+        } else if (relieved && level > 0) {
+            shedLevel = level - 1;
+        }
+    }
+
+    private static Map<String, Integer> parseTierPriority(String tierPriority) {
+        Map<String, Integer> ranks = new HashMap<>();
+        String[] tiers = tierPriority.split(",");
+        // rank 1 is left for authenticated callers whose tier is not listed, and rank 0 for unauthenticated ones
+        int rank = tiers.length + 2;
+        for (String tier : tiers) {
+            rank--;
+            if (!tier.trim().isEmpty()) {
+                ranks.putIfAbsent(tier.trim(), rank);
+            }
+        }
+        ranks.put(UNAUTHENTICATED_TIER, 0);
+        return Collections.unmodifiableMap(ranks);
+    }
+
+    private static int slotFor(long credentialKey, AtomicLongArray ranks) {
+        long h = credentialKey * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (ranks.length() - 1);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.revocation;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store of revoked JWT identifiers (jti) along with the expiry time of the revoked tokens.
+ * <p>
+ * Lookups first consult a Bloom filter, so checking a token which has not been revoked neither allocates nor
+ * touches the hash table. Entries are removed by a background sweeper once the token has expired, since an
+ * expired token is rejected by the JWT validation anyway. The Bloom filter is rebuilt from the live entries on
+ * every sweep.
+ */
+public class RevokedTokenStore {
+
+    private static final long SWEEP_INTERVAL = 60000;
+    private static final int INITIAL_FILTER_CAPACITY = 1024;
+    private static final long EPOCH_SECONDS_THRESHOLD = 1000000000L;
+    private static final long EPOCH_MILLIS_THRESHOLD = 100000000000L;
+
+    private static final Map<String, Long> REVOKED_TOKENS = new ConcurrentHashMap<>();
+    private static final Object LOCK = new Object();
+    private static volatile BloomFilter bloomFilter = new BloomFilter(INITIAL_FILTER_CAPACITY);
+    private static ScheduledExecutorService sweeper;
+
+    private RevokedTokenStore() {
+    }
+
+    /**
+     * Adds a revoked token. The token is kept until the given expiry time.
+     *
+     * @param jti        jti claim of the revoked token
+     * @param expiryTime expiry time of the token in milliseconds since the epoch
+     */
+    public static void addRevokedToken(String jti, long expiryTime) {
+        synchronized (LOCK) {
+            REVOKED_TOKENS.put(jti, expiryTime);
+            if (REVOKED_TOKENS.size() > bloomFilter.getCapacity()) {
+                bloomFilter = rebuild(System.currentTimeMillis());
+            } else {
+                bloomFilter.add(jti);
+            }
+            startSweeper();
+        }
+    }
+
+    /**
+     * Adds a revoked token whose expiry is given in the format received with revocation events. Values below
+     * 10^9 are taken as the remaining time to live in seconds, larger values as the token's expiry time in
+     * seconds or milliseconds since the epoch. Tokens with an unknown expiry are kept until the gateway restarts.
+     *
+     * @param jti jti claim of the revoked token
+     * @param ttl expiry of the token
+     */
+    public static void addRevokedToken(String jti, String ttl) {
+        addRevokedToken(jti, toExpiryTime(ttl, System.currentTimeMillis()));
+    }
+
+    /**
+     * Checks whether the token with the given jti has been revoked.
+     *
+     * @param jti jti claim of the token
+     * @return {@code true} if the token is revoked and not yet expired
+     */
+    public static boolean isRevoked(String jti) {
+        if (!bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        Long expiryTime = REVOKED_TOKENS.get(jti);
+        return expiryTime != null && expiryTime > System.currentTimeMillis();
+    }
+
+    public static int size() {
+        return REVOKED_TOKENS.size();
+    }
+
+    /**
+     * Removes expired tokens and rebuilds the Bloom filter from the remaining ones.
+     */
+    static void sweep() {
+        long now = System.currentTimeMillis();
+        synchronized (LOCK) {
+            Iterator<Long> expiryTimes = REVOKED_TOKENS.values().iterator();
+            while (expiryTimes.hasNext()) {
+                if (expiryTimes.next() <= now) {
+                    expiryTimes.remove();
+                }
+            }
+            bloomFilter = rebuild(now);
+        }
+    }
+
+    static long toExpiryTime(String ttl, long now) {
+        long value;
+        try {
+            value = Long.parseLong(ttl.trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            return Long.MAX_VALUE;
+        }
+        if (value <= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (value < EPOCH_SECONDS_THRESHOLD) {
+            return now + TimeUnit.SECONDS.toMillis(value);
+        }
+        if (value < EPOCH_MILLIS_THRESHOLD) {
+            return TimeUnit.SECONDS.toMillis(value);
+        }
+        return value;
+    }
+
+    private static BloomFilter rebuild(long now) {
+        int capacity = INITIAL_FILTER_CAPACITY;
+        while (capacity < REVOKED_TOKENS.size() * 2) {
+            capacity <<= 1;
+        }
+        BloomFilter filter = new BloomFilter(capacity);
+        for (Map.Entry<String, Long> entry : REVOKED_TOKENS.entrySet()) {
+            if (entry.getValue() > now) {
+                filter.add(entry.getKey());
+            }
+        }
+        return filter;
+    }
+
+    private static void startSweeper() {
+        if (sweeper != null) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revoked-token-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(RevokedTokenStore::sweep, SWEEP_INTERVAL, SWEEP_INTERVAL,
+                TimeUnit.MILLISECONDS);
+    }
+}
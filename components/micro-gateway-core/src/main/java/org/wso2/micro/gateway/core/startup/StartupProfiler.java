@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the startup of the gateway: the time spent in each startup phase, and the components which have to be
+ * initialized before the gateway is ready to serve traffic.
+ * <p>
+ * Components are registered as pending when they are created and marked as ready when they finish initializing.
+ * The gateway is ready once all the required components are ready, which is decided when a component reports
+ * readiness rather than by polling.
+ */
+public class StartupProfiler {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private static final Map<String, Double> PHASES = new LinkedHashMap<>();
+    private static final Set<String> PENDING_COMPONENTS = ConcurrentHashMap.newKeySet();
+    private static final Set<String> READY_COMPONENTS = ConcurrentHashMap.newKeySet();
+    private static volatile boolean ready = false;
+    private static volatile long readyTime;
+
+    private StartupProfiler() {
+    }
+
+    public static long startPhase() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time spent in a startup phase. A phase which runs more than once, e.g. once per listener, is
+     * reported with the total time.
+     *
+     * @param phase     name of the phase
+     * @param startTime time returned by {@link #startPhase()} when the phase started
+     */
+    public static void endPhase(String phase, long startTime) {
+        double duration = (System.nanoTime() - startTime) / NANOS_PER_MILLI;
+        synchronized (PHASES) {
+            PHASES.merge(phase, duration, Double::sum);
+        }
+    }
+
+    /**
+     * Registers a component which has to be ready before the gateway is ready.
+     *
+     * @param component name of the component
+     */
+    public static void addComponent(String component) {
+        if (!READY_COMPONENTS.contains(component)) {
+            PENDING_COMPONENTS.add(component);
+        }
+    }
+
+    /**
+     * Marks a component as ready. The gateway becomes ready when no registered component is pending.
+     *
+     * @param component name of the component
+     * @return true if the gateway became ready with this component
+     */
+    public static boolean setComponentReady(String component) {
+        READY_COMPONENTS.add(component);
+        PENDING_COMPONENTS.remove(component);
+        return PENDING_COMPONENTS.isEmpty() && markReady();
+    }
+
+    public static boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Describes the startup of the gateway as a JSON object.
+     *
+     * @return startup details
+     */
+    public static String getStatus() {
+        StringBuilder builder = new StringBuilder("{\"status\":\"").append(ready ? "ready" : "starting")
+                .append("\"");
+        if (ready) {
+            builder.append(",\"startupTimeInMillis\":").append(readyTime);
+        } else {
+            builder.append(",\"pending\":[");
+            String separator = "";
+            for (String component : PENDING_COMPONENTS) {
+                builder.append(separator).append('"').append(escape(component)).append('"');
+                separator = ",";
+            }
+            builder.append(']');
+        }
+        builder.append(",\"phases\":{");
+        String separator = "";
+        synchronized (PHASES) {
+            for (Map.Entry<String, Double> phase : PHASES.entrySet()) {
+                builder.append(separator).append('"').append(escape(phase.getKey())).append("\":")
+                        .append(String.format(Locale.ROOT, "%.2f", phase.getValue()));
+                separator = ",";
+            }
+        }
+        return builder.append("}}").toString();
+    }
+
+    /**
+     * Describes the time spent in each startup phase.
+     *
+     * @return phases and their durations
+     */
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder("started in ").append(readyTime).append(" ms");
+        synchronized (PHASES) {
+            for (Map.Entry<String, Double> phase : PHASES.entrySet()) {
+                summary.append(", ").append(phase.getKey()).append(": ")
+                        .append(String.format(Locale.ROOT, "%.2f", phase.getValue())).append(" ms");
+            }
+        }
+        return summary.toString();
+    }
+
+    private static synchronized boolean markReady() {
+        if (ready || !PENDING_COMPONENTS.isEmpty()) {
+            return false;
+        }
+        readyTime = ManagementFactory.getRuntimeMXBean().getUptime();
+        ready = true;
+        return true;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
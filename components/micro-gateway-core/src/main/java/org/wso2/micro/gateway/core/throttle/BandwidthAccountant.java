@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.core.throttle;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Records the bytes transferred by requests against the bandwidth policies of the local throttle engine.
+ * <p>
+ * Usage is handed over to a bounded queue from the response path and applied to the policy counters by a single
+ * daemon thread, so sending a response never waits on the counter locks. If the queue is full the usage is
+ * applied inline rather than dropped, as a dropped record would let the throttle key exceed its quota.
+ */
+public class BandwidthAccountant {
+
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+
+    private static volatile BlockingQueue<Usage> queue;
+
+    private BandwidthAccountant() {
+    }
+
+    /**
+     * Creates the usage queue with the given size and starts applying the recorded usage. The queue is created only
+     * once, so a call made after usage has been recorded keeps the existing queue along with the usage waiting in
+     * it.
+     *
+     * @param queueSize maximum number of usage records waiting to be applied
+     */
+    public static synchronized void init(long queueSize) {
+        if (queue == null) {
+            start(queueSize > 0 ? (int) Math.min(queueSize, Integer.MAX_VALUE) : DEFAULT_QUEUE_SIZE);
+        }
+    }
+
+    static void record(BandwidthThrottlePolicy policy, String throttleKey, long bytes) {
+        Usage usage = new Usage(policy, throttleKey, bytes, System.currentTimeMillis());
+        if (!getQueue().offer(usage)) {
+            usage.apply();
+        }
+    }
+
+    private static BlockingQueue<Usage> getQueue() {
+        BlockingQueue<Usage> current = queue;
+        if (current != null) {
+            return current;
+        }
+        synchronized (BandwidthAccountant.class) {
+            if (queue == null) {
+                start(DEFAULT_QUEUE_SIZE);
+            }
+            return queue;
+        }
+    }
+
+    private static void start(int queueSize) {
+        BlockingQueue<Usage> usageQueue = new ArrayBlockingQueue<>(queueSize);
+        Thread thread = new Thread(() -> drain(usageQueue), "bandwidth-accountant");
+        thread.setDaemon(true);
+        thread.start();
+        queue = usageQueue;
+    }
+
+    private static void drain(BlockingQueue<Usage> usageQueue) {
+        while (true) {
+            try {
+                usageQueue.take().apply();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Bytes transferred by a single request, timestamped when the response was sent.
+     */
+    private static final class Usage {
+
+        private final BandwidthThrottlePolicy policy;
+        private final String throttleKey;
+        private final long bytes;
+        private final long time;
+
+        Usage(BandwidthThrottlePolicy policy, String throttleKey, long bytes, long time) {
+            this.policy = policy;
+            this.throttleKey = throttleKey;
+            this.bytes = bytes;
+            this.time = time;
+        }
+
+        void apply() {
+            policy.addBytes(throttleKey, bytes, time);
+        }
+    }
+}
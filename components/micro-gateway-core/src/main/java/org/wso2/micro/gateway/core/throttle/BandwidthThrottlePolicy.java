@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.core.throttle;
+
+/**
+ * A bandwidth throttle policy deployed in the local throttle engine. The quota is a number of bytes, counted from
+ * the request and response payloads of a throttle key within the sliding window. Bytes are only known once the
+ * response is sent, so usage is recorded after the fact and a key which exceeds the quota is throttled from its
+ * next request onwards.
+ */
+public class BandwidthThrottlePolicy extends ThrottlePolicy {
+
+    private final SlidingWindowCounter counter;
+
+    public BandwidthThrottlePolicy(String name, long dataAmount, long unitTime, boolean stopOnQuota) {
+        this(name, dataAmount, stopOnQuota, new SlidingWindowCounter(unitTime));
+    }
+
+    private BandwidthThrottlePolicy(String name, long dataAmount, boolean stopOnQuota, SlidingWindowCounter counter) {
+        super(name, dataAmount, stopOnQuota, counter);
+        this.counter = counter;
+    }
+
+    /**
+     * Requests are not counted by bandwidth policies, hence only the quota is checked.
+     */
+    @Override
+    public boolean acquire(String throttleKey, long now) {
+        return isThrottled(throttleKey, now);
+    }
+
+    /**
+     * Requests are not counted by bandwidth policies, see {@link #addBytes(String, long, long)}.
+     */
+    @Override
+    public void release(String throttleKey, long now) {
+    }
+
+    /**
+     * Records the bytes transferred for a request of the throttle key.
+     *
+     * @param throttleKey throttle key of the request
+     * @param bytes       number of request and response payload bytes
+     * @param now         current time in milliseconds
+     */
+    public void addBytes(String throttleKey, long bytes, long now) {
+        if (bytes > 0) {
+            counter.addAndEstimate(SlidingWindowCounter.hash(throttleKey), bytes, now);
+        }
+    }
+}
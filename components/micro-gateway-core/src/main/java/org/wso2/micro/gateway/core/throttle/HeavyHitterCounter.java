@@ -0,0 +1,373 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed memory sliding window request counter for throttle keys with an unbounded number of distinct values, such
+ * as client IP addresses.
+ * <p>
+ * Every key is counted in a count-min sketch of the current and previous fixed windows, using conservative update
+ * so that counters are only raised as far as the key's own estimate requires. Keys whose estimate reaches the
+ * admission threshold are promoted to a fixed size heavy hitter table, where they are counted individually from
+ * then on, so the estimate of a top offender is not inflated further by the rest of the traffic. When the probed
+ * slots of the table are taken, the entry with the smallest count is replaced if the new key has a higher
+ * estimate. Entries and sketch counters of windows older than the sliding window are discarded, so memory use and
+ * the work per request do not depend on the number of distinct keys.
+ */
+public class HeavyHitterCounter implements RequestCounter {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final int STRIPE_COUNT = 16;
+    private static final int PROBE_LIMIT = 8;
+    private static final long EMPTY_KEY = 0L;
+
+    private final long windowSize;
+    private final int widthMask;
+    private final long admissionThreshold;
+    private final Stripe[] stripes;
+    private volatile SketchWindow sketch;
+
+    /**
+     * @param windowSize          length of the sliding window in milliseconds
+     * @param sketchWidth         number of counters in each row of the sketch, rounded up to a power of two
+     * @param heavyHitterCapacity number of keys tracked individually, rounded up to a power of two
+     * @param admissionThreshold  estimated count from which a key is tracked individually
+     */
+    public HeavyHitterCounter(long windowSize, int sketchWidth, int heavyHitterCapacity, long admissionThreshold) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size should be a positive value: " + windowSize);
+        }
+        int width = powerOfTwo(Math.max(sketchWidth, 16));
+        int stripeCapacity = powerOfTwo(Math.max(heavyHitterCapacity / STRIPE_COUNT, PROBE_LIMIT));
+        this.windowSize = windowSize;
+        this.widthMask = width - 1;
+        this.admissionThreshold = Math.max(1, admissionThreshold);
+        this.stripes = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+        this.sketch = new SketchWindow(Long.MIN_VALUE, new AtomicIntegerArray(DEPTH * width), null);
+    }
+
+    @Override
+    public long estimate(long keyHash, long now) {
+        long tracked = stripeFor(keyHash).estimate(keyHash, now, windowSize);
+        if (tracked >= 0) {
+            return tracked;
+        }
+        return sketchWindow(now).estimate(keyHash, now, windowSize, widthMask);
+    }
+
+    @Override
+    public long incrementAndEstimate(long keyHash, long now) {
+        long sketchEstimate = sketchWindow(now).increment(keyHash, now, windowSize, widthMask);
+        return stripeFor(keyHash).increment(keyHash, now, windowSize, sketchEstimate, admissionThreshold);
+    }
+
+    /**
+     * Records an event for the key only if its estimated count is below the limit. Tracked keys are checked and
+     * counted under the lock of their stripe. Other keys are counted in the shared sketch, which is only checked
+     * beforehand; as keys are tracked from the admission threshold on, this only matters for limits below it.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link SlidingWindowCounter#hash(String)}
+     * @param limit   number of events allowed within the sliding window
+     * @param now     current time in milliseconds
+     * @return {@code true} if the event was admitted and recorded
+     */
+    public boolean tryAcquire(long keyHash, long limit, long now) {
+        if (limit <= 0) {
+            return false;
+        }
+        int admitted = stripeFor(keyHash).tryAcquire(keyHash, limit, now, windowSize);
+        if (admitted >= 0) {
+            return admitted > 0;
+        }
+        if (sketchWindow(now).estimate(keyHash, now, windowSize, widthMask) >= limit) {
+            return false;
+        }
+        incrementAndEstimate(keyHash, now);
+        return true;
+    }
+
+    /**
+     * Removes an event recorded for a tracked key, for a request which was counted but rejected afterwards. The
+     * sketch counters are raised by conservative update and cannot be lowered safely, so the events of keys which
+     * are not tracked are kept, which can only overestimate their count.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link SlidingWindowCounter#hash(String)}
+     * @param now     current time in milliseconds
+     */
+    @Override
+    public void release(long keyHash, long now) {
+        stripeFor(keyHash).release(keyHash, now, windowSize);
+    }
+
+    /**
+     * Returns the number of keys currently tracked in the heavy hitter table.
+     *
+     * @return number of tracked keys
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    @Override
+    public long getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Returns the sketch of the window {@code now} falls into, starting a new one if the window has moved on. The
+     * counters of the window which just ended are kept as the previous window.
+     */
+    private SketchWindow sketchWindow(long now) {
+        long windowStart = now - Math.floorMod(now, windowSize);
+        SketchWindow window = sketch;
+        if (window.start >= windowStart) {
+            return window;
+        }
+        synchronized (this) {
+            window = sketch;
+            if (window.start < windowStart) {
+                AtomicIntegerArray previous = windowStart - window.start == windowSize ? window.current : null;
+                window = new SketchWindow(windowStart, new AtomicIntegerArray(window.current.length()), previous);
+                sketch = window;
+            }
+            return window;
+        }
+    }
+
+    private Stripe stripeFor(long keyHash) {
+        return stripes[(int) (keyHash >>> 32) & (STRIPE_COUNT - 1)];
+    }
+
+    private static int powerOfTwo(int value) {
+        int result = 1;
+        while (result < value && result < (1 << 30)) {
+            result <<= 1;
+        }
+        return result;
+    }
+
+    private static int mix(long keyHash) {
+        long h = keyHash * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Count-min sketch counters of one fixed window, with the counters of the window before it.
+     */
+    private static final class SketchWindow {
+
+        private final long start;
+        private final AtomicIntegerArray current;
+        private final AtomicIntegerArray previous;
+
+        SketchWindow(long start, AtomicIntegerArray current, AtomicIntegerArray previous) {
+            this.start = start;
+            this.current = current;
+            this.previous = previous;
+        }
+
+        long estimate(long keyHash, long now, long windowSize, int widthMask) {
+            return slidingEstimate(min(current, keyHash, widthMask), keyHash, now, windowSize, widthMask);
+        }
+
+        long increment(long keyHash, long now, long windowSize, int widthMask) {
+            int target = min(current, keyHash, widthMask) + 1;
+            if (target > 0) {
+                for (int row = 0; row < DEPTH; row++) {
+                    current.accumulateAndGet(indexOf(keyHash, row, widthMask), target, Math::max);
+                }
+            }
+            return slidingEstimate(target, keyHash, now, windowSize, widthMask);
+        }
+
+        private long slidingEstimate(int currentCount, long keyHash, long now, long windowSize, int widthMask) {
+            long elapsed = now - start;
+            if (previous == null || elapsed < 0 || elapsed >= windowSize) {
+                return currentCount;
+            }
+            double previousWeight = (double) (windowSize - elapsed) / windowSize;
+            return currentCount + (long) (min(previous, keyHash, widthMask) * previousWeight);
+        }
+
+        private static int min(AtomicIntegerArray counters, long keyHash, int widthMask) {
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, counters.get(indexOf(keyHash, row, widthMask)));
+            }
+            return min;
+        }
+
+        private static int indexOf(long keyHash, int row, int widthMask) {
+            long hash = (keyHash + SEEDS[row]) * SEEDS[row];
+            hash += hash >>> 32;
+            return row * (widthMask + 1) + ((int) hash & widthMask);
+        }
+    }
+
+    /**
+     * A lock guarded part of the heavy hitter table. A key can only be placed in the {@link #PROBE_LIMIT} slots
+     * following its home slot.
+     */
+    private static final class Stripe {
+
+        private final long[] keys;
+        private final long[] windowStarts;
+        private final long[] currentCounts;
+        private final long[] previousCounts;
+        private final int mask;
+
+        Stripe(int capacity) {
+            keys = new long[capacity];
+            windowStarts = new long[capacity];
+            currentCounts = new long[capacity];
+            previousCounts = new long[capacity];
+            mask = capacity - 1;
+        }
+
+        /**
+         * Returns the sliding count of a tracked key, or -1 if the key is not tracked.
+         */
+        synchronized long estimate(long key, long now, long windowSize) {
+            int slot = find(key, now, windowSize);
+            return slot < 0 ? -1 : estimateAt(slot, now, windowSize);
+        }
+
+        /**
+         * Records an event for a tracked key if its sliding count is below the limit. Returns 1 if the event was
+         * recorded, 0 if the key has reached the limit and -1 if the key is not tracked.
+         */
+        synchronized int tryAcquire(long key, long limit, long now, long windowSize) {
+            int slot = find(key, now, windowSize);
+            if (slot < 0) {
+                return -1;
+            }
+            if (estimateAt(slot, now, windowSize) >= limit) {
+                return 0;
+            }
+            currentCounts[slot]++;
+            return 1;
+        }
+
+        synchronized void release(long key, long now, long windowSize) {
+            int slot = find(key, now, windowSize);
+            if (slot >= 0) {
+                roll(slot, now, windowSize);
+                if (currentCounts[slot] > 0) {
+                    currentCounts[slot]--;
+                } else if (previousCounts[slot] > 0) {
+                    previousCounts[slot]--;
+                }
+            }
+        }
+
+        synchronized long increment(long key, long now, long windowSize, long sketchEstimate,
+                                    long admissionThreshold) {
+            int slot = find(key, now, windowSize);
+            if (slot >= 0) {
+                roll(slot, now, windowSize);
+                currentCounts[slot]++;
+                return estimateAt(slot, now, windowSize);
+            }
+            if (sketchEstimate < admissionThreshold) {
+                return sketchEstimate;
+            }
+            int victim = -1;
+            long victimCount = sketchEstimate;
+            int home = mix(key) & mask;
+            for (int i = 0; i < PROBE_LIMIT; i++) {
+                int candidate = (home + i) & mask;
+                long count = isLive(candidate, now, windowSize) ? estimateAt(candidate, now, windowSize) : -1;
+                if (count < victimCount) {
+                    victim = candidate;
+                    victimCount = count;
+                }
+            }
+            if (victim >= 0) {
+                // the sketch estimate is carried over, so admission does not reset the count of the key
+                keys[victim] = key;
+                windowStarts[victim] = now - Math.floorMod(now, windowSize);
+                currentCounts[victim] = sketchEstimate;
+                previousCounts[victim] = 0;
+            }
+            return sketchEstimate;
+        }
+
+        synchronized int size() {
+            int size = 0;
+            for (long key : keys) {
+                if (key != EMPTY_KEY) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        private int find(long key, long now, long windowSize) {
+            int home = mix(key) & mask;
+            for (int i = 0; i < PROBE_LIMIT; i++) {
+                int slot = (home + i) & mask;
+                if (keys[slot] == key && isLive(slot, now, windowSize)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Whether the slot holds a key counted in the current or previous window.
+         */
+        private boolean isLive(int slot, long now, long windowSize) {
+            return keys[slot] != EMPTY_KEY
+                    && windowStarts[slot] >= now - Math.floorMod(now, windowSize) - windowSize;
+        }
+
+        private long estimateAt(int slot, long now, long windowSize) {
+            roll(slot, now, windowSize);
+            long elapsed = now - windowStarts[slot];
+            if (elapsed < 0 || elapsed >= windowSize) {
+                return currentCounts[slot];
+            }
+            double previousWeight = (double) (windowSize - elapsed) / windowSize;
+            return currentCounts[slot] + (long) (previousCounts[slot] * previousWeight);
+        }
+
+        private void roll(int slot, long now, long windowSize) {
+            long windowStart = now - Math.floorMod(now, windowSize);
+            long lastWindowStart = windowStarts[slot];
+            if (windowStart <= lastWindowStart) {
+                return;
+            }
+            previousCounts[slot] = windowStart - lastWindowStart == windowSize ? currentCounts[slot] : 0;
+            currentCounts[slot] = 0;
+            windowStarts[slot] = windowStart;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+/**
+ * Counts the requests of throttle keys within a sliding window.
+ */
+public interface RequestCounter {
+
+    /**
+     * Returns the estimated number of events recorded for the key within the sliding window ending at
+     * {@code now}.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link SlidingWindowCounter#hash(String)}
+     * @param now     current time in milliseconds
+     * @return estimated event count
+     */
+    long estimate(long keyHash, long now);
+
+    /**
+     * Records an event for the key and returns the estimated count including the new event.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link SlidingWindowCounter#hash(String)}
+     * @param now     current time in milliseconds
+     * @return estimated event count after recording the event
+     */
+    long incrementAndEstimate(long keyHash, long now);
+
+    /**
+     * Records an event for the key only if its estimated count is below the limit, so that concurrent requests of
+     * the key cannot all be admitted on the same remaining quota.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link SlidingWindowCounter#hash(String)}
+     * @param limit   number of events allowed within the sliding window
+     * @param now     current time in milliseconds
+     * @return {@code true} if the event was admitted and recorded
+     */
+    boolean tryAcquire(long keyHash, long limit, long now);
+
+    /**
+     * Removes an event recorded for the key, for a request which was counted but rejected afterwards.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link SlidingWindowCounter#hash(String)}
+     * @param now     current time in milliseconds
+     */
+    void release(long keyHash, long now);
+
+    /**
+     * Returns the number of keys currently tracked individually.
+     *
+     * @return number of tracked keys
+     */
+    int size();
+
+    long getWindowSize();
+}
@@ -0,0 +1,314 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+/**
+ * Sliding window request counter keyed by the 64 bit hash of a throttle key.
+ * <p>
+ * Counters live in lock striped, open addressing tables built from primitive arrays, so a lookup does not
+ * allocate and only contends with keys that hash to the same stripe. The count of a key is estimated from the
+ * fixed window the current time falls into plus the previous window, weighted by how much of the previous
+ * window is still covered by the sliding window.
+ */
+public class SlidingWindowCounter implements RequestCounter {
+
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+    private static final int INITIAL_STRIPE_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final long EMPTY_KEY = 0L;
+
+    private final long windowSize;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public SlidingWindowCounter(long windowSize) {
+        this(windowSize, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public SlidingWindowCounter(long windowSize, int concurrencyLevel) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size should be a positive value: " + windowSize);
+        }
+        int stripeCount = 1;
+        while (stripeCount < concurrencyLevel) {
+            stripeCount <<= 1;
+        }
+        this.windowSize = windowSize;
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Returns the estimated number of events recorded for the key within the sliding window ending at
+     * {@code now}.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link #hash(String)}
+     * @param now     current time in milliseconds
+     * @return estimated event count
+     */
+    public long estimate(long keyHash, long now) {
+        return stripeFor(keyHash).estimate(keyHash, now, windowSize);
+    }
+
+    /**
+     * Records an event for the key and returns the estimated count including the new event.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link #hash(String)}
+     * @param now     current time in milliseconds
+     * @return estimated event count after recording the event
+     */
+    public long incrementAndEstimate(long keyHash, long now) {
+        return stripeFor(keyHash).add(keyHash, 1, now, windowSize);
+    }
+
+    /**
+     * Records an event for the key only if its estimated count is below the limit. The check and the update are
+     * done under the lock of the key's stripe, so concurrent requests cannot exceed the limit together.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link #hash(String)}
+     * @param limit   number of events allowed within the sliding window
+     * @param now     current time in milliseconds
+     * @return {@code true} if the event was admitted and recorded
+     */
+    public boolean tryAcquire(long keyHash, long limit, long now) {
+        return stripeFor(keyHash).tryAdd(keyHash, limit, now, windowSize);
+    }
+
+    /**
+     * Removes an event recorded for the key, for a request which was counted but rejected afterwards. The event is
+     * taken from the current window, or from the previous one if the window has moved on since it was recorded.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link #hash(String)}
+     * @param now     current time in milliseconds
+     */
+    public void release(long keyHash, long now) {
+        stripeFor(keyHash).release(keyHash, now, windowSize);
+    }
+
+    /**
+     * Records an amount, such as a number of bytes, for the key and returns the estimated total including it.
+     *
+     * @param keyHash 64 bit hash of the throttle key, as returned by {@link #hash(String)}
+     * @param amount  amount to record
+     * @param now     current time in milliseconds
+     * @return estimated total after recording the amount
+     */
+    public long addAndEstimate(long keyHash, long amount, long now) {
+        return stripeFor(keyHash).add(keyHash, amount, now, windowSize);
+    }
+
+    /**
+     * Returns the number of keys currently tracked. Keys which have been idle for more than two windows are
+     * dropped lazily when a stripe is resized.
+     *
+     * @return number of tracked keys
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public long getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the given key. Zero is reserved to mark empty slots.
+     *
+     * @param key throttle key
+     * @return non zero hash of the key
+     */
+    public static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash == EMPTY_KEY ? 1L : hash;
+    }
+
+    private Stripe stripeFor(long keyHash) {
+        return stripes[(int) (keyHash >>> 32) & stripeMask];
+    }
+
+    private static int mix(long keyHash) {
+        long h = keyHash * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * A single lock guarded open addressing table.
+     */
+    private static final class Stripe {
+
+        private long[] keys = new long[INITIAL_STRIPE_CAPACITY];
+        private long[] windowStarts = new long[INITIAL_STRIPE_CAPACITY];
+        private long[] currentCounts = new long[INITIAL_STRIPE_CAPACITY];
+        private long[] previousCounts = new long[INITIAL_STRIPE_CAPACITY];
+        private int size;
+
+        synchronized long estimate(long key, long now, long windowSize) {
+            int slot = find(key);
+            if (slot < 0) {
+                return 0;
+            }
+            return estimateAt(slot, now, windowSize);
+        }
+
+        synchronized long add(long key, long amount, long now, long windowSize) {
+            int slot = slotFor(key, now, windowSize);
+            roll(slot, now, windowSize);
+            currentCounts[slot] += amount;
+            return estimateAt(slot, now, windowSize);
+        }
+
+        /**
+         * Checks the estimate and records the event under the same lock, hence a single step for concurrent
+         * requests of the key.
+         */
+        synchronized boolean tryAdd(long key, long limit, long now, long windowSize) {
+            if (limit <= 0) {
+                return false;
+            }
+            int slot = slotFor(key, now, windowSize);
+            if (estimateAt(slot, now, windowSize) >= limit) {
+                return false;
+            }
+            currentCounts[slot]++;
+            return true;
+        }
+
+        synchronized void release(long key, long now, long windowSize) {
+            int slot = find(key);
+            if (slot >= 0) {
+                roll(slot, now, windowSize);
+                if (currentCounts[slot] > 0) {
+                    currentCounts[slot]--;
+                } else if (previousCounts[slot] > 0) {
+                    previousCounts[slot]--;
+                }
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private long estimateAt(int slot, long now, long windowSize) {
+            roll(slot, now, windowSize);
+            long elapsed = now - windowStarts[slot];
+            if (elapsed < 0 || elapsed >= windowSize) {
+                return currentCounts[slot];
+            }
+            double previousWeight = (double) (windowSize - elapsed) / windowSize;
+            return currentCounts[slot] + (long) (previousCounts[slot] * previousWeight);
+        }
+
+        private void roll(int slot, long now, long windowSize) {
+            long windowStart = now - Math.floorMod(now, windowSize);
+            long lastWindowStart = windowStarts[slot];
+            if (windowStart <= lastWindowStart) {
+                return;
+            }
+            previousCounts[slot] = windowStart - lastWindowStart == windowSize ? currentCounts[slot] : 0;
+            currentCounts[slot] = 0;
+            windowStarts[slot] = windowStart;
+        }
+
+        private int slotFor(long key, long now, long windowSize) {
+            int slot = find(key);
+            if (slot < 0) {
+                if (size + 1 > keys.length * LOAD_FACTOR) {
+                    resize(now, windowSize);
+                }
+                slot = insert(key, now - Math.floorMod(now, windowSize));
+            }
+            return slot;
+        }
+
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (true) {
+                long existing = keys[slot];
+                if (existing == key) {
+                    return slot;
+                }
+                if (existing == EMPTY_KEY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private int insert(long key, long windowStart) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != EMPTY_KEY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            windowStarts[slot] = windowStart;
+            currentCounts[slot] = 0;
+            previousCounts[slot] = 0;
+            size++;
+            return slot;
+        }
+
+        /**
+         * Rebuilds the table dropping keys which no longer contribute to any sliding window. The table only
+         * grows when most of the entries are still live.
+         */
+        private void resize(long now, long windowSize) {
+            long oldestLiveWindow = now - Math.floorMod(now, windowSize) - windowSize;
+            int live = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY_KEY && windowStarts[i] >= oldestLiveWindow) {
+                    live++;
+                }
+            }
+            int capacity = keys.length;
+            if (live + 1 > capacity * LOAD_FACTOR / 2) {
+                capacity <<= 1;
+            }
+            long[] oldKeys = keys;
+            long[] oldWindowStarts = windowStarts;
+            long[] oldCurrentCounts = currentCounts;
+            long[] oldPreviousCounts = previousCounts;
+            keys = new long[capacity];
+            windowStarts = new long[capacity];
+            currentCounts = new long[capacity];
+            previousCounts = new long[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY_KEY && oldWindowStarts[i] >= oldestLiveWindow) {
+                    int slot = insert(oldKeys[i], oldWindowStarts[i]);
+                    currentCounts[slot] = oldCurrentCounts[i];
+                    previousCounts[slot] = oldPreviousCounts[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Spike arrest limiter enforcing the spike arrest limit of a subscription within sub-second intervals, using the
+ * generic cell rate algorithm.
+ * <p>
+ * A limit of {@code n} requests per unit gives an emission interval of {@code unit / n}. The theoretical arrival
+ * time (TAT) of the next request of a key advances by one interval per accepted request, and a request is rejected
+ * when the TAT is further ahead of the current time than the burst tolerance. The tolerance allows the number of
+ * requests the limit permits within a second to arrive back to back, so a per minute limit can not be spent in a
+ * single burst.
+ * <p>
+ * Key hashes and TATs live in a fixed size open addressing table of atomic longs. Requests update the TAT with a
+ * compare and set loop, so checks neither lock nor allocate. A slot whose TAT has already passed carries no state
+ * and is reused for another key when its probe window is full. If a reused slot is updated concurrently by its
+ * previous key, the new key is charged for that request, which only delays it by one interval. When every slot in
+ * the probe window holds an active key, the request is allowed.
+ */
+public class SpikeArrestLimiter {
+
+    private static final int DEFAULT_CAPACITY = 65536;
+    private static final int PROBE_LIMIT = 8;
+    private static final long EMPTY_KEY = 0L;
+    private static final long MICROS_PER_SECOND = 1000000L;
+    private static final long MICROS_PER_MINUTE = 60 * MICROS_PER_SECOND;
+    private static final long ORIGIN = System.nanoTime();
+
+    private static volatile SpikeArrestLimiter instance = new SpikeArrestLimiter(DEFAULT_CAPACITY);
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray arrivalTimes;
+    private final int mask;
+
+    SpikeArrestLimiter(int capacity) {
+        int size = PROBE_LIMIT;
+        while (size < capacity && size < (1 << 30)) {
+            size <<= 1;
+        }
+        this.keys = new AtomicLongArray(size);
+        this.arrivalTimes = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Replaces the limiter with an empty one tracking up to the given number of keys. Should be called before any
+     * request is checked.
+     *
+     * @param capacity number of keys tracked
+     */
+    public static void init(long capacity) {
+        instance = new SpikeArrestLimiter(capacity > 0 ? (int) Math.min(capacity, 1 << 30) : DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Checks a request of the key against the spike arrest limit and records it if it is allowed.
+     *
+     * @param key   spike arrest key of the request
+     * @param limit number of requests allowed per unit
+     * @param unit  spike arrest unit, {@code sec} or {@code min}
+     * @return 0 if the request is allowed, otherwise the number of milliseconds after which it would be allowed
+     */
+    public static long tryAcquire(String key, long limit, String unit) {
+        long unitMicros;
+        if ("sec".equalsIgnoreCase(unit)) {
+            unitMicros = MICROS_PER_SECOND;
+        } else if ("min".equalsIgnoreCase(unit)) {
+            unitMicros = MICROS_PER_MINUTE;
+        } else {
+            return 0;
+        }
+        if (limit <= 0) {
+            return 0;
+        }
+        return instance.tryAcquire(SlidingWindowCounter.hash(key), limit, unitMicros, now());
+    }
+
+    long tryAcquire(long keyHash, long limit, long unitMicros, long now) {
+        long interval = Math.max(1, unitMicros / limit);
+        long burst = Math.max(1, limit * MICROS_PER_SECOND / unitMicros);
+        long tolerance = interval * (burst - 1);
+        int slot = slotFor(keyHash, now);
+        if (slot < 0) {
+            return 0;
+        }
+        while (true) {
+            long arrivalTime = arrivalTimes.get(slot);
+            long start = Math.max(arrivalTime, now);
+            long wait = start - tolerance - now;
+            if (wait > 0) {
+                return (wait + 999) / 1000;
+            }
+            if (arrivalTimes.compareAndSet(slot, arrivalTime, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the slot of the key, claiming an empty or idle slot in its probe window if the key has none.
+     */
+    private int slotFor(long keyHash, long now) {
+        int home = mix(keyHash) & mask;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            int reusable = -1;
+            long reusableKey = EMPTY_KEY;
+            for (int i = 0; i < PROBE_LIMIT; i++) {
+                int slot = (home + i) & mask;
+                long key = keys.get(slot);
+                if (key == keyHash) {
+                    return slot;
+                }
+                if (reusable < 0 && (key == EMPTY_KEY || arrivalTimes.get(slot) <= now)) {
+                    reusable = slot;
+                    reusableKey = key;
+                }
+            }
+            if (reusable < 0) {
+                return -1;
+            }
+            if (keys.compareAndSet(reusable, reusableKey, keyHash)) {
+                return reusable;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Current time in microseconds since the class was loaded. Always positive, so that the zero TAT of an empty
+     * slot is in the past.
+     */
+    private static long now() {
+        return (System.nanoTime() - ORIGIN) / 1000 + 1;
+    }
+
+    private static int mix(long keyHash) {
+        long h = keyHash * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
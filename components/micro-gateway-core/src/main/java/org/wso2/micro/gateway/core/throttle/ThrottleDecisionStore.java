@@ -0,0 +1,230 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throttle decisions received from the traffic manager, keyed by the throttle key.
+ * <p>
+ * Lookups are single {@link ConcurrentHashMap} reads and check the expiry time of the decision inline, so an
+ * expired decision never throttles a request even before it is removed. Decisions are also placed in a hashed
+ * timer wheel slot derived from their expiry time, and a single daemon thread sweeps the slots which became due
+ * since the last tick, so expired keys are dropped without waiting for a request to hit them. The number of
+ * decisions is bounded: once the capacity is exceeded the decisions which are due to expire soonest are evicted.
+ */
+public class ThrottleDecisionStore {
+
+    private static final long TICK_DURATION = 100;
+    private static final int WHEEL_SIZE = 1024;
+    private static final int DEFAULT_CAPACITY = 100000;
+
+    private static volatile ThrottleDecisionStore instance = new ThrottleDecisionStore(DEFAULT_CAPACITY);
+    private static final ScheduledExecutorService EXPIRY_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "throttle-decision-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    static {
+        EXPIRY_EXECUTOR.scheduleWithFixedDelay(() -> instance.expire(System.currentTimeMillis()), TICK_DURATION,
+                TICK_DURATION, TimeUnit.MILLISECONDS);
+    }
+
+    private final ConcurrentHashMap<String, Decision> decisions = new ConcurrentHashMap<>();
+    private final Set<Decision>[] wheel;
+    private final int capacity;
+    private final AtomicLong evictionCount = new AtomicLong();
+    private volatile long expiryLag;
+    private long lastTick = -1;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ThrottleDecisionStore(int capacity) {
+        this.capacity = capacity > 0 ? capacity : DEFAULT_CAPACITY;
+        this.wheel = new Set[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    /**
+     * Replaces the store with an empty one of the given capacity. Should be called before any decision is
+     * received.
+     *
+     * @param capacity maximum number of decisions held
+     */
+    public static void init(long capacity) {
+        instance = new ThrottleDecisionStore((int) Math.min(capacity, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Stores a throttle decision, replacing the existing decision of the key. Decisions which have already
+     * expired are removed instead.
+     *
+     * @param throttleKey throttle key
+     * @param stopOnQuota whether requests should be rejected while the decision is active
+     * @param expiryTime  time in milliseconds until which the key is throttled
+     */
+    public static void put(String throttleKey, boolean stopOnQuota, long expiryTime) {
+        instance.add(throttleKey, stopOnQuota, expiryTime, System.currentTimeMillis());
+    }
+
+    public static void remove(String throttleKey) {
+        instance.delete(throttleKey);
+    }
+
+    /**
+     * Checks whether an active throttle decision exists for the key.
+     *
+     * @param throttleKey throttle key
+     * @return {@code true} if the key is throttled
+     */
+    public static boolean isThrottled(String throttleKey) {
+        return instance.getActive(throttleKey, System.currentTimeMillis()) != null;
+    }
+
+    /**
+     * Whether the active throttle decision of the key requires requests to be rejected.
+     *
+     * @param throttleKey throttle key
+     * @return {@code false} if the key is not throttled or the decision allows requests to pass
+     */
+    public static boolean isStopOnQuota(String throttleKey) {
+        Decision decision = instance.getActive(throttleKey, System.currentTimeMillis());
+        return decision != null && decision.stopOnQuota;
+    }
+
+    public static long size() {
+        return instance.decisions.size();
+    }
+
+    /**
+     * Time in milliseconds between the expiry of the most overdue decision removed by the latest sweep which
+     * removed any decision and the sweep itself.
+     *
+     * @return expiry lag in milliseconds
+     */
+    public static long getExpiryLag() {
+        return instance.expiryLag;
+    }
+
+    public static long getEvictionCount() {
+        return instance.evictionCount.get();
+    }
+
+    void add(String throttleKey, boolean stopOnQuota, long expiryTime, long now) {
+        if (expiryTime < now) {
+            delete(throttleKey);
+            return;
+        }
+        Decision decision = new Decision(throttleKey, stopOnQuota, expiryTime);
+        Decision previous = decisions.put(throttleKey, decision);
+        if (previous != null) {
+            slotOf(previous).remove(previous);
+        }
+        slotOf(decision).add(decision);
+        if (decisions.size() > capacity) {
+            evict(now);
+        }
+    }
+
+    void delete(String throttleKey) {
+        Decision decision = decisions.remove(throttleKey);
+        if (decision != null) {
+            slotOf(decision).remove(decision);
+        }
+    }
+
+    Decision getActive(String throttleKey, long now) {
+        Decision decision = decisions.get(throttleKey);
+        return decision == null || decision.expiryTime < now ? null : decision;
+    }
+
+    /**
+     * Removes the expired decisions of the slots whose tick has fully passed since the last sweep. Decisions in
+     * those slots which expire in a later round of the wheel are kept.
+     */
+    synchronized void expire(long now) {
+        long lastCompletedTick = now / TICK_DURATION - 1;
+        long firstTick = lastTick < 0 || lastCompletedTick - lastTick > WHEEL_SIZE
+                ? lastCompletedTick - WHEEL_SIZE + 1 : lastTick + 1;
+        long lag = -1;
+        for (long current = firstTick; current <= lastCompletedTick; current++) {
+            Iterator<Decision> slot = wheel[(int) (current & (WHEEL_SIZE - 1))].iterator();
+            while (slot.hasNext()) {
+                Decision decision = slot.next();
+                if (decision.expiryTime < now) {
+                    slot.remove();
+                    decisions.remove(decision.throttleKey, decision);
+                    lag = Math.max(lag, now - decision.expiryTime);
+                }
+            }
+        }
+        lastTick = lastCompletedTick;
+        if (lag >= 0) {
+            expiryLag = lag;
+        }
+    }
+
+    /**
+     * Evicts decisions starting from the slot of the current tick, i.e. those which expire soonest, until the
+     * store is back within its capacity.
+     */
+    private void evict(long now) {
+        long tick = now / TICK_DURATION;
+        for (int i = 0; i < WHEEL_SIZE && decisions.size() > capacity; i++) {
+            Iterator<Decision> slot = wheel[(int) ((tick + i) & (WHEEL_SIZE - 1))].iterator();
+            while (slot.hasNext() && decisions.size() > capacity) {
+                Decision decision = slot.next();
+                slot.remove();
+                if (decisions.remove(decision.throttleKey, decision)) {
+                    evictionCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private Set<Decision> slotOf(Decision decision) {
+        return wheel[(int) ((decision.expiryTime / TICK_DURATION) & (WHEEL_SIZE - 1))];
+    }
+
+    /**
+     * A throttle decision of a single key. Compared by identity so that a replaced decision is not confused with
+     * the decision which replaced it.
+     */
+    static final class Decision {
+
+        private final String throttleKey;
+        private final boolean stopOnQuota;
+        private final long expiryTime;
+
+        Decision(String throttleKey, boolean stopOnQuota, long expiryTime) {
+            this.throttleKey = throttleKey;
+            this.stopOnQuota = stopOnQuota;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Extern functions of the wso2.gateway local throttle engine.
+ * <p>
+ * Policies are registered once at startup by the generated throttle policy sources and are then checked inline
+ * by the throttle filter. Policies are grouped by the tier type they apply to (application, subscription or
+ * resource tier), since the same policy name can be used under more than one tier type. Policies enabled for
+ * approximate counting keep their counters in fixed memory, regardless of the number of distinct throttle keys.
+ * Bandwidth policies count the bytes of the requests instead, which are recorded asynchronously once the response
+ * is sent.
+ */
+public class ThrottleEngine {
+
+    private static final Map<String, Map<String, ThrottlePolicy>> POLICIES = new ConcurrentHashMap<>();
+    private static final Map<String, int[]> APPROXIMATE_POLICIES = new ConcurrentHashMap<>();
+
+    private ThrottleEngine() {
+    }
+
+    /**
+     * Registers a throttle policy. An existing policy with the same tier type and name is replaced.
+     *
+     * @param tierType    tier type the policy applies to
+     * @param policyName  name of the policy
+     * @param count       number of requests allowed within the unit time
+     * @param unitTime    length of the window in milliseconds
+     * @param stopOnQuota whether requests should be rejected once the quota is reached
+     */
+    public static void addPolicy(String tierType, String policyName, long count, long unitTime,
+                                 boolean stopOnQuota) {
+        int[] approximateCounting = APPROXIMATE_POLICIES.get(policyName);
+        ThrottlePolicy policy;
+        if (approximateCounting == null) {
+            policy = new ThrottlePolicy(policyName, count, unitTime, stopOnQuota);
+        } else {
+            // keys are tracked individually once they reach half of the quota, well before they are throttled
+            policy = new ThrottlePolicy(policyName, count, stopOnQuota, new HeavyHitterCounter(unitTime,
+                    approximateCounting[0], approximateCounting[1], count / 2));
+        }
+        POLICIES.computeIfAbsent(tierType, type -> new ConcurrentHashMap<>()).put(policyName, policy);
+    }
+
+    /**
+     * Registers a bandwidth throttle policy. An existing policy with the same tier type and name is replaced.
+     *
+     * @param tierType    tier type the policy applies to
+     * @param policyName  name of the policy
+     * @param dataAmount  number of request and response payload bytes allowed within the unit time
+     * @param unitTime    length of the window in milliseconds
+     * @param stopOnQuota whether requests should be rejected once the quota is reached
+     */
+    public static void addBandwidthPolicy(String tierType, String policyName, long dataAmount, long unitTime,
+                                          boolean stopOnQuota) {
+        POLICIES.computeIfAbsent(tierType, type -> new ConcurrentHashMap<>()).put(policyName,
+                new BandwidthThrottlePolicy(policyName, dataAmount, unitTime, stopOnQuota));
+    }
+
+    /**
+     * Makes policies with the given name count requests approximately in fixed memory. Should be called before
+     * the policies are added.
+     *
+     * @param policyName          name of the policy
+     * @param sketchWidth         number of counters in each row of the count-min sketch
+     * @param heavyHitterCapacity number of throttle keys tracked individually
+     */
+    public static void setApproximateCounting(String policyName, long sketchWidth, long heavyHitterCapacity) {
+        APPROXIMATE_POLICIES.put(policyName, new int[]{(int) Math.min(sketchWidth, 1 << 30),
+                (int) Math.min(heavyHitterCapacity, 1 << 30)});
+    }
+
+    public static boolean isPolicyExist(String tierType, String policyName) {
+        return getPolicy(tierType, policyName) != null;
+    }
+
+    /**
+     * Checks whether the throttle key has reached the quota of the given policy and records the request against it
+     * in the same step, so that concurrent requests are not admitted on the same remaining quota. Unknown policies
+     * never throttle.
+     *
+     * @param tierType    tier type the policy applies to
+     * @param policyName  name of the policy
+     * @param throttleKey throttle key of the request
+     * @return {@code true} if the request should be throttled
+     */
+    public static boolean acquire(String tierType, String policyName, String throttleKey) {
+        ThrottlePolicy policy = getPolicy(tierType, policyName);
+        return policy != null && policy.acquire(throttleKey, System.currentTimeMillis());
+    }
+
+    public static boolean isStopOnQuota(String tierType, String policyName) {
+        ThrottlePolicy policy = getPolicy(tierType, policyName);
+        return policy == null || policy.isStopOnQuota();
+    }
+
+    /**
+     * Removes a request counted by {@link #acquire(String, String, String)} which was rejected by another policy
+     * afterwards, so that only admitted requests are counted. Unknown policies are ignored.
+     *
+     * @param tierType    tier type the policy applies to
+     * @param policyName  name of the policy
+     * @param throttleKey throttle key of the request
+     */
+    public static void release(String tierType, String policyName, String throttleKey) {
+        ThrottlePolicy policy = getPolicy(tierType, policyName);
+        if (policy != null) {
+            policy.release(throttleKey, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Records the bytes transferred by a request against the throttle key of the given policy. The usage is
+     * applied asynchronously and only affects the following requests. Request count policies and unknown policies
+     * are ignored.
+     *
+     * @param tierType    tier type the policy applies to
+     * @param policyName  name of the policy
+     * @param throttleKey throttle key of the request
+     * @param bytes       number of request and response payload bytes
+     */
+    public static void recordBandwidth(String tierType, String policyName, String throttleKey, long bytes) {
+        ThrottlePolicy policy = getPolicy(tierType, policyName);
+        if (policy instanceof BandwidthThrottlePolicy && bytes > 0) {
+            BandwidthAccountant.record((BandwidthThrottlePolicy) policy, throttleKey, bytes);
+        }
+    }
+
+    /**
+     * Checks whether the given policy limits the bytes transferred rather than the number of requests.
+     *
+     * @param tierType   tier type the policy applies to
+     * @param policyName name of the policy
+     * @return {@code true} if the policy is a bandwidth policy
+     */
+    public static boolean isBandwidthPolicy(String tierType, String policyName) {
+        return getPolicy(tierType, policyName) instanceof BandwidthThrottlePolicy;
+    }
+
+    static ThrottlePolicy getPolicy(String tierType, String policyName) {
+        if (tierType == null || policyName == null) {
+            return null;
+        }
+        Map<String, ThrottlePolicy> policies = POLICIES.get(tierType);
+        return policies == null ? null : policies.get(policyName);
+    }
+}
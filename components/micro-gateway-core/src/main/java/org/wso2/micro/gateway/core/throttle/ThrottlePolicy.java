@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+/**
+ * A throttle policy deployed in the local throttle engine, together with its counters. The count is the number of
+ * requests allowed within the window, see {@link BandwidthThrottlePolicy} for policies limiting bytes instead.
+ */
+public class ThrottlePolicy {
+
+    private final String name;
+    private final long count;
+    private final boolean stopOnQuota;
+    private final RequestCounter counter;
+
+    public ThrottlePolicy(String name, long count, long unitTime, boolean stopOnQuota) {
+        this(name, count, stopOnQuota, new SlidingWindowCounter(unitTime));
+    }
+
+    public ThrottlePolicy(String name, long count, boolean stopOnQuota, RequestCounter counter) {
+        this.name = name;
+        this.count = count;
+        this.stopOnQuota = stopOnQuota;
+        this.counter = counter;
+    }
+
+    /**
+     * Checks whether the quota of the throttle key has already been reached within the current window.
+     *
+     * @param throttleKey throttle key of the request
+     * @param now         current time in milliseconds
+     * @return {@code true} if the request should be throttled
+     */
+    public boolean isThrottled(String throttleKey, long now) {
+        return counter.estimate(SlidingWindowCounter.hash(throttleKey), now) >= count;
+    }
+
+    /**
+     * Checks the quota of the throttle key and records the request in a single step. Requests over the quota are
+     * only recorded if the policy does not stop on quota reach, as they are still sent to the backend then.
+     *
+     * @param throttleKey throttle key of the request
+     * @param now         current time in milliseconds
+     * @return {@code true} if the quota had already been reached
+     */
+    public boolean acquire(String throttleKey, long now) {
+        long keyHash = SlidingWindowCounter.hash(throttleKey);
+        if (stopOnQuota) {
+            return !counter.tryAcquire(keyHash, count, now);
+        }
+        return counter.incrementAndEstimate(keyHash, now) > count;
+    }
+
+    /**
+     * Removes a request recorded by {@link #acquire(String, long)} which was rejected by another policy afterwards,
+     * so that only admitted requests are counted.
+     *
+     * @param throttleKey throttle key of the request
+     * @param now         current time in milliseconds
+     */
+    public void release(String throttleKey, long now) {
+        counter.release(SlidingWindowCounter.hash(throttleKey), now);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getUnitTime() {
+        return counter.getWindowSize();
+    }
+
+    public boolean isStopOnQuota() {
+        return stopOnQuota;
+    }
+
+    public int getKeyCount() {
+        return counter.size();
+    }
+}
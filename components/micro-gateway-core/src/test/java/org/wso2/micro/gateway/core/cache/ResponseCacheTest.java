@@ -0,0 +1,223 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.core.cache;
+
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for {@link ResponseCache}.
+ */
+public class ResponseCacheTest {
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final long MAX_AGE = 60000;
+
+    @Before
+    public void setUp() {
+        ResponseCache.init(1024 * 1024, false);
+    }
+
+    @Test
+    public void testPutAndLookup() {
+        long hits = ResponseCache.getHitCount();
+        long misses = ResponseCache.getMissCount();
+        Object entry = ResponseCache.newEntry(200, body("{\"id\":1}"), MAX_AGE);
+        ResponseCache.addHeader(entry, "Content-Type", "application/json");
+        ResponseCache.put("GET:/pets/1", entry);
+
+        Object cached = ResponseCache.lookup("GET:/pets/1");
+        Assert.assertNotNull(cached);
+        Assert.assertTrue(ResponseCache.isFresh(cached));
+        Assert.assertEquals(200, ResponseCache.getStatusCode(cached));
+        Assert.assertEquals("{\"id\":1}", new String(ResponseCache.getBody(cached).getBytes(), StandardCharsets.UTF_8));
+        Assert.assertEquals(1, ResponseCache.getHeaderCount(cached));
+        Assert.assertEquals("Content-Type", ResponseCache.getHeaderName(cached, 0));
+        Assert.assertEquals("application/json", ResponseCache.getHeader(cached, "content-type"));
+        Assert.assertEquals("", ResponseCache.getHeader(cached, "ETag"));
+        Assert.assertNull(ResponseCache.lookup("GET:/pets/2"));
+
+        Assert.assertEquals(hits + 1, ResponseCache.getHitCount());
+        Assert.assertEquals(misses + 1, ResponseCache.getMissCount());
+        Assert.assertEquals(1, ResponseCache.getSize());
+        Assert.assertTrue(ResponseCache.getUsedBytes() > 0);
+    }
+
+    @Test
+    public void testOffHeapBody() {
+        ResponseCache.init(1024 * 1024, true);
+        ResponseCache.put("GET:/pets", ResponseCache.newEntry(200, body("[]"), MAX_AGE));
+        Object cached = ResponseCache.lookup("GET:/pets");
+        Assert.assertEquals("[]", new String(ResponseCache.getBody(cached).getBytes(), StandardCharsets.UTF_8));
+        // the body can be read more than once
+        Assert.assertEquals(2, ResponseCache.getBody(cached).getBytes().length);
+    }
+
+    @Test
+    public void testStaleEntryWithoutValidatorsIsRemoved() {
+        ResponseCache.put("GET:/stale", ResponseCache.newEntry(200, body("stale"), 0));
+        Assert.assertNull(ResponseCache.lookup("GET:/stale"));
+        Assert.assertEquals(0, ResponseCache.getSize());
+    }
+
+    @Test
+    public void testStaleEntryWithValidatorsIsKept() {
+        Object entry = ResponseCache.newEntry(200, body("stale"), 0);
+        ResponseCache.addHeader(entry, "ETag", "\"v1\"");
+        ResponseCache.put("GET:/etag", entry);
+        Object cached = ResponseCache.lookup("GET:/etag");
+        Assert.assertNotNull(cached);
+        Assert.assertFalse(ResponseCache.isFresh(cached));
+
+        // the backend confirmed that the entry is still valid
+        ResponseCache.refresh(cached, MAX_AGE);
+        Assert.assertTrue(ResponseCache.isFresh(ResponseCache.lookup("GET:/etag")));
+    }
+
+    @Test
+    public void testEntryLargerThanItsSegmentIsNotStored() {
+        ResponseCache.init(SEGMENT_COUNT * 1024, false);
+        ResponseCache.put("GET:/large", ResponseCache.newEntry(200, new ArrayValue(new byte[2048]), MAX_AGE));
+        Assert.assertNull(ResponseCache.lookup("GET:/large"));
+        Assert.assertEquals(0, ResponseCache.getUsedBytes());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        // each segment holds two entries of a 300 byte body
+        ResponseCache.init(SEGMENT_COUNT * 1000, false);
+        List<String> keys = keysOfOneSegment(3);
+        long evictions = ResponseCache.getEvictionCount();
+        ResponseCache.put(keys.get(0), ResponseCache.newEntry(200, new ArrayValue(new byte[300]), MAX_AGE));
+        ResponseCache.put(keys.get(1), ResponseCache.newEntry(200, new ArrayValue(new byte[300]), MAX_AGE));
+        Assert.assertNotNull(ResponseCache.lookup(keys.get(0)));
+
+        ResponseCache.put(keys.get(2), ResponseCache.newEntry(200, new ArrayValue(new byte[300]), MAX_AGE));
+        Assert.assertNotNull(ResponseCache.lookup(keys.get(0)));
+        Assert.assertNull(ResponseCache.lookup(keys.get(1)));
+        Assert.assertNotNull(ResponseCache.lookup(keys.get(2)));
+        Assert.assertEquals(evictions + 1, ResponseCache.getEvictionCount());
+    }
+
+    @Test
+    public void testMemoryBudgetIsKept() {
+        long maxSize = SEGMENT_COUNT * 1000;
+        ResponseCache.init(maxSize, false);
+        for (int i = 0; i < 200; i++) {
+            ResponseCache.put("GET:/pets/" + i, ResponseCache.newEntry(200, new ArrayValue(new byte[300]), MAX_AGE));
+        }
+        Assert.assertTrue(ResponseCache.getUsedBytes() <= maxSize);
+        Assert.assertTrue(ResponseCache.getSize() <= 2 * SEGMENT_COUNT);
+    }
+
+    @Test
+    public void testLease() throws InterruptedException {
+        String key = "GET:/lease";
+        Assert.assertTrue(ResponseCache.acquire(key, MAX_AGE));
+        Assert.assertTrue(ResponseCache.isInFlight(key));
+        Assert.assertFalse(ResponseCache.acquire(key, MAX_AGE));
+        ResponseCache.release(key);
+        Assert.assertFalse(ResponseCache.isInFlight(key));
+
+        // a lease which is not released expires
+        Assert.assertTrue(ResponseCache.acquire(key, 1));
+        Thread.sleep(5);
+        Assert.assertFalse(ResponseCache.isInFlight(key));
+        Assert.assertTrue(ResponseCache.acquire(key, MAX_AGE));
+        ResponseCache.release(key);
+    }
+
+    @Test
+    public void testWaitingRequestIsWokenUpOnRelease() throws InterruptedException, ExecutionException {
+        String key = "GET:/await";
+        Assert.assertTrue(ResponseCache.await(key, MAX_AGE));
+        Assert.assertTrue(ResponseCache.acquire(key, MAX_AGE));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> waiter = executor.submit(() -> ResponseCache.await(key, MAX_AGE));
+            ResponseCache.put(key, ResponseCache.newEntry(200, body("cached"), MAX_AGE));
+            ResponseCache.release(key);
+            Assert.assertTrue(waiter.get());
+            Assert.assertNotNull(ResponseCache.lookup(key));
+        } finally {
+            executor.shutdown();
+        }
+
+        // a request which never releases the key keeps the waiting requests only until the timeout
+        Assert.assertTrue(ResponseCache.acquire(key, MAX_AGE));
+        Assert.assertFalse(ResponseCache.await(key, 1));
+        ResponseCache.release(key);
+    }
+
+    @Test
+    public void testConcurrentMissesFetchOnce() throws InterruptedException, ExecutionException {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            Callable<Boolean> acquire = () -> {
+                start.await();
+                return ResponseCache.acquire("GET:/concurrent", MAX_AGE);
+            };
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(acquire));
+            }
+            start.countDown();
+            int acquired = 0;
+            for (Future<Boolean> result : results) {
+                acquired += result.get() ? 1 : 0;
+            }
+            Assert.assertEquals(1, acquired);
+        } finally {
+            executor.shutdown();
+            ResponseCache.release("GET:/concurrent");
+        }
+    }
+
+    private static ArrayValue body(String content) {
+        return new ArrayValue(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns keys which are stored in the same segment, using the spreading of the hash code of the cache.
+     */
+    private static List<String> keysOfOneSegment(int count) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; keys.size() < count; i++) {
+            String key = "GET:/items/" + i;
+            int hash = key.hashCode();
+            if (((hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)) == 0) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
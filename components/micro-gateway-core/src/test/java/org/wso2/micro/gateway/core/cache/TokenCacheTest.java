@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link TokenCache}.
+ */
+public class TokenCacheTest {
+
+    @Test
+    public void testPutAndGet() {
+        TokenCache cache = new TokenCache(10, 60000);
+        cache.put("token", "valid");
+        Assert.assertEquals("valid", cache.get("token"));
+        cache.put("token", "replaced");
+        Assert.assertEquals("replaced", cache.get("token"));
+        Assert.assertEquals(1, cache.size());
+        cache.remove("token");
+        Assert.assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void testEntriesExpire() throws InterruptedException {
+        TokenCache cache = new TokenCache(10, 20);
+        cache.put("token", "valid");
+        Thread.sleep(50);
+        Assert.assertNull(cache.get("token"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        TokenCache cache = new TokenCache(100, 60000);
+        for (int i = 0; i < 10000; i++) {
+            cache.put("token" + i, i);
+        }
+        Assert.assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    public void testFrequentlyUsedEntriesAreKept() {
+        TokenCache cache = new TokenCache(100, 60000);
+        for (int i = 0; i < 100; i++) {
+            cache.put("popular" + i, i);
+            for (int j = 0; j < 5; j++) {
+                cache.get("popular" + i);
+            }
+        }
+        // one off tokens are not admitted in place of tokens requested more often
+        for (int i = 0; i < 1000; i++) {
+            cache.put("oneOff" + i, i);
+        }
+        int kept = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.get("popular" + i) != null) {
+                kept++;
+            }
+        }
+        Assert.assertTrue("Only " + kept + " popular tokens are kept", kept >= 90);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new TokenCache(0, 60000);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.core.config;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link ConfigFileWatcher}.
+ */
+public class ConfigFileWatcherTest {
+
+    private static final long RELOAD_TIMEOUT = 10000;
+
+    @Test
+    public void testParseTablesAndValues() {
+        Map<String, Object> values = ConfigFileWatcher.parse(Arrays.asList(
+                "enabled = true",
+                "[throttlingConfig]",
+                "  enabledGlobalTMEventPublishing = false",
+                "  processThreadPoolCoreSize = 200",
+                "[b7a.log]",
+                "level = \"INFO\"",
+                "[[listenerConfig.list]]",
+                "ratio = 0.75"));
+        Assert.assertEquals(Boolean.TRUE, values.get("enabled"));
+        Assert.assertEquals(Boolean.FALSE, values.get("throttlingConfig.enabledGlobalTMEventPublishing"));
+        Assert.assertEquals(200L, values.get("throttlingConfig.processThreadPoolCoreSize"));
+        Assert.assertEquals("INFO", values.get("b7a.log.level"));
+        Assert.assertEquals(0.75, values.get("listenerConfig.list.ratio"));
+    }
+
+    @Test
+    public void testParseCommentsAndQuotes() {
+        Map<String, Object> values = ConfigFileWatcher.parse(Arrays.asList(
+                "# a comment",
+                "url = \"https://localhost:9443/#/path\" # the # in the url is kept",
+                "name = \"say \\\"hi\\\"\"",
+                "timeout = 30 # seconds"));
+        Assert.assertEquals("https://localhost:9443/#/path", values.get("url"));
+        Assert.assertEquals("say \"hi\"", values.get("name"));
+        Assert.assertEquals(30L, values.get("timeout"));
+        Assert.assertEquals(3, values.size());
+    }
+
+    @Test
+    public void testUnsupportedValuesAreIgnored() {
+        Map<String, Object> values = ConfigFileWatcher.parse(Arrays.asList(
+                "list = [1, 2]",
+                "date = 2019-10-01T00:00:00Z",
+                "= 1",
+                "no separator"));
+        Assert.assertTrue(values.isEmpty());
+    }
+
+    @Test
+    public void testValuesAreReloadedWhenTheFileChanges() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("config-file-watcher");
+        Path configFile = directory.resolve("micro-gw.conf");
+        Files.write(configFile, Collections.singletonList("[cache]\nenabled = true"), StandardCharsets.UTF_8);
+        try {
+            Assert.assertTrue(ConfigFileWatcher.start(configFile.toString()));
+            Assert.assertFalse(ConfigFileWatcher.start(configFile.toString()));
+            long version = ConfigFileWatcher.getVersion();
+
+            Files.write(configFile, Arrays.asList("[cache]", "enabled = false", "size = 512", "name = \"tokens\""),
+                    StandardCharsets.UTF_8);
+            long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT;
+            while (ConfigFileWatcher.getVersion() == version && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            Assert.assertTrue(ConfigFileWatcher.getVersion() > version);
+            Assert.assertFalse(ConfigFileWatcher.getBoolean("cache.enabled", true));
+            Assert.assertEquals(512, ConfigFileWatcher.getInt("cache.size", 0));
+            Assert.assertEquals("tokens", ConfigFileWatcher.getString("cache.name", ""));
+            // values of another type, or which are not present, fall back to the default
+            Assert.assertEquals(7, ConfigFileWatcher.getInt("cache.name", 7));
+            Assert.assertEquals("none", ConfigFileWatcher.getString("cache.missing", "none"));
+        } finally {
+            Files.delete(configFile);
+            Files.delete(directory);
+        }
+    }
+}
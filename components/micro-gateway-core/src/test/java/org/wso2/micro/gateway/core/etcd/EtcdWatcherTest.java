@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.core.etcd;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Unit tests for {@link EtcdWatcher}.
+ */
+public class EtcdWatcherTest {
+
+    @After
+    public void tearDown() {
+        EtcdWatcher.setKeyPrefix("");
+        while (EtcdWatcher.pollUpdatedKey() != null) {
+            // drain the keys updated by the test
+        }
+    }
+
+    @Test
+    public void testPrefixRangeEnd() {
+        Assert.assertArrayEquals(bytes("/gw0"), EtcdWatcher.getPrefixRangeEnd(bytes("/gw/")));
+        Assert.assertArrayEquals(new byte[]{'a', 1}, EtcdWatcher.getPrefixRangeEnd(new byte[]{'a', 0, (byte) 0xff}));
+        Assert.assertArrayEquals(new byte[]{0}, EtcdWatcher.getPrefixRangeEnd(new byte[]{(byte) 0xff, (byte) 0xff}));
+    }
+
+    @Test
+    public void testWatchRequests() {
+        EtcdWatcher.addKey("/gw/requests/petstore");
+        EtcdWatcher.addKey("/other/requests/orders");
+        EtcdWatcher.setKeyPrefix("/gw/");
+        List<String> watchRequests = EtcdWatcher.getWatchRequests();
+        Assert.assertEquals("{\"create_request\":{\"key\":\"" + encode("/gw/") + "\",\"range_end\":\""
+                + encode("/gw0") + "\"}}", watchRequests.get(0));
+        Assert.assertTrue(watchRequests.contains("{\"create_request\":{\"key\":\"" + encode("/other/requests/orders")
+                + "\"}}"));
+        // the key under the prefix is covered by the range watch request
+        Assert.assertFalse(watchRequests.contains("{\"create_request\":{\"key\":\""
+                + encode("/gw/requests/petstore") + "\"}}"));
+
+        EtcdWatcher.setKeyPrefix("");
+        Assert.assertTrue(EtcdWatcher.getWatchRequests().contains("{\"create_request\":{\"key\":\""
+                + encode("/gw/requests/petstore") + "\"}}"));
+    }
+
+    @Test
+    public void testPutAndDeleteEvents() {
+        String key = "/gw/events/petstore";
+        EtcdWatcher.addKey(key);
+        Assert.assertTrue(EtcdWatcher.processWatchResponse("{\"result\":{\"header\":{\"revision\":\"4\"},"
+                + "\"created\":true}}"));
+        Assert.assertNull(EtcdWatcher.pollUpdatedKey());
+
+        Assert.assertTrue(EtcdWatcher.processWatchResponse("{\"result\":{\"header\":{\"revision\":\"5\"},"
+                + "\"events\":[{\"kv\":{\"key\":\"" + encode(key) + "\",\"mod_revision\":\"5\",\"value\":\""
+                + encode("http://localhost:8080") + "\"}},{\"kv\":{\"key\":\"" + encode("/gw/unregistered")
+                + "\",\"value\":\"" + encode("ignored") + "\"}}]}}"));
+        Assert.assertEquals(key, EtcdWatcher.pollUpdatedKey());
+        Assert.assertNull(EtcdWatcher.pollUpdatedKey());
+        Assert.assertEquals("http://localhost:8080", EtcdWatcher.getValue(key));
+        Assert.assertEquals("", EtcdWatcher.getValue("/gw/unregistered"));
+
+        // an event which does not change the value is not reported again
+        Assert.assertTrue(EtcdWatcher.processWatchResponse("{\"result\":{\"events\":[{\"kv\":{\"key\":\""
+                + encode(key) + "\",\"value\":\"" + encode("http://localhost:8080") + "\"}}]}}"));
+        Assert.assertNull(EtcdWatcher.pollUpdatedKey());
+
+        Assert.assertTrue(EtcdWatcher.processWatchResponse("{\"result\":{\"events\":[{\"type\":\"DELETE\","
+                + "\"kv\":{\"key\":\"" + encode(key) + "\",\"mod_revision\":\"6\"}}]}}"));
+        Assert.assertEquals(key, EtcdWatcher.pollUpdatedKey());
+        Assert.assertEquals("", EtcdWatcher.getValue(key));
+    }
+
+    @Test
+    public void testErrorResponse() {
+        Assert.assertFalse(EtcdWatcher.processWatchResponse("{\"error\":{\"grpc_code\":16,"
+                + "\"message\":\"etcdserver: invalid auth token\"}}"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String encode(String value) {
+        return Base64.getEncoder().encodeToString(bytes(value));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.core.jwt;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+
+/**
+ * Unit tests for {@link JwtVerifier} and {@link JwkSet}.
+ */
+public class JwtVerifierTest {
+
+    private static final String PAYLOAD = "{\"sub\":\"admin\",\"iss\":\"https://localhost:9443/oauth2/token\"}";
+
+    private static KeyPair jwksKeyPair;
+    private static KeyPair otherKeyPair;
+
+    @BeforeClass
+    public static void setUpClass() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        jwksKeyPair = generator.generateKeyPair();
+        otherKeyPair = generator.generateKeyPair();
+    }
+
+    @After
+    public void tearDown() {
+        JwtVerifier.setJwks(new JwkSet());
+    }
+
+    @Test
+    public void testTokenSignedWithJwksKey() throws GeneralSecurityException {
+        JwtVerifier.setJwks(jwkSet("key-1", jwksKeyPair));
+        for (String algorithm : new String[]{"RS256", "RS384", "RS512"}) {
+            String token = sign("{\"alg\":\"" + algorithm + "\",\"kid\":\"key-1\"}", PAYLOAD, jwksKeyPair.getPrivate(),
+                    algorithm);
+            Assert.assertEquals(PAYLOAD, JwtVerifier.verify(token));
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testTokenSignedWithAnotherKeyIsRejected() throws GeneralSecurityException {
+        JwtVerifier.setJwks(jwkSet("key-1", jwksKeyPair));
+        JwtVerifier.verify(sign("{\"alg\":\"RS256\",\"kid\":\"key-1\"}", PAYLOAD, otherKeyPair.getPrivate(),
+                "RS256"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testUnknownKeyIdIsRejected() throws GeneralSecurityException {
+        // without a certificate configured for the issuer, a kid outside the JWKS keys resolves to no key
+        JwtVerifier.setJwks(jwkSet("key-1", jwksKeyPair));
+        JwtVerifier.verify(sign("{\"alg\":\"RS256\",\"kid\":\"key-2\"}", PAYLOAD, jwksKeyPair.getPrivate(),
+                "RS256"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testKeysOfPreviousKeySetAreDropped() throws GeneralSecurityException {
+        JwtVerifier.setJwks(jwkSet("key-1", jwksKeyPair));
+        String token = sign("{\"alg\":\"RS256\",\"kid\":\"key-1\"}", PAYLOAD, jwksKeyPair.getPrivate(), "RS256");
+        JwtVerifier.setJwks(jwkSet("key-2", otherKeyPair));
+        JwtVerifier.verify(token);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testUnsupportedAlgorithmIsRejected() throws GeneralSecurityException {
+        JwtVerifier.setJwks(jwkSet("key-1", jwksKeyPair));
+        JwtVerifier.verify(sign("{\"alg\":\"none\",\"kid\":\"key-1\"}", PAYLOAD, jwksKeyPair.getPrivate(),
+                "RS256"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testMalformedTokenIsRejected() {
+        JwtVerifier.verify("header.payload");
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInvalidKeyIsRejected() {
+        new JwkSet().add("key-1", "not base64 !", "AQAB");
+    }
+
+    @Test
+    public void testGetStringParameter() {
+        String header = "{ \"typ\" : \"JWT\", \"x5t\":\"kid\", \"kid\"  :  \"key-1\", \"alg\":\"RS256\", \"n\":1}";
+        Assert.assertEquals("key-1", JwtVerifier.getStringParameter(header, "kid"));
+        Assert.assertEquals("RS256", JwtVerifier.getStringParameter(header, "alg"));
+        Assert.assertEquals("JWT", JwtVerifier.getStringParameter(header, "typ"));
+        Assert.assertNull(JwtVerifier.getStringParameter(header, "n"));
+        Assert.assertNull(JwtVerifier.getStringParameter(header, "x5c"));
+    }
+
+    private static JwkSet jwkSet(String keyId, KeyPair keyPair) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        JwkSet jwkSet = new JwkSet();
+        Assert.assertNull(jwkSet.add(keyId, encoder.encodeToString(publicKey.getModulus().toByteArray()),
+                encoder.encodeToString(publicKey.getPublicExponent().toByteArray())));
+        Assert.assertEquals(1, jwkSet.size());
+        return jwkSet;
+    }
+
+    private static String sign(String header, String payload, PrivateKey key, String algorithm)
+            throws GeneralSecurityException {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String content = encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        Signature signature = Signature.getInstance("SHA" + algorithm.substring(2) + "withRSA");
+        signature.initSign(key);
+        signature.update(content.getBytes(StandardCharsets.US_ASCII));
+        return content + "." + encoder.encodeToString(signature.sign());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.lb;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit tests for {@link ConcurrencyLimiter}.
+ */
+public class ConcurrencyLimiterTest {
+
+    private static final long LONG_WINDOW = 60000;
+    // round trip time of the requests, longer than the 1 ms sampling window of the limiters under test
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Test
+    public void testRequestsAreRejectedAtTheLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 100, 1, 1.5, LONG_WINDOW);
+        long first = limiter.acquire();
+        long second = limiter.acquire();
+        Assert.assertTrue(first >= 0);
+        Assert.assertTrue(second >= 0);
+        Assert.assertEquals(-1, limiter.acquire());
+        Assert.assertEquals(1, limiter.getRejectedCount());
+        Assert.assertEquals(2, limiter.getInFlight());
+        limiter.release(first, true);
+        Assert.assertTrue(limiter.acquire() >= 0);
+        Assert.assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    public void testInitialLimitIsBounded() {
+        Assert.assertEquals(20, new ConcurrencyLimiter(100, 1, 20, 1, 1.5, LONG_WINDOW).getLimit());
+        Assert.assertEquals(5, new ConcurrencyLimiter(1, 5, 20, 1, 1.5, LONG_WINDOW).getLimit());
+        Assert.assertEquals(1, new ConcurrencyLimiter(0, 0, 0, 1, 1.5, LONG_WINDOW).getLimit());
+    }
+
+    @Test
+    public void testLimitGrowsWhileTheEndpointKeepsUp() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 100, 1, 1.5, 1);
+        long now = ConcurrencyLimiter.now();
+        long[] startTimes = new long[10];
+        for (int i = 0; i < startTimes.length; i++) {
+            startTimes[i] = limiter.acquire(now);
+        }
+        // the first release completes the sampling window, the others fall into the next one
+        for (long startTime : startTimes) {
+            limiter.release(startTime, true, now + RTT);
+        }
+        // the limit grows by the square root of itself
+        Assert.assertEquals(13, limiter.getLimit());
+    }
+
+    @Test
+    public void testLimitIsNotRaisedWhileMostlyUnused() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 100, 1, 1.5, 1);
+        long now = ConcurrencyLimiter.now();
+        limiter.release(limiter.acquire(now), true, now + RTT);
+        Assert.assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    public void testFailuresShrinkTheLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 100, 1, 1.5, 1);
+        long now = ConcurrencyLimiter.now();
+        limiter.release(limiter.acquire(now), false, now + RTT);
+        Assert.assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    public void testLimitShrinksWhileTheEndpointSlowsDown() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 1, 100, 1, 1.5, 1);
+        long now = ConcurrencyLimiter.now();
+        long[] startTimes = new long[20];
+        for (int i = 0; i < startTimes.length; i++) {
+            startTimes[i] = limiter.acquire(now);
+        }
+        // the first window sets the long term round trip time, the second one takes four times as long
+        limiter.release(startTimes[0], true, now + RTT);
+        Assert.assertEquals(24, limiter.getLimit());
+        limiter.release(startTimes[1], true, now + 4 * RTT);
+        // gradient of 1.5 * RTT / (4 * RTT) is bounded by 0.5, hence 24.47 * 0.5 + sqrt(24.47)
+        Assert.assertEquals(17, limiter.getLimit());
+    }
+
+    @Test
+    public void testConcurrentRequestsStayWithinTheLimit() throws InterruptedException {
+        int limit = 4;
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(limit, limit, limit, 1, 1.5, LONG_WINDOW);
+        AtomicBoolean exceeded = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 10000; i++) {
+                    long startTime = limiter.acquire();
+                    if (startTime >= 0) {
+                        if (limiter.getInFlight() > limit) {
+                            exceeded.set(true);
+                        }
+                        limiter.release(startTime, true);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Assert.assertFalse(exceeded.get());
+        Assert.assertEquals(0, limiter.getInFlight());
+    }
+}
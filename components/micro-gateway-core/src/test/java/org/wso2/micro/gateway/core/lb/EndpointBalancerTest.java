@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.lb;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link EndpointBalancer}.
+ */
+public class EndpointBalancerTest {
+
+    private static EndpointBalancer newBalancer(int targets, String strategy) {
+        return new EndpointBalancer(targets, strategy, 2, 1, 2, 60000, 0);
+    }
+
+    @Test
+    public void testFailoverOrder() {
+        EndpointBalancer balancer = newBalancer(3, EndpointBalancer.FAILOVER);
+        Assert.assertEquals(0, balancer.select(0));
+        Assert.assertEquals(1, balancer.select(1));
+        Assert.assertEquals(2, balancer.select(3));
+        Assert.assertEquals(-1, balancer.select(7));
+    }
+
+    @Test
+    public void testRoundRobinOrder() {
+        EndpointBalancer balancer = newBalancer(3, EndpointBalancer.ROUND_ROBIN);
+        Assert.assertEquals(0, balancer.select(0));
+        Assert.assertEquals(1, balancer.select(0));
+        Assert.assertEquals(2, balancer.select(0));
+        Assert.assertEquals(0, balancer.select(0));
+        // tried targets are skipped
+        Assert.assertEquals(2, balancer.select(2));
+    }
+
+    @Test
+    public void testTargetIsEjectedAfterConsecutiveErrors() {
+        EndpointBalancer balancer = newBalancer(2, EndpointBalancer.FAILOVER);
+        balancer.complete(0, balancer.start(0), false);
+        Assert.assertEquals(2, balancer.getAvailableCount());
+        balancer.complete(0, balancer.start(0), false);
+        Assert.assertEquals(1, balancer.getAvailableCount());
+        Assert.assertEquals(1, balancer.select(0));
+    }
+
+    @Test
+    public void testSuccessResetsConsecutiveErrors() {
+        EndpointBalancer balancer = newBalancer(2, EndpointBalancer.FAILOVER);
+        balancer.complete(0, balancer.start(0), false);
+        balancer.complete(0, balancer.start(0), true);
+        balancer.complete(0, balancer.start(0), false);
+        Assert.assertEquals(2, balancer.getAvailableCount());
+    }
+
+    @Test
+    public void testAllTargetsAreUsedWhenNoneIsAvailable() {
+        EndpointBalancer balancer = newBalancer(2, EndpointBalancer.ADAPTIVE);
+        for (int target = 0; target < 2; target++) {
+            balancer.complete(target, balancer.start(target), false);
+            balancer.complete(target, balancer.start(target), false);
+        }
+        Assert.assertEquals(0, balancer.getAvailableCount());
+        Assert.assertTrue(balancer.select(0) >= 0);
+        Assert.assertEquals(1, balancer.select(1));
+    }
+
+    @Test
+    public void testHealthProbes() {
+        EndpointBalancer balancer = newBalancer(2, EndpointBalancer.FAILOVER);
+        Assert.assertFalse(balancer.reportProbe(0, false));
+        Assert.assertTrue(balancer.reportProbe(0, false));
+        Assert.assertEquals(1, balancer.getAvailableCount());
+        Assert.assertEquals(1, balancer.select(0));
+        Assert.assertFalse(balancer.reportProbe(0, false));
+        Assert.assertTrue(balancer.reportProbe(0, true));
+        Assert.assertEquals(2, balancer.getAvailableCount());
+        Assert.assertEquals(0, balancer.select(0));
+    }
+
+    @Test
+    public void testAdaptivePrefersFasterTarget() {
+        EndpointBalancer balancer = newBalancer(2, EndpointBalancer.ADAPTIVE);
+        balancer.complete(0, balancer.start(0) - 1_000_000_000L, true);
+        balancer.complete(1, balancer.start(1), true);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(1, balancer.select(0));
+        }
+        Assert.assertEquals(0, balancer.select(2));
+    }
+
+    @Test
+    public void testAdaptivePrefersLessLoadedTarget() {
+        EndpointBalancer balancer = newBalancer(2, EndpointBalancer.ADAPTIVE);
+        for (int i = 0; i < 10; i++) {
+            balancer.start(0);
+        }
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(1, balancer.select(0));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEndpointWithoutTargets() {
+        newBalancer(0, EndpointBalancer.ADAPTIVE);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.core.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        for (long value = 0; value < 64; value++) {
+            Assert.assertEquals(value, LatencyHistogram.indexOf(value));
+        }
+    }
+
+    @Test
+    public void testBucketsAreContiguous() {
+        int previous = LatencyHistogram.indexOf(0);
+        for (long value = 1; value < 1 << 20; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            Assert.assertTrue("bucket skipped at " + value, index == previous || index == previous + 1);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void testBucketWidthIsBoundedByTheValue() {
+        long bucketStart = 64;
+        int bucket = LatencyHistogram.indexOf(bucketStart);
+        for (long value = 65; value < 1 << 20; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            if (index != bucket) {
+                // the bucket [bucketStart, value) holds at most 1/32 of its smallest value
+                Assert.assertTrue("bucket too wide at " + value, value - bucketStart <= bucketStart / 32);
+                bucketStart = value;
+                bucket = index;
+            }
+        }
+    }
+
+    @Test
+    public void testLargeValuesAreCountedInTheLastBucket() {
+        Assert.assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+        Assert.assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.indexOf(1L << 50));
+    }
+
+    @Test
+    public void testCountUpTo() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(1000);
+        histogram.record(1_000_000);
+        Assert.assertEquals(0, histogram.countUpTo(9));
+        Assert.assertEquals(1, histogram.countUpTo(10));
+        Assert.assertEquals(1, histogram.countUpTo(1000 - 1000 / 32 - 1));
+        Assert.assertEquals(2, histogram.countUpTo(1000));
+        Assert.assertEquals(2, histogram.countUpTo(999_999 - 1_000_000 / 32));
+        Assert.assertEquals(3, histogram.countUpTo(Long.MAX_VALUE));
+        Assert.assertEquals(3, histogram.getCount());
+        Assert.assertEquals(1_001_010, histogram.getSum());
+    }
+
+    @Test
+    public void testNegativeValuesAreRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        Assert.assertEquals(1, histogram.countUpTo(0));
+        Assert.assertEquals(0, histogram.getSum());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.wso2.micro.gateway.core.metrics;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wso2.micro.gateway.core.lb.ConcurrencyLimiter;
+
+/**
+ * Unit tests for {@link MetricsRegistry}.
+ */
+public class MetricsRegistryTest {
+
+    @After
+    public void tearDown() {
+        MetricsRegistry.init(false);
+    }
+
+    @Test
+    public void testNothingIsRecordedWhenDisabled() {
+        MetricsRegistry.init(false);
+        MetricsRegistry.recordThrottledRequest("disabled");
+        MetricsRegistry.recordBackendLatency("disabled", MetricsRegistry.nanoTime());
+        String metrics = MetricsRegistry.scrape();
+        Assert.assertFalse(metrics.contains("error_code=\"disabled\""));
+        Assert.assertFalse(metrics.contains("service=\"disabled\""));
+    }
+
+    @Test
+    public void testCounters() {
+        MetricsRegistry.init(true);
+        MetricsRegistry.recordThrottledRequest("900801");
+        MetricsRegistry.recordThrottledRequest("900801");
+        MetricsRegistry.recordShedRequest(3);
+        MetricsRegistry.recordUnmeteredPayload("response");
+        String metrics = MetricsRegistry.scrape();
+        Assert.assertTrue(metrics.contains("# TYPE wso2_gateway_throttled_requests_total counter\n"));
+        Assert.assertTrue(metrics.contains("wso2_gateway_throttled_requests_total{error_code=\"900801\"} 2\n"));
+        Assert.assertTrue(metrics.contains("wso2_gateway_shed_requests_total{priority=\"3\"} 1\n"));
+        Assert.assertTrue(metrics.contains(
+                "wso2_gateway_bandwidth_unmetered_payloads_total{direction=\"response\"} 1\n"));
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        MetricsRegistry.init(true);
+        // a latency of at least 3 ms
+        MetricsRegistry.recordBackendLatency("histogram", MetricsRegistry.nanoTime() - 3_000_000);
+        String metrics = MetricsRegistry.scrape();
+        String bucket = "wso2_gateway_backend_latency_seconds_bucket{service=\"histogram\",le=";
+        Assert.assertTrue(metrics.contains("# TYPE wso2_gateway_backend_latency_seconds histogram\n"));
+        Assert.assertTrue(metrics.contains(bucket + "\"0.0001\"} 0\n"));
+        Assert.assertTrue(metrics.contains(bucket + "\"0.0025\"} 0\n"));
+        Assert.assertTrue(metrics.contains(bucket + "\"10\"} 1\n"));
+        Assert.assertTrue(metrics.contains(bucket + "\"+Inf\"} 1\n"));
+        Assert.assertTrue(metrics.contains("wso2_gateway_backend_latency_seconds_count{service=\"histogram\"} 1\n"));
+    }
+
+    @Test
+    public void testLabelValuesAreEscaped() {
+        Assert.assertEquals("a\\\"b\\\\c\\nd", MetricsRegistry.escape("a\"b\\c\nd"));
+        MetricsRegistry.init(true);
+        MetricsRegistry.recordFilterLatency("auth", "pet\"store", MetricsRegistry.nanoTime());
+        Assert.assertTrue(MetricsRegistry.scrape().contains(
+                "wso2_gateway_filter_latency_seconds_count{stage=\"auth\",service=\"pet\\\"store\"} 1\n"));
+    }
+
+    @Test
+    public void testEventBuffers() {
+        MetricsRegistry.updateEventBuffer("unbatched", 5, 1, 3, 1, 1, -1);
+        MetricsRegistry.updateEventBuffer("batched", 10, 0, 10, 0, 0, 2);
+        String metrics = MetricsRegistry.scrape();
+        Assert.assertTrue(metrics.contains("wso2_gateway_event_buffer_enqueued_total{buffer=\"unbatched\"} 5\n"));
+        Assert.assertTrue(metrics.contains("wso2_gateway_event_buffer_dropped_total{buffer=\"unbatched\"} 1\n"));
+        Assert.assertTrue(metrics.contains("wso2_gateway_event_buffer_published_total{buffer=\"unbatched\"} 3\n"));
+        Assert.assertTrue(metrics.contains("wso2_gateway_event_buffer_failed_total{buffer=\"unbatched\"} 1\n"));
+        Assert.assertTrue(metrics.contains("wso2_gateway_event_buffer_queued{buffer=\"unbatched\"} 1\n"));
+        Assert.assertTrue(metrics.contains("wso2_gateway_event_buffer_batches_total{buffer=\"batched\"} 2\n"));
+        Assert.assertFalse(metrics.contains("wso2_gateway_event_buffer_batches_total{buffer=\"unbatched\"}"));
+
+        // the counters are replaced, not added up
+        MetricsRegistry.updateEventBuffer("unbatched", 6, 1, 4, 1, 1, -1);
+        Assert.assertTrue(MetricsRegistry.scrape().contains(
+                "wso2_gateway_event_buffer_enqueued_total{buffer=\"unbatched\"} 6\n"));
+    }
+
+    @Test
+    public void testConcurrencyLimiters() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 10, 1, 1.5, 60000);
+        MetricsRegistry.registerConcurrencyLimiter("limited", limiter);
+        Assert.assertTrue(limiter.acquire() >= 0);
+        Assert.assertEquals(-1, limiter.acquire());
+        String metrics = MetricsRegistry.scrape();
+        Assert.assertTrue(metrics.contains("wso2_gateway_endpoint_concurrency_limit{endpoint=\"limited\"} 1\n"));
+        Assert.assertTrue(metrics.contains("wso2_gateway_endpoint_requests_in_flight{endpoint=\"limited\"} 1\n"));
+        Assert.assertTrue(metrics.contains(
+                "wso2_gateway_endpoint_concurrency_rejected_total{endpoint=\"limited\"} 1\n"));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.overload;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link OverloadController}. The sampling thread is not started, the load is reported to the
+ * controller directly instead.
+ */
+public class OverloadControllerTest {
+
+    private static final long OVERLOADED_LAG = TimeUnit.MILLISECONDS.toNanos(100);
+    // default tiers are ranked from 5 (Unlimited) to 2 (Bronze), with 3 API priorities per rank
+    private static final int MAX_SHED_LEVEL = 17;
+
+    @After
+    public void relieve() {
+        while (OverloadController.getShedLevel() > 0) {
+            OverloadController.adjustShedLevel(0, 0);
+        }
+    }
+
+    @Test
+    public void testShedLevelFollowsTheLoad() {
+        OverloadController.adjustShedLevel(OVERLOADED_LAG, 0);
+        OverloadController.adjustShedLevel(OVERLOADED_LAG, 0);
+        Assert.assertEquals(2, OverloadController.getShedLevel());
+        OverloadController.adjustShedLevel(0, 0);
+        Assert.assertEquals(1, OverloadController.getShedLevel());
+        for (int i = 0; i < 100; i++) {
+            OverloadController.adjustShedLevel(OVERLOADED_LAG, 0);
+        }
+        Assert.assertEquals(MAX_SHED_LEVEL, OverloadController.getShedLevel());
+    }
+
+    @Test
+    public void testModerateLagKeepsTheShedLevel() {
+        OverloadController.adjustShedLevel(OVERLOADED_LAG, 0);
+        OverloadController.adjustShedLevel(TimeUnit.MILLISECONDS.toNanos(40), 0);
+        Assert.assertEquals(1, OverloadController.getShedLevel());
+    }
+
+    @Test
+    public void testLowPriorityRequestsAreShedFirst() {
+        OverloadController.adjustShedLevel(OVERLOADED_LAG, 0);
+        Assert.assertFalse(OverloadController.tryAdmit(0L, "low"));
+        Assert.assertTrue(OverloadController.tryAdmit(0L, "normal"));
+        OverloadController.complete(0L, "", "");
+        Assert.assertTrue(OverloadController.tryAdmit(0L, "high"));
+        OverloadController.complete(0L, "", "");
+    }
+
+    @Test
+    public void testCredentialTierIsRemembered() {
+        long gold = OverloadController.getCredentialKey("Bearer gold-token");
+        long unknown = OverloadController.getCredentialKey("Bearer unknown-token");
+        Assert.assertEquals(0L, OverloadController.getCredentialKey(""));
+        Assert.assertTrue(OverloadController.tryAdmit(gold, "normal"));
+        OverloadController.complete(gold, "Gold", "Unlimited");
+        // shed everything below the normal priority of Gold
+        for (int i = 0; i < 13; i++) {
+            OverloadController.adjustShedLevel(OVERLOADED_LAG, 0);
+        }
+        Assert.assertTrue(OverloadController.tryAdmit(gold, "normal"));
+        OverloadController.complete(gold, "Gold", "Unlimited");
+        Assert.assertFalse(OverloadController.tryAdmit(gold, "low"));
+        Assert.assertFalse(OverloadController.tryAdmit(unknown, "high"));
+    }
+
+    @Test
+    public void testInFlightRequestsAreCounted() {
+        int inFlight = OverloadController.getInFlight();
+        Assert.assertTrue(OverloadController.tryAdmit(0L, "normal"));
+        Assert.assertEquals(inFlight + 1, OverloadController.getInFlight());
+        OverloadController.complete(0L, "", "");
+        Assert.assertEquals(inFlight, OverloadController.getInFlight());
+    }
+}
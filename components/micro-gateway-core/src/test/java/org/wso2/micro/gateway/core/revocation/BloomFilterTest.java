@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.revocation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link BloomFilter}.
+ */
+public class BloomFilterTest {
+
+    @Test
+    public void testAddedKeysAreContained() {
+        BloomFilter filter = new BloomFilter(1000);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("jti" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(filter.mightContain("jti" + i));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10000);
+        for (int i = 0; i < 10000; i++) {
+            filter.add("revoked" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain("valid" + i)) {
+                falsePositives++;
+            }
+        }
+        // roughly 1% at capacity
+        Assert.assertTrue("False positive count " + falsePositives, falsePositives < 2000);
+    }
+
+    @Test
+    public void testEmptyFilter() {
+        BloomFilter filter = new BloomFilter(0);
+        Assert.assertFalse(filter.mightContain("jti"));
+        filter.add("jti");
+        Assert.assertTrue(filter.mightContain("jti"));
+    }
+}
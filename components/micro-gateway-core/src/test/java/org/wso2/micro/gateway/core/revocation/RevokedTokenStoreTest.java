@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.revocation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link RevokedTokenStore}.
+ */
+public class RevokedTokenStoreTest {
+
+    private static final long NOW = 1_570_000_000_000L;
+
+    @Test
+    public void testRevokedTokenIsRejected() {
+        RevokedTokenStore.addRevokedToken("testRevokedTokenIsRejected", System.currentTimeMillis() + 60000);
+        Assert.assertTrue(RevokedTokenStore.isRevoked("testRevokedTokenIsRejected"));
+        Assert.assertFalse(RevokedTokenStore.isRevoked("testRevokedTokenIsRejected-other"));
+    }
+
+    @Test
+    public void testExpiredTokensAreSwept() {
+        RevokedTokenStore.addRevokedToken("testExpiredTokensAreSwept", System.currentTimeMillis() - 1);
+        Assert.assertFalse(RevokedTokenStore.isRevoked("testExpiredTokensAreSwept"));
+        int size = RevokedTokenStore.size();
+        RevokedTokenStore.sweep();
+        Assert.assertTrue(RevokedTokenStore.size() < size);
+    }
+
+    @Test
+    public void testFilterGrowsWithTheStore() {
+        long expiryTime = System.currentTimeMillis() + 60000;
+        for (int i = 0; i < 5000; i++) {
+            RevokedTokenStore.addRevokedToken("testFilterGrowsWithTheStore" + i, expiryTime);
+        }
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertTrue(RevokedTokenStore.isRevoked("testFilterGrowsWithTheStore" + i));
+        }
+        RevokedTokenStore.sweep();
+        Assert.assertTrue(RevokedTokenStore.isRevoked("testFilterGrowsWithTheStore0"));
+    }
+
+    @Test
+    public void testExpiryTimeFormats() {
+        Assert.assertEquals(NOW + TimeUnit.SECONDS.toMillis(3600), RevokedTokenStore.toExpiryTime("3600", NOW));
+        Assert.assertEquals(1_600_000_000_000L, RevokedTokenStore.toExpiryTime("1600000000", NOW));
+        Assert.assertEquals(1_600_000_000_123L, RevokedTokenStore.toExpiryTime(" 1600000000123 ", NOW));
+        Assert.assertEquals(Long.MAX_VALUE, RevokedTokenStore.toExpiryTime("-1", NOW));
+        Assert.assertEquals(Long.MAX_VALUE, RevokedTokenStore.toExpiryTime("never", NOW));
+        Assert.assertEquals(Long.MAX_VALUE, RevokedTokenStore.toExpiryTime(null, NOW));
+    }
+}
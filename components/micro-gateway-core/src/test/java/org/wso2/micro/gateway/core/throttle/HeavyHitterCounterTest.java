@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link HeavyHitterCounter}.
+ */
+public class HeavyHitterCounterTest {
+
+    private static final long WINDOW = 1000;
+    private static final long KEY = SlidingWindowCounter.hash("10.0.0.1");
+
+    @Test
+    public void testSingleKeyIsCountedExactly() {
+        HeavyHitterCounter counter = new HeavyHitterCounter(WINDOW, 1024, 64, 5);
+        for (int i = 1; i <= 20; i++) {
+            Assert.assertEquals(i, counter.incrementAndEstimate(KEY, 100));
+        }
+        Assert.assertEquals(20, counter.estimate(KEY, 100));
+        // the key is tracked individually once it reaches the admission threshold
+        Assert.assertEquals(1, counter.size());
+    }
+
+    @Test
+    public void testPreviousWindowIsWeighted() {
+        HeavyHitterCounter counter = new HeavyHitterCounter(WINDOW, 1024, 64, 5);
+        for (int i = 0; i < 10; i++) {
+            counter.incrementAndEstimate(KEY, 500);
+        }
+        Assert.assertEquals(5, counter.estimate(KEY, 1500));
+        Assert.assertEquals(0, counter.estimate(KEY, 2500));
+    }
+
+    @Test
+    public void testUntrackedKeysUseTheSketch() {
+        HeavyHitterCounter counter = new HeavyHitterCounter(WINDOW, 1024, 64, 100);
+        for (int i = 0; i < 3; i++) {
+            counter.incrementAndEstimate(KEY, 100);
+        }
+        Assert.assertEquals(3, counter.estimate(KEY, 100));
+        Assert.assertEquals(0, counter.size());
+        for (int i = 0; i < 3; i++) {
+            counter.incrementAndEstimate(KEY, 1100);
+        }
+        // 3 in the current window and half of the 3 in the previous window
+        Assert.assertEquals(4, counter.estimate(KEY, 1500));
+    }
+
+    @Test
+    public void testTryAcquireStopsAtLimit() {
+        HeavyHitterCounter counter = new HeavyHitterCounter(WINDOW, 1024, 64, 2);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(counter.tryAcquire(KEY, 4, 100));
+        }
+        Assert.assertFalse(counter.tryAcquire(KEY, 4, 100));
+        Assert.assertEquals(4, counter.estimate(KEY, 100));
+        Assert.assertFalse(counter.tryAcquire(KEY, 0, 100));
+        Assert.assertTrue(counter.tryAcquire(KEY, 4, 2100));
+    }
+
+    @Test
+    public void testReleaseOfTrackedKey() {
+        HeavyHitterCounter counter = new HeavyHitterCounter(WINDOW, 1024, 64, 2);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(counter.tryAcquire(KEY, 4, 100));
+        }
+        counter.release(KEY, 100);
+        Assert.assertEquals(3, counter.estimate(KEY, 100));
+        Assert.assertTrue(counter.tryAcquire(KEY, 4, 100));
+    }
+
+    @Test
+    public void testReleaseOfUntrackedKeyKeepsTheSketchCount() {
+        HeavyHitterCounter counter = new HeavyHitterCounter(WINDOW, 1024, 64, 100);
+        counter.incrementAndEstimate(KEY, 100);
+        counter.release(KEY, 100);
+        Assert.assertEquals(1, counter.estimate(KEY, 100));
+    }
+
+    @Test
+    public void testTrackedKeysAreBounded() {
+        HeavyHitterCounter counter = new HeavyHitterCounter(WINDOW, 1 << 16, 128, 1);
+        for (int i = 0; i < 10000; i++) {
+            counter.incrementAndEstimate(SlidingWindowCounter.hash("key" + i), 100);
+        }
+        Assert.assertTrue(counter.size() <= 128);
+    }
+
+    @Test
+    public void testHeavyHitterIsNotInflatedByOtherKeys() {
+        HeavyHitterCounter counter = new HeavyHitterCounter(WINDOW, 1024, 64, 10);
+        for (int i = 0; i < 50; i++) {
+            counter.incrementAndEstimate(KEY, 100);
+        }
+        for (int i = 0; i < 5000; i++) {
+            counter.incrementAndEstimate(SlidingWindowCounter.hash("key" + i), 100);
+        }
+        Assert.assertEquals(50, counter.estimate(KEY, 100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindowSize() {
+        new HeavyHitterCounter(-1, 1024, 64, 10);
+    }
+}
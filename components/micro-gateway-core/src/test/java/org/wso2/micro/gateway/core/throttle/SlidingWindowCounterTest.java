@@ -0,0 +1,174 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link SlidingWindowCounter}.
+ */
+public class SlidingWindowCounterTest {
+
+    private static final long WINDOW = 1000;
+    private static final long KEY = SlidingWindowCounter.hash("app:user");
+
+    @Test
+    public void testCountWithinWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW);
+        for (int i = 1; i <= 5; i++) {
+            Assert.assertEquals(i, counter.incrementAndEstimate(KEY, 100 + i));
+        }
+        Assert.assertEquals(5, counter.estimate(KEY, 999));
+        Assert.assertEquals(0, counter.estimate(SlidingWindowCounter.hash("other"), 999));
+    }
+
+    @Test
+    public void testPreviousWindowIsWeighted() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW);
+        counter.addAndEstimate(KEY, 10, 500);
+        // half of the previous window is still covered by the sliding window
+        Assert.assertEquals(5, counter.estimate(KEY, 1500));
+        Assert.assertEquals(6, counter.incrementAndEstimate(KEY, 1500));
+        // the previous window is no longer covered at the end of the current window
+        Assert.assertEquals(1, counter.estimate(KEY, 1999));
+    }
+
+    @Test
+    public void testCountExpiresAfterTwoWindows() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW);
+        counter.addAndEstimate(KEY, 10, 500);
+        Assert.assertEquals(0, counter.estimate(KEY, 2500));
+        Assert.assertEquals(1, counter.incrementAndEstimate(KEY, 2500));
+    }
+
+    @Test
+    public void testTryAcquireStopsAtLimit() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(counter.tryAcquire(KEY, 3, 100));
+        }
+        Assert.assertFalse(counter.tryAcquire(KEY, 3, 200));
+        // rejected events are not recorded
+        Assert.assertEquals(3, counter.estimate(KEY, 200));
+        Assert.assertFalse(counter.tryAcquire(KEY, 0, 200));
+    }
+
+    @Test
+    public void testTryAcquireAfterRollover() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW);
+        counter.addAndEstimate(KEY, 4, 0);
+        Assert.assertFalse(counter.tryAcquire(KEY, 4, 900));
+        // three quarters of the previous count still apply
+        Assert.assertFalse(counter.tryAcquire(KEY, 3, 1250));
+        Assert.assertTrue(counter.tryAcquire(KEY, 4, 1250));
+        Assert.assertFalse(counter.tryAcquire(KEY, 4, 1250));
+    }
+
+    @Test
+    public void testRelease() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW);
+        Assert.assertTrue(counter.tryAcquire(KEY, 2, 100));
+        Assert.assertTrue(counter.tryAcquire(KEY, 2, 100));
+        counter.release(KEY, 100);
+        Assert.assertEquals(1, counter.estimate(KEY, 100));
+        Assert.assertTrue(counter.tryAcquire(KEY, 2, 100));
+        // an event recorded in the previous window is taken from it
+        counter.release(KEY, 1000);
+        Assert.assertEquals(1, counter.estimate(KEY, 1000));
+        counter.release(KEY, 1000);
+        counter.release(KEY, 1000);
+        Assert.assertEquals(0, counter.estimate(KEY, 1000));
+        // unknown keys are ignored
+        counter.release(SlidingWindowCounter.hash("unknown"), 1000);
+        Assert.assertEquals(1, counter.size());
+    }
+
+    @Test
+    public void testConcurrentTryAcquireAdmitsExactlyTheLimit() throws InterruptedException {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW);
+        int threads = 8;
+        int limit = 100;
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < limit; i++) {
+                    if (counter.tryAcquire(KEY, limit, 100)) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(limit, admitted.get());
+        Assert.assertEquals(limit, counter.estimate(KEY, 100));
+    }
+
+    @Test
+    public void testIdleKeysAreDroppedOnResize() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 1);
+        for (int i = 0; i < 12; i++) {
+            counter.incrementAndEstimate(SlidingWindowCounter.hash("key" + i), 0);
+        }
+        Assert.assertEquals(12, counter.size());
+        counter.incrementAndEstimate(KEY, 3000);
+        Assert.assertEquals(1, counter.size());
+        Assert.assertEquals(1, counter.estimate(KEY, 3000));
+    }
+
+    @Test
+    public void testLiveKeysSurviveResize() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW, 1);
+        for (int i = 0; i < 100; i++) {
+            counter.addAndEstimate(SlidingWindowCounter.hash("key" + i), i + 1, 10);
+        }
+        Assert.assertEquals(100, counter.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i + 1, counter.estimate(SlidingWindowCounter.hash("key" + i), 20));
+        }
+    }
+
+    @Test
+    public void testHashIsNeverZero() {
+        Assert.assertTrue(SlidingWindowCounter.hash("") != 0);
+        Assert.assertEquals(SlidingWindowCounter.hash("key"), SlidingWindowCounter.hash("key"));
+        Assert.assertTrue(SlidingWindowCounter.hash("key1") != SlidingWindowCounter.hash("key2"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindowSize() {
+        new SlidingWindowCounter(0);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SpikeArrestLimiter}.
+ */
+public class SpikeArrestLimiterTest {
+
+    private static final long SECOND = 1000000L;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long KEY = SlidingWindowCounter.hash("subscription");
+
+    @Test
+    public void testBurstOfOneSecondIsAllowed() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(64);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(0, limiter.tryAcquire(KEY, 10, SECOND, 1));
+        }
+        // the next request is allowed once one emission interval of 100ms has passed
+        Assert.assertEquals(100, limiter.tryAcquire(KEY, 10, SECOND, 1));
+        Assert.assertEquals(1, limiter.tryAcquire(KEY, 10, SECOND, 99002));
+        Assert.assertEquals(0, limiter.tryAcquire(KEY, 10, SECOND, 100001));
+        Assert.assertTrue(limiter.tryAcquire(KEY, 10, SECOND, 100001) > 0);
+    }
+
+    @Test
+    public void testRejectedRequestsAreNotCharged() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(64);
+        Assert.assertEquals(0, limiter.tryAcquire(KEY, 1, SECOND, 1));
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(1000, limiter.tryAcquire(KEY, 1, SECOND, 1));
+        }
+        Assert.assertEquals(0, limiter.tryAcquire(KEY, 1, SECOND, SECOND + 1));
+    }
+
+    @Test
+    public void testPerMinuteLimitIsSpreadOverTheMinute() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(64);
+        // 60 requests per minute permit a single request per second
+        Assert.assertEquals(0, limiter.tryAcquire(KEY, 60, MINUTE, 1));
+        Assert.assertEquals(1000, limiter.tryAcquire(KEY, 60, MINUTE, 1));
+        Assert.assertEquals(500, limiter.tryAcquire(KEY, 60, MINUTE, SECOND / 2 + 1));
+        Assert.assertEquals(0, limiter.tryAcquire(KEY, 60, MINUTE, SECOND + 1));
+    }
+
+    @Test
+    public void testKeysAreLimitedIndependently() {
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(64);
+        long otherKey = SlidingWindowCounter.hash("other");
+        Assert.assertEquals(0, limiter.tryAcquire(KEY, 1, SECOND, 1));
+        Assert.assertTrue(limiter.tryAcquire(KEY, 1, SECOND, 1) > 0);
+        Assert.assertEquals(0, limiter.tryAcquire(otherKey, 1, SECOND, 1));
+    }
+
+    @Test
+    public void testIdleSlotsAreReused() {
+        // a single probe window of 8 slots
+        SpikeArrestLimiter limiter = new SpikeArrestLimiter(8);
+        for (int i = 0; i < 8; i++) {
+            Assert.assertEquals(0, limiter.tryAcquire(SlidingWindowCounter.hash("key" + i), 1, SECOND, 1));
+        }
+        // requests of keys which find no slot are allowed
+        Assert.assertEquals(0, limiter.tryAcquire(KEY, 1, SECOND, 1));
+        Assert.assertEquals(0, limiter.tryAcquire(KEY, 1, SECOND, 1));
+        // once the other keys are idle the key takes over one of their slots
+        Assert.assertEquals(0, limiter.tryAcquire(KEY, 1, SECOND, 2 * SECOND));
+        Assert.assertEquals(1000, limiter.tryAcquire(KEY, 1, SECOND, 2 * SECOND));
+    }
+
+    @Test
+    public void testUnknownUnitOrLimitIsNotEnforced() {
+        Assert.assertEquals(0, SpikeArrestLimiter.tryAcquire("unknownUnit", 1, "hour"));
+        Assert.assertEquals(0, SpikeArrestLimiter.tryAcquire("unknownUnit", 1, "hour"));
+        Assert.assertEquals(0, SpikeArrestLimiter.tryAcquire("noLimit", 0, "sec"));
+        Assert.assertEquals(0, SpikeArrestLimiter.tryAcquire("noLimit", 0, "sec"));
+    }
+}
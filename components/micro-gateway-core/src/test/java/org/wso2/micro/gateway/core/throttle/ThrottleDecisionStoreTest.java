@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ThrottleDecisionStore}.
+ */
+public class ThrottleDecisionStoreTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    public void testActiveDecision() {
+        ThrottleDecisionStore store = new ThrottleDecisionStore(10);
+        store.add("key", true, NOW + 500, NOW);
+        Assert.assertNotNull(store.getActive("key", NOW));
+        Assert.assertNotNull(store.getActive("key", NOW + 500));
+        // expired decisions never throttle, even before they are removed
+        Assert.assertNull(store.getActive("key", NOW + 501));
+        Assert.assertNull(store.getActive("other", NOW));
+    }
+
+    @Test
+    public void testExpiredDecisionRemovesTheKey() {
+        ThrottleDecisionStore store = new ThrottleDecisionStore(10);
+        store.add("key", true, NOW + 500, NOW);
+        store.add("key", true, NOW - 1, NOW);
+        Assert.assertNull(store.getActive("key", NOW));
+    }
+
+    @Test
+    public void testDecisionIsReplaced() {
+        ThrottleDecisionStore store = new ThrottleDecisionStore(10);
+        store.add("key", true, NOW + 500, NOW);
+        store.add("key", false, NOW + 5000, NOW);
+        ThrottleDecisionStore.Decision decision = store.getActive("key", NOW + 1000);
+        Assert.assertNotNull(decision);
+        // the replaced decision is not swept with the slot it was placed in
+        store.expire(NOW + 1000);
+        Assert.assertSame(decision, store.getActive("key", NOW + 1000));
+        store.delete("key");
+        Assert.assertNull(store.getActive("key", NOW));
+    }
+
+    @Test
+    public void testSweepRemovesExpiredDecisions() {
+        ThrottleDecisionStore store = new ThrottleDecisionStore(10);
+        store.expire(NOW);
+        store.add("expiring", true, NOW + 150, NOW);
+        store.add("active", true, NOW + 100_000, NOW);
+        store.expire(NOW + 400);
+        Assert.assertNull(store.getActive("expiring", NOW));
+        Assert.assertNotNull(store.getActive("active", NOW + 400));
+    }
+
+    @Test
+    public void testDecisionsOfALaterWheelRoundAreKept() {
+        ThrottleDecisionStore store = new ThrottleDecisionStore(10);
+        store.expire(NOW);
+        // expires in the same slot as NOW + 150, one round of the wheel later
+        store.add("key", true, NOW + 150 + 102_400, NOW);
+        store.expire(NOW + 400);
+        Assert.assertNotNull(store.getActive("key", NOW + 400));
+    }
+
+    @Test
+    public void testDecisionsExpiringSoonestAreEvicted() {
+        ThrottleDecisionStore store = new ThrottleDecisionStore(2);
+        store.add("late", true, NOW + 50_000, NOW);
+        store.add("soon", true, NOW + 1000, NOW);
+        store.add("later", true, NOW + 60_000, NOW);
+        Assert.assertNull(store.getActive("soon", NOW));
+        Assert.assertNotNull(store.getActive("late", NOW));
+        Assert.assertNotNull(store.getActive("later", NOW));
+    }
+}
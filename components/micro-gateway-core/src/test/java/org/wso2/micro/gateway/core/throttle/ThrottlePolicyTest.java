@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.wso2.micro.gateway.core.throttle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ThrottlePolicy} and the policies of the {@link ThrottleEngine}.
+ */
+public class ThrottlePolicyTest {
+
+    private static final String TIER_TYPE = "subscriptionTier";
+
+    @Test
+    public void testAcquireStopsCountingOnQuota() {
+        ThrottlePolicy policy = new ThrottlePolicy("Gold", 3, 60000, true);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertFalse(policy.acquire("key", 100));
+        }
+        Assert.assertTrue(policy.acquire("key", 100));
+        Assert.assertTrue(policy.isThrottled("key", 100));
+        Assert.assertFalse(policy.acquire("other", 100));
+    }
+
+    @Test
+    public void testAcquireCountsRequestsOverQuotaIfNotStopping() {
+        ThrottlePolicy policy = new ThrottlePolicy("Gold", 2, 1000, false);
+        Assert.assertFalse(policy.acquire("key", 100));
+        Assert.assertFalse(policy.acquire("key", 100));
+        Assert.assertTrue(policy.acquire("key", 100));
+        Assert.assertTrue(policy.acquire("key", 100));
+        // the requests over the quota are still sent to the backend, hence carried over to the next window
+        Assert.assertTrue(policy.isThrottled("key", 1500));
+    }
+
+    @Test
+    public void testBandwidthPolicyCountsBytesOnly() {
+        BandwidthThrottlePolicy policy = new BandwidthThrottlePolicy("Bronze", 1000, 60000, true);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertFalse(policy.acquire("key", 100));
+        }
+        policy.addBytes("key", 600, 100);
+        Assert.assertFalse(policy.acquire("key", 100));
+        policy.addBytes("key", 400, 100);
+        Assert.assertTrue(policy.acquire("key", 100));
+        // requests are not counted, hence there is nothing to release
+        policy.release("key", 100);
+        Assert.assertTrue(policy.acquire("key", 100));
+    }
+
+    @Test
+    public void testEngineAcquire() {
+        ThrottleEngine.addPolicy(TIER_TYPE, "testEngineAcquire", 2, 60000, true);
+        Assert.assertFalse(ThrottleEngine.acquire(TIER_TYPE, "testEngineAcquire", "key"));
+        Assert.assertFalse(ThrottleEngine.acquire(TIER_TYPE, "testEngineAcquire", "key"));
+        Assert.assertTrue(ThrottleEngine.acquire(TIER_TYPE, "testEngineAcquire", "key"));
+        // the rejected request is not counted, hence releasing an admitted one frees the quota
+        ThrottleEngine.release(TIER_TYPE, "testEngineAcquire", "key");
+        Assert.assertFalse(ThrottleEngine.acquire(TIER_TYPE, "testEngineAcquire", "key"));
+        Assert.assertTrue(ThrottleEngine.acquire(TIER_TYPE, "testEngineAcquire", "key"));
+        // policies are registered per tier type
+        Assert.assertFalse(ThrottleEngine.acquire("appTier", "testEngineAcquire", "key"));
+    }
+
+    @Test
+    public void testUnknownPolicyNeverThrottles() {
+        Assert.assertFalse(ThrottleEngine.acquire(TIER_TYPE, "unknownPolicy", "key"));
+        ThrottleEngine.release(TIER_TYPE, "unknownPolicy", "key");
+        Assert.assertFalse(ThrottleEngine.acquire(null, null, "key"));
+        Assert.assertTrue(ThrottleEngine.isStopOnQuota(TIER_TYPE, "unknownPolicy"));
+    }
+
+    @Test
+    public void testIsBandwidthPolicy() {
+        ThrottleEngine.addPolicy(TIER_TYPE, "testIsBandwidthPolicyCount", 10, 60000, true);
+        ThrottleEngine.addBandwidthPolicy(TIER_TYPE, "testIsBandwidthPolicyData", 1000, 60000, true);
+        Assert.assertFalse(ThrottleEngine.isBandwidthPolicy(TIER_TYPE, "testIsBandwidthPolicyCount"));
+        Assert.assertTrue(ThrottleEngine.isBandwidthPolicy(TIER_TYPE, "testIsBandwidthPolicyData"));
+        Assert.assertFalse(ThrottleEngine.isBandwidthPolicy(TIER_TYPE, "unknownPolicy"));
+    }
+
+    @Test
+    public void testBandwidthUsageKeptOnReinit() throws InterruptedException {
+        ThrottleEngine.addBandwidthPolicy(TIER_TYPE, "testBandwidthUsageKeptOnReinit", 1000, 60000, true);
+        BandwidthAccountant.init(100);
+        ThrottleEngine.recordBandwidth(TIER_TYPE, "testBandwidthUsageKeptOnReinit", "key", 600);
+        BandwidthAccountant.init(10);
+        ThrottleEngine.recordBandwidth(TIER_TYPE, "testBandwidthUsageKeptOnReinit", "key", 400);
+        // usage is applied asynchronously
+        for (int i = 0; i < 100 && !ThrottleEngine.acquire(TIER_TYPE, "testBandwidthUsageKeptOnReinit", "key"); i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(ThrottleEngine.acquire(TIER_TYPE, "testBandwidthUsageKeptOnReinit", "key"));
+    }
+
+    @Test
+    public void testApproximatePolicy() {
+        ThrottleEngine.setApproximateCounting("testApproximatePolicy", 1024, 64);
+        ThrottleEngine.addPolicy(TIER_TYPE, "testApproximatePolicy", 10, 60000, true);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertFalse(ThrottleEngine.acquire(TIER_TYPE, "testApproximatePolicy", "10.0.0.1"));
+        }
+        Assert.assertTrue(ThrottleEngine.acquire(TIER_TYPE, "testApproximatePolicy", "10.0.0.1"));
+        Assert.assertEquals(1, ThrottleEngine.getPolicy(TIER_TYPE, "testApproximatePolicy").getKeyCount());
+    }
+}
@@ -132,6 +132,8 @@ goto :end
                 if %verbose%==T ECHO current dir %CD%
                 SET TARGET_DIR="%MICRO_GW_PROJECT_DIR%\target"
                 SET TARGET_FILE="%TARGET_DIR%\%project_name%.jar"
+                REM The build command restores the executable from the build cache if the sources are not changed
+                if EXIST "%TARGET_FILE%" goto :reportBuild
                 if EXIST "%TARGET_DIR%\*.jar"  DEL /F "%TARGET_DIR%\*.jar"
 
                 REM Build project using ballerina
@@ -142,6 +144,7 @@ goto :end
                     MOVE /y %TARGET_DIR%\gen\target\caches\jar_cache\wso2\%project_name%\0.1.0\*  %TARGET_DIR%\ 2> nul
                 )
 
+                :reportBuild
                 ECHO
                 if EXIST "%TARGET_FILE%" (
                     ECHO "BUILD SUCCESSFUL"
@@ -15,7 +15,8 @@
 // under the License.
 
 
-# This method can be used to add custom logic to add revoked token to the revoked token map.
+# This method can be used to add custom logic to add revoked token to the revoked token map. Revoked tokens should
+# be added using `gateway:addToRevokedTokenMap`.
 #
 function initiatePersistentRevokedTokenRetrieval(map<string> revokedTokenMapReceived) {
 
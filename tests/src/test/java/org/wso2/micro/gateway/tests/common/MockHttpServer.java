@@ -1,7 +1,8 @@
 package org.wso2.micro.gateway.tests.common;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
@@ -172,20 +173,28 @@ public class MockHttpServer extends Thread {
             httpServer.createContext(TMRestAPIBasePath + "/throttleEventReceiver", new HttpHandler() {
                 public void handle(HttpExchange exchange) throws IOException {
                     String jsonRequest = IOUtils.toString(exchange.getRequestBody());
-                    if (count == 9 || count == 19 || count == 29 || count == 39 || count == 49) {
-                        JsonParser jsonParser = new JsonParser();
-                        JsonObject jsonObject = (JsonObject) jsonParser.parse(jsonRequest);
-                        JMSPublisher jmsPublisher = new JMSPublisher();
-
-                        try {
-                            jmsPublisher.getJson(jsonObject);
-                        } catch (JMSException e) {
-                            log.error("Error occurred while sending throttle event to TM", e);
-                        } catch (NamingException e) {
-                            log.error("Error occurred while sending throttle event to TM", e);
+                    JsonParser jsonParser = new JsonParser();
+                    JsonElement throttleEvents = jsonParser.parse(jsonRequest);
+                    // events are published to the traffic manager in batches
+                    JsonArray eventBatch = new JsonArray();
+                    if (throttleEvents.isJsonArray()) {
+                        eventBatch = throttleEvents.getAsJsonArray();
+                    } else {
+                        eventBatch.add(throttleEvents);
+                    }
+                    for (JsonElement throttleEvent : eventBatch) {
+                        if (count == 9 || count == 19 || count == 29 || count == 39 || count == 49) {
+                            JMSPublisher jmsPublisher = new JMSPublisher();
+                            try {
+                                jmsPublisher.getJson(throttleEvent.getAsJsonObject());
+                            } catch (JMSException e) {
+                                log.error("Error occurred while sending throttle event to TM", e);
+                            } catch (NamingException e) {
+                                log.error("Error occurred while sending throttle event to TM", e);
+                            }
                         }
+                        count++;
                     }
-                    count++;
                     byte[] response = jsonRequest.toString().getBytes();
                     exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.length);
                     exchange.getResponseBody().write(response);